@@ -0,0 +1,67 @@
+package bench;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * The {@code Distribution} enum enumerates the ways in which benchmark keys are drawn.
+ *
+ * @author Jeff Wilgus
+ */
+public enum Distribution {
+
+    /**
+     * Consecutive integers, which hash perfectly and favour structures that exploit locality.
+     */
+    SEQUENTIAL {
+        @Override
+        int next(Random random, int index) {
+            return index;
+        }
+    },
+
+    /**
+     * Integers drawn uniformly at random.
+     */
+    UNIFORM {
+        @Override
+        int next(Random random, int index) {
+            return random.nextInt();
+        }
+    },
+
+    /**
+     * Multiples of a large power of two, which collide in any table that uses the low bits of a hash code unmixed.
+     */
+    STRIDED {
+        @Override
+        int next(Random random, int index) {
+            return index << 10;
+        }
+    };
+
+    abstract int next(Random random, int index);
+
+    /**
+     * Provides the specified {@code count} of distinct keys drawn from this {@code Distribution}. The same arguments
+     * always produce the same keys.
+     *
+     * @param count the specified count
+     * @param seed the specified seed
+     * @return an array of distinct keys
+     */
+    public Integer[] keys(int count, long seed) {
+        Random random = new Random(seed);
+        Set<Integer> seen = new HashSet<>();
+        Integer[] keys = new Integer[count];
+        for (int i = 0, index = 0; i < count; index++) {
+            int key = next(random, index);
+            if (seen.add(key)) {
+                keys[i++] = key;
+            }
+        }
+        return keys;
+    }
+
+}
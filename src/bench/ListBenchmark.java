@@ -0,0 +1,222 @@
+package bench;
+
+import main.ArrayList;
+import main.GapList;
+import main.LinkedList;
+import main.List;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the lists in this project against those of the JDK. Random access, queue-like churn and edits about a
+ * moving cursor are measured per operation on a list of {@code size} elements; appending and iterating are measured per
+ * list.
+ *
+ * @author Jeff Wilgus
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListBenchmark {
+
+    /**
+     * The operations shared by the lists of this project and those of the JDK.
+     */
+    private interface ListAdaptor {
+
+        void addLast(Integer element);
+
+        void add(int index, Integer element);
+
+        Integer removeFirst();
+
+        Integer remove(int index);
+
+        Integer get(int index);
+
+        long sum();
+
+    }
+
+    @Param({"ArrayList", "CompactArrayList", "GapList", "LinkedList", "java.util.ArrayList", "java.util.LinkedList"})
+    public String implementation;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private int[] indices;
+    private ListAdaptor list;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(Workloads.SEED);
+        indices = new int[Workloads.PROBES];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = random.nextInt(size);
+        }
+        list = populate();
+    }
+
+    private ListAdaptor populate() {
+        ListAdaptor list = create();
+        for (int i = 0; i < size; i++) {
+            list.addLast(i);
+        }
+        return list;
+    }
+
+    private ListAdaptor create() {
+        switch (implementation) {
+            case "ArrayList":
+                return of(new ArrayList<>());
+            case "CompactArrayList":
+                return of(new ArrayList<>(true));
+            case "GapList":
+                return of(new GapList<>());
+            case "LinkedList":
+                return of(new LinkedList<>());
+            case "java.util.ArrayList":
+                return of(new java.util.ArrayList<>());
+            case "java.util.LinkedList":
+                return of(new java.util.LinkedList<>());
+            default:
+                throw new IllegalArgumentException(implementation);
+        }
+    }
+
+    private static ListAdaptor of(List<Integer> list) {
+        return new ListAdaptor() {
+
+            @Override
+            public void addLast(Integer element) {
+                list.addLast(element);
+            }
+
+            @Override
+            public void add(int index, Integer element) {
+                list.add(index, element);
+            }
+
+            @Override
+            public Integer removeFirst() {
+                return list.removeFirst();
+            }
+
+            @Override
+            public Integer remove(int index) {
+                return list.remove(index);
+            }
+
+            @Override
+            public Integer get(int index) {
+                return list.get(index);
+            }
+
+            @Override
+            public long sum() {
+                long sum = 0;
+                for (Integer element : list) {
+                    sum += element;
+                }
+                return sum;
+            }
+
+        };
+    }
+
+    private static ListAdaptor of(java.util.List<Integer> list) {
+        return new ListAdaptor() {
+
+            @Override
+            public void addLast(Integer element) {
+                list.add(element);
+            }
+
+            @Override
+            public void add(int index, Integer element) {
+                list.add(index, element);
+            }
+
+            @Override
+            public Integer removeFirst() {
+                return list.remove(0);
+            }
+
+            @Override
+            public Integer remove(int index) {
+                return list.remove(index);
+            }
+
+            @Override
+            public Integer get(int index) {
+                return list.get(index);
+            }
+
+            @Override
+            public long sum() {
+                long sum = 0;
+                for (Integer element : list) {
+                    sum += element;
+                }
+                return sum;
+            }
+
+        };
+    }
+
+    /**
+     * Retrieves the element at a random index.
+     */
+    @Benchmark
+    public Integer get() {
+        cursor = (cursor + 1) & (Workloads.PROBES - 1);
+        return list.get(indices[cursor]);
+    }
+
+    /**
+     * Moves the first element to the end, as a queue would.
+     */
+    @Benchmark
+    public Integer churn() {
+        Integer element = list.removeFirst();
+        list.addLast(element);
+        return element;
+    }
+
+    /**
+     * Inserts an element at a cursor that wanders within sixteen places of the middle of the list, then removes the
+     * element after it, as a text editor would.
+     */
+    @Benchmark
+    public Integer edit() {
+        cursor = (cursor + 1) & (Workloads.PROBES - 1);
+        int index = (size >> 1) + (indices[cursor] & 0xF);
+        list.add(index, cursor);
+        return list.remove(index + 1);
+    }
+
+    /**
+     * Builds a list of {@code size} elements by appending to an empty one.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ListAdaptor append() {
+        return populate();
+    }
+
+    /**
+     * Visits every element of the list.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long iterate() {
+        return list.sum();
+    }
+
+}
@@ -0,0 +1,141 @@
+package bench;
+
+import main.BTreeMap;
+import main.ConcurrentHashMap;
+import main.ConcurrentSkipListMap;
+import main.HashMap;
+import main.Map;
+import main.OrderedHashMap;
+import main.PersistentTreeMap;
+import main.ProbingHashMap;
+import main.TreeMap;
+
+/**
+ * The {@code MapAdaptor} interface presents the maps of this project and those of the JDK alike to the benchmarks,
+ * each through its idiomatic operations.
+ *
+ * @author Jeff Wilgus
+ */
+interface MapAdaptor {
+
+    boolean contains(Integer key);
+
+    Integer lookup(Integer key);
+
+    void put(Integer key, Integer value);
+
+    void remove(Integer key);
+
+    long sum();
+
+    /**
+     * Provides a new, empty map of the specified {@code implementation}.
+     *
+     * @param implementation the simple name of a map in this project, or the qualified name of one in the JDK
+     * @return an adaptor to a new map
+     * @throws IllegalArgumentException if the specified {@code implementation} is not known
+     */
+    static MapAdaptor create(String implementation) {
+        switch (implementation) {
+            case "HashMap":
+                return of(new HashMap<>());
+            case "ProbingHashMap":
+                return of(new ProbingHashMap<>());
+            case "OrderedHashMap":
+                return of(new OrderedHashMap<>());
+            case "TreeMap":
+                return of(new TreeMap<>());
+            case "BTreeMap":
+                return of(new BTreeMap<>());
+            case "PersistentTreeMap":
+                return of(new PersistentTreeMap<>());
+            case "ConcurrentHashMap":
+                return of(new ConcurrentHashMap<>());
+            case "ConcurrentSkipListMap":
+                return of(new ConcurrentSkipListMap<>());
+            case "java.util.HashMap":
+                return of(new java.util.HashMap<>());
+            case "java.util.TreeMap":
+                return of(new java.util.TreeMap<>());
+            case "java.util.LinkedHashMap":
+                return of(new java.util.LinkedHashMap<>());
+            case "java.util.concurrent.ConcurrentHashMap":
+                return of(new java.util.concurrent.ConcurrentHashMap<>());
+            case "java.util.concurrent.ConcurrentSkipListMap":
+                return of(new java.util.concurrent.ConcurrentSkipListMap<>());
+            default:
+                throw new IllegalArgumentException(implementation);
+        }
+    }
+
+    private static MapAdaptor of(Map<Integer, Integer> map) {
+        return new MapAdaptor() {
+
+            @Override
+            public boolean contains(Integer key) {
+                return map.contains(key);
+            }
+
+            @Override
+            public Integer lookup(Integer key) {
+                return map.contains(key) ? map.get(key) : null;
+            }
+
+            @Override
+            public void put(Integer key, Integer value) {
+                map.put(key, value);
+            }
+
+            @Override
+            public void remove(Integer key) {
+                map.remove(key);
+            }
+
+            @Override
+            public long sum() {
+                long sum = 0;
+                for (main.Entry<Integer, Integer> entry : map.entrySet()) {
+                    sum += entry.getValue();
+                }
+                return sum;
+            }
+
+        };
+    }
+
+    private static MapAdaptor of(java.util.Map<Integer, Integer> map) {
+        return new MapAdaptor() {
+
+            @Override
+            public boolean contains(Integer key) {
+                return map.containsKey(key);
+            }
+
+            @Override
+            public Integer lookup(Integer key) {
+                return map.get(key);
+            }
+
+            @Override
+            public void put(Integer key, Integer value) {
+                map.put(key, value);
+            }
+
+            @Override
+            public void remove(Integer key) {
+                map.remove(key);
+            }
+
+            @Override
+            public long sum() {
+                long sum = 0;
+                for (java.util.Map.Entry<Integer, Integer> entry : map.entrySet()) {
+                    sum += entry.getValue();
+                }
+                return sum;
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,128 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the maps in this project against those of the JDK. Lookups and mixed operations cycle through a fixed
+ * sequence of probes, so their scores are per operation; building and iterating are measured per map. The proportion
+ * of probes that hit is a parameter of the probes alone, so that it multiplies only the benchmarks that probe.
+ *
+ * @author Jeff Wilgus
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapBenchmark {
+
+    @Param({"HashMap", "ProbingHashMap", "OrderedHashMap", "TreeMap", "BTreeMap", "PersistentTreeMap",
+            "ConcurrentHashMap", "ConcurrentSkipListMap", "java.util.HashMap", "java.util.TreeMap",
+            "java.util.LinkedHashMap", "java.util.concurrent.ConcurrentHashMap",
+            "java.util.concurrent.ConcurrentSkipListMap"})
+    public String implementation;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "UNIFORM", "STRIDED"})
+    public Distribution distribution;
+
+    @Param({"0.9"})
+    public double readRatio;
+
+    /**
+     * The sequence of keys probed by the lookup and mixed benchmarks.
+     */
+    @State(Scope.Benchmark)
+    public static class Probes {
+
+        @Param({"0.0", "0.5", "1.0"})
+        public double hitRatio;
+
+        private Integer[] keys;
+        private int cursor;
+
+        @Setup(Level.Trial)
+        public void setUp(MapBenchmark benchmark) {
+            keys = Workloads.probes(benchmark.present, benchmark.absent, hitRatio);
+        }
+
+        private int next() {
+            return cursor = (cursor + 1) & (Workloads.PROBES - 1);
+        }
+
+    }
+
+    private Integer[] present, absent;
+    private boolean[] reads;
+    private MapAdaptor map;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Integer[] keys = distribution.keys(size << 1, Workloads.SEED);
+        present = new Integer[size];
+        absent = new Integer[size];
+        System.arraycopy(keys, 0, present, 0, size);
+        System.arraycopy(keys, size, absent, 0, size);
+        reads = Workloads.decisions(readRatio);
+        map = populate();
+    }
+
+    private MapAdaptor populate() {
+        MapAdaptor map = MapAdaptor.create(implementation);
+        for (Integer key : present) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    /**
+     * Looks up a key, which is present with probability {@code hitRatio}.
+     */
+    @Benchmark
+    public Integer lookup(Probes probes) {
+        return map.lookup(probes.keys[probes.next()]);
+    }
+
+    /**
+     * Looks up a key with probability {@code readRatio}, and otherwise toggles its presence, so that the size of the
+     * map stays near its initial size.
+     */
+    @Benchmark
+    public boolean mixed(Probes probes) {
+        int i = probes.next();
+        Integer key = probes.keys[i];
+        if (reads[i]) {
+            return map.contains(key);
+        }
+        if (map.contains(key)) {
+            map.remove(key);
+            return false;
+        }
+        map.put(key, key);
+        return true;
+    }
+
+    /**
+     * Builds a map of {@code size} entries from empty.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public MapAdaptor build() {
+        return populate();
+    }
+
+    /**
+     * Visits every entry of the map.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long iterate() {
+        return map.sum();
+    }
+
+}
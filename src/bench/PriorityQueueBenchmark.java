@@ -0,0 +1,67 @@
+package bench;
+
+import main.PriorityQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@code PriorityQueue} of this project against that of the JDK.
+ *
+ * @author Jeff Wilgus
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PriorityQueueBenchmark {
+
+    @Param({"PriorityQueue", "java.util.PriorityQueue"})
+    public String implementation;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "UNIFORM"})
+    public Distribution distribution;
+
+    private Integer[] elements;
+    private PriorityQueue<Integer> queue;
+    private java.util.PriorityQueue<Integer> baseline;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        elements = distribution.keys(Workloads.PROBES, Workloads.SEED);
+        if (implementation.equals("PriorityQueue")) {
+            queue = new PriorityQueue<>();
+            for (int i = 0; i < size; i++) {
+                queue.enqueue(elements[i & (Workloads.PROBES - 1)]);
+            }
+        } else {
+            baseline = new java.util.PriorityQueue<>();
+            for (int i = 0; i < size; i++) {
+                baseline.add(elements[i & (Workloads.PROBES - 1)]);
+            }
+        }
+    }
+
+    /**
+     * Removes the least element and adds another, keeping the queue at {@code size} elements.
+     */
+    @Benchmark
+    public Integer churn() {
+        cursor = (cursor + 1) & (Workloads.PROBES - 1);
+        if (queue != null) {
+            Integer result = queue.dequeue();
+            queue.enqueue(elements[cursor]);
+            return result;
+        }
+        Integer result = baseline.poll();
+        baseline.add(elements[cursor]);
+        return result;
+    }
+
+}
@@ -0,0 +1,132 @@
+package bench;
+
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The {@code Results} class runs the benchmarks and records or compares their results. Results are recorded as CSV
+ * with one row per benchmark and combination of parameters, of the form
+ *
+ * <pre>
+ * benchmark,params,mode,unit,score,error
+ * MapBenchmark.lookup,distribution=UNIFORM;hitRatio=0.5;implementation=HashMap;readRatio=0.9;size=1000,avgt,ns/op,12.345,0.678
+ * </pre>
+ * <p>
+ * where parameters are ordered by name and rows by benchmark and then parameters, and scores are written with three
+ * decimal places in the root locale, so that two recordings differ only where their scores do.
+ * <p>
+ * Usage: {@code Results run [regex] [file]} runs the benchmarks matching {@code regex} (by default, all of them) and
+ * records their results to {@code file} (by default, {@code src/bench/results/results.csv}); {@code Results compare
+ * baseline candidate} prints the ratio of each score in the file {@code candidate} to the matching score in the file
+ * {@code baseline}.
+ *
+ * @author Jeff Wilgus
+ */
+public final class Results {
+
+    private static final String HEADER = "benchmark,params,mode,unit,score,error";
+    private static final Path DEFAULT_FILE = Paths.get("src", "bench", "results", "results.csv");
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        if (args.length >= 1 && args[0].equals("run")) {
+            run(args.length >= 2 ? args[1] : ".*", args.length >= 3 ? Paths.get(args[2]) : DEFAULT_FILE);
+        } else if (args.length == 3 && args[0].equals("compare")) {
+            compare(Paths.get(args[1]), Paths.get(args[2]));
+        } else {
+            System.err.println("Usage: Results run [regex] [file] | Results compare baseline candidate");
+            System.exit(1);
+        }
+    }
+
+    private static void run(String regex, Path file) throws IOException, RunnerException {
+        Options options = new OptionsBuilder().include(Results.class.getPackageName() + "\\." + regex).build();
+        write(file, new Runner(options).run());
+    }
+
+    private static void write(Path file, Collection<RunResult> results) throws IOException {
+        Map<String, String> rows = new TreeMap<>();
+        for (RunResult run : results) {
+            for (BenchmarkResult benchmark : run.getBenchmarkResults()) {
+                Result<?> result = benchmark.getPrimaryResult();
+                Map<String, String> params = new TreeMap<>();
+                for (String key : benchmark.getParams().getParamsKeys()) {
+                    params.put(key, benchmark.getParams().getParam(key));
+                }
+                String key = key(benchmark.getParams().getBenchmark(), params);
+                rows.put(key, String.join(",", key, benchmark.getParams().getMode().shortLabel(),
+                        result.getScoreUnit(), format(result.getScore()), format(result.getScoreError())));
+            }
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        lines.addAll(rows.values());
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    private static String key(String benchmark, Map<String, String> params) {
+        String prefix = Results.class.getPackageName() + ".";
+        return (benchmark.startsWith(prefix) ? benchmark.substring(prefix.length()) : benchmark) + "," + join(params);
+    }
+
+    private static String join(Map<String, String> params) {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            if (builder.length() > 0) {
+                builder.append(';');
+            }
+            builder.append(param.getKey()).append('=').append(param.getValue());
+        }
+        return builder.toString();
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "" : String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static void compare(Path baseline, Path candidate) throws IOException {
+        Map<String, String[]> before = read(baseline), after = read(candidate);
+        System.out.println("benchmark,params,unit,baseline,candidate,ratio");
+        for (Map.Entry<String, String[]> row : after.entrySet()) {
+            String[] old = before.get(row.getKey());
+            if (old == null) {
+                continue;
+            }
+            double a = Double.parseDouble(old[4]), b = Double.parseDouble(row.getValue()[4]);
+            System.out.println(String.join(",", row.getKey(), row.getValue()[3], old[4], row.getValue()[4],
+                    String.format(Locale.ROOT, "%.3f", b / a)));
+        }
+    }
+
+    private static Map<String, String[]> read(Path file) throws IOException {
+        Map<String, String[]> rows = new TreeMap<>();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] fields = line.split(",", -1);
+            rows.put(fields[0] + "," + fields[1], fields);
+        }
+        return rows;
+    }
+
+    private Results() {
+        throw new AssertionError();
+    }
+
+}
@@ -0,0 +1,83 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+import util.DefaultComparator;
+import util.Heapsort;
+import util.Quicksort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the sorts in this project against {@code Arrays.sort}. Every invocation sorts a fresh copy of the same
+ * input, so the cost of copying is included in every score alike.
+ *
+ * @author Jeff Wilgus
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SortBenchmark {
+
+    /**
+     * The {@code Order} enum enumerates the arrangements of the input to a sort.
+     */
+    public enum Order {
+        RANDOM, SORTED, REVERSED, FEW_UNIQUE
+    }
+
+    @Param({"Quicksort", "Heapsort", "java.util.Arrays"})
+    public String implementation;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE"})
+    public Order order;
+
+    private Integer[] input;
+    private final Comparator<Integer> comp = new DefaultComparator<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(Workloads.SEED);
+        input = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            switch (order) {
+                case SORTED:
+                    input[i] = i;
+                    break;
+                case REVERSED:
+                    input[i] = size - i;
+                    break;
+                case FEW_UNIQUE:
+                    input[i] = random.nextInt(16);
+                    break;
+                default:
+                    input[i] = random.nextInt();
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer[] sort() {
+        Integer[] elements = input.clone();
+        switch (implementation) {
+            case "Quicksort":
+                new Quicksort<Integer>().sort(elements, comp);
+                break;
+            case "Heapsort":
+                new Heapsort<Integer>().sort(elements, comp);
+                break;
+            default:
+                Arrays.sort(elements, comp);
+        }
+        return elements;
+    }
+
+}
@@ -0,0 +1,60 @@
+package bench;
+
+import java.util.Random;
+
+/**
+ * The {@code Workloads} class provides methods for constructing the inputs shared by several benchmarks.
+ *
+ * @author Jeff Wilgus
+ */
+final class Workloads {
+
+    /**
+     * The seed from which all benchmark inputs are drawn, so that runs are comparable.
+     */
+    static final long SEED = 0x5EED;
+
+    /**
+     * The number of probes cycled through by each benchmark that performs one operation per invocation.
+     */
+    static final int PROBES = 1 << 16;
+
+    /**
+     * Provides a sequence of {@link #PROBES} lookups, the specified {@code hitRatio} of which are drawn from the
+     * specified {@code present} keys, and the remainder from the specified {@code absent} ones.
+     *
+     * @param present the keys that are present
+     * @param absent the keys that are absent
+     * @param hitRatio the specified proportion of probes that are present
+     * @return a sequence of probes
+     */
+    static Integer[] probes(Integer[] present, Integer[] absent, double hitRatio) {
+        Random random = new Random(SEED);
+        Integer[] probes = new Integer[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            Integer[] source = random.nextDouble() < hitRatio ? present : absent;
+            probes[i] = source[random.nextInt(source.length)];
+        }
+        return probes;
+    }
+
+    /**
+     * Provides a sequence of {@link #PROBES} decisions, the specified {@code ratio} of which are {@code true}.
+     *
+     * @param ratio the specified proportion of {@code true} decisions
+     * @return a sequence of decisions
+     */
+    static boolean[] decisions(double ratio) {
+        Random random = new Random(SEED + 1);
+        boolean[] decisions = new boolean[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            decisions[i] = random.nextDouble() < ratio;
+        }
+        return decisions;
+    }
+
+    private Workloads() {
+        throw new AssertionError();
+    }
+
+}
@@ -0,0 +1,9 @@
+/**
+ * JMH benchmarks for the collections in {@code main} and the sorts in {@code util}, each measured alongside its JDK
+ * counterpart as a baseline. The benchmarks are compiled together with {@code main} and {@code util} against {@code
+ * jmh-core}, with {@code jmh-generator-annprocess} on the annotation processor path, by the {@code bench} profile of
+ * the project's build ({@code mvn -Pbench -Dmaven.test.skip package exec:exec}), and are launched through {@link
+ * bench.Results}, which runs them and records their scores in a canonical CSV form, sorted and with fixed precision, so
+ * that results checked in to {@code src/bench/results} may be compared line by line or with {@code Results compare}.
+ */
+package bench;
@@ -1,6 +1,7 @@
 package main;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 /**
  * A base implementation of the {@code Collection} interface.
@@ -34,13 +35,14 @@ public abstract class AbstractCollection<E> implements Collection<E>, Serializab
 
     @Override
     public String toString() {
-        int index = 0;
+        boolean first = true;
         StringBuilder builder = new StringBuilder("[");
         for (E element : this) {
-            builder.append(element == this ? "(this collection)" : element);
-            if (++index < size) {
+            if (!first) {
                 builder.append(", ");
             }
+            builder.append(element == this ? "(this collection)" : element);
+            first = false;
         }
         return builder.append("]").toString();
     }
@@ -53,11 +55,14 @@ public abstract class AbstractCollection<E> implements Collection<E>, Serializab
     E[] toArray() {
         int index = 0;
         @SuppressWarnings("unchecked")
-        E[] elements = (E[])new Object[size];
+        E[] elements = (E[])new Object[size()];
         for (E element : this) {
+            if (index == elements.length) { // A concurrent collection may have grown since its size was read.
+                elements = Arrays.copyOf(elements, index + (index >> 1) + 1);
+            }
             elements[index++] = element;
         }
-        return elements;
+        return index == elements.length ? elements : Arrays.copyOf(elements, index);
     }
 
     private static final long serialVersionUID = 1294951821974395815L;
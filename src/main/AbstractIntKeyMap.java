@@ -0,0 +1,176 @@
+package main;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.NoSuchElementException;
+
+import static util.Common.spread;
+
+/**
+ * The {@code AbstractIntKeyMap} class is the base class from which all maps keyed by primitive {@code int}s shall be
+ * derived. Keys are stored unboxed in an array parallel to the table of its {@code AbstractPrimitiveKeyMap}, and
+ * derived classes store values in another, so no object is allocated per entry.
+ *
+ * @author Jeff Wilgus
+ */
+public abstract class AbstractIntKeyMap extends AbstractPrimitiveKeyMap {
+
+    private transient int[] keys;
+
+    /**
+     * Constructs a new {@code AbstractIntKeyMap} object with the specified {@code loadFactor} that can hold the
+     * specified {@code expectedSize} number of entries without growing.
+     *
+     * @param expectedSize the specified expected size
+     * @param loadFactor the specified load factor
+     * @throws IllegalArgumentException if the specified {@code expectedSize} is negative, or the specified {@code
+     * loadFactor} is not on the open interval bounded by zero and one
+     */
+    AbstractIntKeyMap(int expectedSize, double loadFactor) {
+        super(expectedSize, loadFactor);
+    }
+
+    @Override
+    void resizeKeys(int capacity, int[] destinations) {
+        int[] old = keys;
+        keys = new int[capacity];
+        if (destinations != null) {
+            for (int i = 0; i < destinations.length; i++) {
+                if (destinations[i] >= 0) {
+                    keys[destinations[i]] = old[i];
+                }
+            }
+        }
+    }
+
+    @Override
+    void moveKey(int from, int to) {
+        keys[to] = keys[from];
+    }
+
+    @Override
+    int hashAt(int index) {
+        return spread(keys[index]);
+    }
+
+    @Override
+    Object boxedKeyAt(int index) {
+        return keys[index];
+    }
+
+    @Override
+    int indexIn(AbstractPrimitiveKeyMap map, int index) {
+        return ((AbstractIntKeyMap)map).indexOf(keys[index]);
+    }
+
+    @Override
+    void writeKey(ObjectOutputStream stream, int index) throws IOException {
+        stream.writeInt(keys[index]);
+    }
+
+    @Override
+    int readKey(ObjectInputStream stream) throws IOException {
+        int index = insert(stream.readInt());
+        return index < 0 ? ~index : index;
+    }
+
+    /**
+     * Determines whether or not there is an association between the specified {@code key} and a value in this {@code
+     * AbstractIntKeyMap}.
+     *
+     * @param key the specified key
+     * @return {@code true} if there exists an association between the specified {@code key} and a value in this {@code
+     * AbstractIntKeyMap}
+     */
+    public boolean contains(final int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Provides the keys in this {@code AbstractIntKeyMap} in no particular order.
+     *
+     * @return an array containing the keys in this {@code AbstractIntKeyMap}
+     */
+    public int[] keys() {
+        int count = 0;
+        int[] result = new int[size];
+        for (int i = 0; i < keys.length; i++) {
+            if (isUsed(i)) {
+                result[count++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Provides the index of the specified {@code key}, adding it if it is absent. The index of an added key is
+     * provided as its bitwise complement, which is negative, so that callers may distinguish it.
+     *
+     * @param key the specified key
+     * @return the index of the specified {@code key}, or its complement if it was added
+     */
+    int insert(int key) {
+        int index = slotOf(key);
+        if (isUsed(index)) {
+            return index;
+        }
+        if (ensureCapacity()) {
+            index = slotOf(key);
+        }
+        keys[index] = key;
+        occupy(index);
+        return ~index;
+    }
+
+    /**
+     * Provides the index of the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the index of the specified {@code key}, or a negative number if it is absent
+     */
+    int indexOf(int key) {
+        int index = slotOf(key);
+        return isUsed(index) ? index : -1;
+    }
+
+    /**
+     * Provides the index of the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the index of the specified {@code key}
+     * @throws IllegalStateException if this {@code AbstractIntKeyMap} is empty
+     * @throws NoSuchElementException if the specified {@code key} is absent
+     */
+    int indexOrThrow(int key) {
+        if (isEmpty()) {
+            throw new IllegalStateException();
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new NoSuchElementException();
+        }
+        return index;
+    }
+
+    private int slotOf(int key) {
+        int mask = keys.length - 1, index = spread(key) & mask;
+        while (isUsed(index) && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Provides the key at the specified {@code index}.
+     *
+     * @param index the specified index
+     * @return the key at the specified {@code index}
+     */
+    int keyAt(int index) {
+        return keys[index];
+    }
+
+    private static final long serialVersionUID = -8544112207565578183L;
+
+}
@@ -46,6 +46,23 @@ public abstract class AbstractMap<K, V> implements Map<K, V>, Serializable {
         return false;
     }
 
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        reserve(size() + map.size());
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Prepares this {@code AbstractMap} to hold the specified {@code expectedSize} number of entries. Implementations
+     * backed by a table may grow it here once, rather than repeatedly while the entries are added.
+     *
+     * @param expectedSize the specified expected size
+     */
+    void reserve(int expectedSize) {
+    }
+
     @Override
     public boolean removeIfPresent(final K key, final V value) {
         if (contains(key) && areEqual(get(key), value)) {
@@ -92,7 +109,7 @@ public abstract class AbstractMap<K, V> implements Map<K, V>, Serializable {
             V value = entry.getValue();
             builder.append("{").append(key == this ? "(this map)" : key).append(" : ")
                    .append(value == this ? "(this map)" : value).append("}");
-            if (++index < size) {
+            if (++index < size()) {
                 builder.append(", ");
             }
         }
@@ -120,7 +137,7 @@ public abstract class AbstractMap<K, V> implements Map<K, V>, Serializable {
 
                 @Override
                 public int size() {
-                    return AbstractMap.this.size;
+                    return AbstractMap.this.size();
                 }
 
                 @Override
@@ -183,7 +200,7 @@ public abstract class AbstractMap<K, V> implements Map<K, V>, Serializable {
 
                 @Override
                 public int size() {
-                    return AbstractMap.this.size;
+                    return AbstractMap.this.size();
                 }
 
                 @Override
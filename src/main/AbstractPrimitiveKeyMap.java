@@ -0,0 +1,365 @@
+package main;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import static util.Common.*;
+
+/**
+ * The {@code AbstractPrimitiveKeyMap} class is the base class from which all hash tables keyed by a primitive type
+ * shall be derived. It manages an open addressing table that resolves collisions by linear probing, but knows its slots
+ * only by index: derived classes store keys and values in arrays parallel to it, and probe for a key themselves, since
+ * only they know its type. Removal shifts displaced keys back toward their home slots rather than leaving markers
+ * behind, so lookups never degrade as entries churn.
+ *
+ * @author Jeff Wilgus
+ */
+public abstract class AbstractPrimitiveKeyMap implements Serializable {
+
+    static final double DEFAULT_LOAD_FACTOR = 0.75;
+
+    int size;
+    private double loadFactor;
+    private transient boolean[] used;
+
+    /**
+     * Constructs a new {@code AbstractPrimitiveKeyMap} object with the specified {@code loadFactor} that can hold the
+     * specified {@code expectedSize} number of entries without growing.
+     *
+     * @param expectedSize the specified expected size
+     * @param loadFactor the specified load factor
+     * @throws IllegalArgumentException if the specified {@code expectedSize} is negative, or the specified {@code
+     * loadFactor} is not on the open interval bounded by zero and one
+     */
+    AbstractPrimitiveKeyMap(int expectedSize, double loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.loadFactor = validateLoadFactor(loadFactor);
+        allocate(capacityFor(expectedSize, loadFactor));
+    }
+
+    private void allocate(int capacity) {
+        used = new boolean[capacity];
+        resizeKeys(capacity, null);
+        resizeValues(capacity, null);
+    }
+
+    /**
+     * Replaces the array of keys with one of the specified {@code capacity}. If the specified {@code destinations} are
+     * not {@code null}, then the key at each index of the old array is moved to the index in the new one given by the
+     * corresponding element of {@code destinations}, unless that element is negative.
+     *
+     * @param capacity the specified capacity
+     * @param destinations the specified destinations
+     */
+    abstract void resizeKeys(int capacity, int[] destinations);
+
+    /**
+     * Moves the key at the specified {@code from} index to the specified {@code to} index.
+     *
+     * @param from the index of the key to move
+     * @param to the index to which the key is moved
+     */
+    abstract void moveKey(int from, int to);
+
+    /**
+     * Provides the spread hash of the key at the specified {@code index}, from which its home slot is taken.
+     *
+     * @param index the specified index
+     * @return the hash of the key at the specified {@code index}
+     */
+    abstract int hashAt(int index);
+
+    /**
+     * Provides the key at the specified {@code index}, boxed.
+     *
+     * @param index the specified index
+     * @return the key at the specified {@code index}
+     */
+    abstract Object boxedKeyAt(int index);
+
+    /**
+     * Provides the index in the specified {@code map}, which is of the same class as this one, of the key at the
+     * specified {@code index} in this {@code AbstractPrimitiveKeyMap}.
+     *
+     * @param map the specified map
+     * @param index the specified index
+     * @return the index of the key in the specified {@code map}, or a negative number if it is absent
+     */
+    abstract int indexIn(AbstractPrimitiveKeyMap map, int index);
+
+    /**
+     * Writes the key at the specified {@code index} to the specified {@code stream}.
+     *
+     * @param stream the specified stream
+     * @param index the specified index
+     * @throws IOException if the key could not be written
+     */
+    abstract void writeKey(ObjectOutputStream stream, int index) throws IOException;
+
+    /**
+     * Reads a key from the specified {@code stream} and adds it to this {@code AbstractPrimitiveKeyMap}.
+     *
+     * @param stream the specified stream
+     * @return the index of the key read
+     * @throws IOException if a key could not be read
+     */
+    abstract int readKey(ObjectInputStream stream) throws IOException;
+
+    /**
+     * Replaces the array of values with one of the specified {@code capacity}. If the specified {@code destinations}
+     * are not {@code null}, then the value at each index of the old array is moved to the index in the new one given
+     * by the corresponding element of {@code destinations}, unless that element is negative.
+     *
+     * @param capacity the specified capacity
+     * @param destinations the specified destinations
+     */
+    abstract void resizeValues(int capacity, int[] destinations);
+
+    /**
+     * Moves the value at the specified {@code from} index to the specified {@code to} index.
+     *
+     * @param from the index of the value to move
+     * @param to the index to which the value is moved
+     */
+    abstract void moveValue(int from, int to);
+
+    /**
+     * Releases the value at the specified {@code index}.
+     *
+     * @param index the specified index
+     */
+    abstract void clearValue(int index);
+
+    /**
+     * Provides the value at the specified {@code index}, boxed if it is primitive.
+     *
+     * @param index the specified index
+     * @return the value at the specified {@code index}
+     */
+    abstract Object valueAt(int index);
+
+    /**
+     * Writes the value at the specified {@code index} to the specified {@code stream}.
+     *
+     * @param stream the specified stream
+     * @param index the specified index
+     * @throws IOException if the value could not be written
+     */
+    abstract void writeValue(ObjectOutputStream stream, int index) throws IOException;
+
+    /**
+     * Reads a value from the specified {@code stream} into the specified {@code index}.
+     *
+     * @param stream the specified stream
+     * @param index the specified index
+     * @throws IOException if a value could not be read
+     * @throws ClassNotFoundException if the class of a value could not be found
+     */
+    abstract void readValue(ObjectInputStream stream, int index) throws IOException, ClassNotFoundException;
+
+    /**
+     * Removes all entries from this {@code AbstractPrimitiveKeyMap}.
+     */
+    public void clear() {
+        size = 0;
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Provides the number of entries in this {@code AbstractPrimitiveKeyMap}.
+     *
+     * @return the size of this {@code AbstractPrimitiveKeyMap}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Determines whether or not there are any entries in this {@code AbstractPrimitiveKeyMap}.
+     *
+     * @return {@code true} if this {@code AbstractPrimitiveKeyMap} has no entries in it
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Grows the table of this {@code AbstractPrimitiveKeyMap} if adding a key would bring it to its load factor, which
+     * moves every key.
+     *
+     * @return {@code true} if the table grew
+     */
+    boolean ensureCapacity() {
+        // Growing before the table would reach its load factor keeps a slot empty, at which every probe ends.
+        if (size + 1 >= used.length * loadFactor) {
+            if (used.length == MAX_CAPACITY) {
+                throw new OutOfMemoryError();
+            }
+            rehash(used.length << 1);
+            return true;
+        }
+        return false;
+    }
+
+    private void rehash(int capacity) {
+        boolean[] oldUsed = used;
+        int mask = capacity - 1;
+        int[] destinations = new int[oldUsed.length];
+        used = new boolean[capacity];
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                int index = hashAt(i) & mask;
+                while (used[index]) {
+                    index = (index + 1) & mask;
+                }
+                used[index] = true;
+                destinations[i] = index;
+            } else {
+                destinations[i] = -1;
+            }
+        }
+        resizeKeys(capacity, destinations);
+        resizeValues(capacity, destinations);
+    }
+
+    /**
+     * Marks the specified vacant {@code index} as holding a newly added key.
+     *
+     * @param index the specified index
+     */
+    void occupy(int index) {
+        used[index] = true;
+        size++;
+    }
+
+    /**
+     * Removes the key at the specified {@code index}, shifting any keys displaced past it back toward their home
+     * slots.
+     *
+     * @param index the specified index
+     */
+    void delete(int index) {
+        int mask = used.length - 1, next = (index + 1) & mask;
+        while (used[next]) {
+            // The key at next may fill the hole only if the hole lies between its home slot and next.
+            if (((next - hashAt(next)) & mask) >= ((next - index) & mask)) {
+                moveKey(next, index);
+                moveValue(next, index);
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[index] = false;
+        clearValue(index);
+        size--;
+    }
+
+    /**
+     * Provides the number of slots in the table of this {@code AbstractPrimitiveKeyMap}.
+     *
+     * @return the capacity of this {@code AbstractPrimitiveKeyMap}
+     */
+    int capacity() {
+        return used.length;
+    }
+
+    /**
+     * Determines whether or not there is a key at the specified {@code index}.
+     *
+     * @param index the specified index
+     * @return {@code true} if there is a key at the specified {@code index}
+     */
+    boolean isUsed(int index) {
+        return used[index];
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        AbstractPrimitiveKeyMap map = (AbstractPrimitiveKeyMap)obj;
+        if (map.size != size) {
+            return false;
+        }
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) {
+                int index = indexIn(map, i);
+                if (index < 0 || !areEqual(valueAt(i), map.valueAt(index))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) {
+                result += 31 * (31 + boxedKeyAt(i).hashCode()) + hash(valueAt(i));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        int count = 0;
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) {
+                Object value = valueAt(i);
+                builder.append("{").append(boxedKeyAt(i)).append(" : ").append(value == this ? "(this map)" : value)
+                       .append("}");
+                if (++count < size) {
+                    builder.append(", ");
+                }
+            }
+        }
+        return builder.append("]").toString();
+    }
+
+    private static final long serialVersionUID = 4312871962043785219L;
+
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        stream.writeInt(size);
+        stream.writeDouble(loadFactor);
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) {
+                writeKey(stream, i);
+                writeValue(stream, i);
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        int size = validateSize(stream.readInt());
+        loadFactor = readLoadFactor(stream);
+        allocate(capacityFor(size, loadFactor));
+        this.size = 0;
+        for (int i = 0; i < size; i++) {
+            readValue(stream, readKey(stream));
+        }
+    }
+
+    private static double readLoadFactor(ObjectInputStream stream) throws IOException {
+        try {
+            return validateLoadFactor(stream.readDouble());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidObjectException("Load factor not on (0, 1).");
+        }
+    }
+
+}
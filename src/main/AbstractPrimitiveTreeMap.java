@@ -0,0 +1,442 @@
+package main;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+import static util.Common.*;
+
+/**
+ * The {@code AbstractPrimitiveTreeMap} class is the base class from which all ordered maps keyed by primitives shall be
+ * derived. Entries are the nodes of an AVL tree held in parallel arrays and linked by index rather than by reference,
+ * so no object is allocated per entry. Derived classes store keys unboxed in an array of their own and descend the tree
+ * comparing them directly, with a single comparison per node; this class keeps the shape of the tree balanced and
+ * reuses the nodes of removed entries.
+ *
+ * @param <V> the type of mapped values
+ * @author Jeff Wilgus
+ */
+public abstract class AbstractPrimitiveTreeMap<V> implements Serializable {
+
+    /**
+     * The index that stands for the absence of a node.
+     */
+    static final int NIL = -1;
+
+    int size;
+    transient int root;
+    transient int[] left;
+    transient int[] right;
+    transient V[] values;
+    private transient byte[] heights;
+    private transient int next;
+    private transient int free;
+
+    /**
+     * The node most recently detached from a subtree by {@link #deleteMinimum(int)}.
+     */
+    private transient int minimum;
+
+    /**
+     * Constructs a new {@code AbstractPrimitiveTreeMap} object.
+     */
+    AbstractPrimitiveTreeMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        root = free = NIL;
+        next = 0;
+        left = new int[capacity];
+        right = new int[capacity];
+        values = (V[])new Object[capacity];
+        heights = new byte[capacity];
+        resizeKeys(capacity);
+    }
+
+    /**
+     * Replaces the array of keys with one of the specified {@code capacity} that holds the keys of the old one at the
+     * same indices.
+     *
+     * @param capacity the specified capacity
+     */
+    abstract void resizeKeys(int capacity);
+
+    /**
+     * Compares the keys of the nodes at the specified indices {@code x} and {@code y}.
+     *
+     * @param x the index of the first node
+     * @param y the index of the second node
+     * @return a negative integer, zero, or a positive integer as the first key precedes, equals, or follows the second
+     */
+    abstract int compareKeys(int x, int y);
+
+    /**
+     * Determines whether or not the key of the node at the specified index {@code x} is equal to that of the node of
+     * the specified {@code map} at the specified index {@code y}.
+     *
+     * @param x the index of the node in this map
+     * @param map the specified map, which is of the same class as this one
+     * @param y the index of the node in the specified {@code map}
+     * @return {@code true} if the keys are equal
+     */
+    abstract boolean keyEquals(int x, AbstractPrimitiveTreeMap<?> map, int y);
+
+    /**
+     * Provides the key of the node at the specified index {@code x}, boxed.
+     *
+     * @param x the specified index
+     * @return the key at the specified index
+     */
+    abstract Object keyAt(int x);
+
+    /**
+     * Writes the key of the node at the specified index {@code x} to the specified {@code stream}.
+     *
+     * @param stream the specified stream
+     * @param x the specified index
+     * @throws IOException if the key could not be written
+     */
+    abstract void writeKey(ObjectOutputStream stream, int x) throws IOException;
+
+    /**
+     * Reads a key from the specified {@code stream} into the node at the specified index {@code x}.
+     *
+     * @param stream the specified stream
+     * @param x the specified index
+     * @throws IOException if a key could not be read
+     */
+    abstract void readKey(ObjectInputStream stream, int x) throws IOException;
+
+    /**
+     * Removes all entries from this {@code AbstractPrimitiveTreeMap}.
+     */
+    public void clear() {
+        size = 0;
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Provides the number of entries in this {@code AbstractPrimitiveTreeMap}.
+     *
+     * @return the size of this {@code AbstractPrimitiveTreeMap}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Determines whether or not there are any entries in this {@code AbstractPrimitiveTreeMap}.
+     *
+     * @return {@code true} if this {@code AbstractPrimitiveTreeMap} has no entries in it
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Ensures that a node may be added without growing the arrays of this {@code AbstractPrimitiveTreeMap}. Derived
+     * classes call this before descending to insert, as arrays replaced during the descent would strand the links
+     * being assigned on the way back up.
+     */
+    void reserve() {
+        if (free == NIL && next == left.length) {
+            if (left.length == MAX_CAPACITY) {
+                throw new OutOfMemoryError();
+            }
+            int capacity = left.length << 1;
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            values = Arrays.copyOf(values, capacity);
+            heights = Arrays.copyOf(heights, capacity);
+            resizeKeys(capacity);
+        }
+    }
+
+    /**
+     * Provides the index of a new leaf holding the specified {@code value}. Derived classes set its key.
+     *
+     * @param value the specified value
+     * @return the index of the new node
+     */
+    int newNode(V value) {
+        int x;
+        if (free != NIL) {
+            x = free;
+            free = left[x];
+        } else {
+            x = next++;
+        }
+        left[x] = right[x] = NIL;
+        values[x] = value;
+        heights[x] = 1;
+        size++;
+        return x;
+    }
+
+    /**
+     * Returns the node at the specified index {@code x}, which has been unlinked from the tree, to be reused.
+     *
+     * @param x the specified index
+     */
+    void release(int x) {
+        values[x] = null;
+        left[x] = free;
+        free = x;
+        size--;
+    }
+
+    /**
+     * Provides the root of the subtree that remains once the node at the specified index {@code x} is removed from the
+     * top of it, which is its successor if it has two children.
+     *
+     * @param x the specified index
+     * @return the root of the remaining subtree
+     */
+    int splice(int x) {
+        if (left[x] == NIL) {
+            return right[x];
+        }
+        if (right[x] == NIL) {
+            return left[x];
+        }
+        int rest = deleteMinimum(right[x]), y = minimum;
+        left[y] = left[x];
+        right[y] = rest;
+        return balance(y);
+    }
+
+    private int deleteMinimum(int x) {
+        if (left[x] == NIL) {
+            minimum = x;
+            return right[x];
+        }
+        left[x] = deleteMinimum(left[x]);
+        return balance(x);
+    }
+
+    /**
+     * Restores the balance of the subtree rooted at the specified index {@code x}, whose children are balanced and
+     * differ in height by no more than two, rotating once or twice if they differ by two.
+     *
+     * @param x the specified index
+     * @return the root of the balanced subtree
+     */
+    int balance(int x) {
+        int hl = heightOf(left[x]), hr = heightOf(right[x]);
+        if (hl > hr + 1) {
+            if (heightOf(left[left[x]]) < heightOf(right[left[x]])) {
+                left[x] = rotateLeft(left[x]);
+            }
+            return rotateRight(x);
+        }
+        if (hr > hl + 1) {
+            if (heightOf(right[right[x]]) < heightOf(left[right[x]])) {
+                right[x] = rotateRight(right[x]);
+            }
+            return rotateLeft(x);
+        }
+        heights[x] = (byte)(Math.max(hl, hr) + 1);
+        return x;
+    }
+
+    private int rotateLeft(int x) {
+        int y = right[x];
+        right[x] = left[y];
+        left[y] = x;
+        update(x);
+        update(y);
+        return y;
+    }
+
+    private int rotateRight(int x) {
+        int y = left[x];
+        left[x] = right[y];
+        right[y] = x;
+        update(x);
+        update(y);
+        return y;
+    }
+
+    private void update(int x) {
+        heights[x] = (byte)(Math.max(heightOf(left[x]), heightOf(right[x])) + 1);
+    }
+
+    private int heightOf(int x) {
+        return x == NIL ? 0 : heights[x];
+    }
+
+    /**
+     * Provides the node with the least key in the subtree rooted at the specified index {@code x}.
+     *
+     * @param x the specified index
+     * @return the index of the least node
+     */
+    int minimum(int x) {
+        while (left[x] != NIL) {
+            x = left[x];
+        }
+        return x;
+    }
+
+    /**
+     * Provides the node with the greatest key in the subtree rooted at the specified index {@code x}.
+     *
+     * @param x the specified index
+     * @return the index of the greatest node
+     */
+    int maximum(int x) {
+        while (right[x] != NIL) {
+            x = right[x];
+        }
+        return x;
+    }
+
+    /**
+     * Provides the root of this {@code AbstractPrimitiveTreeMap}.
+     *
+     * @return the index of the root
+     * @throws IllegalStateException if this {@code AbstractPrimitiveTreeMap} is empty
+     */
+    int rootOrThrow() {
+        if (isEmpty()) {
+            throw new IllegalStateException();
+        }
+        return root;
+    }
+
+    /**
+     * Provides the specified index {@code x} if it is that of a node.
+     *
+     * @param x the specified index
+     * @return the specified index
+     * @throws NoSuchElementException if the specified index is {@code NIL}
+     */
+    int existing(int x) {
+        if (x == NIL) {
+            throw new NoSuchElementException();
+        }
+        return x;
+    }
+
+    /**
+     * Passes the index of each node in this {@code AbstractPrimitiveTreeMap} to the specified {@code action} in key
+     * order.
+     *
+     * @param action the specified action
+     */
+    void walk(IntConsumer action) {
+        int[] stack = new int[heightOf(root)];
+        int depth = 0;
+        for (int x = root; x != NIL || depth > 0; x = right[x]) {
+            for (; x != NIL; x = left[x]) {
+                stack[depth++] = x;
+            }
+            x = stack[--depth];
+            action.accept(x);
+        }
+    }
+
+    /**
+     * Provides the indices of the nodes in this {@code AbstractPrimitiveTreeMap} in key order.
+     *
+     * @return an array of the indices of the nodes in key order
+     */
+    int[] order() {
+        int[] result = new int[size], count = {0};
+        walk(x -> result[count[0]++] = x);
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        AbstractPrimitiveTreeMap<?> map = (AbstractPrimitiveTreeMap<?>)obj;
+        if (map.size != size) {
+            return false;
+        }
+        int[] order = order(), other = map.order();
+        for (int i = 0; i < size; i++) {
+            if (!keyEquals(order[i], map, other[i]) || !areEqual(values[order[i]], map.values[other[i]])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (int x : order()) {
+            result += 31 * (31 + hash(keyAt(x))) + hash(values[x]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        int count = 0;
+        StringBuilder builder = new StringBuilder("[");
+        for (int x : order()) {
+            builder.append("{").append(keyAt(x)).append(" : ").append(values[x] == this ? "(this map)" : values[x])
+                   .append("}");
+            if (++count < size) {
+                builder.append(", ");
+            }
+        }
+        return builder.append("]").toString();
+    }
+
+    private static final long serialVersionUID = 3167318218093628570L;
+
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        stream.writeInt(size);
+        for (int x : order()) {
+            writeKey(stream, x);
+            stream.writeObject(values[x]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        int size = validateSize(stream.readInt());
+        allocate(Math.max(size, DEFAULT_CAPACITY));
+        for (int x = 0; x < size; x++) {
+            readKey(stream, x);
+            values[x] = (V)stream.readObject();
+            if (x > 0 && compareKeys(x - 1, x) >= 0) {
+                throw new InvalidObjectException("Keys not in ascending order.");
+            }
+        }
+        next = size;
+        root = build(0, size - 1);
+    }
+
+    /**
+     * Links the nodes from {@code lo} to {@code hi}, which hold keys in ascending order, into a balanced subtree.
+     */
+    private int build(int lo, int hi) {
+        if (lo > hi) {
+            return NIL;
+        }
+        int mid = (lo + hi) >>> 1;
+        left[mid] = build(lo, mid - 1);
+        right[mid] = build(mid + 1, hi);
+        update(mid);
+        return mid;
+    }
+
+}
@@ -38,6 +38,14 @@ public abstract class AbstractSet<E> extends AbstractCollection<E> implements Se
         size = map.size();
     }
 
+    @Override
+    public void addAll(final Collection<? extends E> collection) {
+        map.reserve(map.size() + collection.size());
+        for (E element : collection) {
+            add(element);
+        }
+    }
+
     @Override
     public void remove(final E element) {
         map.remove(element);
@@ -84,7 +92,7 @@ public abstract class AbstractSet<E> extends AbstractCollection<E> implements Se
 
     private void writeObject(ObjectOutputStream stream) throws IOException {
         stream.defaultWriteObject();
-        stream.writeInt(size);
+        stream.writeInt(size());
         stream.writeObject(map);
     }
 
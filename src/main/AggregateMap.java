@@ -0,0 +1,106 @@
+package main;
+
+import util.Aggregator;
+import util.DefaultComparator;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * The {@code AggregateMap} class is a {@code TreeMap} that summarizes its entries with a supplied {@code Aggregator}.
+ * The summary of the entries beneath each node is kept up to date through insertions, removals, rotations, and changes
+ * of value, so that the summary of any range of keys (e.g. the sum, minimum, or maximum of their values) is found in
+ * logarithmic time rather than by visiting each entry in the range. Keys and values may be {@code null} if the {@code
+ * Aggregator} can measure them. An {@code AggregateMap} is serializable only if its {@code Aggregator} is.
+ *
+ * @param <K> the type of key that maps to values
+ * @param <V> the type of mapped values
+ * @param <A> the type of summary
+ * @author Jeff Wilgus
+ */
+public class AggregateMap<K, V, A> extends TreeMap<K, V> {
+
+    /**
+     * Constructs a new {@code AggregateMap} object that summarizes its entries with the specified {@code Aggregator}.
+     *
+     * @param aggregator the specified {@code Aggregator}
+     * @throws NullPointerException if the specified {@code Aggregator} is {@code null}
+     */
+    public AggregateMap(Aggregator<K, V, A> aggregator) {
+        this(new DefaultComparator<>(), aggregator);
+    }
+
+    /**
+     * Constructs a new {@code AggregateMap} object sorted on the order induced by the specified {@code Comparator} that
+     * summarizes its entries with the specified {@code Aggregator}.
+     *
+     * @param comp the specified {@code Comparator}
+     * @param aggregator the specified {@code Aggregator}
+     * @throws NullPointerException if the specified {@code Comparator} or {@code Aggregator} is {@code null}
+     */
+    public AggregateMap(Comparator<K> comp, Aggregator<K, V, A> aggregator) {
+        super(comp, false, Objects.requireNonNull(aggregator));
+    }
+
+    /**
+     * Provides the summary of all of the entries in this {@code AggregateMap}.
+     *
+     * @return the summary of this {@code AggregateMap}, or the identity summary if it is empty
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public A aggregate() {
+        return (A)super.aggregate();
+    }
+
+    /**
+     * Provides the summary of the entries in this {@code AggregateMap} whose keys range from {@code from}, inclusive,
+     * to {@code to}, exclusive.
+     *
+     * @param from the specified low key
+     * @param to the specified high key
+     * @return the summary of the entries from {@code from} to {@code to}, or the identity summary if there are none
+     * @throws IllegalArgumentException if {@code from} is after {@code to}
+     */
+    public A aggregate(final K from, final K to) {
+        return aggregate(from, true, to, false);
+    }
+
+    /**
+     * Provides the summary of the entries in this {@code AggregateMap} whose keys range from {@code from} to {@code
+     * to}. Each bound is included if its flag is {@code true}.
+     *
+     * @param from the specified low key
+     * @param fromInclusive whether or not the low key is included
+     * @param to the specified high key
+     * @param toInclusive whether or not the high key is included
+     * @return the summary of the entries from {@code from} to {@code to}, or the identity summary if there are none
+     * @throws IllegalArgumentException if {@code from} is after {@code to}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public A aggregate(final K from, final boolean fromInclusive, final K to, final boolean toInclusive) {
+        return (A)super.aggregate(from, fromInclusive, to, toInclusive);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param key the specified key
+     * @return an {@code AggregateMap} of the entries from {@code key} on
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public AggregateMap<K, V, A> splitAt(final K key) {
+        return (AggregateMap<K, V, A>)super.splitAt(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    AggregateMap<K, V, A> emptyCopy() {
+        return new AggregateMap<>(comparator(), (Aggregator<K, V, A>)(Aggregator<K, V, ?>)aggregator());
+    }
+
+    private static final long serialVersionUID = -2193844417236561807L;
+
+}
@@ -12,7 +12,7 @@ public class ArrayDeque<E> extends AbstractDeque<E> {
      * Constructs a new {@code ArrayDeque} object.
      */
     public ArrayDeque() {
-        data = new ArrayList<>();
+        data = new ArrayList<>(true);
     }
 
     private static final long serialVersionUID = 1037874193195017109L;
@@ -2,18 +2,30 @@ package main;
 
 import util.Quicksort;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 
 import static util.Common.DEFAULT_CAPACITY;
 import static util.Common.MAX_CAPACITY;
+import static util.Common.validateGrowthFactor;
 
 /**
- * The {@code ArrayList} class is an array-based implementation of the {@code List} interface. {@code Position}-based
- * methods perform in linear time, while index-based methods run in constant time. {@code ArrayList}s may contain {@code
- * null} elements.
+ * The {@code ArrayList} class is an array-based implementation of the {@code List} interface. Its elements are held in
+ * a circular array, so additions and removals at either end take amortized constant time, and those elsewhere shift
+ * whichever side of the list is shorter. Index-based methods run in constant time. Each {@code Position} records the
+ * slot of the array in which it was last found, from which its index follows directly. An addition or removal moves
+ * only the elements to one side of it, and the slots of those moved are recorded anew, all at once, the first time one
+ * of them is sought. {@code Position}-based methods therefore find their index in constant time, amortized over the
+ * shifting that moved it, and in constant time outright for a {@code Position} that has not moved since it was last
+ * found, such as one on the far side of the additions and removals being made. {@code ArrayList}s may contain {@code
+ * null} elements. An {@code ArrayList} may also be constructed to be compact, in which case it stores its elements in
+ * its array directly rather than wrapping each in a {@code Position}, which roughly halves its memory footprint and
+ * makes index-based access a single array load. The {@code Position}s of a compact {@code ArrayList} are made on demand
+ * and refer to an index rather than to an element: each is valid only until the next addition to or removal from the
+ * list, after which it is rejected as not belonging to it.
  *
  * @param <E> the type of element in this {@code ArrayList}
  * @author Jeff Wilgus
@@ -22,24 +34,125 @@ public class ArrayList<E> extends AbstractList<E> {
 
     private final static class Bucket<E> extends AbstractPosition<E> {
 
+        /**
+         * The index in the array at which this {@code Bucket} was last found, which is current unless it has since been
+         * moved.
+         */
+        int slot;
+
         Bucket(E element, final ArrayList<E> owner) {
             super(element, owner);
         }
 
     }
 
+    /**
+     * The {@code Position} of an index in a compact {@code ArrayList}, which is valid only for the generation of the
+     * list in which it was made.
+     */
+    private final static class Slot<E> extends AbstractPosition<E> {
+
+        final int index;
+        final int generation;
+
+        Slot(final ArrayList<E> owner, int index) {
+            super(null, owner);
+            this.index = index;
+            generation = owner.generation;
+        }
+
+        @Override
+        public E getElement() {
+            return list().getAt(list().toIndex(this));
+        }
+
+        @Override
+        public E setElement(final E element) {
+            return list().set(list().toIndex(this), element);
+        }
+
+        private ArrayList<E> list() {
+            return (ArrayList<E>)owner;
+        }
+
+    }
+
+    /**
+     * The factor by which the array of an {@code ArrayList} is grown when it is full, unless another is specified.
+     */
+    public static final double DEFAULT_GROWTH_FACTOR = 2;
+
     private transient Object[] elements;
+    private final boolean compact;
+    private final double growthFactor;
+
+    /**
+     * The index in the array of the first element. The elements follow it in order, wrapping around to the start of the
+     * array once they reach its end.
+     */
+    private transient int head;
+
+    /**
+     * The number of leading elements, and the index of the first of the trailing elements, that may have moved since
+     * their {@code Bucket}s last recorded their slots. An addition or removal moves only the elements to one side of
+     * it, so every {@code Bucket} whose recorded slot is stale lies in one of these two runs.
+     */
+    private transient int movedBefore, movedFrom;
+
+    /**
+     * Incremented whenever an element is added or removed, so that the {@code Slot}s of a compact {@code ArrayList}
+     * made before then are recognized as stale.
+     */
+    private transient int generation;
 
     /**
      * Constructs a new {@code ArrayList} object.
      */
     public ArrayList() {
+        this(false);
+    }
+
+    /**
+     * Constructs a new {@code ArrayList} object that, if {@code compact} is {@code true}, stores its elements in its
+     * array directly and makes its {@code Position}s on demand.
+     *
+     * @param compact whether or not elements are stored without a {@code Position} apiece
+     */
+    public ArrayList(boolean compact) {
+        this(compact, DEFAULT_CAPACITY, DEFAULT_GROWTH_FACTOR);
+    }
+
+    /**
+     * Constructs a new {@code ArrayList} object that, if {@code compact} is {@code true}, stores its elements in its
+     * array directly, that can hold the specified {@code capacity} number of elements without growing, and whose array
+     * is grown by the specified {@code growthFactor} when it is full.
+     *
+     * @param compact whether or not elements are stored without a {@code Position} apiece
+     * @param capacity the specified capacity
+     * @param growthFactor the specified growth factor
+     * @throws IllegalArgumentException if the specified {@code capacity} is negative, or the specified {@code
+     * growthFactor} is not greater than one
+     * @throws OutOfMemoryError if the specified {@code capacity} exceeds the maximum capacity
+     */
+    public ArrayList(boolean compact, int capacity, double growthFactor) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (capacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError();
+        }
+        this.compact = compact;
+        this.growthFactor = validateGrowthFactor(growthFactor);
         init();
+        elements = new Object[capacity];
     }
 
     @Override
     protected void init() {
         size = 0;
+        head = 0;
+        movedBefore = movedFrom = 0;
+        generation++;
         sort = new Quicksort<>();
         elements = new Object[DEFAULT_CAPACITY];
     }
@@ -71,23 +184,117 @@ public class ArrayList<E> extends AbstractList<E> {
 
     private Position<E> insert(int index, E element) {
         validateIndex(index, true);
-        ensureCapacity();
-        Bucket<E> bucket = new Bucket<>(element, this);
-        if (size - index > 0) {
-            System.arraycopy(elements, index, elements, index + 1, size - index);
+        if (size == elements.length) {
+            resize(grownLength());
+        }
+        movedBefore = movedBefore > index ? movedBefore + 1 : movedBefore;
+        movedFrom = movedFrom > index ? movedFrom + 1 : movedFrom;
+        if (index < size - index) {
+            move(0, -1, index);
+            head = slot(-1);
+            movedBefore = Math.max(movedBefore, index);
+        } else {
+            move(index, index + 1, size - index);
+            movedFrom = Math.min(movedFrom, index + 1);
         }
-        elements[index] = bucket;
         size++;
         sort.clear();
+        if (compact) {
+            elements[slot(index)] = element;
+            generation++;
+            return new Slot<>(this, index);
+        }
+        Bucket<E> bucket = new Bucket<>(element, this);
+        bucket.slot = slot(index);
+        elements[bucket.slot] = bucket;
         return bucket;
     }
 
-    void ensureCapacity() {
+    /**
+     * Ensures that this {@code ArrayList} can hold the specified {@code capacity} number of elements without growing.
+     * Its array is grown at least by its growth factor, as it would be were it full, so that alternately calling this
+     * method with a slightly larger {@code capacity} and adding an element takes amortized constant time. Removals
+     * may shrink the array again once no more than a quarter of it is in use.
+     *
+     * @param capacity the specified capacity
+     * @throws OutOfMemoryError if the specified {@code capacity} exceeds the maximum capacity
+     */
+    public void ensureCapacity(final int capacity) {
+        if (capacity > elements.length) {
+            if (capacity > MAX_CAPACITY) {
+                throw new OutOfMemoryError();
+            }
+            resize(Math.max(capacity, grownLength()));
+        }
+    }
+
+    /**
+     * Shrinks the array of this {@code ArrayList} to hold exactly as many elements as are in it.
+     */
+    public void trimToSize() {
+        if (size < elements.length) {
+            resize(size);
+        }
+    }
+
+    private int grownLength() {
         if (elements.length == MAX_CAPACITY) {
             throw new OutOfMemoryError();
         }
-        if (size == elements.length) {
-            elements = Arrays.copyOf(elements, elements.length << 1);
+        // AbstractList adds the elements of a deserialized ArrayList before its growth factor has been read.
+        double factor = growthFactor == 0 ? DEFAULT_GROWTH_FACTOR : growthFactor;
+        long length = Math.max((long)(elements.length * factor), elements.length + 1L);
+        return (int)Math.min(Math.max(length, DEFAULT_CAPACITY), MAX_CAPACITY);
+    }
+
+    /**
+     * Replaces the array of this {@code ArrayList} with one of the specified {@code length} whose first element is at
+     * its start.
+     */
+    private void resize(int length) {
+        Object[] resized = new Object[length];
+        int first = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, resized, 0, first);
+        System.arraycopy(elements, 0, resized, first, size - first);
+        elements = resized;
+        head = 0;
+        movedBefore = movedFrom = size;
+    }
+
+    /**
+     * Provides the index in the array of this {@code ArrayList} of the element at the specified {@code index}, which
+     * may be one before the first element or one after the last.
+     */
+    private int slot(int index) {
+        int slot = head + index;
+        if (slot >= elements.length) {
+            return slot - elements.length;
+        }
+        return slot < 0 ? slot + elements.length : slot;
+    }
+
+    /**
+     * Moves the specified {@code count} number of elements starting at the specified index {@code from} so that they
+     * start at the specified index {@code to} instead, copying a run at a time so that no run wraps around the end of
+     * the array.
+     */
+    private void move(int from, int to, int count) {
+        if (to < from) {
+            while (count > 0) {
+                int source = slot(from), target = slot(to);
+                int run = Math.min(count, elements.length - Math.max(source, target));
+                System.arraycopy(elements, source, elements, target, run);
+                from += run;
+                to += run;
+                count -= run;
+            }
+        } else {
+            while (count > 0) {
+                int source = slot(from + count - 1) + 1, target = slot(to + count - 1) + 1;
+                int run = Math.min(count, Math.min(source, target));
+                System.arraycopy(elements, source - run, elements, target - run, run);
+                count -= run;
+            }
         }
     }
 
@@ -117,18 +324,36 @@ public class ArrayList<E> extends AbstractList<E> {
     }
 
     private E delete(int index) {
-        Bucket<E> bucket = bucketAt(index);
-        if (size - index > 1) {
-            System.arraycopy(elements, index + 1, elements, index, size - 1 - index);
+        E result = getAt(index);
+        if (!compact) {
+            bucketAt(index).owner = null;
         }
-        bucket.owner = null;
-        trimToSize();
-        return bucket.getElement();
+        movedBefore = movedBefore > index ? movedBefore - 1 : movedBefore;
+        movedFrom = movedFrom > index ? movedFrom - 1 : movedFrom;
+        if (index < size - 1 - index) {
+            move(0, 1, index);
+            elements[head] = null;
+            head = slot(1);
+            movedBefore = Math.max(movedBefore, index);
+        } else {
+            move(index + 1, index, size - 1 - index);
+            elements[slot(size - 1)] = null;
+            movedFrom = Math.min(movedFrom, index);
+        }
+        size--;
+        generation++;
+        shrink();
+        return result;
     }
 
-    private void trimToSize() {
-        if (--size < elements.length >> 1) {
-            elements = Arrays.copyOf(elements, size);
+    /**
+     * Halves the array of this {@code ArrayList} once no more than a quarter of it is in use. The array is then half
+     * full, so it is not resized again until the number of elements has either doubled or halved, however additions
+     * and removals alternate in the meantime.
+     */
+    private void shrink() {
+        if (size <= elements.length >> 2 && elements.length > DEFAULT_CAPACITY) {
+            resize(Math.max(elements.length >> 1, DEFAULT_CAPACITY));
         }
     }
 
@@ -157,44 +382,79 @@ public class ArrayList<E> extends AbstractList<E> {
         return getAt(toIndex(position) + 1);
     }
 
+    @SuppressWarnings("unchecked")
     private E getAt(int index) {
+        if (compact) {
+            return (E)elements[slot(validateIndex(index, false))];
+        }
         return bucketAt(index).getElement();
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public E set(final int index, final E element) {
         sort.clear();
+        if (compact) {
+            int slot = slot(validateIndex(index, false));
+            E result = (E)elements[slot];
+            elements[slot] = element;
+            return result;
+        }
         return bucketAt(index).setElement(element);
     }
 
     @Override
     public Position<E> positionOf(final E element) {
+        if (compact) {
+            return new Slot<>(this, indexOf(element));
+        }
         return bucketAt(indexOf(element));
     }
 
     private int toIndex(Position<E> position) {
-        validatePosition(position);
-        for (int i = 0; i < size; i++) {
-            if (elements[i] == position) {
-                return i;
+        AbstractPosition<E> valid = validatePosition(position);
+        if (compact) {
+            if (!(valid instanceof Slot) || ((Slot<E>)valid).generation != generation) {
+                throw new IllegalArgumentException();
+            }
+            return ((Slot<E>)valid).index;
+        }
+        Bucket<E> bucket = (Bucket<E>)valid;
+        if (!isAt(bucket)) {
+            for (int i = 0; i < movedBefore; i++) {
+                ((Bucket<?>)elements[slot(i)]).slot = slot(i);
+            }
+            for (int i = Math.max(movedBefore, movedFrom); i < size; i++) {
+                ((Bucket<?>)elements[slot(i)]).slot = slot(i);
+            }
+            movedBefore = 0;
+            movedFrom = size;
+            // A Bucket left behind by clear still names this ArrayList as its owner, but is nowhere in it.
+            if (!isAt(bucket)) {
+                throw new IllegalArgumentException();
             }
         }
-        throw new IllegalArgumentException();
+        int index = bucket.slot - head;
+        return index < 0 ? index + elements.length : index;
+    }
+
+    private boolean isAt(Bucket<E> bucket) {
+        return bucket.slot < elements.length && elements[bucket.slot] == bucket;
     }
 
     @SuppressWarnings("unchecked")
     private Bucket<E> bucketAt(int index) {
-        return (Bucket<E>)elements[validateIndex(index, false)];
+        return (Bucket<E>)elements[slot(validateIndex(index, false))];
     }
 
     @Override
     public ListIterator<E> listIterator() {
-        return null;
+        return new ListIter(0);
     }
 
     @Override
     public ListIterator<E> listIterator(final int index) {
-        return new ListIter(validateIndex(index, false));
+        return new ListIter(validateIndex(index, true));
     }
 
     @Override
@@ -210,8 +470,12 @@ public class ArrayList<E> extends AbstractList<E> {
     private final class ListIter implements ListIterator<E> {
 
         int next;
-        boolean added;
-        boolean removable;
+
+        /**
+         * The index of the element last returned by {@code next} or {@code previous}, or {@code -1} if it has since
+         * been removed or an element has since been added.
+         */
+        int last = -1;
 
         ListIter(int next) {
             this.next = next;
@@ -227,9 +491,8 @@ public class ArrayList<E> extends AbstractList<E> {
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-            added = false;
-            removable = true;
-            return getAt(next++);
+            last = next++;
+            return getAt(last);
         }
 
         @Override
@@ -242,9 +505,8 @@ public class ArrayList<E> extends AbstractList<E> {
             if (!hasPrevious()) {
                 throw new NoSuchElementException();
             }
-            added = false;
-            removable = true;
-            return getAt(--next);
+            last = --next;
+            return getAt(last);
         }
 
         @Override
@@ -259,25 +521,28 @@ public class ArrayList<E> extends AbstractList<E> {
 
         @Override
         public void remove() {
-            if (!removable || added) {
+            if (last < 0) {
                 throw new IllegalStateException();
             }
-            delete(next - 1);
+            delete(last);
+            if (last < next) {
+                next--;
+            }
+            last = -1;
         }
 
         @Override
         public void set(final E e) {
-            if (!removable || added) {
+            if (last < 0) {
                 throw new IllegalStateException();
             }
-            ArrayList.this.set(next - 1, e);
+            ArrayList.this.set(last, e);
         }
 
         @Override
         public void add(final E e) {
-            next++;
-            added = true;
-            ArrayList.this.add(next - 1, e);
+            insert(next++, e);
+            last = -1;
         }
 
     }
@@ -307,11 +572,22 @@ public class ArrayList<E> extends AbstractList<E> {
                 throw new IllegalStateException();
             }
             removable = false;
-            delete(current - 1);
+            delete(--current);
         }
 
     }
 
     private static final long serialVersionUID = 3193156208696397457L;
 
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream stream) throws ClassNotFoundException, IOException {
+        stream.defaultReadObject();
+        // AbstractList added the elements as Buckets before whether this ArrayList is compact had been read.
+        if (compact) {
+            for (int i = 0; i < size; i++) {
+                elements[slot(i)] = ((Bucket<E>)elements[slot(i)]).getElement();
+            }
+        }
+    }
+
 }
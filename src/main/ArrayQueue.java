@@ -12,7 +12,7 @@ public class ArrayQueue<E> extends AbstractQueue<E> {
      * Constructs a new {@code ArrayQueue} object.
      */
     public ArrayQueue() {
-        data = new ArrayList<>();
+        data = new ArrayList<>(true);
     }
 
     private static final long serialVersionUID = -6973538396761781940L;
@@ -12,7 +12,7 @@ public class ArrayStack<E> extends AbstractStack<E> {
      * Constructs a new {@code ArrayStack} object.
      */
     public ArrayStack() {
-        data = new ArrayList<>();
+        data = new ArrayList<>(true);
     }
 
     private static final long serialVersionUID = 4385986773919661768L;
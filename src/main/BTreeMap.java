@@ -0,0 +1,600 @@
+package main;
+
+import util.DefaultComparator;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+
+import static util.Common.*;
+
+/**
+ * The {@code BTreeMap} class is a B+-tree implementation of the {@code OrderedMap} interface. Entries are sorted by key
+ * on the order induced by a supplied {@code Comparator}, or natural ordering if none is supplied. Each node holds a
+ * sorted array of up to {@code 2t - 1} keys, where {@code t} is the minimum degree of the tree, and entries are stored
+ * only in leaves, which are linked in key order. Lookups therefore visit {@code log_t(n)} nodes rather than the {@code
+ * log_2(n)} of a binary tree, and ordered traversal scans the leaves in sequence. This class offers logarithmic time
+ * performance for {@code put}, {@code get}, and {@code remove} operations. Both keys and values may be {@code null},
+ * however, only one key may be, and it precedes all others. Keys are equal if the {@code Comparator} deems them so.
+ *
+ * @param <K> the type of key that maps to values
+ * @param <V> the type of mapped values
+ * @author Jeff Wilgus
+ */
+public class BTreeMap<K, V> extends AbstractMap<K, V> implements OrderedMap<K, V> {
+
+    private static final class Node<K, V> {
+
+        final Object[] keys;
+        final Object[] values;
+        final Node<K, V>[] children;
+        int count;
+        Node<K, V> prev, next;
+
+        @SuppressWarnings("unchecked")
+        Node(int degree, boolean leaf) {
+            keys = new Object[2 * degree - 1];
+            values = leaf ? new Object[2 * degree - 1] : null;
+            children = leaf ? null : (Node<K, V>[])new Node<?, ?>[2 * degree];
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+
+        @SuppressWarnings("unchecked")
+        K key(int index) {
+            return (K)keys[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        V value(int index) {
+            return (V)values[index];
+        }
+
+    }
+
+    private static final class BTreeEntry<K, V> extends AbstractEntry<K, V> {
+
+        BTreeEntry(K key, V value) {
+            super(key, value);
+        }
+
+    }
+
+    private static final int DEFAULT_DEGREE = 32;
+
+    private transient Node<K, V> root, head, tail;
+    private final int degree;
+    private Comparator<K> comp;
+
+    /**
+     * Constructs a new {@code BTreeMap} object.
+     */
+    public BTreeMap() {
+        this(new DefaultComparator<>());
+    }
+
+    /**
+     * Constructs a new {@code BTreeMap} object sorted on the order induced by the specified {@code Comparator}.
+     *
+     * @param comp the specified {@code Comparator}
+     * @throws NullPointerException if the specified {@code Comparator} is {@code null}
+     */
+    public BTreeMap(Comparator<K> comp) {
+        this(DEFAULT_DEGREE, comp);
+    }
+
+    /**
+     * Constructs a new {@code BTreeMap} object with the specified minimum {@code degree} sorted on the order induced by
+     * the specified {@code Comparator}. Every node but the root holds between {@code degree - 1} and {@code 2 * degree
+     * - 1} keys.
+     *
+     * @param degree the specified minimum degree
+     * @param comp the specified {@code Comparator}
+     * @throws IllegalArgumentException if the specified {@code degree} is less than two
+     * @throws NullPointerException if the specified {@code Comparator} is {@code null}
+     */
+    public BTreeMap(int degree, Comparator<K> comp) {
+        if (degree < 2) {
+            throw new IllegalArgumentException("Degree must be at least two.");
+        }
+        this.degree = degree;
+        init();
+        setComp(comp);
+    }
+
+    @Override
+    protected void init() {
+        size = 0;
+        root = new Node<>(degree, true);
+        head = root;
+        tail = root;
+    }
+
+    private void setComp(Comparator<K> comp) {
+        this.comp = Objects.requireNonNull(comp);
+    }
+
+    @Override
+    public boolean contains(final K key) {
+        return !isEmpty() && indexOf(leafFor(key), key) >= 0;
+    }
+
+    @Override
+    public Optional<V> put(final K key, final V value) {
+        if (root.count == 2 * degree - 1) {
+            Node<K, V> s = new Node<>(degree, false);
+            s.children[0] = root;
+            root = s;
+            split(s, 0);
+        }
+        Node<K, V> x = root;
+        while (!x.isLeaf()) {
+            int i = childIndex(x, key);
+            if (x.children[i].count == 2 * degree - 1) {
+                split(x, i);
+                if (compare(key, x.key(i)) >= 0) {
+                    i++;
+                }
+            }
+            x = x.children[i];
+        }
+        int i = indexOf(x, key);
+        if (i >= 0) {
+            V result = x.value(i);
+            x.values[i] = value;
+            return Optional.ofNullable(result);
+        }
+        i = -i - 1;
+        System.arraycopy(x.keys, i, x.keys, i + 1, x.count - i);
+        System.arraycopy(x.values, i, x.values, i + 1, x.count - i);
+        x.keys[i] = key;
+        x.values[i] = value;
+        x.count++;
+        size++;
+        return Optional.empty();
+    }
+
+    /**
+     * Splits the full child of the specified node {@code x} at the specified {@code index} in two, and adds a separator
+     * for the new right half to {@code x}. A leaf keeps a copy of its separator, while an internal node gives its
+     * median key up to {@code x}.
+     */
+    private void split(Node<K, V> x, int index) {
+        Node<K, V> y = x.children[index];
+        Node<K, V> z = new Node<>(degree, y.isLeaf());
+        Object separator;
+        if (y.isLeaf()) {
+            z.count = degree;
+            System.arraycopy(y.keys, degree - 1, z.keys, 0, degree);
+            System.arraycopy(y.values, degree - 1, z.values, 0, degree);
+            clear(y.values, degree - 1, y.count);
+            separator = z.keys[0];
+            z.prev = y;
+            z.next = y.next;
+            if (y.next == null) {
+                tail = z;
+            } else {
+                y.next.prev = z;
+            }
+            y.next = z;
+        } else {
+            z.count = degree - 1;
+            System.arraycopy(y.keys, degree, z.keys, 0, degree - 1);
+            System.arraycopy(y.children, degree, z.children, 0, degree);
+            clear(y.children, degree, y.count + 1);
+            separator = y.keys[degree - 1];
+        }
+        clear(y.keys, degree - 1, y.count);
+        y.count = degree - 1;
+        System.arraycopy(x.keys, index, x.keys, index + 1, x.count - index);
+        System.arraycopy(x.children, index + 1, x.children, index + 2, x.count - index);
+        x.keys[index] = separator;
+        x.children[index + 1] = z;
+        x.count++;
+    }
+
+    @Override
+    public V remove(final K key) {
+        return delete(key).getValue();
+    }
+
+    @Override
+    public Entry<K, V> removeFirst() {
+        return delete(getFirst().getKey());
+    }
+
+    @Override
+    public Entry<K, V> removeLast() {
+        return delete(getLast().getKey());
+    }
+
+    @Override
+    public Entry<K, V> removePrevious(final K key) {
+        return delete(getPrevious(key).getKey());
+    }
+
+    @Override
+    public Entry<K, V> removeNext(final K key) {
+        return delete(getNext(key).getKey());
+    }
+
+    /**
+     * Removes the entry with the specified {@code key} in a single pass from the root. Every child descended into is
+     * first given at least {@code degree} keys, by borrowing from or merging with a sibling, so that the removal never
+     * leaves a node with too few.
+     */
+    private Entry<K, V> delete(K key) {
+        Node<K, V> x = getRootOrThrow();
+        while (!x.isLeaf()) {
+            int i = childIndex(x, key);
+            if (x.children[i].count < degree) {
+                fill(x, i);
+                if (x.count == 0) {
+                    root = x.children[0];
+                    x = root;
+                    continue;
+                }
+                i = childIndex(x, key);
+            }
+            x = x.children[i];
+        }
+        int i = indexOf(x, key);
+        if (i < 0) {
+            throw new NoSuchElementException();
+        }
+        Entry<K, V> entry = new BTreeEntry<>(x.key(i), x.value(i));
+        System.arraycopy(x.keys, i + 1, x.keys, i, x.count - i - 1);
+        System.arraycopy(x.values, i + 1, x.values, i, x.count - i - 1);
+        x.count--;
+        x.keys[x.count] = null;
+        x.values[x.count] = null;
+        size--;
+        return entry;
+    }
+
+    private void fill(Node<K, V> x, int index) {
+        if (index > 0 && x.children[index - 1].count >= degree) {
+            borrowLeft(x, index);
+        } else if (index < x.count && x.children[index + 1].count >= degree) {
+            borrowRight(x, index);
+        } else if (index < x.count) {
+            merge(x, index);
+        } else {
+            merge(x, index - 1);
+        }
+    }
+
+    private void borrowLeft(Node<K, V> x, int index) {
+        Node<K, V> c = x.children[index], left = x.children[index - 1];
+        System.arraycopy(c.keys, 0, c.keys, 1, c.count);
+        if (c.isLeaf()) {
+            System.arraycopy(c.values, 0, c.values, 1, c.count);
+            c.keys[0] = left.keys[left.count - 1];
+            c.values[0] = left.values[left.count - 1];
+            left.values[left.count - 1] = null;
+            x.keys[index - 1] = c.keys[0];
+        } else {
+            System.arraycopy(c.children, 0, c.children, 1, c.count + 1);
+            c.keys[0] = x.keys[index - 1];
+            c.children[0] = left.children[left.count];
+            left.children[left.count] = null;
+            x.keys[index - 1] = left.keys[left.count - 1];
+        }
+        left.keys[left.count - 1] = null;
+        left.count--;
+        c.count++;
+    }
+
+    private void borrowRight(Node<K, V> x, int index) {
+        Node<K, V> c = x.children[index], right = x.children[index + 1];
+        if (c.isLeaf()) {
+            c.keys[c.count] = right.keys[0];
+            c.values[c.count] = right.values[0];
+            System.arraycopy(right.values, 1, right.values, 0, right.count - 1);
+            right.values[right.count - 1] = null;
+            System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+            x.keys[index] = right.keys[0];
+        } else {
+            c.keys[c.count] = x.keys[index];
+            c.children[c.count + 1] = right.children[0];
+            x.keys[index] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+            System.arraycopy(right.children, 1, right.children, 0, right.count);
+            right.children[right.count] = null;
+        }
+        right.keys[right.count - 1] = null;
+        right.count--;
+        c.count++;
+    }
+
+    /**
+     * Merges the child of the specified node {@code x} at the specified {@code index} with its right sibling, and
+     * removes their separator from {@code x}.
+     */
+    private void merge(Node<K, V> x, int index) {
+        Node<K, V> left = x.children[index], right = x.children[index + 1];
+        if (left.isLeaf()) {
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count);
+            System.arraycopy(right.values, 0, left.values, left.count, right.count);
+            left.count += right.count;
+            left.next = right.next;
+            if (right.next == null) {
+                tail = left;
+            } else {
+                right.next.prev = left;
+            }
+        } else {
+            left.keys[left.count] = x.keys[index];
+            System.arraycopy(right.keys, 0, left.keys, left.count + 1, right.count);
+            System.arraycopy(right.children, 0, left.children, left.count + 1, right.count + 1);
+            left.count += right.count + 1;
+        }
+        System.arraycopy(x.keys, index + 1, x.keys, index, x.count - index - 1);
+        System.arraycopy(x.children, index + 2, x.children, index + 1, x.count - index - 1);
+        x.count--;
+        x.keys[x.count] = null;
+        x.children[x.count + 1] = null;
+    }
+
+    private static void clear(Object[] array, int from, int to) {
+        for (int i = from; i < to; i++) {
+            array[i] = null;
+        }
+    }
+
+    @Override
+    public V get(final K key) {
+        Node<K, V> leaf = leafFor(getRootOrThrow(), key);
+        int i = indexOf(leaf, key);
+        if (i < 0) {
+            throw new NoSuchElementException();
+        }
+        return leaf.value(i);
+    }
+
+    @Override
+    public Entry<K, V> getFirst() {
+        getRootOrThrow();
+        return new BTreeEntry<>(head.key(0), head.value(0));
+    }
+
+    @Override
+    public Entry<K, V> getLast() {
+        getRootOrThrow();
+        return new BTreeEntry<>(tail.key(tail.count - 1), tail.value(tail.count - 1));
+    }
+
+    @Override
+    public Entry<K, V> getPrevious(final K key) {
+        Node<K, V> leaf = leafFor(getRootOrThrow(), key);
+        int i = indexOf(leaf, key);
+        if (i < 0) {
+            throw new NoSuchElementException();
+        }
+        if (i == 0) {
+            leaf = leaf.prev;
+            if (leaf == null) {
+                throw new NoSuchElementException();
+            }
+            i = leaf.count;
+        }
+        return new BTreeEntry<>(leaf.key(i - 1), leaf.value(i - 1));
+    }
+
+    @Override
+    public Entry<K, V> getNext(final K key) {
+        Node<K, V> leaf = leafFor(getRootOrThrow(), key);
+        int i = indexOf(leaf, key);
+        if (i < 0) {
+            throw new NoSuchElementException();
+        }
+        if (i == leaf.count - 1) {
+            leaf = leaf.next;
+            if (leaf == null) {
+                throw new NoSuchElementException();
+            }
+            i = -1;
+        }
+        return new BTreeEntry<>(leaf.key(i + 1), leaf.value(i + 1));
+    }
+
+    private Node<K, V> leafFor(K key) {
+        return leafFor(root, key);
+    }
+
+    private Node<K, V> leafFor(Node<K, V> x, K key) {
+        while (!x.isLeaf()) {
+            x = x.children[childIndex(x, key)];
+        }
+        return x;
+    }
+
+    /**
+     * Provides the index of the child of the specified internal node {@code x} whose keys span the specified {@code
+     * key}, that is, the number of separators in {@code x} not greater than {@code key}.
+     */
+    private int childIndex(Node<K, V> x, K key) {
+        int low = 0, high = x.count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(key, x.key(mid)) < 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Provides the index of the specified {@code key} in the specified leaf {@code x} or, if it is absent, {@code
+     * -(insertion point) - 1}.
+     */
+    private int indexOf(Node<K, V> x, K key) {
+        int low = 0, high = x.count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int c = compare(key, x.key(mid));
+            if (c < 0) {
+                high = mid - 1;
+            } else if (c > 0) {
+                low = mid + 1;
+            } else {
+                return mid;
+            }
+        }
+        return -low - 1;
+    }
+
+    private int compare(K a, K b) {
+        if (a == null) {
+            return b == null ? 0 : -1;
+        }
+        if (b == null) {
+            return 1;
+        }
+        return comp.compare(a, b);
+    }
+
+    private Node<K, V> getRootOrThrow() {
+        if (isEmpty()) {
+            throw new IllegalStateException();
+        }
+        return root;
+    }
+
+    private transient Set<Entry<K, V>> entries;
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> entries = this.entries;
+        if (entries == null) {
+            entries = new MinSet<>() {
+
+                @Override
+                public void clear() {
+                    BTreeMap.this.clear();
+                }
+
+                @Override
+                public boolean contains(final Entry<K, V> entry) {
+                    if (BTreeMap.this.contains(entry.getKey())) {
+                        return areEqual(get(entry.getKey()), entry.getValue());
+                    }
+                    return false;
+                }
+
+                @Override
+                public int size() {
+                    return BTreeMap.this.size;
+                }
+
+                @Override
+                public boolean isEmpty() {
+                    return BTreeMap.this.isEmpty();
+                }
+
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new EntryIter();
+                }
+
+                private static final long serialVersionUID = -3466231961473640367L;
+
+            };
+            this.entries = entries;
+        }
+        return entries;
+    }
+
+    /**
+     * Iteration scans the linked leaves. Removal may restructure the tree, so the leaf holding the next key is found
+     * again afterward.
+     */
+    private final class EntryIter implements Iterator<Entry<K, V>> {
+
+        Node<K, V> leaf = head;
+        int index;
+        K last;
+        boolean removable;
+
+        EntryIter() {
+            seek();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return leaf != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = leaf.key(index);
+            removable = true;
+            Entry<K, V> entry = new BTreeEntry<>(last, leaf.value(index++));
+            seek();
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (!removable) {
+                throw new IllegalStateException();
+            }
+            removable = false;
+            K following = leaf == null ? null : leaf.key(index);
+            delete(last);
+            if (leaf != null) {
+                leaf = leafFor(following);
+                index = indexOf(leaf, following);
+            }
+        }
+
+        private void seek() {
+            while (leaf != null && index >= leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+
+    }
+
+    private static final long serialVersionUID = 2948170541627130984L;
+
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        stream.writeInt(size);
+        for (Entry<K, V> entry : entrySet()) {
+            stream.writeObject(entry.getKey());
+            stream.writeObject(entry.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        int size = validateSize(stream.readInt());
+        if (degree < 2) {
+            throw new InvalidObjectException("Degree less than two.");
+        }
+        validateObject(comp);
+        init();
+        for (int i = 0; i < size; i++) {
+            K key = (K)stream.readObject();
+            V value = (V)stream.readObject();
+            put(key, value);
+        }
+    }
+
+}
@@ -0,0 +1,520 @@
+package main;
+
+import util.DefaultHashStrategy;
+import util.HashStrategy;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static util.Common.*;
+
+/**
+ * The {@code ConcurrentHashMap} class is a thread-safe hash table implementation of the {@code Map} interface. Its
+ * keys are partitioned among a number of segments, each of which is an independently locked hash table, so that
+ * modifications to different segments proceed in parallel. Reads do not lock at all: chains are only ever prepended
+ * to, and removal copies the nodes preceding the one removed rather than unlinking it, so a reader always sees a
+ * consistent chain. Each segment grows on its own, while readers continue on the table it is replacing. The {@code
+ * putIfAbsent}, {@code removeIfPresent}, and {@code replace} operations are atomic. Iteration is weakly consistent: it
+ * never throws on concurrent modification, and reflects some, but not necessarily all, of the changes made after it
+ * began. Likewise, {@code size} is an estimate while the map is being modified. Performance may be tuned by supplying
+ * a concurrency level that determines the number of segments, a load factor, or a {@code HashStrategy}. Both keys and
+ * values may be {@code null}, however, only one key may be.
+ *
+ * @param <K> the type of key that maps to values
+ * @param <V> the type of mapped values
+ * @author Jeff Wilgus
+ */
+public class ConcurrentHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final class Node<K, V> {
+
+        final int hash;
+        final K key;
+        volatile V value;
+        final Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+    }
+
+    private static final class ConcurrentEntry<K, V> extends AbstractEntry<K, V> {
+
+        ConcurrentEntry(K key, V value) {
+            super(key, value);
+        }
+
+    }
+
+    /**
+     * Signifies the absence of a value, as {@code null} is a legitimate one.
+     */
+    private static final Object ABSENT = new Object();
+
+    private static final class Segment<K, V> extends ReentrantLock {
+
+        final HashStrategy<? super K> strategy;
+        final double loadFactor;
+        volatile AtomicReferenceArray<Node<K, V>> table;
+        volatile int count;
+
+        Segment(HashStrategy<? super K> strategy, double loadFactor, int capacity) {
+            this.strategy = strategy;
+            this.loadFactor = loadFactor;
+            table = new AtomicReferenceArray<>(capacity);
+        }
+
+        Node<K, V> find(K key, int hash) {
+            AtomicReferenceArray<Node<K, V>> table = this.table;
+            for (Node<K, V> node = table.get(hash & (table.length() - 1)); node != null; node = node.next) {
+                if (node.hash == hash && strategy.areEquivalent(key, node.key)) {
+                    return node;
+                }
+            }
+            return null;
+        }
+
+        Object put(K key, int hash, V value, boolean onlyIfAbsent) {
+            lock();
+            try {
+                Node<K, V> node = find(key, hash);
+                if (node != null) {
+                    V result = node.value;
+                    if (!onlyIfAbsent) {
+                        node.value = value;
+                    }
+                    return result;
+                }
+                if (count >= table.length() * loadFactor && table.length() < MAX_CAPACITY) {
+                    rehash();
+                }
+                AtomicReferenceArray<Node<K, V>> table = this.table;
+                int index = hash & (table.length() - 1);
+                table.set(index, new Node<>(hash, key, value, table.get(index)));
+                count++;
+                return ABSENT;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Moves the nodes of this {@code Segment} into a table twice the size. Each chain ends in a run of nodes that
+         * all move to the same new bin; that run is reused, and only the nodes before it are copied, so that readers
+         * still traversing the old table are undisturbed.
+         */
+        void rehash() {
+            AtomicReferenceArray<Node<K, V>> old = table;
+            AtomicReferenceArray<Node<K, V>> table = new AtomicReferenceArray<>(old.length() << 1);
+            int mask = table.length() - 1;
+            for (int i = 0; i < old.length(); i++) {
+                Node<K, V> first = old.get(i);
+                if (first == null) {
+                    continue;
+                }
+                Node<K, V> run = first;
+                int runIndex = first.hash & mask;
+                for (Node<K, V> node = first.next; node != null; node = node.next) {
+                    int index = node.hash & mask;
+                    if (index != runIndex) {
+                        run = node;
+                        runIndex = index;
+                    }
+                }
+                table.set(runIndex, run);
+                for (Node<K, V> node = first; node != run; node = node.next) {
+                    int index = node.hash & mask;
+                    table.set(index, new Node<>(node.hash, node.key, node.value, table.get(index)));
+                }
+            }
+            this.table = table;
+        }
+
+        /**
+         * Removes the node with the specified {@code key} only if the specified {@code expected} value is absent or
+         * equal to that of the node.
+         */
+        Object remove(K key, int hash, Object expected) {
+            lock();
+            try {
+                AtomicReferenceArray<Node<K, V>> table = this.table;
+                int index = hash & (table.length() - 1);
+                Node<K, V> first = table.get(index), node = first;
+                while (node != null && !(node.hash == hash && strategy.areEquivalent(key, node.key))) {
+                    node = node.next;
+                }
+                if (node == null || expected != ABSENT && !areEqual(expected, node.value)) {
+                    return ABSENT;
+                }
+                Node<K, V> chain = node.next;
+                for (Node<K, V> prev = first; prev != node; prev = prev.next) {
+                    chain = new Node<>(prev.hash, prev.key, prev.value, chain);
+                }
+                table.set(index, chain);
+                count--;
+                return node.value;
+            } finally {
+                unlock();
+            }
+        }
+
+        Object replace(K key, int hash, V value) {
+            lock();
+            try {
+                Node<K, V> node = find(key, hash);
+                if (node == null) {
+                    return ABSENT;
+                }
+                V result = node.value;
+                node.value = value;
+                return result;
+            } finally {
+                unlock();
+            }
+        }
+
+        void clear(int capacity) {
+            lock();
+            try {
+                table = new AtomicReferenceArray<>(capacity);
+                count = 0;
+            } finally {
+                unlock();
+            }
+        }
+
+        private static final long serialVersionUID = -5831263914436537420L;
+
+    }
+
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+    private static final int MAX_SEGMENTS = 1 << 16;
+
+    private double loadFactor;
+    private int concurrencyLevel;
+    private transient HashStrategy<? super K> strategy;
+    private transient Segment<K, V>[] segments;
+    private transient int shift;
+
+    /**
+     * Constructs a new {@code ConcurrentHashMap} object.
+     */
+    public ConcurrentHashMap() {
+        this(0, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL, new DefaultHashStrategy<>());
+    }
+
+    /**
+     * Constructs a new {@code ConcurrentHashMap} object that disperses and identifies its keys with the specified
+     * {@code HashStrategy}.
+     *
+     * @param strategy the specified {@code HashStrategy}
+     * @throws NullPointerException if the specified {@code HashStrategy} is {@code null}
+     */
+    public ConcurrentHashMap(HashStrategy<? super K> strategy) {
+        this(0, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL, strategy);
+    }
+
+    /**
+     * Constructs a new {@code ConcurrentHashMap} object that accommodates the specified {@code concurrencyLevel}
+     * number of concurrently modifying threads.
+     *
+     * @param concurrencyLevel the specified concurrency level
+     * @throws IllegalArgumentException if the specified {@code concurrencyLevel} is not positive
+     */
+    public ConcurrentHashMap(int concurrencyLevel) {
+        this(0, DEFAULT_LOAD_FACTOR, concurrencyLevel, new DefaultHashStrategy<>());
+    }
+
+    /**
+     * Constructs a new {@code ConcurrentHashMap} object with the specified {@code loadFactor} that can hold the
+     * specified {@code expectedSize} number of entries without growing, accommodates the specified {@code
+     * concurrencyLevel} number of concurrently modifying threads, and disperses and identifies its keys with the
+     * specified {@code HashStrategy}.
+     *
+     * @param expectedSize the specified expected size
+     * @param loadFactor the specified load factor
+     * @param concurrencyLevel the specified concurrency level
+     * @param strategy the specified {@code HashStrategy}
+     * @throws IllegalArgumentException if the specified {@code expectedSize} is negative, the specified {@code
+     * loadFactor} is not on the open interval bounded by zero and one, or the specified {@code concurrencyLevel} is not
+     * positive
+     * @throws NullPointerException if the specified {@code HashStrategy} is {@code null}
+     */
+    public ConcurrentHashMap(int expectedSize, double loadFactor, int concurrencyLevel,
+                             HashStrategy<? super K> strategy) {
+        if (expectedSize < 0 || concurrencyLevel <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.loadFactor = validateLoadFactor(loadFactor);
+        this.concurrencyLevel = concurrencyLevel;
+        this.strategy = Objects.requireNonNull(strategy);
+        allocate(expectedSize);
+    }
+
+    private void allocate(int expectedSize) {
+        int count = 1;
+        while (count < Math.min(concurrencyLevel, MAX_SEGMENTS)) {
+            count <<= 1;
+        }
+        shift = Integer.SIZE - Integer.numberOfTrailingZeros(count);
+        int capacity = capacityFor((expectedSize + count - 1) / count, loadFactor);
+        @SuppressWarnings("unchecked")
+        Segment<K, V>[] segments = (Segment<K, V>[])new Segment<?, ?>[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(strategy, loadFactor, capacity);
+        }
+        this.segments = segments;
+    }
+
+    @Override
+    protected void init() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear(DEFAULT_CAPACITY);
+        }
+    }
+
+    /**
+     * Provides the {@code Segment} responsible for the specified {@code hash}. Segments are chosen by the high bits of
+     * a hash, and bins within a segment by its low bits, so the two choices are independent.
+     */
+    private Segment<K, V> segmentFor(int hash) {
+        return segments.length == 1 ? segments[0] : segments[hash >>> shift];
+    }
+
+    @Override
+    public int size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.count;
+        }
+        return (int)Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Segment<K, V> segment : segments) {
+            if (segment.count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(final K key) {
+        int hash = strategy.hash(key);
+        return segmentFor(hash).find(key, hash) != null;
+    }
+
+    @Override
+    public Optional<V> put(final K key, final V value) {
+        int hash = strategy.hash(key);
+        return optionalOf(segmentFor(hash).put(key, hash, value, false));
+    }
+
+    @Override
+    public boolean putIfAbsent(final K key, final V value) {
+        int hash = strategy.hash(key);
+        return segmentFor(hash).put(key, hash, value, true) == ABSENT;
+    }
+
+    @Override
+    public V remove(final K key) {
+        if (isEmpty()) {
+            throw new IllegalStateException();
+        }
+        int hash = strategy.hash(key);
+        return valueOrThrow(segmentFor(hash).remove(key, hash, ABSENT));
+    }
+
+    @Override
+    public boolean removeIfPresent(final K key, final V value) {
+        int hash = strategy.hash(key);
+        return segmentFor(hash).remove(key, hash, value) != ABSENT;
+    }
+
+    @Override
+    public V get(final K key) {
+        if (isEmpty()) {
+            throw new IllegalStateException();
+        }
+        int hash = strategy.hash(key);
+        Node<K, V> node = segmentFor(hash).find(key, hash);
+        if (node == null) {
+            throw new NoSuchElementException();
+        }
+        return node.value;
+    }
+
+    @Override
+    public Optional<V> replace(final K key, final V value) {
+        int hash = strategy.hash(key);
+        return optionalOf(segmentFor(hash).replace(key, hash, value));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<V> optionalOf(Object value) {
+        return value == ABSENT ? Optional.empty() : Optional.ofNullable((V)value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueOrThrow(Object value) {
+        if (value == ABSENT) {
+            throw new NoSuchElementException();
+        }
+        return (V)value;
+    }
+
+    private transient Set<Entry<K, V>> entries;
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> entries = this.entries;
+        if (entries == null) {
+            entries = new MinSet<>() {
+
+                @Override
+                public void clear() {
+                    ConcurrentHashMap.this.clear();
+                }
+
+                @Override
+                public boolean contains(final Entry<K, V> entry) {
+                    int hash = strategy.hash(entry.getKey());
+                    Node<K, V> node = segmentFor(hash).find(entry.getKey(), hash);
+                    return node != null && areEqual(node.value, entry.getValue());
+                }
+
+                @Override
+                public int size() {
+                    return ConcurrentHashMap.this.size();
+                }
+
+                @Override
+                public boolean isEmpty() {
+                    return ConcurrentHashMap.this.isEmpty();
+                }
+
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new EntryIter();
+                }
+
+                private static final long serialVersionUID = -3127460513592280197L;
+
+            };
+            this.entries = entries;
+        }
+        return entries;
+    }
+
+    /**
+     * Traverses the table of each segment as it was when the traversal of that segment began.
+     */
+    private final class EntryIter implements Iterator<Entry<K, V>> {
+
+        int segment, index;
+        AtomicReferenceArray<Node<K, V>> table;
+        Node<K, V> next, last;
+
+        EntryIter() {
+            table = segments[0].table;
+            advance();
+        }
+
+        private void advance() {
+            if (next != null) {
+                next = next.next;
+            }
+            while (next == null) {
+                if (index == table.length()) {
+                    if (++segment == segments.length) {
+                        return;
+                    }
+                    table = segments[segment].table;
+                    index = 0;
+                }
+                next = table.get(index++);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            advance();
+            return new ConcurrentEntry<>(last.key, last.value);
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            segmentFor(last.hash).remove(last.key, last.hash, ABSENT);
+            last = null;
+        }
+
+    }
+
+    private static final long serialVersionUID = 7431265921376301824L;
+
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        stream.writeDouble(loadFactor);
+        stream.writeInt(concurrencyLevel);
+        stream.writeObject(strategy);
+        for (Entry<K, V> entry : entrySet()) {
+            stream.writeBoolean(true);
+            stream.writeObject(entry.getKey());
+            stream.writeObject(entry.getValue());
+        }
+        stream.writeBoolean(false); // The number of entries may change while they are written.
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        loadFactor = readLoadFactor(stream);
+        concurrencyLevel = stream.readInt();
+        if (concurrencyLevel <= 0) {
+            throw new InvalidObjectException("Concurrency level not positive.");
+        }
+        strategy = (HashStrategy<? super K>)validateObject(stream.readObject());
+        allocate(0);
+        while (stream.readBoolean()) {
+            K key = (K)stream.readObject();
+            V value = (V)stream.readObject();
+            put(key, value);
+        }
+    }
+
+    private static double readLoadFactor(ObjectInputStream stream) throws IOException {
+        try {
+            return validateLoadFactor(stream.readDouble());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidObjectException("Load factor not on (0, 1).");
+        }
+    }
+
+}
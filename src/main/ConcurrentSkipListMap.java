@@ -0,0 +1,688 @@
+package main;
+
+import util.DefaultComparator;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static util.Common.*;
+
+/**
+ * The {@code ConcurrentSkipListMap} class is a thread-safe, lock-free skip list implementation of the {@code
+ * OrderedMap} interface. Entries are sorted by key on the order induced by a supplied {@code Comparator}, or natural
+ * ordering if none is supplied. Each node is linked into the bottom level of the list, and into each level above with
+ * probability one half, so that searches skip over most of the list in expected logarithmic time. Every link is changed
+ * by compare-and-set, so no operation ever blocks another. An entry is removed when its value is replaced by a
+ * tombstone; its links are then marked, and any thread that meets a marked node while searching unlinks it. The {@code
+ * putIfAbsent}, {@code removeIfPresent}, {@code replace}, {@code removeFirst}, and {@code removeLast} operations are
+ * atomic. Iteration and navigation are weakly consistent: they never throw on concurrent modification, and reflect
+ * some, but not necessarily all, of the changes made after they began. Likewise, {@code size} is an estimate while the
+ * map is being modified, and {@code clear} is not atomic: entries added while it runs may or may not survive it, and
+ * each {@code put} or {@code remove} that overlaps it may leave {@code size} off by one until the map is next cleared
+ * while no other thread modifies it. Both keys and values may be {@code null}, however, only one key may be, and it
+ * precedes all others. Keys are equal if the {@code Comparator} deems them so.
+ *
+ * @param <K> the type of key that maps to values
+ * @param <V> the type of mapped values
+ * @author Jeff Wilgus
+ */
+public class ConcurrentSkipListMap<K, V> extends AbstractMap<K, V> implements OrderedMap<K, V> {
+
+    private static final class Node<K, V> {
+
+        final K key;
+        final AtomicReference<Object> value;
+        final AtomicMarkableReference<Node<K, V>>[] next;
+
+        @SuppressWarnings("unchecked")
+        Node(K key, Object value, int height) {
+            this.key = key;
+            this.value = new AtomicReference<>(value);
+            next = (AtomicMarkableReference<Node<K, V>>[])new AtomicMarkableReference<?>[height];
+        }
+
+    }
+
+    private static final class ConcurrentEntry<K, V> extends AbstractEntry<K, V> {
+
+        ConcurrentEntry(K key, V value) {
+            super(key, value);
+        }
+
+    }
+
+    /**
+     * Signifies the absence of a value, as {@code null} is a legitimate one.
+     */
+    private static final Object ABSENT = new Object();
+
+    /**
+     * Replaces the value of a node whose entry has been removed.
+     */
+    private static final Object REMOVED = new Object();
+
+    private static final int MAX_HEIGHT = 32;
+
+    private transient volatile Node<K, V> head;
+    private transient Node<K, V> tail;
+    private transient LongAdder count;
+    private Comparator<K> comp;
+
+    /**
+     * Constructs a new {@code ConcurrentSkipListMap} object.
+     */
+    public ConcurrentSkipListMap() {
+        this(new DefaultComparator<>());
+    }
+
+    /**
+     * Constructs a new {@code ConcurrentSkipListMap} object sorted on the order induced by the specified {@code
+     * Comparator}.
+     *
+     * @param comp the specified {@code Comparator}
+     * @throws NullPointerException if the specified {@code Comparator} is {@code null}
+     */
+    public ConcurrentSkipListMap(Comparator<K> comp) {
+        init();
+        setComp(comp);
+    }
+
+    @Override
+    protected void init() {
+        if (tail == null) {
+            tail = new Node<>(null, REMOVED, MAX_HEIGHT);
+            for (int level = 0; level < MAX_HEIGHT; level++) {
+                tail.next[level] = new AtomicMarkableReference<>(null, false);
+            }
+            count = new LongAdder();
+        }
+        Node<K, V> head = new Node<>(null, REMOVED, MAX_HEIGHT);
+        for (int level = 0; level < MAX_HEIGHT; level++) {
+            head.next[level] = new AtomicMarkableReference<>(tail, false);
+        }
+        // Not atomic with the swap below: a put or remove that counts itself in between is lost from, or kept in, size.
+        count.reset();
+        this.head = head;
+    }
+
+    private void setComp(Comparator<K> comp) {
+        this.comp = Objects.requireNonNull(comp);
+    }
+
+    @Override
+    public int size() {
+        return (int)Math.max(0, Math.min(count.sum(), Integer.MAX_VALUE));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return first() == tail;
+    }
+
+    @Override
+    public boolean contains(final K key) {
+        Node<K, V> x = findNode(key);
+        return x != null && x.value.get() != REMOVED;
+    }
+
+    @Override
+    public Optional<V> put(final K key, final V value) {
+        return optionalOf(insert(key, value, false));
+    }
+
+    @Override
+    public boolean putIfAbsent(final K key, final V value) {
+        return insert(key, value, true) == ABSENT;
+    }
+
+    /**
+     * Associates the specified {@code key} with the specified {@code value}, unless {@code onlyIfAbsent} is {@code
+     * true} and the key is already present. A new node is linked into the bottom level first, which adds it to the map,
+     * and then into each level above; it stops rising if it is removed in the meantime.
+     */
+    private Object insert(K key, V value, boolean onlyIfAbsent) {
+        Node<K, V>[] preds = newLevels(), succs = newLevels();
+        int height = randomHeight();
+        while (true) {
+            if (find(key, preds, succs)) {
+                Node<K, V> x = succs[0];
+                Object result = x.value.get();
+                if (result == REMOVED) {
+                    unlink(x);
+                } else if (onlyIfAbsent || x.value.compareAndSet(result, value)) {
+                    return result;
+                }
+                continue;
+            }
+            Node<K, V> x = new Node<>(key, value, height);
+            for (int level = 0; level < height; level++) {
+                x.next[level] = new AtomicMarkableReference<>(succs[level], false);
+            }
+            if (!preds[0].next[0].compareAndSet(succs[0], x, false, false)) {
+                continue;
+            }
+            count.increment();
+            for (int level = 1; level < height; level++) {
+                while (true) {
+                    Node<K, V> succ = succs[level], current = x.next[level].getReference();
+                    if (x.value.get() == REMOVED
+                            || current != succ && !x.next[level].compareAndSet(current, succ, false, false)) {
+                        return ABSENT;
+                    }
+                    if (preds[level].next[level].compareAndSet(succ, x, false, false)) {
+                        break;
+                    }
+                    find(key, preds, succs);
+                }
+            }
+            return ABSENT;
+        }
+    }
+
+    @Override
+    public V remove(final K key) {
+        if (isEmpty()) {
+            throw new IllegalStateException();
+        }
+        return valueOrThrow(delete(key, ABSENT));
+    }
+
+    @Override
+    public boolean removeIfPresent(final K key, final V value) {
+        return delete(key, value) != ABSENT;
+    }
+
+    /**
+     * Removes the entry with the specified {@code key} if its value is equal to that {@code expected}, or whatever its
+     * value if {@code expected} is {@code ABSENT}, and provides the removed value or {@code ABSENT} if there was none.
+     */
+    private Object delete(K key, Object expected) {
+        while (true) {
+            Node<K, V> x = findNode(key);
+            if (x == null) {
+                return ABSENT;
+            }
+            Object result = x.value.get();
+            if (result == REMOVED) {
+                unlink(x);
+                continue;
+            }
+            if (expected != ABSENT && !areEqual(result, expected)) {
+                return ABSENT;
+            }
+            if (x.value.compareAndSet(result, REMOVED)) {
+                count.decrement();
+                unlink(x);
+                return result;
+            }
+        }
+    }
+
+    @Override
+    public Entry<K, V> removeFirst() {
+        while (true) {
+            Node<K, V> x = first();
+            if (x == tail) {
+                throw new IllegalStateException();
+            }
+            Entry<K, V> entry = take(x);
+            if (entry != null) {
+                return entry;
+            }
+        }
+    }
+
+    @Override
+    public Entry<K, V> removeLast() {
+        while (true) {
+            Node<K, V> x = last();
+            if (x == head) {
+                throw new IllegalStateException();
+            }
+            Entry<K, V> entry = take(x);
+            if (entry != null) {
+                return entry;
+            }
+        }
+    }
+
+    @Override
+    public Entry<K, V> removePrevious(final K key) {
+        while (true) {
+            Entry<K, V> entry = take(previous(key));
+            if (entry != null) {
+                return entry;
+            }
+        }
+    }
+
+    @Override
+    public Entry<K, V> removeNext(final K key) {
+        while (true) {
+            Entry<K, V> entry = take(next(key));
+            if (entry != null) {
+                return entry;
+            }
+        }
+    }
+
+    /**
+     * Removes the entry of the specified node {@code x}, or provides {@code null} if another thread removed it first.
+     */
+    @SuppressWarnings("unchecked")
+    private Entry<K, V> take(Node<K, V> x) {
+        Object value = x.value.get();
+        if (value == REMOVED || !x.value.compareAndSet(value, REMOVED)) {
+            return null;
+        }
+        count.decrement();
+        unlink(x);
+        return new ConcurrentEntry<>(x.key, (V)value);
+    }
+
+    /**
+     * Marks every link out of the specified node {@code x}, whose entry has been removed, from the top down, and then
+     * searches for its key to unlink it from each level.
+     */
+    private void unlink(Node<K, V> x) {
+        boolean[] marked = {false};
+        for (int level = x.next.length - 1; level >= 0; level--) {
+            Node<K, V> succ = x.next[level].get(marked);
+            while (!marked[0]) {
+                x.next[level].attemptMark(succ, true);
+                succ = x.next[level].get(marked);
+            }
+        }
+        find(x.key, newLevels(), newLevels());
+    }
+
+    @Override
+    public V get(final K key) {
+        if (isEmpty()) {
+            throw new IllegalStateException();
+        }
+        return valueOrThrow(valueOf(findNode(key)));
+    }
+
+    @Override
+    public Optional<V> replace(final K key, final V value) {
+        while (true) {
+            Node<K, V> x = findNode(key);
+            if (x == null) {
+                return Optional.empty();
+            }
+            Object result = x.value.get();
+            if (result == REMOVED) {
+                unlink(x);
+            } else if (x.value.compareAndSet(result, value)) {
+                return optionalOf(result);
+            }
+        }
+    }
+
+    @Override
+    public Entry<K, V> getFirst() {
+        while (true) {
+            Node<K, V> x = first();
+            if (x == tail) {
+                throw new IllegalStateException();
+            }
+            Entry<K, V> entry = entryOf(x);
+            if (entry != null) {
+                return entry;
+            }
+        }
+    }
+
+    @Override
+    public Entry<K, V> getLast() {
+        while (true) {
+            Node<K, V> x = last();
+            if (x == head) {
+                throw new IllegalStateException();
+            }
+            Entry<K, V> entry = entryOf(x);
+            if (entry != null) {
+                return entry;
+            }
+        }
+    }
+
+    @Override
+    public Entry<K, V> getPrevious(final K key) {
+        while (true) {
+            Entry<K, V> entry = entryOf(previous(key));
+            if (entry != null) {
+                return entry;
+            }
+        }
+    }
+
+    @Override
+    public Entry<K, V> getNext(final K key) {
+        while (true) {
+            Entry<K, V> entry = entryOf(next(key));
+            if (entry != null) {
+                return entry;
+            }
+        }
+    }
+
+    /**
+     * Provides the live node immediately preceding that with the specified {@code key}.
+     */
+    private Node<K, V> previous(K key) {
+        existing(key);
+        while (true) {
+            Node<K, V> x = predecessor(key, false);
+            if (x == head) {
+                throw new NoSuchElementException();
+            }
+            if (x.value.get() != REMOVED) {
+                return x;
+            }
+            unlink(x);
+        }
+    }
+
+    /**
+     * Provides the live node immediately following that with the specified {@code key}.
+     */
+    private Node<K, V> next(K key) {
+        Node<K, V> x = successor(existing(key));
+        while (x != tail && x.value.get() == REMOVED) {
+            x = successor(x);
+        }
+        if (x == tail) {
+            throw new NoSuchElementException();
+        }
+        return x;
+    }
+
+    private Node<K, V> existing(K key) {
+        if (isEmpty()) {
+            throw new IllegalStateException();
+        }
+        Node<K, V> x = findNode(key);
+        if (x == null || x.value.get() == REMOVED) {
+            throw new NoSuchElementException();
+        }
+        return x;
+    }
+
+    /**
+     * Provides the first live node, or {@code tail} if there is none.
+     */
+    private Node<K, V> first() {
+        Node<K, V> x = successor(head);
+        while (x != tail && x.value.get() == REMOVED) {
+            x = successor(x);
+        }
+        return x;
+    }
+
+    /**
+     * Provides the last live node, or {@code head} if there is none.
+     */
+    private Node<K, V> last() {
+        while (true) {
+            Node<K, V> x = predecessor(null, true);
+            if (x == head || x.value.get() != REMOVED) {
+                return x;
+            }
+            unlink(x);
+        }
+    }
+
+    /**
+     * Searches for the specified {@code key}, recording on each level the last node whose key precedes it in {@code
+     * preds} and the node after that in {@code succs}. Marked nodes met on the way are unlinked, and the search starts
+     * over if another thread changes a link first. Provides whether the key was found on the bottom level.
+     */
+    private boolean find(K key, Node<K, V>[] preds, Node<K, V>[] succs) {
+        boolean[] marked = {false};
+        retry:
+        while (true) {
+            Node<K, V> pred = head, curr = null;
+            for (int level = MAX_HEIGHT - 1; level >= 0; level--) {
+                curr = pred.next[level].getReference();
+                while (true) {
+                    Node<K, V> succ = curr.next[level].get(marked);
+                    while (marked[0]) {
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false)) {
+                            continue retry;
+                        }
+                        curr = succ;
+                        succ = curr.next[level].get(marked);
+                    }
+                    if (curr == tail || compare(curr.key, key) >= 0) {
+                        break;
+                    }
+                    pred = curr;
+                    curr = succ;
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return curr != tail && compare(curr.key, key) == 0;
+        }
+    }
+
+    /**
+     * Provides the node with the specified {@code key}, or {@code null} if there is none, without unlinking any.
+     */
+    private Node<K, V> findNode(K key) {
+        Node<K, V> x = successor(predecessor(key, false));
+        return x != tail && compare(x.key, key) == 0 ? x : null;
+    }
+
+    /**
+     * Provides the last unmarked node on the bottom level whose key precedes the specified {@code key}, or if {@code
+     * last} is {@code true}, the last unmarked node of all, without unlinking any. Provides {@code head} if there is
+     * none.
+     */
+    private Node<K, V> predecessor(K key, boolean last) {
+        boolean[] marked = {false};
+        Node<K, V> pred = head;
+        for (int level = MAX_HEIGHT - 1; level >= 0; level--) {
+            Node<K, V> curr = pred.next[level].getReference();
+            while (true) {
+                Node<K, V> succ = curr.next[level].get(marked);
+                while (marked[0]) {
+                    curr = succ;
+                    succ = curr.next[level].get(marked);
+                }
+                if (curr == tail || !last && compare(curr.key, key) >= 0) {
+                    break;
+                }
+                pred = curr;
+                curr = succ;
+            }
+        }
+        return pred;
+    }
+
+    /**
+     * Provides the first unmarked node after the specified node {@code x} on the bottom level.
+     */
+    private Node<K, V> successor(Node<K, V> x) {
+        x = x.next[0].getReference();
+        while (x != tail && x.next[0].isMarked()) {
+            x = x.next[0].getReference();
+        }
+        return x;
+    }
+
+    private int compare(K a, K b) {
+        if (a == null) {
+            return b == null ? 0 : -1;
+        }
+        if (b == null) {
+            return 1;
+        }
+        return comp.compare(a, b);
+    }
+
+    private static int randomHeight() {
+        int random = ThreadLocalRandom.current().nextInt();
+        return Math.min(Integer.numberOfTrailingZeros(~random) + 1, MAX_HEIGHT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<K, V>[] newLevels() {
+        return (Node<K, V>[])new Node<?, ?>[MAX_HEIGHT];
+    }
+
+    private Object valueOf(Node<K, V> x) {
+        return x == null || x.value.get() == REMOVED ? ABSENT : x.value.get();
+    }
+
+    /**
+     * Provides an {@code Entry} holding the current value of the specified node {@code x}, or {@code null} if its entry
+     * has been removed.
+     */
+    @SuppressWarnings("unchecked")
+    private Entry<K, V> entryOf(Node<K, V> x) {
+        Object value = x.value.get();
+        return value == REMOVED ? null : new ConcurrentEntry<>(x.key, (V)value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<V> optionalOf(Object value) {
+        return value == ABSENT ? Optional.empty() : Optional.ofNullable((V)value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueOrThrow(Object value) {
+        if (value == ABSENT) {
+            throw new NoSuchElementException();
+        }
+        return (V)value;
+    }
+
+    private transient Set<Entry<K, V>> entries;
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> entries = this.entries;
+        if (entries == null) {
+            entries = new MinSet<>() {
+
+                @Override
+                public void clear() {
+                    ConcurrentSkipListMap.this.clear();
+                }
+
+                @Override
+                public boolean contains(final Entry<K, V> entry) {
+                    Object value = valueOf(findNode(entry.getKey()));
+                    return value != ABSENT && areEqual(value, entry.getValue());
+                }
+
+                @Override
+                public int size() {
+                    return ConcurrentSkipListMap.this.size();
+                }
+
+                @Override
+                public boolean isEmpty() {
+                    return ConcurrentSkipListMap.this.isEmpty();
+                }
+
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new EntryIter();
+                }
+
+                private static final long serialVersionUID = 5372180956014773465L;
+
+            };
+            this.entries = entries;
+        }
+        return entries;
+    }
+
+    /**
+     * Walks the bottom level of the list, skipping removed entries, and holding the next entry so that it is returned
+     * even if it is removed before it is reached.
+     */
+    private final class EntryIter implements Iterator<Entry<K, V>> {
+
+        Node<K, V> node = head;
+        Entry<K, V> next, last;
+
+        EntryIter() {
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while (next == null && node != tail) {
+                node = successor(node);
+                if (node != tail) {
+                    next = entryOf(node);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            advance();
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            delete(last.getKey(), ABSENT);
+            last = null;
+        }
+
+    }
+
+    private static final long serialVersionUID = -1378217432150986627L;
+
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        for (Entry<K, V> entry : entrySet()) {
+            stream.writeBoolean(true);
+            stream.writeObject(entry.getKey());
+            stream.writeObject(entry.getValue());
+        }
+        stream.writeBoolean(false); // The number of entries may change while they are written.
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        validateObject(comp);
+        init();
+        while (stream.readBoolean()) {
+            K key = (K)stream.readObject();
+            V value = (V)stream.readObject();
+            put(key, value);
+        }
+    }
+
+}
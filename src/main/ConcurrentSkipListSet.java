@@ -0,0 +1,97 @@
+package main;
+
+import java.util.Comparator;
+
+/**
+ * The {@code ConcurrentSkipListSet} class is a thread-safe, lock-free skip list implementation of the {@code
+ * OrderedSet} interface, backed by a {@code ConcurrentSkipListMap}. Elements are sorted on the order induced by a
+ * supplied {@code Comparator}, or their natural ordering if none is supplied. This class offers expected logarithmic
+ * time performance for {@code add}, {@code contains}, and {@code remove} operations, and {@code removeFirst} and {@code
+ * removeLast} are atomic. Iteration is weakly consistent, and {@code size} is an estimate while the set is being
+ * modified. Elements may be {@code null}.
+ *
+ * @param <E> the type of element in this {@code ConcurrentSkipListSet}
+ * @author Jeff Wilgus
+ */
+public class ConcurrentSkipListSet<E> extends AbstractSet<E> implements OrderedSet<E> {
+
+    /**
+     * Constructs a new {@code ConcurrentSkipListSet} object.
+     */
+    public ConcurrentSkipListSet() {
+        map = new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * Constructs a new {@code ConcurrentSkipListSet} object sorted on the order induced by the specified {@code
+     * Comparator}.
+     *
+     * @param comp the specified {@code Comparator}
+     * @throws NullPointerException if the specified {@code Comparator} is {@code null}
+     */
+    public ConcurrentSkipListSet(Comparator<E> comp) {
+        map = new ConcurrentSkipListMap<>(comp);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public void add(final E element) {
+        map.put(element, null);
+    }
+
+    @Override
+    public void remove(final E element) {
+        map.remove(element);
+    }
+
+    @Override
+    public E removeFirst() {
+        return map().removeFirst().getKey();
+    }
+
+    @Override
+    public E removeLast() {
+        return map().removeLast().getKey();
+    }
+
+    @Override
+    public E removePrevious(final E element) {
+        return map().removePrevious(element).getKey();
+    }
+
+    @Override
+    public E removeNext(final E element) {
+        return map().removeNext(element).getKey();
+    }
+
+    @Override
+    public E getFirst() {
+        return map().getFirst().getKey();
+    }
+
+    @Override
+    public E getLast() {
+        return map().getLast().getKey();
+    }
+
+    @Override
+    public E getPrevious(final E element) {
+        return map().getPrevious(element).getKey();
+    }
+
+    @Override
+    public E getNext(final E element) {
+        return map().getNext(element).getKey();
+    }
+
+    private ConcurrentSkipListMap<E, Void> map() {
+        return (ConcurrentSkipListMap<E, Void>)map;
+    }
+
+    private static final long serialVersionUID = -2964826357092810644L;
+
+}
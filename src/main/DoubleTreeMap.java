@@ -0,0 +1,399 @@
+package main;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static util.Common.areEqual;
+
+/**
+ * The {@code DoubleTreeMap} class is an AVL tree that maps primitive {@code double} keys to values of any type, sorted
+ * by key on the total order of {@link Double#compare(double, double)}, under which {@code -0.0} precedes {@code 0.0},
+ * and {@code NaN} follows every other key and is equal to itself. Keys are not boxed on the way in or out, no object is
+ * allocated per entry, and each node visited costs one primitive comparison rather than a call through a {@code
+ * Comparator}. This class offers logarithmic time performance for {@code put}, {@code get}, and {@code remove}
+ * operations, and for finding the keys nearest to a given one.
+ *
+ * @param <V> the type of mapped values
+ * @author Jeff Wilgus
+ */
+public class DoubleTreeMap<V> extends AbstractPrimitiveTreeMap<V> {
+
+    /**
+     * The {@code EntryConsumer} interface specifies an operation on the entries of a {@code DoubleTreeMap}.
+     *
+     * @param <V> the type of mapped values
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        /**
+         * Performs this operation on the specified {@code key} and {@code value}.
+         *
+         * @param key the specified key
+         * @param value the specified value
+         */
+        void accept(double key, V value);
+
+    }
+
+    private transient double[] keys;
+
+    /**
+     * The node found to hold the key sought by the last insertion or deletion, or {@code NIL} if there was none.
+     */
+    private transient int found;
+
+    /**
+     * Constructs a new {@code DoubleTreeMap} object.
+     */
+    public DoubleTreeMap() {
+    }
+
+    @Override
+    void resizeKeys(int capacity) {
+        keys = keys == null ? new double[capacity] : Arrays.copyOf(keys, capacity);
+    }
+
+    @Override
+    int compareKeys(int x, int y) {
+        return Double.compare(keys[x], keys[y]);
+    }
+
+    @Override
+    boolean keyEquals(int x, AbstractPrimitiveTreeMap<?> map, int y) {
+        return Double.compare(keys[x], ((DoubleTreeMap<?>)map).keys[y]) == 0;
+    }
+
+    @Override
+    Object keyAt(int x) {
+        return keys[x];
+    }
+
+    /**
+     * Determines whether or not there is an association between the specified {@code key} and a value in this {@code
+     * DoubleTreeMap}.
+     *
+     * @param key the specified key
+     * @return {@code true} if there exists an association between the specified {@code key} and a value in this {@code
+     * DoubleTreeMap}
+     */
+    public boolean contains(final double key) {
+        return search(key) != NIL;
+    }
+
+    /**
+     * Adds an entry to this {@code DoubleTreeMap} associating the specified {@code key} to the specified {@code value}.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return an {@code Optional} containing the value previously associated with the specified {@code key} if such a
+     * value exists
+     */
+    public Optional<V> put(final double key, final V value) {
+        int x = insert(key, value);
+        if (x == NIL) {
+            return Optional.empty();
+        }
+        V result = values[x];
+        values[x] = value;
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * Adds an entry to this {@code DoubleTreeMap} associating the specified {@code key} to the specified {@code value}
+     * only if another mapping from the specified {@code key} does not already exist.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return {@code true} if a mapping between the specified {@code key} and {@code value} was successfully added to
+     * this {@code DoubleTreeMap}
+     */
+    public boolean putIfAbsent(final double key, final V value) {
+        return insert(key, value) == NIL;
+    }
+
+    /**
+     * Adds a node associating the specified {@code key} to the specified {@code value} if there is none with the
+     * specified {@code key}, and provides the node that already has it, or {@code NIL} if there was none.
+     */
+    private int insert(double key, V value) {
+        reserve();
+        found = NIL;
+        root = insert(root, key, value);
+        return found;
+    }
+
+    private int insert(int x, double key, V value) {
+        if (x == NIL) {
+            x = newNode(value);
+            keys[x] = key;
+            return x;
+        }
+        int c = Double.compare(key, keys[x]);
+        if (c < 0) {
+            left[x] = insert(left[x], key, value);
+        } else if (c > 0) {
+            right[x] = insert(right[x], key, value);
+        } else {
+            found = x;
+            return x;
+        }
+        return balance(x);
+    }
+
+    /**
+     * Deletes an entry from this {@code DoubleTreeMap} associating some value with the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the value associated with the specified {@code key}
+     * @throws IllegalStateException if this {@code DoubleTreeMap} is empty
+     * @throws NoSuchElementException if there is no mapping between the specified {@code key} and a value in this
+     * {@code DoubleTreeMap}
+     */
+    public V remove(final double key) {
+        rootOrThrow();
+        int x = unlink(key);
+        V result = values[x];
+        release(x);
+        return result;
+    }
+
+    /**
+     * Removes the entry in this {@code DoubleTreeMap} associating the specified {@code key} to the specified {@code
+     * value} only if such a mapping from the specified {@code key} exists.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return {@code true} if a mapping between the specified {@code key} and {@code value} was successfully removed
+     * from this {@code DoubleTreeMap}
+     */
+    public boolean removeIfPresent(final double key, final V value) {
+        int x = search(key);
+        if (x != NIL && areEqual(values[x], value)) {
+            release(unlink(key));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the node with the specified {@code key} from the tree, and provides it so that its value may be read
+     * before it is released. Nothing is relinked until the node is found, so the tree is left intact if it is not.
+     */
+    private int unlink(double key) {
+        root = delete(root, key);
+        return found;
+    }
+
+    private int delete(int x, double key) {
+        int c = Double.compare(key, keys[existing(x)]);
+        if (c < 0) {
+            left[x] = delete(left[x], key);
+        } else if (c > 0) {
+            right[x] = delete(right[x], key);
+        } else {
+            found = x;
+            return splice(x);
+        }
+        return balance(x);
+    }
+
+    /**
+     * Retrieves the value in this {@code DoubleTreeMap} associated with the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the value associated with the specified {@code key}
+     * @throws IllegalStateException if this {@code DoubleTreeMap} is empty
+     * @throws NoSuchElementException if there is no mapping between the specified {@code key} and a value in this
+     * {@code DoubleTreeMap}
+     */
+    public V get(final double key) {
+        return values[existing(search(rootOrThrow(), key))];
+    }
+
+    /**
+     * Retrieves the value in this {@code DoubleTreeMap} associated with the specified {@code key}, or the specified
+     * {@code defaultValue} if there is no such value.
+     *
+     * @param key the specified key
+     * @param defaultValue the specified default value
+     * @return the value associated with the specified {@code key}, or the specified {@code defaultValue}
+     */
+    public V getOrDefault(final double key, final V defaultValue) {
+        int x = search(key);
+        return x == NIL ? defaultValue : values[x];
+    }
+
+    /**
+     * Replaces the {@code value} associated with the specified {@code key} with that specified.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return an {@code Optional} containing the value previously associated with the specified {@code key} if such a
+     * value exists
+     */
+    public Optional<V> replace(final double key, final V value) {
+        int x = search(key);
+        if (x == NIL) {
+            return Optional.empty();
+        }
+        V result = values[x];
+        values[x] = value;
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * Provides the least key in this {@code DoubleTreeMap}.
+     *
+     * @return the least key
+     * @throws IllegalStateException if this {@code DoubleTreeMap} is empty
+     */
+    public double firstKey() {
+        return keys[minimum(rootOrThrow())];
+    }
+
+    /**
+     * Provides the greatest key in this {@code DoubleTreeMap}.
+     *
+     * @return the greatest key
+     * @throws IllegalStateException if this {@code DoubleTreeMap} is empty
+     */
+    public double lastKey() {
+        return keys[maximum(rootOrThrow())];
+    }
+
+    /**
+     * Provides the greatest key in this {@code DoubleTreeMap} less than or equal to the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the greatest key less than or equal to the specified {@code key}
+     * @throws IllegalStateException if this {@code DoubleTreeMap} is empty
+     * @throws NoSuchElementException if there is no such key
+     */
+    public double floorKey(final double key) {
+        return keys[existing(floor(key, true))];
+    }
+
+    /**
+     * Provides the least key in this {@code DoubleTreeMap} greater than or equal to the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the least key greater than or equal to the specified {@code key}
+     * @throws IllegalStateException if this {@code DoubleTreeMap} is empty
+     * @throws NoSuchElementException if there is no such key
+     */
+    public double ceilingKey(final double key) {
+        return keys[existing(ceiling(key, true))];
+    }
+
+    /**
+     * Provides the greatest key in this {@code DoubleTreeMap} strictly less than the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the greatest key less than the specified {@code key}
+     * @throws IllegalStateException if this {@code DoubleTreeMap} is empty
+     * @throws NoSuchElementException if there is no such key
+     */
+    public double lowerKey(final double key) {
+        return keys[existing(floor(key, false))];
+    }
+
+    /**
+     * Provides the least key in this {@code DoubleTreeMap} strictly greater than the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the least key greater than the specified {@code key}
+     * @throws IllegalStateException if this {@code DoubleTreeMap} is empty
+     * @throws NoSuchElementException if there is no such key
+     */
+    public double higherKey(final double key) {
+        return keys[existing(ceiling(key, false))];
+    }
+
+    private int floor(double key, boolean inclusive) {
+        int x = rootOrThrow(), result = NIL;
+        while (x != NIL) {
+            int c = Double.compare(key, keys[x]);
+            if (c > 0 || inclusive && c == 0) {
+                result = x;
+                x = right[x];
+            } else {
+                x = left[x];
+            }
+        }
+        return result;
+    }
+
+    private int ceiling(double key, boolean inclusive) {
+        int x = rootOrThrow(), result = NIL;
+        while (x != NIL) {
+            int c = Double.compare(key, keys[x]);
+            if (c < 0 || inclusive && c == 0) {
+                result = x;
+                x = left[x];
+            } else {
+                x = right[x];
+            }
+        }
+        return result;
+    }
+
+    private int search(double key) {
+        return search(root, key);
+    }
+
+    private int search(int x, double key) {
+        while (x != NIL) {
+            int c = Double.compare(key, keys[x]);
+            if (c < 0) {
+                x = left[x];
+            } else if (c > 0) {
+                x = right[x];
+            } else {
+                return x;
+            }
+        }
+        return NIL;
+    }
+
+    /**
+     * Provides the keys in this {@code DoubleTreeMap} in ascending order.
+     *
+     * @return an array containing the keys in this {@code DoubleTreeMap}
+     */
+    public double[] keys() {
+        int[] order = order();
+        double[] result = new double[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = keys[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Performs the specified {@code action} on each of the entries in this {@code DoubleTreeMap} in ascending order of
+     * key.
+     *
+     * @param action the specified action
+     */
+    public void forEach(final EntryConsumer<? super V> action) {
+        walk(x -> action.accept(keys[x], values[x]));
+    }
+
+    private static final long serialVersionUID = 5938032906377913604L;
+
+    @Override
+    void writeKey(ObjectOutputStream stream, int x) throws IOException {
+        stream.writeDouble(keys[x]);
+    }
+
+    @Override
+    void readKey(ObjectInputStream stream, int x) throws IOException {
+        keys[x] = stream.readDouble();
+    }
+
+}
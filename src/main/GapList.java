@@ -0,0 +1,389 @@
+package main;
+
+import util.Quicksort;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+import static util.Common.DEFAULT_CAPACITY;
+import static util.Common.MAX_CAPACITY;
+
+/**
+ * The {@code GapList} class is a gap buffer implementation of the {@code List} interface. Its elements are held in an
+ * array with a single run of unused slots, the gap, at the index of the most recent addition or removal. An addition or
+ * removal first moves the gap to its index, shifting only the elements in between, and then fills or widens the gap by
+ * one. Edits clustered about a moving cursor therefore take amortized constant time, and cost time proportional to the
+ * distance moved otherwise, while index-based access runs in constant time. {@code GapList}s may contain {@code null}
+ * elements. As in a compact {@code ArrayList}, {@code Position}s are made on demand and refer to an index rather than
+ * to an element: each is valid only until the next addition to or removal from the list, after which it is rejected as
+ * not belonging to it.
+ *
+ * @param <E> the type of element in this {@code GapList}
+ * @author Jeff Wilgus
+ */
+public class GapList<E> extends AbstractList<E> {
+
+    /**
+     * The {@code Position} of an index in a {@code GapList}, which is valid only for the generation of the list in
+     * which it was made.
+     */
+    private final static class Slot<E> extends AbstractPosition<E> {
+
+        final int index;
+        final int generation;
+
+        Slot(final GapList<E> owner, int index) {
+            super(null, owner);
+            this.index = index;
+            generation = owner.generation;
+        }
+
+        @Override
+        public E getElement() {
+            return list().getAt(list().toIndex(this));
+        }
+
+        @Override
+        public E setElement(final E element) {
+            return list().set(list().toIndex(this), element);
+        }
+
+        private GapList<E> list() {
+            return (GapList<E>)owner;
+        }
+
+    }
+
+    private transient Object[] elements;
+
+    /**
+     * The index in the array of the first slot of the gap, which is also the index of the element that follows it.
+     */
+    private transient int gapStart;
+
+    /**
+     * The index in the array of the first slot after the gap.
+     */
+    private transient int gapEnd;
+
+    /**
+     * Incremented whenever an element is added or removed, so that {@code Slot}s made before then are recognized as
+     * stale.
+     */
+    private transient int generation;
+
+    /**
+     * Constructs a new {@code GapList} object.
+     */
+    public GapList() {
+        init();
+    }
+
+    @Override
+    protected void init() {
+        size = 0;
+        gapStart = 0;
+        gapEnd = DEFAULT_CAPACITY;
+        generation++;
+        sort = new Quicksort<>();
+        elements = new Object[DEFAULT_CAPACITY];
+    }
+
+    @Override
+    public Position<E> add(final int index, final E element) {
+        return insert(index, element);
+    }
+
+    @Override
+    public Position<E> addFirst(final E element) {
+        return insert(0, element);
+    }
+
+    @Override
+    public Position<E> addLast(final E element) {
+        return insert(size, element);
+    }
+
+    @Override
+    public Position<E> addBefore(final Position<E> position, final E element) {
+        return insert(toIndex(position), element);
+    }
+
+    @Override
+    public Position<E> addAfter(final Position<E> position, final E element) {
+        return insert(toIndex(position) + 1, element);
+    }
+
+    private Position<E> insert(int index, E element) {
+        validateIndex(index, true);
+        if (gapStart == gapEnd) {
+            grow();
+        }
+        moveGap(index);
+        elements[gapStart++] = element;
+        size++;
+        generation++;
+        sort.clear();
+        return new Slot<>(this, index);
+    }
+
+    private void grow() {
+        if (elements.length == MAX_CAPACITY) {
+            throw new OutOfMemoryError();
+        }
+        resize(elements.length << 1);
+    }
+
+    /**
+     * Replaces the array of this {@code GapList} with one of the specified {@code length}, keeping the gap where it is
+     * and widening or narrowing it to make up the difference.
+     */
+    private void resize(int length) {
+        Object[] resized = new Object[length];
+        int after = elements.length - gapEnd;
+        System.arraycopy(elements, 0, resized, 0, gapStart);
+        System.arraycopy(elements, gapEnd, resized, length - after, after);
+        elements = resized;
+        gapEnd = length - after;
+    }
+
+    /**
+     * Moves the gap so that it starts at the specified {@code index}, shifting the elements between it and the current
+     * gap across it and clearing the slots that they vacate.
+     */
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            int count = gapStart - index;
+            System.arraycopy(elements, index, elements, gapEnd - count, count);
+            Arrays.fill(elements, index, Math.min(gapStart, gapEnd - count), null);
+            gapStart = index;
+            gapEnd -= count;
+        } else if (index > gapStart) {
+            int count = index - gapStart;
+            System.arraycopy(elements, gapEnd, elements, gapStart, count);
+            Arrays.fill(elements, Math.max(gapEnd, index), gapEnd + count, null);
+            gapStart = index;
+            gapEnd += count;
+        }
+    }
+
+    @Override
+    public E remove(final int index) {
+        return delete(index);
+    }
+
+    @Override
+    public E removeFirst() {
+        return delete(0);
+    }
+
+    @Override
+    public E removeLast() {
+        return delete(size - 1);
+    }
+
+    @Override
+    public E removePrevious(final Position<E> position) {
+        return delete(toIndex(position) - 1);
+    }
+
+    @Override
+    public E removeNext(final Position<E> position) {
+        return delete(toIndex(position) + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E delete(int index) {
+        validateIndex(index, false);
+        E result;
+        // Widen the gap from whichever side the element is on, so that deleting either side of a cursor moves nothing.
+        if (index < gapStart) {
+            moveGap(index + 1);
+            result = (E)elements[--gapStart];
+            elements[gapStart] = null;
+        } else {
+            moveGap(index);
+            result = (E)elements[gapEnd];
+            elements[gapEnd++] = null;
+        }
+        size--;
+        generation++;
+        shrink();
+        return result;
+    }
+
+    /**
+     * Halves the array of this {@code GapList} once no more than a quarter of it is in use, so that it is not resized
+     * again until the number of elements has either doubled or halved.
+     */
+    private void shrink() {
+        if (size <= elements.length >> 2 && elements.length > DEFAULT_CAPACITY) {
+            resize(Math.max(elements.length >> 1, DEFAULT_CAPACITY));
+        }
+    }
+
+    @Override
+    public E get(final int index) {
+        return getAt(index);
+    }
+
+    @Override
+    public E getFirst() {
+        return getAt(0);
+    }
+
+    @Override
+    public E getLast() {
+        return getAt(size - 1);
+    }
+
+    @Override
+    public E getPrevious(final Position<E> position) {
+        return getAt(toIndex(position) - 1);
+    }
+
+    @Override
+    public E getNext(final Position<E> position) {
+        return getAt(toIndex(position) + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E getAt(int index) {
+        return (E)elements[slot(validateIndex(index, false))];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E set(final int index, final E element) {
+        sort.clear();
+        int slot = slot(validateIndex(index, false));
+        E result = (E)elements[slot];
+        elements[slot] = element;
+        return result;
+    }
+
+    /**
+     * Provides the index in the array of this {@code GapList} of the element at the specified {@code index}.
+     */
+    private int slot(int index) {
+        return index < gapStart ? index : index + gapEnd - gapStart;
+    }
+
+    @Override
+    public Position<E> positionOf(final E element) {
+        return new Slot<>(this, indexOf(element));
+    }
+
+    private int toIndex(Position<E> position) {
+        AbstractPosition<E> valid = validatePosition(position);
+        if (((Slot<E>)valid).generation != generation) {
+            throw new IllegalArgumentException();
+        }
+        return ((Slot<E>)valid).index;
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return new ListIter(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(final int index) {
+        return new ListIter(validateIndex(index, true));
+    }
+
+    @Override
+    public ListIterator<E> listIterator(final Position<E> position) {
+        return new ListIter(toIndex(position));
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new ListIter(0);
+    }
+
+    private final class ListIter implements ListIterator<E> {
+
+        int next;
+
+        /**
+         * The index of the element last returned by {@code next} or {@code previous}, or {@code -1} if it has since
+         * been removed or an element has since been added.
+         */
+        int last = -1;
+
+        ListIter(int next) {
+            this.next = next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return getAt(last);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return next > 0;
+        }
+
+        @Override
+        public E previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            last = --next;
+            return getAt(last);
+        }
+
+        @Override
+        public int nextIndex() {
+            return next;
+        }
+
+        @Override
+        public int previousIndex() {
+            return next - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            delete(last);
+            if (last < next) {
+                next--;
+            }
+            last = -1;
+        }
+
+        @Override
+        public void set(final E e) {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            GapList.this.set(last, e);
+        }
+
+        @Override
+        public void add(final E e) {
+            insert(next++, e);
+            last = -1;
+        }
+
+    }
+
+    private static final long serialVersionUID = -2869057745213395521L;
+
+}
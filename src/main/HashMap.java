@@ -1,20 +1,32 @@
 package main;
 
+import util.DefaultHashStrategy;
+import util.HashStrategy;
+
 import java.io.IOException;
 import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiPredicate;
 
 import static util.Common.*;
 
 /**
  * The {@code HashMap} class is a hash table implementation of the {@code Map} interface. This class offers constant
- * average time performance for {@code put}, {@code get}, and {@code remove} operations. Performance may be tuned by
- * supplying a load factor that determines how keys are dispersed (a lower load factor results in a more sparsely
- * populated {@code Map}). Both keys and values may be {@code null}, however, only one key may be.
+ * average time performance for {@code put}, {@code get}, and {@code remove} operations. Buckets that accumulate many
+ * colliding keys are converted to balanced trees, which bounds the cost of those operations by the logarithm of the
+ * bucket size provided that colliding keys have distinct hashes or are mutually comparable. Performance may be tuned
+ * by supplying a load factor that determines how keys are dispersed (a lower load factor results in a more sparsely
+ * populated {@code Map}), or a {@code HashStrategy} that determines how keys are hashed and compared. A {@code HashMap}
+ * may also be constructed to grow incrementally, in which case the cost of rehashing is spread over subsequent
+ * modifications rather than borne by the one that triggers growth. Both keys and values may be {@code null}, however,
+ * only one key may be.
  *
  * @param <K> the type of key that maps to values
  * @param <V> the type of mapped values
@@ -24,56 +36,158 @@ public class HashMap<K, V> extends AbstractMap<K, V> {
 
     private static class Bucket<K, V> extends AbstractEntry<K, V> {
 
-        Bucket(K key, V value) {
+        final int hash;
+
+        Bucket(int hash, K key, V value) {
             super(key, value);
+            this.hash = hash;
         }
 
     }
 
-    private static class Chain<K, V> extends LinkedList<Bucket<K, V>> {
+    private interface Bin<K, V> extends Iterable<Bucket<K, V>> {
+
+        Bucket<K, V> find(K key, int hash);
+
+        void add(Bucket<K, V> bucket);
+
+        void delete(Bucket<K, V> bucket);
+
+        int size();
 
-        Bucket<K, V> getBucket(K key) {
+    }
+
+    private final class Chain extends LinkedList<Bucket<K, V>> implements Bin<K, V> {
+
+        @Override
+        public Bucket<K, V> find(K key, int hash) {
             for (Bucket<K, V> bucket : this) {
-                if (areEqual(key, bucket.getKey())) {
+                if (bucket.hash == hash && strategy.areEquivalent(key, bucket.getKey())) {
                     return bucket;
                 }
             }
-            throw new NoSuchElementException();
+            return null;
         }
 
-        Optional<V> insert(K key, V value) {
-            for (Bucket<K, V> bucket : this) {
-                if (areEqual(key, bucket.getKey())) {
-                    return Optional.of(bucket.setValue(value));
-                }
-            }
-            addLast(new Bucket<>(key, value));
-            return Optional.empty();
+        @Override
+        public void add(Bucket<K, V> bucket) {
+            addLast(bucket);
         }
 
-        V delete(K key) {
-            return remove(indexOf(getBucket(key))).getValue();
+        @Override
+        public void delete(Bucket<K, V> bucket) {
+            Iterator<Bucket<K, V>> i = iterator();
+            while (i.next() != bucket) ;
+            i.remove();
         }
 
         private static final long serialVersionUID = -7957845362854571964L;
 
     }
 
-    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+    /**
+     * A {@code Bin} that keeps its buckets in a red-black tree ordered by hash, then by natural ordering where keys
+     * are of the same comparable class, then by class name and identity. Lookups cannot use the last two criteria, so
+     * they search both subtrees wherever the first two cannot tell keys apart.
+     */
+    private final class TreeBin implements Bin<K, V>, Comparator<K> {
 
-    private static double validateLoadFactor(double loadFactor) {
-        if (lessThanOrEqual(loadFactor, 0) || lessThanOrEqual(1, loadFactor)) {
-            throw new IllegalArgumentException();
+        final TreeMap<K, Bucket<K, V>> tree;
+        final BiPredicate<K, K> equivalence;
+
+        TreeBin(Chain chain) {
+            tree = new TreeMap<>((a, b) -> {
+                int c = compare(a, b);
+                if (c == 0) {
+                    c = nameOf(a).compareTo(nameOf(b));
+                }
+                return c != 0 ? c : Integer.compare(System.identityHashCode(a), System.identityHashCode(b));
+            });
+            equivalence = strategy::areEquivalent;
+            for (Bucket<K, V> bucket : chain) {
+                add(bucket);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public int compare(K a, K b) {
+            int c = Integer.compare(strategy.hash(a), strategy.hash(b));
+            // Natural ordering only agrees with equivalence when keys are identified by their equals method.
+            if (c == 0 && strategy instanceof DefaultHashStrategy && a instanceof Comparable && b != null
+                    && a.getClass() == b.getClass()) {
+                try {
+                    c = ((Comparable<Object>)a).compareTo(b);
+                } catch (ClassCastException e) {
+                    c = 0;
+                }
+            }
+            return c;
+        }
+
+        private String nameOf(K key) {
+            return key == null ? "" : key.getClass().getName();
+        }
+
+        @Override
+        public Bucket<K, V> find(K key, int hash) {
+            Entry<K, Bucket<K, V>> entry = tree.find(key, this, equivalence);
+            return entry == null ? null : entry.getValue();
+        }
+
+        @Override
+        public void add(Bucket<K, V> bucket) {
+            tree.link(bucket.getKey(), bucket);
+        }
+
+        @Override
+        public void delete(Bucket<K, V> bucket) {
+            tree.unlink(tree.find(bucket.getKey(), this, equivalence));
+        }
+
+        @Override
+        public int size() {
+            return tree.size();
+        }
+
+        @Override
+        public Iterator<Bucket<K, V>> iterator() {
+            return new Iterator<>() {
+
+                final Iterator<Entry<K, Bucket<K, V>>> i = tree.entrySet().iterator();
+
+                @Override
+                public boolean hasNext() {
+                    return i.hasNext();
+                }
+
+                @Override
+                public Bucket<K, V> next() {
+                    return i.next().getValue();
+                }
+
+                @Override
+                public void remove() {
+                    i.remove();
+                }
+
+            };
         }
-        return loadFactor;
-    }
 
-    private static boolean lessThanOrEqual(double a, double b) {
-        return Double.compare(a, b) <= 0;
     }
 
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final int TREEIFY_THRESHOLD = 8;
+    private static final int UNTREEIFY_THRESHOLD = 6;
+    private static final int MIN_TREEIFY_CAPACITY = 64;
+    private static final int MIGRATION_STEP = 4;
+
     private double loadFactor;
+    private boolean incremental;
+    private transient HashStrategy<? super K> strategy;
     private transient Object[] data;
+    private transient Object[] old;
+    private transient int migrated;
 
     /**
      * Constructs a new {@code HashMap} object.
@@ -82,6 +196,48 @@ public class HashMap<K, V> extends AbstractMap<K, V> {
         this(DEFAULT_LOAD_FACTOR);
     }
 
+    /**
+     * Constructs a new {@code HashMap} object that disperses and identifies its keys with the specified {@code
+     * HashStrategy}.
+     *
+     * @param strategy the specified {@code HashStrategy}
+     * @throws NullPointerException if the specified {@code HashStrategy} is {@code null}
+     */
+    public HashMap(HashStrategy<? super K> strategy) {
+        this(DEFAULT_LOAD_FACTOR, strategy);
+    }
+
+    /**
+     * Constructs a new {@code HashMap} object that can hold the specified {@code expectedSize} number of entries
+     * without growing.
+     *
+     * @param expectedSize the specified expected size
+     * @throws IllegalArgumentException if the specified {@code expectedSize} is negative
+     */
+    public HashMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR, new DefaultHashStrategy<>());
+    }
+
+    /**
+     * Constructs a new {@code HashMap} object with the specified {@code loadFactor} that can hold the specified {@code
+     * expectedSize} number of entries without growing, and that disperses and identifies its keys with the specified
+     * {@code HashStrategy}.
+     *
+     * @param expectedSize the specified expected size
+     * @param loadFactor the specified load factor
+     * @param strategy the specified {@code HashStrategy}
+     * @throws IllegalArgumentException if the specified {@code expectedSize} is negative, or the specified {@code
+     * loadFactor} is not on the open interval bounded by zero and one
+     * @throws NullPointerException if the specified {@code HashStrategy} is {@code null}
+     */
+    public HashMap(int expectedSize, double loadFactor, HashStrategy<? super K> strategy) {
+        this(loadFactor, strategy);
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        reserve(expectedSize);
+    }
+
     /**
      * Constructs a new {@code HashMap} object with the specified {@code loadFactor}.
      *
@@ -90,89 +246,231 @@ public class HashMap<K, V> extends AbstractMap<K, V> {
      * and one
      */
     public HashMap(double loadFactor) {
+        this(loadFactor, new DefaultHashStrategy<>());
+    }
+
+    /**
+     * Constructs a new {@code HashMap} object with the specified {@code loadFactor} that disperses and identifies its
+     * keys with the specified {@code HashStrategy}.
+     *
+     * @param loadFactor the specified load factor
+     * @param strategy the specified {@code HashStrategy}
+     * @throws IllegalArgumentException if the specified {@code loadFactor} is not on the open interval bounded by zero
+     * and one
+     * @throws NullPointerException if the specified {@code HashStrategy} is {@code null}
+     */
+    public HashMap(double loadFactor, HashStrategy<? super K> strategy) {
+        this(loadFactor, strategy, false);
+    }
+
+    /**
+     * Constructs a new {@code HashMap} object with the specified {@code loadFactor} that disperses and identifies its
+     * keys with the specified {@code HashStrategy}. If {@code incremental} is {@code true}, then this {@code HashMap}
+     * grows incrementally: the old table remains live while a bounded number of its buckets are moved to the new one
+     * on each {@code put} and {@code remove}, so that no single operation pays for rehashing the entire table.
+     *
+     * @param loadFactor the specified load factor
+     * @param strategy the specified {@code HashStrategy}
+     * @param incremental whether or not this {@code HashMap} spreads the cost of growing over many operations
+     * @throws IllegalArgumentException if the specified {@code loadFactor} is not on the open interval bounded by zero
+     * and one
+     * @throws NullPointerException if the specified {@code HashStrategy} is {@code null}
+     */
+    public HashMap(double loadFactor, HashStrategy<? super K> strategy, boolean incremental) {
         init();
         setLoadFactor(loadFactor);
+        setStrategy(strategy);
+        this.incremental = incremental;
     }
 
-
     @Override
     protected void init() {
         size = 0;
         data = new Object[DEFAULT_CAPACITY];
+        old = null;
+        migrated = 0;
     }
 
     private void setLoadFactor(double loadFactor) {
         this.loadFactor = validateLoadFactor(loadFactor);
     }
 
+    private void setStrategy(HashStrategy<? super K> strategy) {
+        this.strategy = Objects.requireNonNull(strategy);
+    }
+
     @Override
     public boolean contains(final K key) {
-        try {
-            chainAt(key, false).getBucket(key);
-        } catch (NoSuchElementException e) {
-            return false;
-        }
-        return true;
+        int hash = strategy.hash(key);
+        Bin<K, V> bin = binAt(hash);
+        return bin != null && bin.find(key, hash) != null;
     }
 
     @Override
     public Optional<V> put(final K key, final V value) {
-        var result = ensureCapacity(key, value);
-        if (result.isEmpty()) {
-            size++;
+        int hash = strategy.hash(key);
+        Bin<K, V> bin = binAt(hash);
+        Bucket<K, V> bucket = bin == null ? null : bin.find(key, hash);
+        if (bucket != null) {
+            return Optional.ofNullable(bucket.setValue(value));
         }
-        return result;
+        ensureCapacity();
+        addBucket(tableFor(hash), new Bucket<>(hash, key, value));
+        size++;
+        return Optional.empty();
     }
 
-    private Optional<V> ensureCapacity(K key, V value) {
-        if (data.length == MAX_CAPACITY) {
-            throw new OutOfMemoryError();
+    private void ensureCapacity() {
+        if (old != null) {
+            migrate(MIGRATION_STEP);
         }
         if (size >= data.length * loadFactor) {
-            size = 0;
-            Object[] old = data;
+            if (data.length == MAX_CAPACITY) {
+                throw new OutOfMemoryError();
+            }
+            if (old != null) { // The previous resize has not kept pace, so it is completed before starting another.
+                migrate(old.length);
+            }
+            old = data;
             data = new Object[old.length << 1];
-            for (Object o : old) {
-                if (o != null) {
-                    @SuppressWarnings("unchecked")
-                    Chain<K, V> chain = (Chain<K, V>)o;
-                    for (Bucket<K, V> bucket : chain) {
-                        size++;
-                        chainAt(bucket.getKey(), false).addLast(bucket);
-                    }
+            migrated = 0;
+            migrate(incremental ? MIGRATION_STEP : old.length);
+        }
+    }
+
+    /**
+     * Moves up to the specified {@code count} of buckets from the old table to the current one. Buckets in the old
+     * table before the migration index are empty; lookups of keys hashed to them consult the current table instead.
+     */
+    @SuppressWarnings("unchecked")
+    private void migrate(int count) {
+        int end = Math.min(old.length, migrated + count);
+        while (migrated < end) {
+            Object bin = old[migrated];
+            if (bin != null) {
+                old[migrated] = null;
+                for (Bucket<K, V> bucket : (Bin<K, V>)bin) {
+                    addBucket(data, bucket);
                 }
             }
+            migrated++;
+        }
+        if (migrated == old.length) {
+            old = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addBucket(Object[] table, Bucket<K, V> bucket) {
+        int index = compress(table, bucket.hash);
+        Bin<K, V> bin = (Bin<K, V>)table[index];
+        if (bin == null) {
+            table[index] = bin = new Chain();
+        }
+        bin.add(bucket);
+        if (bin instanceof HashMap.Chain && bin.size() >= TREEIFY_THRESHOLD && table.length >= MIN_TREEIFY_CAPACITY) {
+            table[index] = new TreeBin((Chain)bin);
+        }
+    }
+
+    @Override
+    void reserve(int expectedSize) {
+        int capacity = capacityFor(expectedSize, loadFactor);
+        if (capacity > data.length) {
+            if (old != null) {
+                migrate(old.length);
+            }
+            old = data;
+            data = new Object[capacity];
+            migrated = 0;
+            migrate(old.length);
+        }
+    }
+
+    /**
+     * {@inheritDoc} The table is grown at most once, before any entry is added.
+     */
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        reserve(size + map.size());
+        if (old != null) {
+            migrate(old.length);
+        }
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            K key = entry.getKey();
+            int hash = strategy.hash(key);
+            Bin<K, V> bin = binAt(hash);
+            Bucket<K, V> bucket = bin == null ? null : bin.find(key, hash);
+            if (bucket != null) {
+                bucket.setValue(entry.getValue());
+            } else {
+                addBucket(data, new Bucket<>(hash, key, entry.getValue()));
+                size++;
+            }
         }
-        return chainAt(key, false).insert(key, value);
     }
 
     @Override
     public V remove(final K key) {
-        V value = chainAt(key, true).delete(key);
+        int hash = strategy.hash(key);
+        Bucket<K, V> bucket = bucketOrThrow(key, hash);
+        Object[] table = tableFor(hash);
+        int index = compress(table, hash);
+        @SuppressWarnings("unchecked")
+        Bin<K, V> bin = (Bin<K, V>)table[index];
+        bin.delete(bucket);
+        if (bin.size() == 0) {
+            table[index] = null;
+        } else if (bin instanceof HashMap.TreeBin && bin.size() <= UNTREEIFY_THRESHOLD) {
+            table[index] = untreeify(bin);
+        }
         size--;
-        return value;
+        if (old != null) {
+            migrate(MIGRATION_STEP);
+        }
+        return bucket.getValue();
+    }
+
+    private Chain untreeify(Bin<K, V> bin) {
+        Chain chain = new Chain();
+        for (Bucket<K, V> bucket : bin) {
+            chain.add(bucket);
+        }
+        return chain;
     }
 
     @Override
     public V get(final K key) {
-        return chainAt(key, true).getBucket(key).getValue();
+        return bucketOrThrow(key, strategy.hash(key)).getValue();
     }
 
-    @SuppressWarnings("unchecked")
-    private Chain<K, V> chainAt(K key, boolean checkEmpty) {
-        if (checkEmpty && isEmpty()) {
+    private Bucket<K, V> bucketOrThrow(K key, int hash) {
+        if (isEmpty()) {
             throw new IllegalStateException();
         }
-        int index = compress(hash(key));
-        Object chain = data[index];
-        if (chain == null) {
-            chain = data[index] = new Chain<K, V>();
+        Bin<K, V> bin = binAt(hash);
+        Bucket<K, V> bucket = bin == null ? null : bin.find(key, hash);
+        if (bucket == null) {
+            throw new NoSuchElementException();
         }
-        return (Chain<K, V>)chain;
+        return bucket;
     }
 
-    private int compress(int hash) {
-        return hash & (data.length - 1);
+    @SuppressWarnings("unchecked")
+    private Bin<K, V> binAt(int hash) {
+        Object[] table = tableFor(hash);
+        return (Bin<K, V>)table[compress(table, hash)];
+    }
+
+    private Object[] tableFor(int hash) {
+        if (old != null && compress(old, hash) >= migrated) {
+            return old;
+        }
+        return data;
+    }
+
+    private static int compress(Object[] table, int hash) {
+        return hash & (table.length - 1);
     }
 
     private transient Set<Entry<K, V>> entries;
@@ -219,63 +517,72 @@ public class HashMap<K, V> extends AbstractMap<K, V> {
         return entries;
     }
 
+    /**
+     * Iterates over the old table, if a resize is in progress, and then the current one.
+     */
     private final class EntryIter implements Iterator<Entry<K, V>> {
 
-        int index;
-        Iterator<Bucket<K, V>> current, next;
-        boolean removable;
+        Object[] table = old != null ? old : data, lastTable;
+        int index, lastIndex;
+        Iterator<Bucket<K, V>> current = Collections.emptyIterator(), last;
 
         @SuppressWarnings("unchecked")
-        EntryIter() {
-            index = -1;
-            if (!isEmpty()) {
-                advance();
-                current = ((Chain<K, V>)data[index]).iterator();
-                advance();
-                if (index < data.length) {
-                    next = ((Chain<K, V>)data[index]).iterator();
-                }
-            }
-        }
-
         @Override
         public boolean hasNext() {
-            return current.hasNext() || next != null;
+            while (!current.hasNext()) {
+                if (index == table.length) {
+                    if (table == data) {
+                        return false;
+                    }
+                    table = data;
+                    index = 0;
+                }
+                Object bin = table[index++];
+                if (bin != null) {
+                    current = ((Bin<K, V>)bin).iterator();
+                }
+            }
+            return true;
         }
 
-        @SuppressWarnings("unchecked")
         @Override
         public Entry<K, V> next() {
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-            if (!current.hasNext()) {
-                current = next;
-                advance();
-                if (index < data.length) {
-                    next = ((Chain<K, V>)data[index]).iterator();
-                } else {
-                    next = null;
-                }
-            }
-            removable = true;
+            last = current;
+            lastTable = table;
+            lastIndex = index - 1;
             return current.next();
         }
 
-        private void advance() {
-            do {
-                index++;
-            } while (index < data.length && data[index] == null);
-        }
-
+        @SuppressWarnings("unchecked")
         @Override
         public void remove() {
-            if (!removable) {
+            if (last == null) {
                 throw new IllegalStateException();
             }
-            removable = false;
+            last.remove();
+            boolean inBin = last == current;
+            last = null;
             HashMap.this.size--;
-            current.remove();
+            Bin<K, V> bin = (Bin<K, V>)lastTable[lastIndex];
+            if (bin.size() == 0) {
+                lastTable[lastIndex] = null;
+            } else if (bin instanceof HashMap.TreeBin && bin.size() <= UNTREEIFY_THRESHOLD) {
+                Chain chain = untreeify(bin);
+                lastTable[lastIndex] = chain;
+                if (inBin) { // Resume at the same bucket in the chain, so that later removals unlink from it.
+                    int remaining = 0;
+                    for (; current.hasNext(); current.next()) {
+                        remaining++;
+                    }
+                    current = chain.iterator();
+                    for (int i = chain.size() - remaining; i > 0; i--) {
+                        current.next();
+                    }
+                }
+            }
         }
 
     }
@@ -286,6 +593,7 @@ public class HashMap<K, V> extends AbstractMap<K, V> {
         stream.defaultWriteObject();
         stream.writeInt(size);
         stream.writeDouble(loadFactor);
+        stream.writeObject(strategy);
         for (Entry<K, V> entry : entrySet()) {
             stream.writeObject(entry.getKey());
             stream.writeObject(entry.getValue());
@@ -296,8 +604,12 @@ public class HashMap<K, V> extends AbstractMap<K, V> {
     private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
         stream.defaultReadObject();
         int size = validateSize(stream.readInt());
-        data = new Object[nextPowTwo(size)];
-        loadFactor = validateLoadFactor(stream);
+        loadFactor = readLoadFactor(stream);
+        strategy = (HashStrategy<? super K>)validateObject(stream.readObject());
+        data = new Object[capacityFor(size, loadFactor)];
+        old = null;
+        migrated = 0;
+        this.size = 0;
         for (int i = 0; i < size; i++) {
             K key = (K)stream.readObject();
             V value = (V)stream.readObject();
@@ -305,19 +617,7 @@ public class HashMap<K, V> extends AbstractMap<K, V> {
         }
     }
 
-    private static int nextPowTwo(int size) {
-        if (size < DEFAULT_CAPACITY) {
-            return DEFAULT_CAPACITY;
-        }
-        while (Integer.bitCount(size) > 1) {
-            if ((++size & 1) != 0) { // i is odd and so cannot be a power of two.
-                size++;
-            }
-        }
-        return size;
-    }
-
-    private static double validateLoadFactor(ObjectInputStream stream) throws IOException {
+    private static double readLoadFactor(ObjectInputStream stream) throws IOException {
         try {
             return validateLoadFactor(stream.readDouble());
         } catch (IllegalArgumentException e) {
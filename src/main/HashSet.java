@@ -1,10 +1,13 @@
 package main;
 
+import util.HashStrategy;
+
 /**
  * The {@code HashSet} class is a hash table implementation of the {@code Set} interface. This class offers constant
  * average time performance for {@code add}, {@code get}, and {@code remove} operations. Performance may be tuned by
  * supplying a load factor that determines how elements are dispersed (a lower load factor results in a more sparsely
- * populated {@code Set}). Elements may be {@code null}.
+ * populated {@code Set}), or a {@code HashStrategy} that determines how elements are hashed and compared. Elements may
+ * be {@code null}.
  *
  * @param <E> the type of element in this {@code HashSet}
  * @author Jeff Wilgus
@@ -18,6 +21,44 @@ public class HashSet<E> extends AbstractSet<E> {
         map = new HashMap<>();
     }
 
+    /**
+     * Constructs a new {@code HashSet} object that disperses and identifies its elements with the specified {@code
+     * HashStrategy}.
+     *
+     * @param strategy the specified {@code HashStrategy}
+     * @throws NullPointerException if the specified {@code HashStrategy} is {@code null}
+     */
+    public HashSet(HashStrategy<? super E> strategy) {
+        map = new HashMap<>(strategy);
+    }
+
+    /**
+     * Constructs a new {@code HashSet} object that can hold the specified {@code expectedSize} number of elements
+     * without growing.
+     *
+     * @param expectedSize the specified expected size
+     * @throws IllegalArgumentException if the specified {@code expectedSize} is negative
+     */
+    public HashSet(int expectedSize) {
+        map = new HashMap<>(expectedSize);
+    }
+
+    /**
+     * Constructs a new {@code HashSet} object with the specified {@code loadFactor} that can hold the specified {@code
+     * expectedSize} number of elements without growing, and that disperses and identifies its elements with the
+     * specified {@code HashStrategy}.
+     *
+     * @param expectedSize the specified expected size
+     * @param loadFactor the specified load factor
+     * @param strategy the specified {@code HashStrategy}
+     * @throws IllegalArgumentException if the specified {@code expectedSize} is negative, or the specified {@code
+     * loadFactor} is not on the open interval bounded by zero and one
+     * @throws NullPointerException if the specified {@code HashStrategy} is {@code null}
+     */
+    public HashSet(int expectedSize, double loadFactor, HashStrategy<? super E> strategy) {
+        map = new HashMap<>(expectedSize, loadFactor, strategy);
+    }
+
     /**
      * Constructs a new {@code HashSet} object with the specified {@code loadFactor}.
      *
@@ -29,6 +70,20 @@ public class HashSet<E> extends AbstractSet<E> {
         map = new HashMap<>(loadFactor);
     }
 
+    /**
+     * Constructs a new {@code HashSet} object with the specified {@code loadFactor} that disperses and identifies its
+     * elements with the specified {@code HashStrategy}.
+     *
+     * @param loadFactor the specified load factor
+     * @param strategy the specified {@code HashStrategy}
+     * @throws IllegalArgumentException if the specified {@code loadFactor} is not on the open interval bounded by zero
+     * and one
+     * @throws NullPointerException if the specified {@code HashStrategy} is {@code null}
+     */
+    public HashSet(double loadFactor, HashStrategy<? super E> strategy) {
+        map = new HashMap<>(loadFactor, strategy);
+    }
+
     private static final long serialVersionUID = 323140859808317776L;
 
 }
@@ -0,0 +1,236 @@
+package main;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+
+/**
+ * The {@code IntIntMap} class is a hash table that maps primitive {@code int} keys to primitive {@code int} values.
+ * Neither keys nor values are boxed on the way in or out, and no object is allocated per entry. This class offers
+ * constant average time performance for {@code put}, {@code get}, and {@code remove} operations. Performance may be
+ * tuned by supplying a load factor that determines how keys are dispersed (a lower load factor results in shorter probe
+ * sequences).
+ *
+ * @author Jeff Wilgus
+ */
+public class IntIntMap extends AbstractIntKeyMap {
+
+    /**
+     * The {@code EntryConsumer} interface specifies an operation on the entries of an {@code IntIntMap}.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        /**
+         * Performs this operation on the specified {@code key} and {@code value}.
+         *
+         * @param key the specified key
+         * @param value the specified value
+         */
+        void accept(int key, int value);
+
+    }
+
+    private transient int[] values;
+
+    /**
+     * Constructs a new {@code IntIntMap} object.
+     */
+    public IntIntMap() {
+        this(0, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new {@code IntIntMap} object that can hold the specified {@code expectedSize} number of entries
+     * without growing.
+     *
+     * @param expectedSize the specified expected size
+     * @throws IllegalArgumentException if the specified {@code expectedSize} is negative
+     */
+    public IntIntMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new {@code IntIntMap} object with the specified {@code loadFactor} that can hold the specified
+     * {@code expectedSize} number of entries without growing.
+     *
+     * @param expectedSize the specified expected size
+     * @param loadFactor the specified load factor
+     * @throws IllegalArgumentException if the specified {@code expectedSize} is negative, or the specified {@code
+     * loadFactor} is not on the open interval bounded by zero and one
+     */
+    public IntIntMap(int expectedSize, double loadFactor) {
+        super(expectedSize, loadFactor);
+    }
+
+    @Override
+    void resizeValues(int capacity, int[] destinations) {
+        int[] old = values;
+        values = new int[capacity];
+        if (destinations != null) {
+            for (int i = 0; i < destinations.length; i++) {
+                if (destinations[i] >= 0) {
+                    values[destinations[i]] = old[i];
+                }
+            }
+        }
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    void clearValue(int index) {
+    }
+
+    @Override
+    Object valueAt(int index) {
+        return values[index];
+    }
+
+    /**
+     * Adds an entry to this {@code IntIntMap} associating the specified {@code key} to the specified {@code value}.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return an {@code OptionalInt} containing the value previously associated with the specified {@code key} if such
+     * a value exists
+     */
+    public OptionalInt put(final int key, final int value) {
+        int index = insert(key);
+        if (index < 0) {
+            values[~index] = value;
+            return OptionalInt.empty();
+        }
+        int result = values[index];
+        values[index] = value;
+        return OptionalInt.of(result);
+    }
+
+    /**
+     * Adds an entry to this {@code IntIntMap} associating the specified {@code key} to the specified {@code value} only
+     * if another mapping from the specified {@code key} does not already exist.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return {@code true} if a mapping between the specified {@code key} and {@code value} was successfully added to
+     * this {@code IntIntMap}
+     */
+    public boolean putIfAbsent(final int key, final int value) {
+        int index = insert(key);
+        if (index < 0) {
+            values[~index] = value;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Deletes an entry from this {@code IntIntMap} associating some value with the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the value associated with the specified {@code key}
+     * @throws IllegalStateException if this {@code IntIntMap} is empty
+     * @throws NoSuchElementException if there is no mapping between the specified {@code key} and a value in this
+     * {@code IntIntMap}
+     */
+    public int remove(final int key) {
+        int index = indexOrThrow(key);
+        int result = values[index];
+        delete(index);
+        return result;
+    }
+
+    /**
+     * Removes the entry in this {@code IntIntMap} associating the specified {@code key} to the specified {@code value}
+     * only if such a mapping from the specified {@code key} exists.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return {@code true} if a mapping between the specified {@code key} and {@code value} was successfully removed
+     * from this {@code IntIntMap}
+     */
+    public boolean removeIfPresent(final int key, final int value) {
+        int index = indexOf(key);
+        if (index >= 0 && values[index] == value) {
+            delete(index);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves the value in this {@code IntIntMap} associated with the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the value associated with the specified {@code key}
+     * @throws IllegalStateException if this {@code IntIntMap} is empty
+     * @throws NoSuchElementException if there is no mapping between the specified {@code key} and a value in this
+     * {@code IntIntMap}
+     */
+    public int get(final int key) {
+        return values[indexOrThrow(key)];
+    }
+
+    /**
+     * Retrieves the value in this {@code IntIntMap} associated with the specified {@code key}, or the specified {@code
+     * defaultValue} if there is no such value.
+     *
+     * @param key the specified key
+     * @param defaultValue the specified default value
+     * @return the value associated with the specified {@code key}, or the specified {@code defaultValue}
+     */
+    public int getOrDefault(final int key, final int defaultValue) {
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    /**
+     * Replaces the {@code value} associated with the specified {@code key} with that specified.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return an {@code OptionalInt} containing the value previously associated with the specified {@code key} if such
+     * a value exists
+     */
+    public OptionalInt replace(final int key, final int value) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return OptionalInt.empty();
+        }
+        int result = values[index];
+        values[index] = value;
+        return OptionalInt.of(result);
+    }
+
+    /**
+     * Performs the specified {@code action} on each of the entries in this {@code IntIntMap} in no particular order.
+     *
+     * @param action the specified action
+     */
+    public void forEach(final EntryConsumer action) {
+        for (int i = 0; i < capacity(); i++) {
+            if (isUsed(i)) {
+                action.accept(keyAt(i), values[i]);
+            }
+        }
+    }
+
+    private static final long serialVersionUID = -8819576521390300551L;
+
+    @Override
+    void writeValue(ObjectOutputStream stream, int index) throws IOException {
+        stream.writeInt(values[index]);
+    }
+
+    @Override
+    void readValue(ObjectInputStream stream, int index) throws IOException, ClassNotFoundException {
+        values[index] = stream.readInt();
+    }
+
+}
@@ -0,0 +1,77 @@
+package main;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import static util.Common.hash;
+
+/**
+ * The {@code Interval} class represents the closed interval between two endpoints. An {@code Interval} does not know
+ * the order of its endpoints; an {@code IntervalMap} requires that its low endpoint not be after its high one.
+ *
+ * @param <P> the type of endpoint
+ * @author Jeff Wilgus
+ */
+public final class Interval<P> implements Serializable {
+
+    private final P low, high;
+
+    /**
+     * Constructs a new {@code Interval} object from the specified {@code low} endpoint to the specified {@code high}
+     * endpoint.
+     *
+     * @param low the specified low endpoint
+     * @param high the specified high endpoint
+     * @throws NullPointerException if either of the specified endpoints is {@code null}
+     */
+    public Interval(P low, P high) {
+        this.low = Objects.requireNonNull(low);
+        this.high = Objects.requireNonNull(high);
+    }
+
+    /**
+     * Provides the low endpoint of this {@code Interval}.
+     *
+     * @return the low endpoint of this {@code Interval}
+     */
+    public P getLow() {
+        return low;
+    }
+
+    /**
+     * Provides the high endpoint of this {@code Interval}.
+     *
+     * @return the high endpoint of this {@code Interval}
+     */
+    public P getHigh() {
+        return high;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof Interval)) {
+            return false;
+        }
+        Interval<?> interval = (Interval<?>)obj;
+        return low.equals(interval.low) && high.equals(interval.high);
+    }
+
+    @Override
+    public int hashCode() {
+        int prime = 31, result = 1;
+        result = prime * result + hash(low);
+        result = prime * result + hash(high);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + low + ", " + high + "]";
+    }
+
+    private static final long serialVersionUID = 3874012219845402967L;
+
+}
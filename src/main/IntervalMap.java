@@ -0,0 +1,205 @@
+package main;
+
+import util.Aggregator;
+import util.DefaultComparator;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The {@code IntervalMap} class is an interval tree: an {@code AggregateMap} whose keys are closed {@code Interval}s,
+ * sorted by low and then high endpoint on the order induced by a supplied {@code Comparator}, or natural ordering if
+ * none is supplied. Each subtree is summarized by the least low endpoint and the greatest high endpoint within it, so
+ * that a search for the intervals that overlap a query skips every subtree that cannot hold one. Reporting {@code k}
+ * intervals takes {@code O((k + 1) log n)} time. Keys may not be {@code null}.
+ *
+ * @param <P> the type of interval endpoint
+ * @param <V> the type of mapped values
+ * @author Jeff Wilgus
+ */
+public class IntervalMap<P, V> extends AggregateMap<Interval<P>, V, Interval<P>> {
+
+    private static final class IntervalComparator<P> implements Comparator<Interval<P>>, Serializable {
+
+        final Comparator<P> comp;
+
+        IntervalComparator(Comparator<P> comp) {
+            this.comp = Objects.requireNonNull(comp);
+        }
+
+        @Override
+        public int compare(Interval<P> a, Interval<P> b) {
+            int c = comp.compare(a.getLow(), b.getLow());
+            return c != 0 ? c : comp.compare(a.getHigh(), b.getHigh());
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof IntervalComparator && comp.equals(((IntervalComparator<?>)obj).comp);
+        }
+
+        @Override
+        public int hashCode() {
+            return comp.hashCode();
+        }
+
+        private static final long serialVersionUID = -1640458313867309823L;
+
+    }
+
+    /**
+     * Summarizes a run of intervals by the smallest interval that covers them all, or {@code null} if there are none.
+     */
+    private static final class Hull<P, V> implements Aggregator<Interval<P>, V, Interval<P>>, Serializable {
+
+        final Comparator<P> comp;
+
+        Hull(Comparator<P> comp) {
+            this.comp = comp;
+        }
+
+        @Override
+        public Interval<P> identity() {
+            return null;
+        }
+
+        @Override
+        public Interval<P> measure(Interval<P> key, V value) {
+            return key;
+        }
+
+        @Override
+        public Interval<P> combine(Interval<P> left, Interval<P> right) {
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            P low = comp.compare(left.getLow(), right.getLow()) <= 0 ? left.getLow() : right.getLow();
+            P high = comp.compare(left.getHigh(), right.getHigh()) >= 0 ? left.getHigh() : right.getHigh();
+            if (low == left.getLow() && high == left.getHigh()) {
+                return left;
+            }
+            if (low == right.getLow() && high == right.getHigh()) {
+                return right;
+            }
+            return new Interval<>(low, high);
+        }
+
+        private static final long serialVersionUID = 5072385618318127484L;
+
+    }
+
+    /**
+     * Constructs a new {@code IntervalMap} object.
+     */
+    public IntervalMap() {
+        this(new DefaultComparator<>());
+    }
+
+    /**
+     * Constructs a new {@code IntervalMap} object whose endpoints are ordered by the specified {@code Comparator}.
+     *
+     * @param comp the specified {@code Comparator}
+     * @throws NullPointerException if the specified {@code Comparator} is {@code null}
+     */
+    public IntervalMap(Comparator<P> comp) {
+        super(new IntervalComparator<>(comp), new Hull<>(comp));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the low endpoint of the specified {@code key} is after its high endpoint
+     * @throws NullPointerException if the specified {@code key} is {@code null}
+     */
+    @Override
+    public Optional<V> put(final Interval<P> key, final V value) {
+        if (points().compare(key.getLow(), key.getHigh()) > 0) {
+            throw new IllegalArgumentException("Low endpoint after high endpoint.");
+        }
+        return super.put(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the low endpoint of any specified interval is after its high endpoint
+     */
+    @Override
+    public void putAllSorted(final Interval<P>[] keys, final V[] values) {
+        Comparator<P> points = points();
+        for (Interval<P> key : keys) {
+            if (points.compare(key.getLow(), key.getHigh()) > 0) {
+                throw new IllegalArgumentException("Low endpoint after high endpoint.");
+            }
+        }
+        super.putAllSorted(keys, values);
+    }
+
+    /**
+     * Provides the entries in this {@code IntervalMap} whose intervals share at least one point with the closed
+     * interval from {@code low} to {@code high}, in key order.
+     *
+     * @param low the specified low endpoint
+     * @param high the specified high endpoint
+     * @return a {@code List} of the entries whose intervals overlap the specified one
+     * @throws IllegalArgumentException if {@code low} is after {@code high}
+     */
+    @SuppressWarnings("unchecked")
+    public List<Entry<Interval<P>, V>> overlapping(final P low, final P high) {
+        Comparator<P> points = points();
+        if (points.compare(low, high) > 0) {
+            throw new IllegalArgumentException("Low endpoint after high endpoint.");
+        }
+        List<Entry<Interval<P>, V>> list = new ArrayList<>();
+        collect(hull -> hull != null && overlaps((Interval<P>)hull, low, high, points),
+                entry -> overlaps(entry.getKey(), low, high, points), list);
+        return list;
+    }
+
+    /**
+     * Provides the entries in this {@code IntervalMap} whose intervals contain the specified {@code point}, in key
+     * order.
+     *
+     * @param point the specified point
+     * @return a {@code List} of the entries whose intervals contain the specified {@code point}
+     */
+    public List<Entry<Interval<P>, V>> stabbing(final P point) {
+        return overlapping(point, point);
+    }
+
+    private static <P> boolean overlaps(Interval<P> interval, P low, P high, Comparator<P> points) {
+        return points.compare(interval.getLow(), high) <= 0 && points.compare(low, interval.getHigh()) <= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param key the specified key
+     * @return an {@code IntervalMap} of the entries from {@code key} on
+     */
+    @Override
+    public IntervalMap<P, V> splitAt(final Interval<P> key) {
+        return (IntervalMap<P, V>)super.splitAt(key);
+    }
+
+    @Override
+    IntervalMap<P, V> emptyCopy() {
+        return new IntervalMap<>(points());
+    }
+
+    /**
+     * Provides the order on endpoints. It is read from the order on keys, which is restored before any entries are
+     * when this {@code IntervalMap} is deserialized.
+     */
+    private Comparator<P> points() {
+        return ((IntervalComparator<P>)comparator()).comp;
+    }
+
+    private static final long serialVersionUID = 8290142385371470164L;
+
+}
@@ -0,0 +1,236 @@
+package main;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+
+/**
+ * The {@code LongLongMap} class is a hash table that maps primitive {@code long} keys to primitive {@code long} values.
+ * Neither keys nor values are boxed on the way in or out, and no object is allocated per entry. This class offers
+ * constant average time performance for {@code put}, {@code get}, and {@code remove} operations. Performance may be
+ * tuned by supplying a load factor that determines how keys are dispersed (a lower load factor results in shorter probe
+ * sequences).
+ *
+ * @author Jeff Wilgus
+ */
+public class LongLongMap extends AbstractLongKeyMap {
+
+    /**
+     * The {@code EntryConsumer} interface specifies an operation on the entries of a {@code LongLongMap}.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        /**
+         * Performs this operation on the specified {@code key} and {@code value}.
+         *
+         * @param key the specified key
+         * @param value the specified value
+         */
+        void accept(long key, long value);
+
+    }
+
+    private transient long[] values;
+
+    /**
+     * Constructs a new {@code LongLongMap} object.
+     */
+    public LongLongMap() {
+        this(0, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new {@code LongLongMap} object that can hold the specified {@code expectedSize} number of entries
+     * without growing.
+     *
+     * @param expectedSize the specified expected size
+     * @throws IllegalArgumentException if the specified {@code expectedSize} is negative
+     */
+    public LongLongMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new {@code LongLongMap} object with the specified {@code loadFactor} that can hold the specified
+     * {@code expectedSize} number of entries without growing.
+     *
+     * @param expectedSize the specified expected size
+     * @param loadFactor the specified load factor
+     * @throws IllegalArgumentException if the specified {@code expectedSize} is negative, or the specified {@code
+     * loadFactor} is not on the open interval bounded by zero and one
+     */
+    public LongLongMap(int expectedSize, double loadFactor) {
+        super(expectedSize, loadFactor);
+    }
+
+    @Override
+    void resizeValues(int capacity, int[] destinations) {
+        long[] old = values;
+        values = new long[capacity];
+        if (destinations != null) {
+            for (int i = 0; i < destinations.length; i++) {
+                if (destinations[i] >= 0) {
+                    values[destinations[i]] = old[i];
+                }
+            }
+        }
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    void clearValue(int index) {
+    }
+
+    @Override
+    Object valueAt(int index) {
+        return values[index];
+    }
+
+    /**
+     * Adds an entry to this {@code LongLongMap} associating the specified {@code key} to the specified {@code value}.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return an {@code OptionalLong} containing the value previously associated with the specified {@code key} if such
+     * a value exists
+     */
+    public OptionalLong put(final long key, final long value) {
+        int index = insert(key);
+        if (index < 0) {
+            values[~index] = value;
+            return OptionalLong.empty();
+        }
+        long result = values[index];
+        values[index] = value;
+        return OptionalLong.of(result);
+    }
+
+    /**
+     * Adds an entry to this {@code LongLongMap} associating the specified {@code key} to the specified {@code value}
+     * only if another mapping from the specified {@code key} does not already exist.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return {@code true} if a mapping between the specified {@code key} and {@code value} was successfully added to
+     * this {@code LongLongMap}
+     */
+    public boolean putIfAbsent(final long key, final long value) {
+        int index = insert(key);
+        if (index < 0) {
+            values[~index] = value;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Deletes an entry from this {@code LongLongMap} associating some value with the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the value associated with the specified {@code key}
+     * @throws IllegalStateException if this {@code LongLongMap} is empty
+     * @throws NoSuchElementException if there is no mapping between the specified {@code key} and a value in this
+     * {@code LongLongMap}
+     */
+    public long remove(final long key) {
+        int index = indexOrThrow(key);
+        long result = values[index];
+        delete(index);
+        return result;
+    }
+
+    /**
+     * Removes the entry in this {@code LongLongMap} associating the specified {@code key} to the specified {@code
+     * value} only if such a mapping from the specified {@code key} exists.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return {@code true} if a mapping between the specified {@code key} and {@code value} was successfully removed
+     * from this {@code LongLongMap}
+     */
+    public boolean removeIfPresent(final long key, final long value) {
+        int index = indexOf(key);
+        if (index >= 0 && values[index] == value) {
+            delete(index);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves the value in this {@code LongLongMap} associated with the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the value associated with the specified {@code key}
+     * @throws IllegalStateException if this {@code LongLongMap} is empty
+     * @throws NoSuchElementException if there is no mapping between the specified {@code key} and a value in this
+     * {@code LongLongMap}
+     */
+    public long get(final long key) {
+        return values[indexOrThrow(key)];
+    }
+
+    /**
+     * Retrieves the value in this {@code LongLongMap} associated with the specified {@code key}, or the specified
+     * {@code defaultValue} if there is no such value.
+     *
+     * @param key the specified key
+     * @param defaultValue the specified default value
+     * @return the value associated with the specified {@code key}, or the specified {@code defaultValue}
+     */
+    public long getOrDefault(final long key, final long defaultValue) {
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    /**
+     * Replaces the {@code value} associated with the specified {@code key} with that specified.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return an {@code OptionalLong} containing the value previously associated with the specified {@code key} if such
+     * a value exists
+     */
+    public OptionalLong replace(final long key, final long value) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return OptionalLong.empty();
+        }
+        long result = values[index];
+        values[index] = value;
+        return OptionalLong.of(result);
+    }
+
+    /**
+     * Performs the specified {@code action} on each of the entries in this {@code LongLongMap} in no particular order.
+     *
+     * @param action the specified action
+     */
+    public void forEach(final EntryConsumer action) {
+        for (int i = 0; i < capacity(); i++) {
+            if (isUsed(i)) {
+                action.accept(keyAt(i), values[i]);
+            }
+        }
+    }
+
+    private static final long serialVersionUID = 4222237259570387991L;
+
+    @Override
+    void writeValue(ObjectOutputStream stream, int index) throws IOException {
+        stream.writeLong(values[index]);
+    }
+
+    @Override
+    void readValue(ObjectInputStream stream, int index) throws IOException, ClassNotFoundException {
+        values[index] = stream.readLong();
+    }
+
+}
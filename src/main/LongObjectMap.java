@@ -0,0 +1,244 @@
+package main;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static util.Common.areEqual;
+
+/**
+ * The {@code LongObjectMap} class is a hash table that maps primitive {@code long} keys to values of any type. Keys are
+ * not boxed on the way in or out, and no object is allocated per entry. This class offers constant average time
+ * performance for {@code put}, {@code get}, and {@code remove} operations. Performance may be tuned by supplying a load
+ * factor that determines how keys are dispersed (a lower load factor results in shorter probe sequences).
+ *
+ * @param <V> the type of mapped values
+ * @author Jeff Wilgus
+ */
+public class LongObjectMap<V> extends AbstractLongKeyMap {
+
+    /**
+     * The {@code EntryConsumer} interface specifies an operation on the entries of a {@code LongObjectMap}.
+     *
+     * @param <V> the type of mapped values
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        /**
+         * Performs this operation on the specified {@code key} and {@code value}.
+         *
+         * @param key the specified key
+         * @param value the specified value
+         */
+        void accept(long key, V value);
+
+    }
+
+    private transient V[] values;
+
+    /**
+     * Constructs a new {@code LongObjectMap} object.
+     */
+    public LongObjectMap() {
+        this(0, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new {@code LongObjectMap} object that can hold the specified {@code expectedSize} number of entries
+     * without growing.
+     *
+     * @param expectedSize the specified expected size
+     * @throws IllegalArgumentException if the specified {@code expectedSize} is negative
+     */
+    public LongObjectMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new {@code LongObjectMap} object with the specified {@code loadFactor} that can hold the specified
+     * {@code expectedSize} number of entries without growing.
+     *
+     * @param expectedSize the specified expected size
+     * @param loadFactor the specified load factor
+     * @throws IllegalArgumentException if the specified {@code expectedSize} is negative, or the specified {@code
+     * loadFactor} is not on the open interval bounded by zero and one
+     */
+    public LongObjectMap(int expectedSize, double loadFactor) {
+        super(expectedSize, loadFactor);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    void resizeValues(int capacity, int[] destinations) {
+        V[] old = values;
+        values = (V[])new Object[capacity];
+        if (destinations != null) {
+            for (int i = 0; i < destinations.length; i++) {
+                if (destinations[i] >= 0) {
+                    values[destinations[i]] = old[i];
+                }
+            }
+        }
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    void clearValue(int index) {
+        values[index] = null;
+    }
+
+    @Override
+    Object valueAt(int index) {
+        return values[index];
+    }
+
+    /**
+     * Adds an entry to this {@code LongObjectMap} associating the specified {@code key} to the specified {@code value}.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return an {@code Optional} containing the value previously associated with the specified {@code key} if such
+     * a value exists
+     */
+    public Optional<V> put(final long key, final V value) {
+        int index = insert(key);
+        if (index < 0) {
+            values[~index] = value;
+            return Optional.empty();
+        }
+        V result = values[index];
+        values[index] = value;
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * Adds an entry to this {@code LongObjectMap} associating the specified {@code key} to the specified {@code value}
+     * only if another mapping from the specified {@code key} does not already exist.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return {@code true} if a mapping between the specified {@code key} and {@code value} was successfully added to
+     * this {@code LongObjectMap}
+     */
+    public boolean putIfAbsent(final long key, final V value) {
+        int index = insert(key);
+        if (index < 0) {
+            values[~index] = value;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Deletes an entry from this {@code LongObjectMap} associating some value with the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the value associated with the specified {@code key}
+     * @throws IllegalStateException if this {@code LongObjectMap} is empty
+     * @throws NoSuchElementException if there is no mapping between the specified {@code key} and a value in this
+     * {@code LongObjectMap}
+     */
+    public V remove(final long key) {
+        int index = indexOrThrow(key);
+        V result = values[index];
+        delete(index);
+        return result;
+    }
+
+    /**
+     * Removes the entry in this {@code LongObjectMap} associating the specified {@code key} to the specified {@code
+     * value} only if such a mapping from the specified {@code key} exists.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return {@code true} if a mapping between the specified {@code key} and {@code value} was successfully removed
+     * from this {@code LongObjectMap}
+     */
+    public boolean removeIfPresent(final long key, final V value) {
+        int index = indexOf(key);
+        if (index >= 0 && areEqual(values[index], value)) {
+            delete(index);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves the value in this {@code LongObjectMap} associated with the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the value associated with the specified {@code key}
+     * @throws IllegalStateException if this {@code LongObjectMap} is empty
+     * @throws NoSuchElementException if there is no mapping between the specified {@code key} and a value in this
+     * {@code LongObjectMap}
+     */
+    public V get(final long key) {
+        return values[indexOrThrow(key)];
+    }
+
+    /**
+     * Retrieves the value in this {@code LongObjectMap} associated with the specified {@code key}, or the specified
+     * {@code defaultValue} if there is no such value.
+     *
+     * @param key the specified key
+     * @param defaultValue the specified default value
+     * @return the value associated with the specified {@code key}, or the specified {@code defaultValue}
+     */
+    public V getOrDefault(final long key, final V defaultValue) {
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    /**
+     * Replaces the {@code value} associated with the specified {@code key} with that specified.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return an {@code Optional} containing the value previously associated with the specified {@code key} if such
+     * a value exists
+     */
+    public Optional<V> replace(final long key, final V value) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return Optional.empty();
+        }
+        V result = values[index];
+        values[index] = value;
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * Performs the specified {@code action} on each of the entries in this {@code LongObjectMap} in no particular
+     * order.
+     *
+     * @param action the specified action
+     */
+    public void forEach(final EntryConsumer<? super V> action) {
+        for (int i = 0; i < capacity(); i++) {
+            if (isUsed(i)) {
+                action.accept(keyAt(i), values[i]);
+            }
+        }
+    }
+
+    private static final long serialVersionUID = 5622226597268563353L;
+
+    @Override
+    void writeValue(ObjectOutputStream stream, int index) throws IOException {
+        stream.writeObject(values[index]);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    void readValue(ObjectInputStream stream, int index) throws IOException, ClassNotFoundException {
+        values[index] = (V)stream.readObject();
+    }
+
+}
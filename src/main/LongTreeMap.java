@@ -0,0 +1,398 @@
+package main;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static util.Common.areEqual;
+
+/**
+ * The {@code LongTreeMap} class is an AVL tree that maps primitive {@code long} keys to values of any type, sorted by
+ * key in ascending numerical order. Keys are not boxed on the way in or out, no object is allocated per entry, and each
+ * node visited costs one primitive comparison rather than a call through a {@code Comparator}. This class offers
+ * logarithmic time performance for {@code put}, {@code get}, and {@code remove} operations, and for finding the keys
+ * nearest to a given one.
+ *
+ * @param <V> the type of mapped values
+ * @author Jeff Wilgus
+ */
+public class LongTreeMap<V> extends AbstractPrimitiveTreeMap<V> {
+
+    /**
+     * The {@code EntryConsumer} interface specifies an operation on the entries of a {@code LongTreeMap}.
+     *
+     * @param <V> the type of mapped values
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        /**
+         * Performs this operation on the specified {@code key} and {@code value}.
+         *
+         * @param key the specified key
+         * @param value the specified value
+         */
+        void accept(long key, V value);
+
+    }
+
+    private transient long[] keys;
+
+    /**
+     * The node found to hold the key sought by the last insertion or deletion, or {@code NIL} if there was none.
+     */
+    private transient int found;
+
+    /**
+     * Constructs a new {@code LongTreeMap} object.
+     */
+    public LongTreeMap() {
+    }
+
+    @Override
+    void resizeKeys(int capacity) {
+        keys = keys == null ? new long[capacity] : Arrays.copyOf(keys, capacity);
+    }
+
+    @Override
+    int compareKeys(int x, int y) {
+        return Long.compare(keys[x], keys[y]);
+    }
+
+    @Override
+    boolean keyEquals(int x, AbstractPrimitiveTreeMap<?> map, int y) {
+        return keys[x] == ((LongTreeMap<?>)map).keys[y];
+    }
+
+    @Override
+    Object keyAt(int x) {
+        return keys[x];
+    }
+
+    /**
+     * Determines whether or not there is an association between the specified {@code key} and a value in this {@code
+     * LongTreeMap}.
+     *
+     * @param key the specified key
+     * @return {@code true} if there exists an association between the specified {@code key} and a value in this {@code
+     * LongTreeMap}
+     */
+    public boolean contains(final long key) {
+        return search(key) != NIL;
+    }
+
+    /**
+     * Adds an entry to this {@code LongTreeMap} associating the specified {@code key} to the specified {@code value}.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return an {@code Optional} containing the value previously associated with the specified {@code key} if such a
+     * value exists
+     */
+    public Optional<V> put(final long key, final V value) {
+        int x = insert(key, value);
+        if (x == NIL) {
+            return Optional.empty();
+        }
+        V result = values[x];
+        values[x] = value;
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * Adds an entry to this {@code LongTreeMap} associating the specified {@code key} to the specified {@code value}
+     * only if another mapping from the specified {@code key} does not already exist.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return {@code true} if a mapping between the specified {@code key} and {@code value} was successfully added to
+     * this {@code LongTreeMap}
+     */
+    public boolean putIfAbsent(final long key, final V value) {
+        return insert(key, value) == NIL;
+    }
+
+    /**
+     * Adds a node associating the specified {@code key} to the specified {@code value} if there is none with the
+     * specified {@code key}, and provides the node that already has it, or {@code NIL} if there was none.
+     */
+    private int insert(long key, V value) {
+        reserve();
+        found = NIL;
+        root = insert(root, key, value);
+        return found;
+    }
+
+    private int insert(int x, long key, V value) {
+        if (x == NIL) {
+            x = newNode(value);
+            keys[x] = key;
+            return x;
+        }
+        long k = keys[x];
+        if (key < k) {
+            left[x] = insert(left[x], key, value);
+        } else if (key > k) {
+            right[x] = insert(right[x], key, value);
+        } else {
+            found = x;
+            return x;
+        }
+        return balance(x);
+    }
+
+    /**
+     * Deletes an entry from this {@code LongTreeMap} associating some value with the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the value associated with the specified {@code key}
+     * @throws IllegalStateException if this {@code LongTreeMap} is empty
+     * @throws NoSuchElementException if there is no mapping between the specified {@code key} and a value in this
+     * {@code LongTreeMap}
+     */
+    public V remove(final long key) {
+        rootOrThrow();
+        int x = unlink(key);
+        V result = values[x];
+        release(x);
+        return result;
+    }
+
+    /**
+     * Removes the entry in this {@code LongTreeMap} associating the specified {@code key} to the specified {@code
+     * value} only if such a mapping from the specified {@code key} exists.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return {@code true} if a mapping between the specified {@code key} and {@code value} was successfully removed
+     * from this {@code LongTreeMap}
+     */
+    public boolean removeIfPresent(final long key, final V value) {
+        int x = search(key);
+        if (x != NIL && areEqual(values[x], value)) {
+            release(unlink(key));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the node with the specified {@code key} from the tree, and provides it so that its value may be read
+     * before it is released. Nothing is relinked until the node is found, so the tree is left intact if it is not.
+     */
+    private int unlink(long key) {
+        root = delete(root, key);
+        return found;
+    }
+
+    private int delete(int x, long key) {
+        long k = keys[existing(x)];
+        if (key < k) {
+            left[x] = delete(left[x], key);
+        } else if (key > k) {
+            right[x] = delete(right[x], key);
+        } else {
+            found = x;
+            return splice(x);
+        }
+        return balance(x);
+    }
+
+    /**
+     * Retrieves the value in this {@code LongTreeMap} associated with the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the value associated with the specified {@code key}
+     * @throws IllegalStateException if this {@code LongTreeMap} is empty
+     * @throws NoSuchElementException if there is no mapping between the specified {@code key} and a value in this
+     * {@code LongTreeMap}
+     */
+    public V get(final long key) {
+        return values[existing(search(rootOrThrow(), key))];
+    }
+
+    /**
+     * Retrieves the value in this {@code LongTreeMap} associated with the specified {@code key}, or the specified
+     * {@code defaultValue} if there is no such value.
+     *
+     * @param key the specified key
+     * @param defaultValue the specified default value
+     * @return the value associated with the specified {@code key}, or the specified {@code defaultValue}
+     */
+    public V getOrDefault(final long key, final V defaultValue) {
+        int x = search(key);
+        return x == NIL ? defaultValue : values[x];
+    }
+
+    /**
+     * Replaces the {@code value} associated with the specified {@code key} with that specified.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return an {@code Optional} containing the value previously associated with the specified {@code key} if such a
+     * value exists
+     */
+    public Optional<V> replace(final long key, final V value) {
+        int x = search(key);
+        if (x == NIL) {
+            return Optional.empty();
+        }
+        V result = values[x];
+        values[x] = value;
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * Provides the least key in this {@code LongTreeMap}.
+     *
+     * @return the least key
+     * @throws IllegalStateException if this {@code LongTreeMap} is empty
+     */
+    public long firstKey() {
+        return keys[minimum(rootOrThrow())];
+    }
+
+    /**
+     * Provides the greatest key in this {@code LongTreeMap}.
+     *
+     * @return the greatest key
+     * @throws IllegalStateException if this {@code LongTreeMap} is empty
+     */
+    public long lastKey() {
+        return keys[maximum(rootOrThrow())];
+    }
+
+    /**
+     * Provides the greatest key in this {@code LongTreeMap} less than or equal to the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the greatest key less than or equal to the specified {@code key}
+     * @throws IllegalStateException if this {@code LongTreeMap} is empty
+     * @throws NoSuchElementException if there is no such key
+     */
+    public long floorKey(final long key) {
+        return keys[existing(floor(key, true))];
+    }
+
+    /**
+     * Provides the least key in this {@code LongTreeMap} greater than or equal to the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the least key greater than or equal to the specified {@code key}
+     * @throws IllegalStateException if this {@code LongTreeMap} is empty
+     * @throws NoSuchElementException if there is no such key
+     */
+    public long ceilingKey(final long key) {
+        return keys[existing(ceiling(key, true))];
+    }
+
+    /**
+     * Provides the greatest key in this {@code LongTreeMap} strictly less than the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the greatest key less than the specified {@code key}
+     * @throws IllegalStateException if this {@code LongTreeMap} is empty
+     * @throws NoSuchElementException if there is no such key
+     */
+    public long lowerKey(final long key) {
+        return keys[existing(floor(key, false))];
+    }
+
+    /**
+     * Provides the least key in this {@code LongTreeMap} strictly greater than the specified {@code key}.
+     *
+     * @param key the specified key
+     * @return the least key greater than the specified {@code key}
+     * @throws IllegalStateException if this {@code LongTreeMap} is empty
+     * @throws NoSuchElementException if there is no such key
+     */
+    public long higherKey(final long key) {
+        return keys[existing(ceiling(key, false))];
+    }
+
+    private int floor(long key, boolean inclusive) {
+        int x = rootOrThrow(), result = NIL;
+        while (x != NIL) {
+            long k = keys[x];
+            if (key > k || inclusive && key == k) {
+                result = x;
+                x = right[x];
+            } else {
+                x = left[x];
+            }
+        }
+        return result;
+    }
+
+    private int ceiling(long key, boolean inclusive) {
+        int x = rootOrThrow(), result = NIL;
+        while (x != NIL) {
+            long k = keys[x];
+            if (key < k || inclusive && key == k) {
+                result = x;
+                x = left[x];
+            } else {
+                x = right[x];
+            }
+        }
+        return result;
+    }
+
+    private int search(long key) {
+        return search(root, key);
+    }
+
+    private int search(int x, long key) {
+        while (x != NIL) {
+            long k = keys[x];
+            if (key < k) {
+                x = left[x];
+            } else if (key > k) {
+                x = right[x];
+            } else {
+                return x;
+            }
+        }
+        return NIL;
+    }
+
+    /**
+     * Provides the keys in this {@code LongTreeMap} in ascending order.
+     *
+     * @return an array containing the keys in this {@code LongTreeMap}
+     */
+    public long[] keys() {
+        int[] order = order();
+        long[] result = new long[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = keys[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Performs the specified {@code action} on each of the entries in this {@code LongTreeMap} in ascending order of
+     * key.
+     *
+     * @param action the specified action
+     */
+    public void forEach(final EntryConsumer<? super V> action) {
+        walk(x -> action.accept(keys[x], values[x]));
+    }
+
+    private static final long serialVersionUID = -7460419218213826349L;
+
+    @Override
+    void writeKey(ObjectOutputStream stream, int x) throws IOException {
+        stream.writeLong(keys[x]);
+    }
+
+    @Override
+    void readKey(ObjectInputStream stream, int x) throws IOException {
+        keys[x] = stream.readLong();
+    }
+
+}
@@ -62,6 +62,14 @@ public interface Map<K, V> {
      */
     boolean putIfAbsent(final K key, final V value);
 
+    /**
+     * Adds an entry to this {@code Map} for each of the entries in the specified {@code map}, replacing the values
+     * previously associated with any of their keys.
+     *
+     * @param map the specified {@code Map}
+     */
+    void putAll(final Map<? extends K, ? extends V> map);
+
     /**
      * Deletes an entry from this {@code Map} associating some value with the specified {@code key}.
      *
@@ -0,0 +1,272 @@
+package main;
+
+import util.Codec;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.*;
+import static util.Common.DEFAULT_CAPACITY;
+
+/**
+ * The {@code MappedHashMap} class is an {@code OffHeapHashMap} whose table lives in a memory-mapped file, so that its
+ * entries persist between processes. Opening an existing file takes constant time: the table is mapped rather than
+ * read, and its pages are loaded lazily as they are accessed. Changes reach the file at the discretion of the operating
+ * system unless they are made durable by {@link #force()}, which closing a {@code MappedHashMap} also does. A file that
+ * was not closed or forced after its last change (e.g. because its process crashed) is recounted when it is next
+ * opened. Growing the table writes a new file alongside the old one and then moves it into place, so the file remains
+ * consistent should growth be interrupted. No lock is taken on the file, which may be open in more than one {@code
+ * MappedHashMap}, in this process or another, so long as none of them modifies it while the others have it open. A
+ * {@code MappedHashMap} may not be serialized; its file is its persistent form.
+ *
+ * @param <K> the type of key that maps to values
+ * @param <V> the type of mapped values
+ * @author Jeff Wilgus
+ */
+public class MappedHashMap<K, V> extends OffHeapHashMap<K, V> {
+
+    private static final long MAGIC = 0x4D41_5050_4544_484DL;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 8;
+    private static final int KEY_WIDTH_OFFSET = 12;
+    private static final int VALUE_WIDTH_OFFSET = 16;
+    private static final int CAPACITY_OFFSET = 20;
+    private static final int SIZE_OFFSET = 24;
+    private static final int CLEAN_OFFSET = 28;
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+
+    private final Path path, temp;
+    private FileChannel channel, next;
+    private MappedByteBuffer header;
+    private boolean clean;
+
+    /**
+     * Constructs a new {@code MappedHashMap} object that stores its table in the file at the specified {@code path},
+     * and encodes its keys and values with the specified {@code Codec}s. If the file exists, then the entries it holds
+     * are those of this {@code MappedHashMap}; otherwise, it is created.
+     *
+     * @param path the specified path
+     * @param keyCodec the specified key {@code Codec}
+     * @param valueCodec the specified value {@code Codec}
+     * @throws IOException if the file could not be opened or created, or it does not hold a table of entries encoded by
+     * the specified {@code Codec}s
+     * @throws NullPointerException if the specified {@code path} or either of the specified {@code Codec}s is {@code
+     * null}
+     */
+    public MappedHashMap(Path path, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        this(path, DEFAULT_LOAD_FACTOR, keyCodec, valueCodec);
+    }
+
+    /**
+     * Constructs a new {@code MappedHashMap} object with the specified {@code loadFactor} that stores its table in the
+     * file at the specified {@code path}, and encodes its keys and values with the specified {@code Codec}s. If the
+     * file exists, then the entries it holds are those of this {@code MappedHashMap}; otherwise, it is created.
+     *
+     * @param path the specified path
+     * @param loadFactor the specified load factor
+     * @param keyCodec the specified key {@code Codec}
+     * @param valueCodec the specified value {@code Codec}
+     * @throws IllegalArgumentException if the specified {@code loadFactor} is not on the open interval bounded by zero
+     * and one
+     * @throws IOException if the file could not be opened or created, or it does not hold a table of entries encoded by
+     * the specified {@code Codec}s
+     * @throws NullPointerException if the specified {@code path} or either of the specified {@code Codec}s is {@code
+     * null}
+     */
+    public MappedHashMap(Path path, double loadFactor, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        super(loadFactor, keyCodec, valueCodec);
+        this.path = path.toAbsolutePath();
+        this.temp = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        channel = FileChannel.open(this.path, CREATE, READ, WRITE);
+        try {
+            if (channel.size() == 0) {
+                create();
+            } else {
+                open();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void create() {
+        header = mapHeader(channel);
+        next = channel;
+        allocate(DEFAULT_CAPACITY);
+        commit();
+    }
+
+    private void open() throws IOException {
+        header = mapHeader(channel);
+        if (header.getLong(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException("Not a map file: " + path);
+        }
+        if (header.getInt(KEY_WIDTH_OFFSET) != keyCodec.width()
+                || header.getInt(VALUE_WIDTH_OFFSET) != valueCodec.width()) {
+            throw new IOException("Codec widths do not match: " + path);
+        }
+        int capacity = header.getInt(CAPACITY_OFFSET);
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1
+                || channel.size() != HEADER_SIZE + (long)capacity * width()) {
+            throw new IOException("File length does not match its table: " + path);
+        }
+        next = channel;
+        allocate(capacity);
+        next = null;
+        clean = header.getInt(CLEAN_OFFSET) != 0;
+        size = clean ? header.getInt(SIZE_OFFSET) : count();
+    }
+
+    private static MappedByteBuffer mapHeader(FileChannel channel) {
+        try {
+            MappedByteBuffer header = channel.map(READ_WRITE, 0, HEADER_SIZE);
+            header.order(ByteOrder.nativeOrder());
+            return header;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    ByteBuffer[] allocateSegments(int count, int size) {
+        try {
+            if (next == null) {
+                Files.deleteIfExists(temp);
+                next = FileChannel.open(temp, CREATE_NEW, READ, WRITE);
+            }
+            ByteBuffer[] segments = new ByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                segments[i] = next.map(READ_WRITE, HEADER_SIZE + (long)i * size, size).order(ByteOrder.nativeOrder());
+            }
+            return segments;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    void replaced() {
+        commit();
+    }
+
+    /**
+     * Makes the newly populated table durable and, if it was written to the temporary file, moves that file over the
+     * old one.
+     */
+    private void commit() {
+        try {
+            if (next != channel) {
+                MappedByteBuffer header = mapHeader(next);
+                this.header = header;
+                writeHeader(size);
+                forceSegments(segments);
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                channel.close();
+                channel = next;
+            } else {
+                writeHeader(size);
+                forceSegments(segments);
+            }
+            header.putInt(CLEAN_OFFSET, 1);
+            header.force();
+            clean = true;
+            next = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeHeader(int size) {
+        header.putLong(MAGIC_OFFSET, MAGIC);
+        header.putInt(VERSION_OFFSET, VERSION);
+        header.putInt(KEY_WIDTH_OFFSET, keyCodec.width());
+        header.putInt(VALUE_WIDTH_OFFSET, valueCodec.width());
+        header.putInt(CAPACITY_OFFSET, capacity);
+        header.putInt(SIZE_OFFSET, size);
+        header.putInt(CLEAN_OFFSET, 0);
+    }
+
+    @Override
+    void mutating() {
+        if (clean) { // The mark must reach the file before any change to the table can.
+            header.putInt(CLEAN_OFFSET, 0);
+            header.force();
+            clean = false;
+        }
+    }
+
+    @Override
+    void resized() {
+        header.putInt(SIZE_OFFSET, size);
+    }
+
+    /**
+     * Writes any changes to this {@code MappedHashMap} to its file, so that they survive a crash of its process or of
+     * the operating system.
+     *
+     * @throws IllegalStateException if this {@code MappedHashMap} is closed
+     * @throws UncheckedIOException if the changes could not be written
+     */
+    public void force() {
+        if (segments == null) {
+            throw new IllegalStateException("Map closed.");
+        }
+        forceSegments(segments);
+        header.putInt(SIZE_OFFSET, size);
+        header.putInt(CLEAN_OFFSET, 1);
+        header.force();
+        clean = true;
+    }
+
+    private static void forceSegments(ByteBuffer[] segments) {
+        for (ByteBuffer segment : segments) {
+            ((MappedByteBuffer)segment).force();
+        }
+    }
+
+    /**
+     * Forces any changes to this {@code MappedHashMap} to its file and then closes it. Closing a {@code MappedHashMap}
+     * more than once has no effect.
+     *
+     * @throws UncheckedIOException if the changes could not be written or the file could not be closed
+     */
+    @Override
+    public void close() {
+        if (segments == null) {
+            return;
+        }
+        try {
+            force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            super.close();
+        }
+    }
+
+    private static final long serialVersionUID = 6094587125316430842L;
+
+    private Object writeReplace() throws ObjectStreamException {
+        throw new NotSerializableException(getClass().getName());
+    }
+
+    private void readObject(ObjectInputStream stream) throws IOException {
+        throw new NotSerializableException(getClass().getName());
+    }
+
+}
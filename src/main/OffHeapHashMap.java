@@ -0,0 +1,538 @@
+package main;
+
+import util.Codec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+
+import static util.Common.*;
+
+/**
+ * The {@code OffHeapHashMap} class is an open addressing implementation of the {@code Map} interface that stores its
+ * entries outside of the heap. Each entry is a fixed width record, holding its key's hash followed by its key and value
+ * as encoded by the {@code Codec}s supplied on construction, in direct buffers. The heap holds only a handle to those
+ * buffers, so the cost of garbage collection does not grow with the number of entries. Keys are identified by their
+ * encoded bytes, so the key {@code Codec} must be canonical, and keys are dispersed by the hashes of the objects from
+ * which they were encoded, so equal keys must have equal hash codes. Collisions are resolved by linear probing, and
+ * removal shifts displaced records back toward their home slots. The native memory held by an {@code OffHeapHashMap}
+ * is relinquished when it is closed, after which no other operation may be performed on it. Keys and values may be
+ * {@code null} only if their {@code Codec}s can encode {@code null}.
+ *
+ * @param <K> the type of key that maps to values
+ * @param <V> the type of mapped values
+ * @author Jeff Wilgus
+ */
+public class OffHeapHashMap<K, V> extends AbstractMap<K, V> implements Closeable {
+
+    private static final class OffHeapEntry<K, V> extends AbstractEntry<K, V> {
+
+        OffHeapEntry(K key, V value) {
+            super(key, value);
+        }
+
+    }
+
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final int EMPTY = 0;
+    private static final int MAX_SEGMENT_SIZE = 0x4000_0000;
+
+    private double loadFactor;
+    transient Codec<K> keyCodec;
+    transient Codec<V> valueCodec;
+    transient int capacity;
+    transient ByteBuffer[] segments;
+    private transient int width, shift;
+    private transient ByteBuffer scratch, valueScratch;
+    private transient boolean closed;
+
+    /**
+     * Constructs a new {@code OffHeapHashMap} object that encodes its keys and values with the specified {@code
+     * Codec}s.
+     *
+     * @param keyCodec the specified key {@code Codec}
+     * @param valueCodec the specified value {@code Codec}
+     * @throws NullPointerException if either of the specified {@code Codec}s is {@code null}
+     */
+    public OffHeapHashMap(Codec<K> keyCodec, Codec<V> valueCodec) {
+        this(0, DEFAULT_LOAD_FACTOR, keyCodec, valueCodec);
+    }
+
+    /**
+     * Constructs a new {@code OffHeapHashMap} object that can hold the specified {@code expectedSize} number of entries
+     * without growing, and that encodes its keys and values with the specified {@code Codec}s.
+     *
+     * @param expectedSize the specified expected size
+     * @param keyCodec the specified key {@code Codec}
+     * @param valueCodec the specified value {@code Codec}
+     * @throws IllegalArgumentException if the specified {@code expectedSize} is negative
+     * @throws NullPointerException if either of the specified {@code Codec}s is {@code null}
+     */
+    public OffHeapHashMap(int expectedSize, Codec<K> keyCodec, Codec<V> valueCodec) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR, keyCodec, valueCodec);
+    }
+
+    /**
+     * Constructs a new {@code OffHeapHashMap} object with the specified {@code loadFactor} that can hold the specified
+     * {@code expectedSize} number of entries without growing, and that encodes its keys and values with the specified
+     * {@code Codec}s.
+     *
+     * @param expectedSize the specified expected size
+     * @param loadFactor the specified load factor
+     * @param keyCodec the specified key {@code Codec}
+     * @param valueCodec the specified value {@code Codec}
+     * @throws IllegalArgumentException if the specified {@code expectedSize} is negative, or the specified {@code
+     * loadFactor} is not on the open interval bounded by zero and one
+     * @throws NullPointerException if either of the specified {@code Codec}s is {@code null}
+     */
+    public OffHeapHashMap(int expectedSize, double loadFactor, Codec<K> keyCodec, Codec<V> valueCodec) {
+        this(loadFactor, keyCodec, valueCodec);
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        allocate(capacityFor(expectedSize, loadFactor));
+    }
+
+    /**
+     * Constructs a new {@code OffHeapHashMap} object without a table. Derived classes must allocate one before this
+     * {@code OffHeapHashMap} is used.
+     */
+    OffHeapHashMap(double loadFactor, Codec<K> keyCodec, Codec<V> valueCodec) {
+        this.loadFactor = validateLoadFactor(loadFactor);
+        setCodecs(keyCodec, valueCodec);
+    }
+
+    private void setCodecs(Codec<K> keyCodec, Codec<V> valueCodec) {
+        this.keyCodec = Objects.requireNonNull(keyCodec);
+        this.valueCodec = Objects.requireNonNull(valueCodec);
+        width = Integer.BYTES + keyCodec.width() + valueCodec.width();
+        scratch = ByteBuffer.allocate(keyCodec.width()).order(ByteOrder.nativeOrder());
+        valueScratch = ByteBuffer.allocate(valueCodec.width()).order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    protected void init() {
+        ensureOpen();
+        size = 0;
+        allocate(DEFAULT_CAPACITY);
+        replaced();
+    }
+
+    /**
+     * Replaces the table of this {@code OffHeapHashMap} with an empty one of the specified {@code capacity}.
+     *
+     * @param capacity the specified capacity
+     */
+    void allocate(int capacity) {
+        int perSegment = Math.min(capacity, Integer.highestOneBit(MAX_SEGMENT_SIZE / width));
+        this.capacity = capacity;
+        shift = Integer.numberOfTrailingZeros(perSegment);
+        segments = allocateSegments(capacity / perSegment, perSegment * width);
+    }
+
+    /**
+     * Provides the specified {@code count} of zeroed buffers, each of the specified {@code size} in bytes, in which to
+     * store a table.
+     *
+     * @param count the specified number of buffers
+     * @param size the specified size of each buffer
+     * @return the buffers in which to store a table
+     */
+    ByteBuffer[] allocateSegments(int count, int size) {
+        ByteBuffer[] segments = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+        }
+        return segments;
+    }
+
+    /**
+     * Called once a new table has been allocated and populated.
+     */
+    void replaced() {
+    }
+
+    /**
+     * Called before any record in the table of this {@code OffHeapHashMap} is written, other than while a new table is
+     * populated.
+     */
+    void mutating() {
+    }
+
+    /**
+     * Called whenever the number of entries in this {@code OffHeapHashMap} has changed.
+     */
+    void resized() {
+    }
+
+    /**
+     * Provides the width in bytes of each record in the table of this {@code OffHeapHashMap}.
+     *
+     * @return the width of a record
+     */
+    int width() {
+        return width;
+    }
+
+    /**
+     * Provides the number of occupied slots in the table of this {@code OffHeapHashMap}.
+     *
+     * @return the number of occupied slots
+     */
+    int count() {
+        int count = 0;
+        for (int i = 0; i < capacity; i++) {
+            if (hashAt(i) != EMPTY) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Relinquishes the native memory held by this {@code OffHeapHashMap}. The memory is reclaimed once the buffers
+     * that held it are collected, which no longer depends on the number of entries it held. Closing an {@code
+     * OffHeapHashMap} more than once has no effect.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        segments = null;
+        size = 0;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Map closed.");
+        }
+    }
+
+    @Override
+    public boolean contains(final K key) {
+        ensureOpen();
+        return indexOf(key, hashOf(key)) >= 0;
+    }
+
+    @Override
+    public Optional<V> put(final K key, final V value) {
+        ensureOpen();
+        int hash = hashOf(key);
+        int index = indexOf(key, hash);
+        // The value is encoded before any slot is written, so that one the codec rejects leaves this map unchanged.
+        valueCodec.write(valueScratch, 0, value);
+        if (index >= 0) {
+            V result = valueAt(index);
+            mutating();
+            copy(valueScratch, 0, segmentOf(index), offsetOf(index) + Integer.BYTES + keyCodec.width(),
+                 valueScratch.capacity());
+            return Optional.ofNullable(result);
+        }
+        ensureCapacity();
+        mutating();
+        index = vacancyFor(hash);
+        ByteBuffer segment = segmentOf(index);
+        int offset = offsetOf(index);
+        segment.putInt(offset, hash);
+        copy(scratch, 0, segment, offset + Integer.BYTES, scratch.capacity());
+        copy(valueScratch, 0, segment, offset + Integer.BYTES + keyCodec.width(), valueScratch.capacity());
+        size++;
+        resized();
+        return Optional.empty();
+    }
+
+    private void ensureCapacity() {
+        // Growing before the table would reach its load factor keeps a slot empty, at which every probe ends.
+        if (size + 1 >= capacity * loadFactor) {
+            if (capacity == MAX_CAPACITY) {
+                throw new OutOfMemoryError();
+            }
+            rehash(capacity << 1);
+        }
+    }
+
+    @Override
+    void reserve(int expectedSize) {
+        ensureOpen();
+        int capacity = capacityFor(expectedSize, loadFactor);
+        if (capacity > this.capacity) {
+            rehash(capacity);
+        }
+    }
+
+    private void rehash(int capacity) {
+        ByteBuffer[] old = segments;
+        int oldShift = shift, length = this.capacity;
+        allocate(capacity);
+        for (int i = 0; i < length; i++) {
+            ByteBuffer from = old[i >>> oldShift];
+            int offset = (i & ((1 << oldShift) - 1)) * width, hash = from.getInt(offset);
+            if (hash != EMPTY) {
+                int index = vacancyFor(hash);
+                copy(from, offset, segmentOf(index), offsetOf(index), width);
+            }
+        }
+        replaced();
+    }
+
+    @Override
+    public V remove(final K key) {
+        ensureOpen();
+        int index = indexOrThrow(key);
+        V result = valueAt(index);
+        delete(index);
+        return result;
+    }
+
+    private void delete(int index) {
+        mutating();
+        int mask = capacity - 1, next = (index + 1) & mask;
+        while (hashAt(next) != EMPTY) {
+            // The record at next may fill the hole only if the hole lies between its home slot and next.
+            if (((next - hashAt(next)) & mask) >= ((next - index) & mask)) {
+                copy(segmentOf(next), offsetOf(next), segmentOf(index), offsetOf(index), width);
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+        segmentOf(index).putInt(offsetOf(index), EMPTY);
+        size--;
+        resized();
+    }
+
+    @Override
+    public V get(final K key) {
+        ensureOpen();
+        return valueAt(indexOrThrow(key));
+    }
+
+    private int indexOrThrow(K key) {
+        if (isEmpty()) {
+            throw new IllegalStateException();
+        }
+        int index = indexOf(key, hashOf(key));
+        if (index < 0) {
+            throw new NoSuchElementException();
+        }
+        return index;
+    }
+
+    /**
+     * Provides the index of the specified {@code key}. The encoding of the specified {@code key} is left in the scratch
+     * buffer, from which it may be copied into a vacant slot.
+     */
+    private int indexOf(K key, int hash) {
+        keyCodec.write(scratch, 0, key);
+        int mask = capacity - 1;
+        for (int index = hash & mask; hashAt(index) != EMPTY; index = (index + 1) & mask) {
+            if (hashAt(index) == hash && keyMatches(index)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private boolean keyMatches(int index) {
+        ByteBuffer segment = segmentOf(index);
+        int offset = offsetOf(index) + Integer.BYTES;
+        for (int i = 0; i < scratch.capacity(); i++) {
+            if (segment.get(offset + i) != scratch.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int vacancyFor(int hash) {
+        int mask = capacity - 1, index = hash & mask;
+        while (hashAt(index) != EMPTY) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private int hashAt(int index) {
+        return segmentOf(index).getInt(offsetOf(index));
+    }
+
+    private K keyAt(int index) {
+        return keyCodec.read(segmentOf(index), offsetOf(index) + Integer.BYTES);
+    }
+
+    private V valueAt(int index) {
+        return valueCodec.read(segmentOf(index), offsetOf(index) + Integer.BYTES + keyCodec.width());
+    }
+
+    private ByteBuffer segmentOf(int index) {
+        return segments[index >>> shift];
+    }
+
+    private int offsetOf(int index) {
+        return (index & ((1 << shift) - 1)) * width;
+    }
+
+    private int hashOf(K key) {
+        int hash = spread(hash(key));
+        return hash == EMPTY ? 1 : hash; // Zero marks an empty slot.
+    }
+
+    private static void copy(ByteBuffer from, int source, ByteBuffer to, int destination, int length) {
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            to.putLong(destination + i, from.getLong(source + i));
+        }
+        for (; i < length; i++) {
+            to.put(destination + i, from.get(source + i));
+        }
+    }
+
+    private transient Set<Entry<K, V>> entries;
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> entries = this.entries;
+        if (entries == null) {
+            entries = new MinSet<>() {
+
+                @Override
+                public void clear() {
+                    OffHeapHashMap.this.clear();
+                }
+
+                @Override
+                public boolean contains(final Entry<K, V> entry) {
+                    if (OffHeapHashMap.this.contains(entry.getKey())) {
+                        return areEqual(get(entry.getKey()), entry.getValue());
+                    }
+                    return false;
+                }
+
+                @Override
+                public int size() {
+                    return OffHeapHashMap.this.size;
+                }
+
+                @Override
+                public boolean isEmpty() {
+                    return OffHeapHashMap.this.isEmpty();
+                }
+
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    ensureOpen();
+                    return new EntryIter();
+                }
+
+                private static final long serialVersionUID = 8226015263318834504L;
+
+            };
+            this.entries = entries;
+        }
+        return entries;
+    }
+
+    /**
+     * Iteration begins just after an empty slot so that no run of occupied slots wraps around the starting point.
+     * Removal shifts later members of a run back, so the slot just removed is examined again.
+     */
+    private final class EntryIter implements Iterator<Entry<K, V>> {
+
+        final int start;
+        int offset, last;
+        boolean removable;
+
+        EntryIter() {
+            int index = 0;
+            while (hashAt(index) != EMPTY) {
+                index++;
+            }
+            start = index;
+            seek(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return offset < capacity;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int index = slotAt(offset);
+            last = offset;
+            removable = true;
+            seek(offset + 1);
+            return new OffHeapEntry<>(keyAt(index), valueAt(index));
+        }
+
+        @Override
+        public void remove() {
+            if (!removable) {
+                throw new IllegalStateException();
+            }
+            removable = false;
+            delete(slotAt(last));
+            seek(last);
+        }
+
+        private void seek(int from) {
+            offset = from;
+            while (offset < capacity && hashAt(slotAt(offset)) == EMPTY) {
+                offset++;
+            }
+        }
+
+        private int slotAt(int offset) {
+            return (start + offset) & (capacity - 1);
+        }
+
+    }
+
+    private static final long serialVersionUID = -2203517795378925766L;
+
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        ensureOpen();
+        stream.defaultWriteObject();
+        stream.writeInt(size);
+        stream.writeDouble(loadFactor);
+        stream.writeObject(keyCodec);
+        stream.writeObject(valueCodec);
+        for (Entry<K, V> entry : entrySet()) {
+            stream.writeObject(entry.getKey());
+            stream.writeObject(entry.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        int size = validateSize(stream.readInt());
+        loadFactor = readLoadFactor(stream);
+        setCodecs((Codec<K>)validateObject(stream.readObject()), (Codec<V>)validateObject(stream.readObject()));
+        allocate(capacityFor(size, loadFactor));
+        this.size = 0;
+        for (int i = 0; i < size; i++) {
+            K key = (K)stream.readObject();
+            V value = (V)stream.readObject();
+            put(key, value);
+        }
+    }
+
+    private static double readLoadFactor(ObjectInputStream stream) throws IOException {
+        try {
+            return validateLoadFactor(stream.readDouble());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidObjectException("Load factor not on (0, 1).");
+        }
+    }
+
+}
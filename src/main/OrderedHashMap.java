@@ -1,11 +1,15 @@
 package main;
 
+import util.DefaultHashStrategy;
+import util.HashStrategy;
+
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
 
 import static util.Common.areEqual;
@@ -16,7 +20,8 @@ import static util.Common.validateObject;
  * constant average time performance for {@code put} and {@code get} operations. It additionally maintains insertion
  * order at the cost of linear time performance of other operations (e.g. {@code remove}). Performance may be tuned by
  * supplying a load factor that determines how keys are dispersed (a lower load factor results in a more sparsely
- * populated {@code Map}). Both keys and values may be {@code null}, however, only one key may be.
+ * populated {@code Map}), or a {@code HashStrategy} that determines how keys are hashed and compared. Both keys and
+ * values may be {@code null}, however, only one key may be.
  *
  * @param <K> the type of key that maps to values
  * @param <V> the type of mapped values
@@ -34,12 +39,56 @@ public class OrderedHashMap<K, V> extends AbstractMap<K, V> implements OrderedMa
 
     private AbstractMap<K, V> map;
     private AbstractList<K> list;
+    private transient HashStrategy<? super K> strategy;
 
     /**
      * Constructs a new {@code OrderedHashMap} object.
      */
     public OrderedHashMap() {
-        map = new HashMap<>();
+        this(new DefaultHashStrategy<>());
+    }
+
+    /**
+     * Constructs a new {@code OrderedHashMap} object that disperses and identifies its keys with the specified {@code
+     * HashStrategy}.
+     *
+     * @param strategy the specified {@code HashStrategy}
+     * @throws NullPointerException if the specified {@code HashStrategy} is {@code null}
+     */
+    public OrderedHashMap(final HashStrategy<? super K> strategy) {
+        this.strategy = Objects.requireNonNull(strategy);
+        map = new HashMap<>(strategy);
+        list = new LinkedList<>();
+    }
+
+    /**
+     * Constructs a new {@code OrderedHashMap} object that can hold the specified {@code expectedSize} number of
+     * entries without growing.
+     *
+     * @param expectedSize the specified expected size
+     * @throws IllegalArgumentException if the specified {@code expectedSize} is negative
+     */
+    public OrderedHashMap(final int expectedSize) {
+        this.strategy = new DefaultHashStrategy<>();
+        map = new HashMap<>(expectedSize);
+        list = new LinkedList<>();
+    }
+
+    /**
+     * Constructs a new {@code OrderedHashMap} object with the specified {@code loadFactor} that can hold the
+     * specified {@code expectedSize} number of entries without growing, and that disperses and identifies its keys
+     * with the specified {@code HashStrategy}.
+     *
+     * @param expectedSize the specified expected size
+     * @param loadFactor the specified load factor
+     * @param strategy the specified {@code HashStrategy}
+     * @throws IllegalArgumentException if the specified {@code expectedSize} is negative, or the specified {@code
+     * loadFactor} is not on the open interval bounded by zero and one
+     * @throws NullPointerException if the specified {@code HashStrategy} is {@code null}
+     */
+    public OrderedHashMap(final int expectedSize, final double loadFactor, final HashStrategy<? super K> strategy) {
+        this.strategy = Objects.requireNonNull(strategy);
+        map = new HashMap<>(expectedSize, loadFactor, strategy);
         list = new LinkedList<>();
     }
 
@@ -51,7 +100,22 @@ public class OrderedHashMap<K, V> extends AbstractMap<K, V> implements OrderedMa
      * and one
      */
     public OrderedHashMap(final double loadFactor) {
-        map = new HashMap<>(loadFactor);
+        this(loadFactor, new DefaultHashStrategy<>());
+    }
+
+    /**
+     * Constructs a new {@code OrderedHashMap} object with the specified {@code loadFactor} that disperses and
+     * identifies its keys with the specified {@code HashStrategy}.
+     *
+     * @param loadFactor the specified load factor
+     * @param strategy the specified {@code HashStrategy}
+     * @throws IllegalArgumentException if the specified {@code loadFactor} is not on the open interval bounded by zero
+     * and one
+     * @throws NullPointerException if the specified {@code HashStrategy} is {@code null}
+     */
+    public OrderedHashMap(final double loadFactor, final HashStrategy<? super K> strategy) {
+        this.strategy = Objects.requireNonNull(strategy);
+        map = new HashMap<>(loadFactor, strategy);
         list = new LinkedList<>();
     }
 
@@ -62,18 +126,24 @@ public class OrderedHashMap<K, V> extends AbstractMap<K, V> implements OrderedMa
 
     @Override
     public Optional<V> put(final K key, final V value) {
+        int before = map.size();
         Optional<V> result = map.put(key, value);
-        if (result.isEmpty()) {
+        if (map.size() > before) {
             list.addLast(key);
             size = list.size;
         }
         return result;
     }
 
+    @Override
+    void reserve(int expectedSize) {
+        map.reserve(expectedSize);
+    }
+
     @Override
     public V remove(final K key) {
         V result = map.remove(key);
-        list.remove(list.indexOf(key));
+        list.remove(indexOf(key));
         size = list.size;
         return result;
     }
@@ -96,7 +166,7 @@ public class OrderedHashMap<K, V> extends AbstractMap<K, V> implements OrderedMa
 
     @Override
     public Entry<K, V> removePrevious(final K key) {
-        K prev = list.removePrevious(list.positionOf(key));
+        K prev = list.remove(indexOf(key) - 1);
         V value = map.remove(prev);
         size = list.size;
         return new LinkedHashMapEntry<>(prev, value);
@@ -104,7 +174,7 @@ public class OrderedHashMap<K, V> extends AbstractMap<K, V> implements OrderedMa
 
     @Override
     public Entry<K, V> removeNext(final K key) {
-        K next = list.removeNext(list.positionOf(key));
+        K next = list.remove(indexOf(key) + 1);
         V value = map.remove(next);
         size = list.size;
         return new LinkedHashMapEntry<>(next, value);
@@ -131,18 +201,32 @@ public class OrderedHashMap<K, V> extends AbstractMap<K, V> implements OrderedMa
 
     @Override
     public Entry<K, V> getPrevious(final K key) {
-        K prev = list.getPrevious(list.positionOf(key));
+        K prev = list.get(indexOf(key) - 1);
         V value = map.get(prev);
         return new LinkedHashMapEntry<>(prev, value);
     }
 
     @Override
     public Entry<K, V> getNext(final K key) {
-        K next = list.getNext(list.positionOf(key));
+        K next = list.get(indexOf(key) + 1);
         V value = map.get(next);
         return new LinkedHashMapEntry<>(next, value);
     }
 
+    private int indexOf(K key) {
+        if (isEmpty()) {
+            throw new IllegalStateException();
+        }
+        int index = 0;
+        for (K k : list) {
+            if (strategy.areEquivalent(key, k)) {
+                return index;
+            }
+            index++;
+        }
+        throw new NoSuchElementException();
+    }
+
     /**
      * Sorts the entries in this {@code OrderedHashMap} on the order induced by the specified {@code Comparator}, or,
      * if that is {@code null}, their natural ordering. Iteration over this {@code OrderedHashMap} will follow the
@@ -242,6 +326,7 @@ public class OrderedHashMap<K, V> extends AbstractMap<K, V> implements OrderedMa
         stream.defaultWriteObject();
         stream.writeObject(map);
         stream.writeObject(list);
+        stream.writeObject(strategy);
     }
 
     @SuppressWarnings("unchecked")
@@ -249,6 +334,7 @@ public class OrderedHashMap<K, V> extends AbstractMap<K, V> implements OrderedMa
         stream.defaultReadObject();
         map = (AbstractMap<K, V>)validateObject(stream.readObject());
         list = (AbstractList<K>)validateObject(stream.readObject());
+        strategy = (HashStrategy<? super K>)validateObject(stream.readObject());
     }
 
 }
@@ -0,0 +1,448 @@
+package main;
+
+import util.DefaultComparator;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+
+import static util.Common.*;
+
+/**
+ * The {@code PersistentTreeMap} class is a persistent AVL tree implementation of the {@code OrderedMap} interface.
+ * Entries are sorted by key on the order induced by a supplied {@code Comparator}, or natural ordering if none is
+ * supplied. Nodes are never modified once built: {@code put} and {@code remove} copy the path from the root to the
+ * changed node and share the rest of the tree with the version they replace. A {@link #snapshot()} is therefore taken
+ * in constant time, and may be read, by any number of threads and without locking, while this {@code
+ * PersistentTreeMap} goes on changing. This class offers logarithmic time performance for {@code put}, {@code get}, and
+ * {@code remove} operations, each of which allocates a logarithmic number of nodes. Both keys and values may be {@code
+ * null}, however, only one key may be, and it precedes all others. Keys are equal if the {@code Comparator} deems them
+ * so. The entries of a {@code PersistentTreeMap} are shared between versions, so they may not be modified.
+ *
+ * @param <K> the type of key that maps to values
+ * @param <V> the type of mapped values
+ * @author Jeff Wilgus
+ */
+public class PersistentTreeMap<K, V> extends AbstractMap<K, V> implements OrderedMap<K, V> {
+
+    private static final class Node<K, V> extends AbstractEntry<K, V> {
+
+        final Node<K, V> left;
+        final Node<K, V> right;
+        final int height;
+
+        Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+            super(key, value);
+            this.left = left;
+            this.right = right;
+            height = Math.max(heightOf(left), heightOf(right)) + 1;
+        }
+
+        @Override
+        public V setValue(final V value) {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+    private transient Node<K, V> root;
+    private Comparator<K> comp;
+
+    /**
+     * Constructs a new {@code PersistentTreeMap} object.
+     */
+    public PersistentTreeMap() {
+        this(new DefaultComparator<>());
+    }
+
+    /**
+     * Constructs a new {@code PersistentTreeMap} object sorted on the order induced by the specified {@code
+     * Comparator}.
+     *
+     * @param comp the specified {@code Comparator}
+     * @throws NullPointerException if the specified {@code Comparator} is {@code null}
+     */
+    public PersistentTreeMap(Comparator<K> comp) {
+        init();
+        setComp(comp);
+    }
+
+    private PersistentTreeMap(Comparator<K> comp, Node<K, V> root, int size) {
+        this.comp = comp;
+        this.root = root;
+        this.size = size;
+    }
+
+    @Override
+    protected void init() {
+        size = 0;
+        root = null;
+    }
+
+    private void setComp(Comparator<K> comp) {
+        this.comp = Objects.requireNonNull(comp);
+    }
+
+    /**
+     * Provides a {@code PersistentTreeMap} holding the entries of this one as they are now. The snapshot shares every
+     * node with this {@code PersistentTreeMap}, so it is taken in constant time, and neither is affected by later
+     * changes to the other.
+     *
+     * @return a snapshot of this {@code PersistentTreeMap}
+     */
+    public PersistentTreeMap<K, V> snapshot() {
+        return new PersistentTreeMap<>(comp, root, size);
+    }
+
+    @Override
+    public boolean contains(final K key) {
+        return find(key) != null;
+    }
+
+    @Override
+    public Optional<V> put(final K key, final V value) {
+        Node<K, V> x = find(key);
+        root = insert(root, key, value);
+        if (x != null) {
+            return Optional.ofNullable(x.getValue());
+        }
+        size++;
+        return Optional.empty();
+    }
+
+    private Node<K, V> insert(Node<K, V> x, K key, V value) {
+        if (x == null) {
+            return new Node<>(key, value, null, null);
+        }
+        int c = compare(key, x.getKey());
+        if (c < 0) {
+            return balance(insert(x.left, key, value), x, x.right);
+        }
+        if (c > 0) {
+            return balance(x.left, x, insert(x.right, key, value));
+        }
+        return new Node<>(x.getKey(), value, x.left, x.right);
+    }
+
+    @Override
+    public V remove(final K key) {
+        getRootOrThrow();
+        return unlink(key).getValue();
+    }
+
+    @Override
+    public Entry<K, V> removeFirst() {
+        return unlink(minimum(getRootOrThrow()).getKey());
+    }
+
+    @Override
+    public Entry<K, V> removeLast() {
+        return unlink(maximum(getRootOrThrow()).getKey());
+    }
+
+    @Override
+    public Entry<K, V> removePrevious(final K key) {
+        return unlink(getPrevious(key).getKey());
+    }
+
+    @Override
+    public Entry<K, V> removeNext(final K key) {
+        return unlink(getNext(key).getKey());
+    }
+
+    private Entry<K, V> unlink(K key) {
+        Node<K, V> x = existing(find(key));
+        root = delete(root, key);
+        size--;
+        return x;
+    }
+
+    private Node<K, V> delete(Node<K, V> x, K key) {
+        int c = compare(key, x.getKey());
+        if (c < 0) {
+            return balance(delete(x.left, key), x, x.right);
+        }
+        if (c > 0) {
+            return balance(x.left, x, delete(x.right, key));
+        }
+        if (x.left == null) {
+            return x.right;
+        }
+        if (x.right == null) {
+            return x.left;
+        }
+        return balance(x.left, minimum(x.right), deleteMinimum(x.right));
+    }
+
+    private Node<K, V> deleteMinimum(Node<K, V> x) {
+        if (x.left == null) {
+            return x.right;
+        }
+        return balance(deleteMinimum(x.left), x, x.right);
+    }
+
+    /**
+     * Builds a node holding the entry of the specified node {@code x} above the specified {@code left} and {@code
+     * right} subtrees, whose heights differ by no more than two, rotating once or twice if they differ by two.
+     */
+    private Node<K, V> balance(Node<K, V> left, Node<K, V> x, Node<K, V> right) {
+        int hl = heightOf(left), hr = heightOf(right);
+        if (hl > hr + 1) {
+            if (heightOf(left.left) >= heightOf(left.right)) {
+                return node(left.left, left, node(left.right, x, right));
+            }
+            Node<K, V> y = left.right;
+            return node(node(left.left, left, y.left), y, node(y.right, x, right));
+        }
+        if (hr > hl + 1) {
+            if (heightOf(right.right) >= heightOf(right.left)) {
+                return node(node(left, x, right.left), right, right.right);
+            }
+            Node<K, V> y = right.left;
+            return node(node(left, x, y.left), y, node(y.right, right, right.right));
+        }
+        return node(left, x, right);
+    }
+
+    private Node<K, V> node(Node<K, V> left, Node<K, V> x, Node<K, V> right) {
+        return new Node<>(x.getKey(), x.getValue(), left, right);
+    }
+
+    private static int heightOf(Node<?, ?> x) {
+        return x == null ? 0 : x.height;
+    }
+
+    @Override
+    public V get(final K key) {
+        getRootOrThrow();
+        return existing(find(key)).getValue();
+    }
+
+    @Override
+    public Entry<K, V> getFirst() {
+        return minimum(getRootOrThrow());
+    }
+
+    @Override
+    public Entry<K, V> getLast() {
+        return maximum(getRootOrThrow());
+    }
+
+    @Override
+    public Entry<K, V> getPrevious(final K key) {
+        getRootOrThrow();
+        existing(find(key));
+        Node<K, V> x = root, result = null;
+        while (x != null) {
+            if (compare(key, x.getKey()) > 0) {
+                result = x;
+                x = x.right;
+            } else {
+                x = x.left;
+            }
+        }
+        return existing(result);
+    }
+
+    @Override
+    public Entry<K, V> getNext(final K key) {
+        getRootOrThrow();
+        existing(find(key));
+        Node<K, V> x = root, result = null;
+        while (x != null) {
+            if (compare(key, x.getKey()) < 0) {
+                result = x;
+                x = x.left;
+            } else {
+                x = x.right;
+            }
+        }
+        return existing(result);
+    }
+
+    private Node<K, V> find(K key) {
+        Node<K, V> x = root;
+        while (x != null) {
+            int c = compare(key, x.getKey());
+            if (c == 0) {
+                return x;
+            }
+            x = c < 0 ? x.left : x.right;
+        }
+        return null;
+    }
+
+    private int compare(K a, K b) {
+        if (a == null) {
+            return b == null ? 0 : -1;
+        }
+        if (b == null) {
+            return 1;
+        }
+        return comp.compare(a, b);
+    }
+
+    private Node<K, V> minimum(Node<K, V> x) {
+        while (x.left != null) {
+            x = x.left;
+        }
+        return x;
+    }
+
+    private Node<K, V> maximum(Node<K, V> x) {
+        while (x.right != null) {
+            x = x.right;
+        }
+        return x;
+    }
+
+    private Node<K, V> getRootOrThrow() {
+        if (isEmpty()) {
+            throw new IllegalStateException();
+        }
+        return root;
+    }
+
+    private Node<K, V> existing(Node<K, V> x) {
+        if (x == null) {
+            throw new NoSuchElementException();
+        }
+        return x;
+    }
+
+    private transient Set<Entry<K, V>> entries;
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> entries = this.entries;
+        if (entries == null) {
+            entries = new MinSet<>() {
+
+                @Override
+                public void clear() {
+                    PersistentTreeMap.this.clear();
+                }
+
+                @Override
+                public boolean contains(final Entry<K, V> entry) {
+                    if (PersistentTreeMap.this.contains(entry.getKey())) {
+                        return areEqual(get(entry.getKey()), entry.getValue());
+                    }
+                    return false;
+                }
+
+                @Override
+                public int size() {
+                    return PersistentTreeMap.this.size;
+                }
+
+                @Override
+                public boolean isEmpty() {
+                    return PersistentTreeMap.this.isEmpty();
+                }
+
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new EntryIter();
+                }
+
+                private static final long serialVersionUID = -6046434958117618400L;
+
+            };
+            this.entries = entries;
+        }
+        return entries;
+    }
+
+    /**
+     * Iteration walks the version of the tree that was current when it began, so removal, which builds a new version,
+     * does not disturb it.
+     */
+    private final class EntryIter implements Iterator<Entry<K, V>> {
+
+        final Node<K, V>[] stack;
+        int depth;
+        Node<K, V> last;
+
+        @SuppressWarnings("unchecked")
+        EntryIter() {
+            stack = (Node<K, V>[])new Node<?, ?>[heightOf(root)];
+            descend(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return depth > 0;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = stack[--depth];
+            descend(last.right);
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            PersistentTreeMap.this.remove(last.getKey());
+            last = null;
+        }
+
+        private void descend(Node<K, V> x) {
+            for (; x != null; x = x.left) {
+                stack[depth++] = x;
+            }
+        }
+
+    }
+
+    private static final long serialVersionUID = -4215071896395316637L;
+
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        stream.writeInt(size);
+        for (Entry<K, V> entry : entrySet()) {
+            stream.writeObject(entry.getKey());
+            stream.writeObject(entry.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        int size = validateSize(stream.readInt());
+        validateObject(comp);
+        K[] keys = (K[])new Object[size];
+        V[] values = (V[])new Object[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = (K)stream.readObject();
+            values[i] = (V)stream.readObject();
+            if (i > 0 && compare(keys[i - 1], keys[i]) >= 0) {
+                throw new InvalidObjectException("Keys not in ascending order.");
+            }
+        }
+        root = build(keys, values, 0, size - 1);
+        this.size = size;
+    }
+
+    private Node<K, V> build(K[] keys, V[] values, int lo, int hi) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        return new Node<>(keys[mid], values[mid], build(keys, values, lo, mid - 1), build(keys, values, mid + 1, hi));
+    }
+
+}
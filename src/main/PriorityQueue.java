@@ -37,7 +37,7 @@ public class PriorityQueue<E> extends AbstractQueue<E> implements Sortable<E> {
      * @throws NullPointerException if the specified {@code Comparator} is {@code null}
      */
     public PriorityQueue(final Comparator<E> comp) {
-        data = new ArrayList<>();
+        data = new ArrayList<>(true);
         this.comp = Objects.requireNonNull(comp);
     }
 
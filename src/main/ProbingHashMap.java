@@ -0,0 +1,390 @@
+package main;
+
+import util.DefaultHashStrategy;
+import util.HashStrategy;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+
+import static util.Common.*;
+
+/**
+ * The {@code ProbingHashMap} class is an open addressing implementation of the {@code Map} interface. Keys, values and
+ * their hashes are stored in parallel arrays, and collisions are resolved by Robin Hood linear probing, so no object is
+ * allocated per entry and lookups scan contiguous memory. This class offers constant average time performance for
+ * {@code put}, {@code get}, and {@code remove} operations. Performance may be tuned by supplying a load factor that
+ * determines how keys are dispersed (a lower load factor results in shorter probe sequences), or a {@code
+ * HashStrategy} that determines how keys are hashed and compared. Both keys and values may be {@code null}, however,
+ * only one key may be.
+ *
+ * @param <K> the type of key that maps to values
+ * @param <V> the type of mapped values
+ * @author Jeff Wilgus
+ */
+public class ProbingHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final class ProbingEntry<K, V> extends AbstractEntry<K, V> {
+
+        ProbingEntry(K key, V value) {
+            super(key, value);
+        }
+
+    }
+
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+    private static final int EMPTY = 0;
+
+    private double loadFactor;
+    private transient HashStrategy<? super K> strategy;
+    private transient int[] hashes;
+    private transient Object[] keys;
+    private transient Object[] values;
+
+    /**
+     * Constructs a new {@code ProbingHashMap} object.
+     */
+    public ProbingHashMap() {
+        this(DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a new {@code ProbingHashMap} object that disperses and identifies its keys with the specified {@code
+     * HashStrategy}.
+     *
+     * @param strategy the specified {@code HashStrategy}
+     * @throws NullPointerException if the specified {@code HashStrategy} is {@code null}
+     */
+    public ProbingHashMap(HashStrategy<? super K> strategy) {
+        this(DEFAULT_LOAD_FACTOR, strategy);
+    }
+
+    /**
+     * Constructs a new {@code ProbingHashMap} object with the specified {@code loadFactor}.
+     *
+     * @param loadFactor the specified load factor
+     * @throws IllegalArgumentException if the specified {@code loadFactor} is not on the open interval bounded by zero
+     * and one
+     */
+    public ProbingHashMap(double loadFactor) {
+        this(loadFactor, new DefaultHashStrategy<>());
+    }
+
+    /**
+     * Constructs a new {@code ProbingHashMap} object with the specified {@code loadFactor} that disperses and
+     * identifies its keys with the specified {@code HashStrategy}.
+     *
+     * @param loadFactor the specified load factor
+     * @param strategy the specified {@code HashStrategy}
+     * @throws IllegalArgumentException if the specified {@code loadFactor} is not on the open interval bounded by zero
+     * and one
+     * @throws NullPointerException if the specified {@code HashStrategy} is {@code null}
+     */
+    public ProbingHashMap(double loadFactor, HashStrategy<? super K> strategy) {
+        init();
+        setLoadFactor(loadFactor);
+        setStrategy(strategy);
+    }
+
+    @Override
+    protected void init() {
+        size = 0;
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+        hashes = new int[capacity];
+        keys = new Object[capacity];
+        values = new Object[capacity];
+    }
+
+    private void setLoadFactor(double loadFactor) {
+        this.loadFactor = validateLoadFactor(loadFactor);
+    }
+
+    private void setStrategy(HashStrategy<? super K> strategy) {
+        this.strategy = Objects.requireNonNull(strategy);
+    }
+
+    @Override
+    public boolean contains(final K key) {
+        return indexOf(key, hashOf(key)) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Optional<V> put(final K key, final V value) {
+        int hash = hashOf(key);
+        int index = indexOf(key, hash);
+        if (index >= 0) {
+            V result = (V)values[index];
+            values[index] = value;
+            return Optional.ofNullable(result);
+        }
+        ensureCapacity();
+        insert(hash, key, value);
+        size++;
+        return Optional.empty();
+    }
+
+    private void ensureCapacity() {
+        // Growing before the table would reach its load factor keeps a slot empty, at which every probe ends.
+        if (size + 1 >= hashes.length * loadFactor) {
+            if (hashes.length == MAX_CAPACITY) {
+                throw new OutOfMemoryError();
+            }
+            rehash(hashes.length << 1);
+        }
+    }
+
+    @Override
+    void reserve(int expectedSize) {
+        int capacity = capacityFor(expectedSize, loadFactor);
+        if (capacity > hashes.length) {
+            rehash(capacity);
+        }
+    }
+
+    private void rehash(int capacity) {
+        int[] oldHashes = hashes;
+        Object[] oldKeys = keys, oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != EMPTY) {
+                insert(oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void insert(int hash, Object key, Object value) {
+        int mask = hashes.length - 1, index = hash & mask, distance = 0;
+        while (hashes[index] != EMPTY) {
+            int resident = distanceOf(index);
+            if (resident < distance) { // The resident is closer to home than the newcomer, so they trade places.
+                int h = hashes[index];
+                hashes[index] = hash;
+                hash = h;
+                Object k = keys[index];
+                keys[index] = key;
+                key = k;
+                Object v = values[index];
+                values[index] = value;
+                value = v;
+                distance = resident;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+        hashes[index] = hash;
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V remove(final K key) {
+        int index = indexOrThrow(key);
+        V result = (V)values[index];
+        delete(index);
+        return result;
+    }
+
+    private void delete(int index) {
+        int mask = hashes.length - 1, next = (index + 1) & mask;
+        while (hashes[next] != EMPTY && distanceOf(next) > 0) {
+            hashes[index] = hashes[next];
+            keys[index] = keys[next];
+            values[index] = values[next];
+            index = next;
+            next = (next + 1) & mask;
+        }
+        hashes[index] = EMPTY;
+        keys[index] = null;
+        values[index] = null;
+        size--;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(final K key) {
+        return (V)values[indexOrThrow(key)];
+    }
+
+    private int indexOrThrow(K key) {
+        if (isEmpty()) {
+            throw new IllegalStateException();
+        }
+        int index = indexOf(key, hashOf(key));
+        if (index < 0) {
+            throw new NoSuchElementException();
+        }
+        return index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int indexOf(K key, int hash) {
+        int mask = hashes.length - 1, index = hash & mask;
+        for (int distance = 0; hashes[index] != EMPTY && distance <= distanceOf(index); distance++) {
+            if (hashes[index] == hash && strategy.areEquivalent(key, (K)keys[index])) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int distanceOf(int index) {
+        return (index - hashes[index]) & (hashes.length - 1);
+    }
+
+    private int hashOf(K key) {
+        int hash = strategy.hash(key);
+        return hash == EMPTY ? 1 : hash; // Zero marks an empty slot.
+    }
+
+    private transient Set<Entry<K, V>> entries;
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> entries = this.entries;
+        if (entries == null) {
+            entries = new MinSet<>() {
+
+                @Override
+                public void clear() {
+                    ProbingHashMap.this.clear();
+                }
+
+                @Override
+                public boolean contains(final Entry<K, V> entry) {
+                    if (ProbingHashMap.this.contains(entry.getKey())) {
+                        return areEqual(get(entry.getKey()), entry.getValue());
+                    }
+                    return false;
+                }
+
+                @Override
+                public int size() {
+                    return ProbingHashMap.this.size;
+                }
+
+                @Override
+                public boolean isEmpty() {
+                    return ProbingHashMap.this.isEmpty();
+                }
+
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new EntryIter();
+                }
+
+                private static final long serialVersionUID = -4706233417003591547L;
+
+            };
+            this.entries = entries;
+        }
+        return entries;
+    }
+
+    /**
+     * Iteration begins just after an empty slot so that no run of occupied slots wraps around the starting point.
+     * Removal shifts later members of a run back by one, so the slot just removed is examined again.
+     */
+    private final class EntryIter implements Iterator<Entry<K, V>> {
+
+        final int start;
+        int offset, last;
+        boolean removable;
+
+        EntryIter() {
+            int index = 0;
+            while (hashes[index] != EMPTY) {
+                index++;
+            }
+            start = index;
+            seek(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return offset < hashes.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int index = slotAt(offset);
+            last = offset;
+            removable = true;
+            seek(offset + 1);
+            return new ProbingEntry<>((K)keys[index], (V)values[index]);
+        }
+
+        @Override
+        public void remove() {
+            if (!removable) {
+                throw new IllegalStateException();
+            }
+            removable = false;
+            delete(slotAt(last));
+            seek(last);
+        }
+
+        private void seek(int from) {
+            offset = from;
+            while (offset < hashes.length && hashes[slotAt(offset)] == EMPTY) {
+                offset++;
+            }
+        }
+
+        private int slotAt(int offset) {
+            return (start + offset) & (hashes.length - 1);
+        }
+
+    }
+
+    private static final long serialVersionUID = -6125302415786361958L;
+
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        stream.writeInt(size);
+        stream.writeDouble(loadFactor);
+        stream.writeObject(strategy);
+        for (Entry<K, V> entry : entrySet()) {
+            stream.writeObject(entry.getKey());
+            stream.writeObject(entry.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        int size = validateSize(stream.readInt());
+        loadFactor = readLoadFactor(stream);
+        strategy = (HashStrategy<? super K>)validateObject(stream.readObject());
+        allocate(capacityFor(size, loadFactor));
+        this.size = 0;
+        for (int i = 0; i < size; i++) {
+            K key = (K)stream.readObject();
+            V value = (V)stream.readObject();
+            put(key, value);
+        }
+    }
+
+    private static double readLoadFactor(ObjectInputStream stream) throws IOException {
+        try {
+            return validateLoadFactor(stream.readDouble());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidObjectException("Load factor not on (0, 1).");
+        }
+    }
+
+}
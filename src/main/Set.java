@@ -17,6 +17,13 @@ public interface Set<E> extends Collection<E> {
      */
     void add(final E element);
 
+    /**
+     * Adds each of the elements in the specified {@code collection} to this {@code Set} if it is not already a member.
+     *
+     * @param collection the specified {@code Collection}
+     */
+    void addAll(final Collection<? extends E> collection);
+
     /**
      * Removes the specified {@code element} from this {@code Set}.
      *
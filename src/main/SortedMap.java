@@ -0,0 +1,131 @@
+package main;
+
+import java.util.NoSuchElementException;
+
+/**
+ * The {@code SortedMap} interface specifies operations on a collection of key-value pairs that are sorted on the order
+ * of their keys, including queries for the entries nearest to keys that need not be present, and views of the entries
+ * whose keys fall within a range. A view is backed by its {@code SortedMap}, so changes to either are reflected in
+ * the other. Adding an entry to a view whose key is outside its range is not permitted.
+ *
+ * @param <K> the type of key that maps to values
+ * @param <V> the type of mapped values
+ * @author Jeff Wilgus
+ */
+public interface SortedMap<K, V> extends OrderedMap<K, V> {
+
+    /**
+     * Retrieves the {@code Entry} in this {@code SortedMap} with the greatest key less than or equal to that specified.
+     *
+     * @param key the specified key
+     * @return the {@code Entry} with the greatest key not after the specified one
+     * @throws IllegalStateException if this {@code SortedMap} is empty
+     * @throws NoSuchElementException if there is no such {@code Entry} in this {@code SortedMap}
+     */
+    Entry<K, V> floor(final K key);
+
+    /**
+     * Retrieves the {@code Entry} in this {@code SortedMap} with the least key greater than or equal to that specified.
+     *
+     * @param key the specified key
+     * @return the {@code Entry} with the least key not before the specified one
+     * @throws IllegalStateException if this {@code SortedMap} is empty
+     * @throws NoSuchElementException if there is no such {@code Entry} in this {@code SortedMap}
+     */
+    Entry<K, V> ceiling(final K key);
+
+    /**
+     * Retrieves the {@code Entry} in this {@code SortedMap} with the greatest key strictly less than that specified.
+     *
+     * @param key the specified key
+     * @return the {@code Entry} with the greatest key before the specified one
+     * @throws IllegalStateException if this {@code SortedMap} is empty
+     * @throws NoSuchElementException if there is no such {@code Entry} in this {@code SortedMap}
+     */
+    Entry<K, V> lower(final K key);
+
+    /**
+     * Retrieves the {@code Entry} in this {@code SortedMap} with the least key strictly greater than that specified.
+     *
+     * @param key the specified key
+     * @return the {@code Entry} with the least key after the specified one
+     * @throws IllegalStateException if this {@code SortedMap} is empty
+     * @throws NoSuchElementException if there is no such {@code Entry} in this {@code SortedMap}
+     */
+    Entry<K, V> higher(final K key);
+
+    /**
+     * Provides a view of the portion of this {@code SortedMap} whose keys range from {@code from} to {@code to}. Each
+     * bound is included in the range if its flag is {@code true}.
+     *
+     * @param from the specified low key
+     * @param fromInclusive whether or not the low key is included
+     * @param to the specified high key
+     * @param toInclusive whether or not the high key is included
+     * @return a view of the portion of this {@code SortedMap} from {@code from} to {@code to}
+     * @throws IllegalArgumentException if {@code from} is after {@code to}, or if either is outside the range of this
+     * {@code SortedMap}
+     */
+    SortedMap<K, V> subMap(final K from, final boolean fromInclusive, final K to, final boolean toInclusive);
+
+    /**
+     * Provides a view of the portion of this {@code SortedMap} whose keys range from {@code from}, inclusive, to {@code
+     * to}, exclusive.
+     *
+     * @param from the specified low key
+     * @param to the specified high key
+     * @return a view of the portion of this {@code SortedMap} from {@code from} to {@code to}
+     * @throws IllegalArgumentException if {@code from} is after {@code to}, or if either is outside the range of this
+     * {@code SortedMap}
+     */
+    SortedMap<K, V> subMap(final K from, final K to);
+
+    /**
+     * Provides a view of the portion of this {@code SortedMap} whose keys precede {@code to}, or are equal to it if
+     * {@code inclusive} is {@code true}.
+     *
+     * @param to the specified high key
+     * @param inclusive whether or not the high key is included
+     * @return a view of the portion of this {@code SortedMap} before {@code to}
+     * @throws IllegalArgumentException if {@code to} is outside the range of this {@code SortedMap}
+     */
+    SortedMap<K, V> headMap(final K to, final boolean inclusive);
+
+    /**
+     * Provides a view of the portion of this {@code SortedMap} whose keys precede {@code to}.
+     *
+     * @param to the specified high key
+     * @return a view of the portion of this {@code SortedMap} before {@code to}
+     * @throws IllegalArgumentException if {@code to} is outside the range of this {@code SortedMap}
+     */
+    SortedMap<K, V> headMap(final K to);
+
+    /**
+     * Provides a view of the portion of this {@code SortedMap} whose keys follow {@code from}, or are equal to it if
+     * {@code inclusive} is {@code true}.
+     *
+     * @param from the specified low key
+     * @param inclusive whether or not the low key is included
+     * @return a view of the portion of this {@code SortedMap} after {@code from}
+     * @throws IllegalArgumentException if {@code from} is outside the range of this {@code SortedMap}
+     */
+    SortedMap<K, V> tailMap(final K from, final boolean inclusive);
+
+    /**
+     * Provides a view of the portion of this {@code SortedMap} whose keys are equal to or follow {@code from}.
+     *
+     * @param from the specified low key
+     * @return a view of the portion of this {@code SortedMap} from {@code from}
+     * @throws IllegalArgumentException if {@code from} is outside the range of this {@code SortedMap}
+     */
+    SortedMap<K, V> tailMap(final K from);
+
+    /**
+     * Provides a view of this {@code SortedMap} in reverse order. The first entry of the view is the last of this
+     * {@code SortedMap}, and so on.
+     *
+     * @return a reverse order view of this {@code SortedMap}
+     */
+    SortedMap<K, V> descendingMap();
+
+}
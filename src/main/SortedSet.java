@@ -0,0 +1,54 @@
+package main;
+
+import java.util.NoSuchElementException;
+
+/**
+ * The {@code SortedSet} interface specifies operations on a collection of unique elements that are sorted on their
+ * order, including queries for the elements nearest to ones that need not be present.
+ *
+ * @param <E> the type of element in this {@code SortedSet}
+ * @author Jeff Wilgus
+ */
+public interface SortedSet<E> extends OrderedSet<E> {
+
+    /**
+     * Retrieves the greatest element in this {@code SortedSet} less than or equal to that specified.
+     *
+     * @param element the specified element
+     * @return the greatest element not after the specified one
+     * @throws IllegalStateException if this {@code SortedSet} is empty
+     * @throws NoSuchElementException if there is no such element in this {@code SortedSet}
+     */
+    E floor(final E element);
+
+    /**
+     * Retrieves the least element in this {@code SortedSet} greater than or equal to that specified.
+     *
+     * @param element the specified element
+     * @return the least element not before the specified one
+     * @throws IllegalStateException if this {@code SortedSet} is empty
+     * @throws NoSuchElementException if there is no such element in this {@code SortedSet}
+     */
+    E ceiling(final E element);
+
+    /**
+     * Retrieves the greatest element in this {@code SortedSet} strictly less than that specified.
+     *
+     * @param element the specified element
+     * @return the greatest element before the specified one
+     * @throws IllegalStateException if this {@code SortedSet} is empty
+     * @throws NoSuchElementException if there is no such element in this {@code SortedSet}
+     */
+    E lower(final E element);
+
+    /**
+     * Retrieves the least element in this {@code SortedSet} strictly greater than that specified.
+     *
+     * @param element the specified element
+     * @return the least element after the specified one
+     * @throws IllegalStateException if this {@code SortedSet} is empty
+     * @throws NoSuchElementException if there is no such element in this {@code SortedSet}
+     */
+    E higher(final E element);
+
+}
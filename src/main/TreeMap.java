@@ -1,8 +1,10 @@
 package main;
 
+import util.Aggregator;
 import util.DefaultComparator;
 
 import java.io.IOException;
+import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Comparator;
@@ -10,6 +12,9 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
 import static util.Common.*;
 
@@ -17,18 +22,29 @@ import static util.Common.*;
  * The {@code TreeMap} class is a red-black tree implementation of the {@code Map} interface. Entries are sorted by key
  * on the order induced by a supplied {@code Comparator}, or natural ordering if none is supplied. This class offers
  * logarithmic time performance for {@code put}, {@code get}, and {@code remove} operations. Both keys and values may be
- * {@code null}, however, only one key may be.
+ * {@code null}, however, only one key may be, and it precedes all others. Keys are equal if the {@code Comparator}
+ * deems them so, so a search makes one comparison per node. Range views locate their first entry in logarithmic time
+ * and then walk the tree in place, so iterating over {@code k} entries in a range takes {@code O(log n + k)} time. A
+ * {@code TreeMap} may also be constructed to count the entries beneath each node, so that it can find the rank of a
+ * key, the entry of a given rank, and the number of keys in a range in logarithmic time. Counting adds an {@code int}
+ * to each node and a constant amount of work to each rotation and to each step up the tree from a change. An {@link
+ * AggregateMap} likewise summarizes each subtree with an {@link Aggregator}. Only counted and aggregated maps make
+ * nodes with room for a count and a summary; the nodes of other {@code TreeMap}s carry neither. Entries already in key
+ * order may be loaded in linear time with {@code putAllSorted}, which deserialization also uses. Two {@code TreeMap}s
+ * may be combined by {@code union}, {@code intersection}, and {@code difference}, which split and join subtrees rather
+ * than visit every entry of the larger map. Maps keyed by primitives are better served by {@link IntTreeMap}, {@link
+ * LongTreeMap}, and {@link DoubleTreeMap}, which neither box keys nor call a {@code Comparator}.
  *
  * @param <K> the type of key that maps to values
  * @param <V> the type of mapped values
  * @author Jeff Wilgus
  */
-public class TreeMap<K, V> extends AbstractMap<K, V> implements OrderedMap<K, V> {
+public class TreeMap<K, V> extends AbstractMap<K, V> implements SortedMap<K, V> {
 
-    private static final class Node<K, V> extends AbstractEntry<K, V> {
+    private static class Node<K, V> extends AbstractEntry<K, V> {
 
-        static <K, V> Node<K, V> nil() {
-            Node<K, V> nil = new Node<>(null, null);
+        static <K, V> Node<K, V> nil(boolean augmented) {
+            Node<K, V> nil = augmented ? new AugmentedNode<>(null, null) : new Node<>(null, null);
             nil.parent = nil;
             nil.left = nil;
             nil.right = nil;
@@ -47,11 +63,68 @@ public class TreeMap<K, V> extends AbstractMap<K, V> implements OrderedMap<K, V>
 
     }
 
+    /**
+     * A node of a counted or aggregated {@code TreeMap}, which also records the number of entries beneath it and their
+     * summary, so that the nodes of other {@code TreeMap}s need not.
+     */
+    private static final class AugmentedNode<K, V> extends Node<K, V> {
+
+        int count;
+        Object aggregate;
+
+        AugmentedNode(K key, V value) {
+            super(key, value);
+        }
+
+    }
+
+    /**
+     * A subtree detached from any parent, with its black height and the number of keys a set operation found in both
+     * maps while building it.
+     */
+    private static final class Tree<K, V> {
+
+        final Node<K, V> root;
+        final int height;
+        final int matched;
+
+        Tree(Node<K, V> root, int height, int matched) {
+            this.root = root;
+            this.height = height;
+            this.matched = matched;
+        }
+
+    }
+
+    /**
+     * The subtrees of keys before and after a key, and the node that held that key, if any.
+     */
+    private static final class Split<K, V> {
+
+        final Tree<K, V> left;
+        final Node<K, V> found;
+        final Tree<K, V> right;
+
+        Split(Tree<K, V> left, Node<K, V> found, Tree<K, V> right) {
+            this.left = left;
+            this.found = found;
+            this.right = right;
+        }
+
+    }
+
+    private enum Operation {
+        UNION, INTERSECTION, DIFFERENCE
+    }
+
     private static final boolean RED = false, BLACK = true;
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
 
     private transient Node<K, V> nil;
     private transient Node<K, V> root;
     private Comparator<K> comp;
+    private final boolean counted;
+    private final Aggregator<K, V, Object> aggregator;
 
     /**
      * Constructs a new {@code TreeMap} object.
@@ -67,6 +140,36 @@ public class TreeMap<K, V> extends AbstractMap<K, V> implements OrderedMap<K, V>
      * @throws NullPointerException if the specified {@code Comparator} is {@code null}
      */
     public TreeMap(Comparator<K> comp) {
+        this(comp, false);
+    }
+
+    /**
+     * Constructs a new {@code TreeMap} object sorted on the order induced by the specified {@code Comparator} that, if
+     * {@code counted} is {@code true}, maintains the number of entries beneath each node, so that it supports {@link
+     * #rank(Object)}, {@link #select(int)}, and {@link #countInRange(Object, Object)}.
+     *
+     * @param comp the specified {@code Comparator}
+     * @param counted whether or not subtree sizes are maintained
+     * @throws NullPointerException if the specified {@code Comparator} is {@code null}
+     */
+    public TreeMap(Comparator<K> comp, boolean counted) {
+        this(comp, counted, null);
+    }
+
+    /**
+     * Constructs a new {@code TreeMap} object sorted on the order induced by the specified {@code Comparator} that
+     * maintains the number of entries beneath each node if {@code counted} is {@code true}, and their summary by the
+     * specified {@code Aggregator} if it is not {@code null}.
+     *
+     * @param comp the specified {@code Comparator}
+     * @param counted whether or not subtree sizes are maintained
+     * @param aggregator the specified {@code Aggregator}
+     * @throws NullPointerException if the specified {@code Comparator} is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    TreeMap(Comparator<K> comp, boolean counted, Aggregator<K, V, ?> aggregator) {
+        this.counted = counted;
+        this.aggregator = (Aggregator<K, V, Object>)aggregator;
         init();
         setComp(comp);
     }
@@ -74,58 +177,194 @@ public class TreeMap<K, V> extends AbstractMap<K, V> implements OrderedMap<K, V>
     @Override
     protected void init() {
         size = 0;
-        nil = Node.nil();
+        nil = Node.nil(isAugmented());
+        if (aggregator != null) {
+            ((AugmentedNode<K, V>)nil).aggregate = aggregator.identity();
+        }
         root = nil;
     }
 
+    private boolean isAugmented() {
+        return counted || aggregator != null;
+    }
+
+    private Node<K, V> newNode(K key, V value) {
+        return isAugmented() ? new AugmentedNode<>(key, value) : new Node<>(key, value);
+    }
+
+    private static int countOf(Node<?, ?> x) {
+        return ((AugmentedNode<?, ?>)x).count;
+    }
+
+    private static Object summaryOf(Node<?, ?> x) {
+        return ((AugmentedNode<?, ?>)x).aggregate;
+    }
+
     private void setComp(Comparator<K> comp) {
         this.comp = Objects.requireNonNull(comp);
     }
 
+    Comparator<K> comparator() {
+        return comp;
+    }
+
+    Aggregator<K, V, Object> aggregator() {
+        return aggregator;
+    }
+
     @Override
     public boolean contains(final K key) {
-        try {
-            search(root, key);
-        } catch (NoSuchElementException e) {
-            return false;
-        }
-        return true;
+        return lookup(root, key) != nil;
     }
 
     @Override
     public Optional<V> put(final K key, final V value) {
-        Node<K, V> z = new Node<>(key, value);
         Node<K, V> y = nil, x = root;
-        K cmp;
+        int c = 0;
         while (x != nil) {
             y = x;
-            cmp = x.getKey();
-            if (areEqual(key, cmp)) {
-                return Optional.of(y.setValue(value));
+            c = compare(key, x.getKey());
+            if (c == 0) {
+                V result = y.setValue(value);
+                if (aggregator != null) {
+                    for (; y != nil; y = y.parent) {
+                        update(y);
+                    }
+                }
+                return Optional.ofNullable(result);
             }
-            if (lessThan(key, cmp)) {
-                x = x.left;
-            } else {
-                x = x.right;
+            x = c < 0 ? x.left : x.right;
+        }
+        attach(newNode(key, value), y, c < 0);
+        return Optional.empty();
+    }
+
+    /**
+     * Adds an entry associating the specified {@code key} with the specified {@code value} without first searching for
+     * an equal key. The entry is placed on the order induced by this {@code TreeMap}'s {@code Comparator} alone, after
+     * any keys that compare as equal to it.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return the added entry
+     */
+    AbstractEntry<K, V> link(K key, V value) {
+        Node<K, V> y = nil, x = root;
+        boolean left = false;
+        while (x != nil) {
+            y = x;
+            left = comp.compare(key, x.getKey()) < 0;
+            x = left ? x.left : x.right;
+        }
+        Node<K, V> z = newNode(key, value);
+        attach(z, y, left);
+        return z;
+    }
+
+    /**
+     * Adds the entries of the specified {@code Map}, whose keys must be in strictly ascending order on the order
+     * induced by this {@code TreeMap}'s {@code Comparator}, to this {@code TreeMap}. If this {@code TreeMap} is empty,
+     * a balanced tree is built from them in linear time, rather than by putting each in turn.
+     *
+     * @param map the specified {@code Map}
+     * @throws IllegalArgumentException if the keys of the specified {@code Map} are not in strictly ascending order
+     */
+    @SuppressWarnings("unchecked")
+    public void putAllSorted(final Map<? extends K, ? extends V> map) {
+        K[] keys = (K[])new Object[map.size()];
+        V[] values = (V[])new Object[map.size()];
+        int i = 0;
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            keys[i] = entry.getKey();
+            values[i++] = entry.getValue();
+        }
+        putAllSorted(keys, values);
+    }
+
+    /**
+     * Adds entries associating each of the specified {@code keys}, which must be in strictly ascending order on the
+     * order induced by this {@code TreeMap}'s {@code Comparator}, with the value at the same index of the specified
+     * {@code values}. If this {@code TreeMap} is empty, a balanced tree is built from them in linear time, rather than
+     * by putting each in turn.
+     *
+     * @param keys the specified keys
+     * @param values the specified values
+     * @throws IllegalArgumentException if the specified arrays differ in length, or if the specified keys are not in
+     * strictly ascending order
+     */
+    public void putAllSorted(final K[] keys, final V[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Keys and values differ in length.");
+        }
+        if (!isAscending(keys)) {
+            throw new IllegalArgumentException("Keys not in ascending order.");
+        }
+        if (isEmpty()) {
+            build(keys, values);
+        } else {
+            for (int i = 0; i < keys.length; i++) {
+                put(keys[i], values[i]);
+            }
+        }
+    }
+
+    private boolean isAscending(K[] keys) {
+        for (int i = 1; i < keys.length; i++) {
+            if (compare(keys[i - 1], keys[i]) >= 0) {
+                return false;
             }
         }
+        return true;
+    }
+
+    /**
+     * Replaces the entries of this {@code TreeMap} with a balanced tree of the specified {@code keys}, which are in
+     * strictly ascending order, and {@code values}. Every node is black, but for those on the deepest level of an
+     * incomplete tree, which are red, so that every path from the root has the same number of black nodes.
+     */
+    private void build(K[] keys, V[] values) {
+        init();
+        int level = 0;
+        for (int m = keys.length - 1; m >= 0; m = m / 2 - 1) {
+            level++;
+        }
+        root = build(keys, values, 0, keys.length - 1, 0, level, nil);
+        size = keys.length;
+    }
+
+    private Node<K, V> build(K[] keys, V[] values, int lo, int hi, int depth, int redLevel, Node<K, V> parent) {
+        if (lo > hi) {
+            return nil;
+        }
+        int mid = (lo + hi) >>> 1;
+        Node<K, V> x = newNode(keys[mid], values[mid]);
+        x.parent = parent;
+        x.color = depth == redLevel ? RED : BLACK;
+        x.left = build(keys, values, lo, mid - 1, depth + 1, redLevel, x);
+        x.right = build(keys, values, mid + 1, hi, depth + 1, redLevel, x);
+        update(x);
+        return x;
+    }
+
+    private void attach(Node<K, V> z, Node<K, V> y, boolean left) {
         z.parent = y;
         if (y == nil) {
             root = z;
+        } else if (left) {
+            y.left = z;
         } else {
-            cmp = y.getKey();
-            if (lessThan(key, cmp)) {
-                y.left = z;
-            } else {
-                y.right = z;
-            }
+            y.right = z;
         }
         z.left = nil;
         z.right = nil;
         z.color = RED;
+        if (isAugmented()) {
+            for (Node<K, V> x = z; x != nil; x = x.parent) {
+                update(x);
+            }
+        }
         insertFixup(z);
         size++;
-        return Optional.empty();
     }
 
     private void insertFixup(Node<K, V> z) {
@@ -185,22 +424,24 @@ public class TreeMap<K, V> extends AbstractMap<K, V> implements OrderedMap<K, V>
 
     @Override
     public Entry<K, V> removePrevious(final K key) {
-        return delete(predecessor(search(getRootOrThrow(), key)));
+        return delete(existing(predecessor(search(getRootOrThrow(), key))));
     }
 
     @Override
     public Entry<K, V> removeNext(final K key) {
-        return delete(successor(search(getRootOrThrow(), key)));
+        return delete(existing(successor(search(getRootOrThrow(), key))));
     }
 
     Node<K, V> delete(Node<K, V> z) {
-        Node<K, V> y = z, x;
+        Node<K, V> y = z, x, changed;
         boolean original = y.color;
         if (z.left == nil) {
             x = z.right;
+            changed = z.parent;
             transplant(z, x);
         } else if (z.right == nil) {
             x = z.left;
+            changed = z.parent;
             transplant(z, x);
         } else {
             y = minimum(z.right);
@@ -208,7 +449,9 @@ public class TreeMap<K, V> extends AbstractMap<K, V> implements OrderedMap<K, V>
             x = y.right;
             if (y.parent == z) {
                 x.parent = y;
+                changed = y;
             } else {
+                changed = y.parent;
                 transplant(y, y.right);
                 y.right = z.right;
                 y.right.parent = y;
@@ -218,6 +461,11 @@ public class TreeMap<K, V> extends AbstractMap<K, V> implements OrderedMap<K, V>
             y.left.parent = y;
             y.color = z.color;
         }
+        if (isAugmented()) {
+            for (; changed != nil; changed = changed.parent) {
+                update(changed);
+            }
+        }
         if (original == BLACK) {
             deleteFixup(x);
         }
@@ -299,15 +547,17 @@ public class TreeMap<K, V> extends AbstractMap<K, V> implements OrderedMap<K, V>
             y.left.parent = x;
         }
         y.parent = x.parent;
-        if (x.parent == nil) {
+        if (x == root) {
             root = y;
         } else if (x == x.parent.left) {
             x.parent.left = y;
-        } else {
+        } else if (x.parent != nil) {
             x.parent.right = y;
         }
         y.left = x;
         x.parent = y;
+        update(x);
+        update(y);
     }
 
     private void rotateRight(Node<K, V> x) {
@@ -317,133 +567,1302 @@ public class TreeMap<K, V> extends AbstractMap<K, V> implements OrderedMap<K, V>
             y.right.parent = x;
         }
         y.parent = x.parent;
-        if (x.parent == nil) {
+        if (x == root) {
             root = y;
         } else if (x == x.parent.right) {
             x.parent.right = y;
-        } else {
+        } else if (x.parent != nil) {
             x.parent.left = y;
         }
         y.right = x;
         x.parent = y;
+        update(x);
+        update(y);
     }
 
-    @Override
-    public V get(final K key) {
-        return search(getRootOrThrow(), key).getValue();
+    /**
+     * Recomputes the number of entries beneath the specified node {@code x}, and their summary, from those of its
+     * children, if this {@code TreeMap} maintains them.
+     */
+    private void update(Node<K, V> x) {
+        if (counted) {
+            ((AugmentedNode<K, V>)x).count = countOf(x.left) + countOf(x.right) + 1;
+        }
+        if (aggregator != null) {
+            ((AugmentedNode<K, V>)x).aggregate =
+                    aggregator.combine(aggregator.combine(summaryOf(x.left), measure(x)), summaryOf(x.right));
+        }
     }
 
-    @Override
-    public Entry<K, V> getFirst() {
-        return minimum(getRootOrThrow());
+    private Object measure(Node<K, V> x) {
+        return aggregator.measure(x.getKey(), x.getValue());
     }
 
-    @Override
-    public Entry<K, V> getLast() {
-        return maximum(getRootOrThrow());
+    /**
+     * Provides the summary of the entries in this {@code TreeMap} whose keys range from {@code from} to {@code to},
+     * each bound being included if its flag is {@code true}. The summary combines those of no more than two paths from
+     * the root, and so takes logarithmic time.
+     *
+     * @param from the specified low key
+     * @param fromInclusive whether or not the low key is included
+     * @param to the specified high key
+     * @param toInclusive whether or not the high key is included
+     * @return the summary of the entries from {@code from} to {@code to}
+     * @throws IllegalArgumentException if {@code from} is after {@code to}
+     */
+    Object aggregate(K from, boolean fromInclusive, K to, boolean toInclusive) {
+        if (compare(from, to) > 0) {
+            throw new IllegalArgumentException("Low key after high key.");
+        }
+        Node<K, V> x = root;
+        while (x != nil) {
+            if (isBelow(x.getKey(), from, fromInclusive)) {
+                x = x.right;
+            } else if (isAbove(x.getKey(), to, toInclusive)) {
+                x = x.left;
+            } else {
+                break;
+            }
+        }
+        if (x == nil) {
+            return aggregator.identity();
+        }
+        Object left = aggregator.identity(), right = aggregator.identity();
+        for (Node<K, V> y = x.left; y != nil; ) {
+            if (isBelow(y.getKey(), from, fromInclusive)) {
+                y = y.right;
+            } else {
+                left = aggregator.combine(aggregator.combine(measure(y), summaryOf(y.right)), left);
+                y = y.left;
+            }
+        }
+        for (Node<K, V> y = x.right; y != nil; ) {
+            if (isAbove(y.getKey(), to, toInclusive)) {
+                y = y.left;
+            } else {
+                right = aggregator.combine(right, aggregator.combine(summaryOf(y.left), measure(y)));
+                y = y.right;
+            }
+        }
+        return aggregator.combine(aggregator.combine(left, measure(x)), right);
     }
 
-    @Override
-    public Entry<K, V> getPrevious(final K key) {
-        return predecessor(search(getRootOrThrow(), key));
+    /**
+     * Provides the summary of all of the entries in this {@code TreeMap}.
+     *
+     * @return the summary of this {@code TreeMap}
+     */
+    Object aggregate() {
+        return summaryOf(root);
     }
 
-    @Override
-    public Entry<K, V> getNext(final K key) {
-        return successor(search(getRootOrThrow(), key));
+    /**
+     * Adds to the specified {@code list}, in key order, every entry in this {@code TreeMap} that satisfies the
+     * specified {@code test}, examining only those subtrees whose summaries satisfy the specified {@code bound}. The
+     * {@code bound} must hold for the summary of every run of entries that includes one satisfying the {@code test}.
+     *
+     * @param bound the specified test of summaries
+     * @param test the specified test of entries
+     * @param list the specified list
+     */
+    void collect(Predicate<Object> bound, Predicate<Entry<K, V>> test, List<Entry<K, V>> list) {
+        collect(root, bound, test, list);
     }
 
-    private Node<K, V> search(Node<K, V> root, K key) {
-        while (root != nil) {
-            if (areEqual(key, root.getKey())) {
-                return root;
-            }
-            if (lessThan(key, root.getKey())) {
-                root = root.left;
-            } else {
-                root = root.right;
-            }
+    private void collect(Node<K, V> x, Predicate<Object> bound, Predicate<Entry<K, V>> test, List<Entry<K, V>> list) {
+        if (x == nil || !bound.test(summaryOf(x))) {
+            return;
         }
-        throw new NoSuchElementException();
+        collect(x.left, bound, test, list);
+        if (test.test(x)) {
+            list.addLast(x);
+        }
+        collect(x.right, bound, test, list);
     }
 
-    private boolean lessThan(K a, K b) {
-        if (a == null) {
-            return b != null;
-        }
-        return comp.compare(a, b) < 0;
+    private boolean isBelow(K key, K bound, boolean inclusive) {
+        int c = compare(key, bound);
+        return c < 0 || c == 0 && !inclusive;
     }
 
-    private Node<K, V> minimum(Node<K, V> root) {
-        while (root.left != nil) {
-            root = root.left;
-        }
-        return root;
+    private boolean isAbove(K key, K bound, boolean inclusive) {
+        int c = compare(key, bound);
+        return c > 0 || c == 0 && !inclusive;
     }
 
-    private Node<K, V> maximum(Node<K, V> root) {
-        while (root.right != nil) {
-            root = root.right;
-        }
-        return root;
+    /**
+     * Provides the number of keys in this {@code TreeMap} less than the specified {@code key}, which is the index of
+     * {@code key} in key order if it is present.
+     *
+     * @param key the specified key
+     * @return the number of keys before the specified {@code key}
+     * @throws UnsupportedOperationException if this {@code TreeMap} is not counted
+     */
+    public int rank(final K key) {
+        return rank(key, false);
     }
 
-    private Node<K, V> predecessor(Node<K, V> x) {
-        if (x.left != nil) {
-            return maximum(x.left);
+    /**
+     * Retrieves the {@code Entry} in this {@code TreeMap} at the specified {@code index} in key order.
+     *
+     * @param index the specified index
+     * @return the {@code Entry} preceded by {@code index} others
+     * @throws IndexOutOfBoundsException if the specified {@code index} is negative or greater than or equal to the size
+     * of this {@code TreeMap}
+     * @throws UnsupportedOperationException if this {@code TreeMap} is not counted
+     */
+    public Entry<K, V> select(int index) {
+        ensureCounted();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
         }
-        Node<K, V> y = x.parent;
-        while (y != nil && x == y.left) {
-            x = y;
-            y = y.parent;
+        Node<K, V> x = root;
+        while (index != countOf(x.left)) {
+            if (index < countOf(x.left)) {
+                x = x.left;
+            } else {
+                index -= countOf(x.left) + 1;
+                x = x.right;
+            }
         }
-        return y;
+        return x;
     }
 
-    private Node<K, V> successor(Node<K, V> x) {
-        if (x.right != nil) {
-            return minimum(x.right);
-        }
-        Node<K, V> y = x.parent;
-        while (y != nil && x == y.right) {
-            x = y;
-            y = y.parent;
+    /**
+     * Provides the number of keys in this {@code TreeMap} from {@code from}, inclusive, to {@code to}, exclusive.
+     *
+     * @param from the specified low key
+     * @param to the specified high key
+     * @return the number of keys from {@code from} to {@code to}
+     * @throws IllegalArgumentException if {@code from} is after {@code to}
+     * @throws UnsupportedOperationException if this {@code TreeMap} is not counted
+     */
+    public int countInRange(final K from, final K to) {
+        return countInRange(from, true, to, false);
+    }
+
+    /**
+     * Provides the number of keys in this {@code TreeMap} from {@code from} to {@code to}. Each bound is counted if it
+     * is present and its flag is {@code true}.
+     *
+     * @param from the specified low key
+     * @param fromInclusive whether or not the low key is counted
+     * @param to the specified high key
+     * @param toInclusive whether or not the high key is counted
+     * @return the number of keys from {@code from} to {@code to}
+     * @throws IllegalArgumentException if {@code from} is after {@code to}
+     * @throws UnsupportedOperationException if this {@code TreeMap} is not counted
+     */
+    public int countInRange(final K from, final boolean fromInclusive, final K to, final boolean toInclusive) {
+        if (compare(from, to) > 0) {
+            throw new IllegalArgumentException("Low key after high key.");
         }
-        return y;
+        return Math.max(rank(to, toInclusive) - rank(from, !fromInclusive), 0);
     }
 
-    private Node<K, V> getRootOrThrow() {
-        if (isEmpty()) {
-            throw new IllegalStateException();
+    /**
+     * Provides the number of keys less than, or if {@code inclusive} is {@code true}, equal to the specified {@code
+     * key}.
+     */
+    private int rank(K key, boolean inclusive) {
+        ensureCounted();
+        int rank = 0;
+        Node<K, V> x = root;
+        while (x != nil) {
+            int c = compare(key, x.getKey());
+            if (c < 0 || c == 0 && !inclusive) {
+                x = x.left;
+            } else {
+                rank += countOf(x.left) + 1;
+                x = x.right;
+            }
         }
-        return root;
+        return rank;
     }
 
-    private transient Set<Entry<K, V>> entries;
+    private void ensureCounted() {
+        if (!counted) {
+            throw new UnsupportedOperationException("Map not counted.");
+        }
+    }
 
-    @Override
-    public Set<Entry<K, V>> entrySet() {
-        Set<Entry<K, V>> entries = this.entries;
-        if (entries == null) {
-            entries = new MinSet<>() {
+    /**
+     * Adds the entries of the specified {@code TreeMap} to this one, replacing the values of any keys they share. If
+     * both are sorted on equal {@code Comparator}s, the subtrees of this {@code TreeMap} are split on the keys of the
+     * specified one and joined back together, which takes {@code O(m log(n / m + 1))} time for maps of sizes {@code m
+     * <= n}, plus the time to copy the entries that are new to this {@code TreeMap}. Otherwise, each entry is put in
+     * turn. The specified {@code TreeMap} is not modified.
+     *
+     * @param map the specified {@code TreeMap}
+     */
+    public void union(final TreeMap<K, V> map) {
+        merge(Operation.UNION, map);
+    }
 
-                @Override
-                public void clear() {
-                    TreeMap.this.clear();
-                }
+    /**
+     * Removes the entries of this {@code TreeMap} whose keys do not belong to the specified {@code TreeMap}. If both
+     * are sorted on equal {@code Comparator}s, this takes {@code O(m log(n / m + 1))} time for maps of sizes {@code m
+     * <= n}. The specified {@code TreeMap} is not modified.
+     *
+     * @param map the specified {@code TreeMap}
+     */
+    public void intersection(final TreeMap<K, V> map) {
+        merge(Operation.INTERSECTION, map);
+    }
 
-                @Override
-                public boolean contains(final Entry<K, V> entry) {
-                    if (TreeMap.this.contains(entry.getKey())) {
-                        return areEqual(get(entry.getKey()), entry.getValue());
-                    }
-                    return false;
-                }
+    /**
+     * Removes the entries of this {@code TreeMap} whose keys belong to the specified {@code TreeMap}. If both are
+     * sorted on equal {@code Comparator}s, this takes {@code O(m log(n / m + 1))} time for maps of sizes {@code m <=
+     * n}. The specified {@code TreeMap} is not modified.
+     *
+     * @param map the specified {@code TreeMap}
+     */
+    public void difference(final TreeMap<K, V> map) {
+        merge(Operation.DIFFERENCE, map);
+    }
 
-                @Override
-                public int size() {
-                    return TreeMap.this.size;
-                }
+    /**
+     * Combines the specified {@code map} into this {@code TreeMap} on the specified {@code Operation}. When both maps
+     * are large, the two halves of each split are combined in parallel on the common {@code ForkJoinPool}, so the
+     * {@code Comparator} (and {@code Aggregator}, if any) may be called from several threads at once.
+     */
+    private void merge(Operation op, TreeMap<K, V> map) {
+        if (map == this) {
+            if (op == Operation.DIFFERENCE) {
+                clear();
+            }
+            return;
+        }
+        if (!comp.equals(map.comp)) {
+            mergeEach(op, map);
+            return;
+        }
+        int levels = 0;
+        for (int n = Math.min(size, map.size); n >= PARALLEL_THRESHOLD; n >>= 1) {
+            levels++;
+        }
+        Tree<K, V> tree = new Tree<>(root, blackHeight(root), 0);
+        root = nil;
+        tree = merge(op, tree, map, map.root, map.blackHeight(map.root), levels);
+        root = tree.root;
+        root.color = BLACK;
+        switch (op) {
+            case UNION:
+                size += map.size - tree.matched;
+                break;
+            case INTERSECTION:
+                size = tree.matched;
+                break;
+            default:
+                size -= tree.matched;
+        }
+    }
+
+    private void mergeEach(Operation op, TreeMap<K, V> map) {
+        switch (op) {
+            case UNION:
+                putAll(map);
+                break;
+            case INTERSECTION:
+                Iterator<Entry<K, V>> iterator = entrySet().iterator();
+                while (iterator.hasNext()) {
+                    if (!map.contains(iterator.next().getKey())) {
+                        iterator.remove();
+                    }
+                }
+                break;
+            default:
+                for (Entry<K, V> entry : map.entrySet()) {
+                    if (contains(entry.getKey())) {
+                        remove(entry.getKey());
+                    }
+                }
+        }
+    }
+
+    /**
+     * Combines the detached subtree {@code tree} of this {@code TreeMap} with the subtree of the specified {@code map}
+     * rooted at {@code x}, whose black height is {@code height}, by splitting {@code tree} on the key of {@code x},
+     * combining each side with the corresponding child of {@code x}, and joining the results. The top {@code levels}
+     * levels of recursion combine their two sides in parallel.
+     */
+    private Tree<K, V> merge(Operation op, Tree<K, V> tree, TreeMap<K, V> map, Node<K, V> x, int height,
+            int levels) {
+        if (x == map.nil) {
+            return op == Operation.INTERSECTION ? new Tree<>(nil, 0, 0) : tree;
+        }
+        if (tree.root == nil) {
+            return op == Operation.UNION ? new Tree<>(copy(map, x), height, 0) : tree;
+        }
+        Split<K, V> split = split(tree, x.getKey());
+        int h = height - (x.color == BLACK ? 1 : 0);
+        Tree<K, V> left, right;
+        if (levels > 0) {
+            ForkJoinTask<Tree<K, V>> task =
+                    ForkJoinTask.adapt(() -> merge(op, split.left, map, x.left, h, levels - 1)).fork();
+            right = merge(op, split.right, map, x.right, h, levels - 1);
+            left = task.join();
+        } else {
+            left = merge(op, split.left, map, x.left, h, 0);
+            right = merge(op, split.right, map, x.right, h, 0);
+        }
+        Node<K, V> k = split.found;
+        if (op == Operation.UNION) {
+            if (k == null) {
+                k = newNode(x.getKey(), x.getValue());
+            } else {
+                k.setValue(x.getValue());
+            }
+        } else if (op == Operation.DIFFERENCE) {
+            k = null;
+        }
+        Tree<K, V> joined = k == null ? join(left, right) : join(left, k, right);
+        return new Tree<>(joined.root, joined.height, left.matched + right.matched + (split.found == null ? 0 : 1));
+    }
+
+    private Node<K, V> copy(TreeMap<K, V> map, Node<K, V> x) {
+        if (x == map.nil) {
+            return nil;
+        }
+        Node<K, V> y = newNode(x.getKey(), x.getValue());
+        y.parent = nil;
+        y.color = x.color;
+        y.left = copy(map, x.left);
+        y.right = copy(map, x.right);
+        adopt(y);
+        update(y);
+        return y;
+    }
+
+    /**
+     * Removes the entries whose keys are equal to or follow the specified {@code key} from this {@code TreeMap}, and
+     * provides them as a new {@code TreeMap} sorted on the same order. The tree is split in logarithmic time, after
+     * which the smaller of the two parts is counted and given its own sentinel, so the whole takes {@code O(log n +
+     * min(k, n - k))} time when {@code k} entries are removed.
+     *
+     * @param key the specified key
+     * @return a {@code TreeMap} of the entries from {@code key} on
+     */
+    public TreeMap<K, V> splitAt(final K key) {
+        TreeMap<K, V> tail = emptyCopy();
+        Tree<K, V> tree = new Tree<>(root, blackHeight(root), 0);
+        root = nil;
+        Split<K, V> split = split(tree, key);
+        Tree<K, V> left = split.left, right = split.right;
+        if (split.found != null) {
+            right = join(new Tree<>(nil, 0, 0), split.found, right);
+        }
+        Node<K, V> a = minimum(left.root), b = minimum(right.root);
+        int n = 0;
+        while (a != nil && b != nil) {
+            a = successor(a);
+            b = successor(b);
+            n++;
+        }
+        int count;
+        if (a == nil) {
+            Node<K, V> sentinel = tail.nil;
+            tail.nil = nil;
+            nil = sentinel;
+            repoint(left.root, tail.nil, nil);
+            root = left.root == tail.nil ? nil : left.root;
+            tail.root = right.root;
+            count = n;
+        } else {
+            repoint(right.root, nil, tail.nil);
+            root = left.root;
+            tail.root = right.root == nil ? tail.nil : right.root;
+            count = size - n;
+        }
+        root.color = BLACK;
+        tail.root.color = BLACK;
+        tail.size = size - count;
+        size = count;
+        return tail;
+    }
+
+    /**
+     * Constructs a new, empty {@code TreeMap} sorted on the same order as this one, that maintains the same
+     * information about its subtrees.
+     */
+    TreeMap<K, V> emptyCopy() {
+        return new TreeMap<>(comp, counted, aggregator);
+    }
+
+    private static <K, V> void repoint(Node<K, V> x, Node<K, V> from, Node<K, V> to) {
+        if (x == from) {
+            return;
+        }
+        if (x.parent == from) {
+            x.parent = to;
+        }
+        if (x.left == from) {
+            x.left = to;
+        } else {
+            repoint(x.left, from, to);
+        }
+        if (x.right == from) {
+            x.right = to;
+        } else {
+            repoint(x.right, from, to);
+        }
+    }
+
+    /**
+     * Splits the detached subtree {@code tree} into those keys that precede the specified {@code key} and those that
+     * follow it, each joined into a detached subtree. The node holding the specified {@code key}, if any, belongs to
+     * neither.
+     */
+    private Split<K, V> split(Tree<K, V> tree, K key) {
+        Node<K, V> x = tree.root;
+        if (x == nil) {
+            return new Split<>(tree, null, tree);
+        }
+        int h = tree.height - (x.color == BLACK ? 1 : 0);
+        Tree<K, V> left = new Tree<>(orphan(x.left), h, 0), right = new Tree<>(orphan(x.right), h, 0);
+        int c = compare(key, x.getKey());
+        if (c == 0) {
+            return new Split<>(left, x, right);
+        }
+        if (c < 0) {
+            Split<K, V> split = split(left, key);
+            return new Split<>(split.left, split.found, join(split.right, x, right));
+        }
+        Split<K, V> split = split(right, key);
+        return new Split<>(join(left, x, split.left), split.found, split.right);
+    }
+
+    /**
+     * Joins the detached subtrees {@code left} and {@code right}, whose keys all precede those of the latter, through
+     * the node {@code k}, whose key falls between them. The taller subtree is descended along its inner spine to a
+     * black node of the shorter one's black height, where {@code k} is attached as a red node and the tree is
+     * repaired on the way back up, so this takes time proportional to the difference in their black heights.
+     */
+    private Tree<K, V> join(Tree<K, V> left, Node<K, V> k, Tree<K, V> right) {
+        Node<K, V> a = left.root, b = right.root;
+        int ha = left.height, hb = right.height;
+        if (a.color == RED) {
+            a.color = BLACK;
+            ha++;
+        }
+        if (b.color == RED) {
+            b.color = BLACK;
+            hb++;
+        }
+        if (ha == hb) {
+            k.parent = nil;
+            k.left = a;
+            k.right = b;
+            k.color = BLACK;
+            adopt(k);
+            update(k);
+            return new Tree<>(k, ha + 1, 0);
+        }
+        Node<K, V> top = ha > hb ? joinRight(a, k, b, ha - hb) : joinLeft(a, k, b, hb - ha);
+        int height = Math.max(ha, hb);
+        if (top.color == RED) {
+            top.color = BLACK;
+            height++;
+        }
+        return new Tree<>(top, height, 0);
+    }
+
+    private Node<K, V> joinRight(Node<K, V> a, Node<K, V> k, Node<K, V> b, int difference) {
+        Node<K, V> c = a;
+        Node<K, V> p = nil;
+        while (c.color == RED || difference > 0) {
+            if (c.color == BLACK) {
+                difference--;
+            }
+            p = c;
+            c = c.right;
+        }
+        p.right = k;
+        k.parent = p;
+        k.left = c;
+        k.right = b;
+        k.color = RED;
+        adopt(k);
+        for (Node<K, V> x = k; x != nil; x = x.parent) {
+            update(x);
+        }
+        Node<K, V> z = k;
+        while (z.parent.color == RED) {
+            Node<K, V> g = z.parent.parent;
+            if (g.left.color == RED) {
+                z.parent.color = BLACK;
+                g.left.color = BLACK;
+                g.color = RED;
+                z = g;
+            } else {
+                z.parent.color = BLACK;
+                g.color = RED;
+                rotateLeft(g);
+                break;
+            }
+        }
+        while (z.parent != nil) {
+            z = z.parent;
+        }
+        return z;
+    }
+
+    private Node<K, V> joinLeft(Node<K, V> a, Node<K, V> k, Node<K, V> b, int difference) {
+        Node<K, V> c = b;
+        Node<K, V> p = nil;
+        while (c.color == RED || difference > 0) {
+            if (c.color == BLACK) {
+                difference--;
+            }
+            p = c;
+            c = c.left;
+        }
+        p.left = k;
+        k.parent = p;
+        k.left = a;
+        k.right = c;
+        k.color = RED;
+        adopt(k);
+        for (Node<K, V> x = k; x != nil; x = x.parent) {
+            update(x);
+        }
+        Node<K, V> z = k;
+        while (z.parent.color == RED) {
+            Node<K, V> g = z.parent.parent;
+            if (g.right.color == RED) {
+                z.parent.color = BLACK;
+                g.right.color = BLACK;
+                g.color = RED;
+                z = g;
+            } else {
+                z.parent.color = BLACK;
+                g.color = RED;
+                rotateRight(g);
+                break;
+            }
+        }
+        while (z.parent != nil) {
+            z = z.parent;
+        }
+        return z;
+    }
+
+    /**
+     * Joins the detached subtrees {@code left} and {@code right}, whose keys all precede those of the latter, through
+     * the last node of {@code left}.
+     */
+    private Tree<K, V> join(Tree<K, V> left, Tree<K, V> right) {
+        if (left.root == nil) {
+            return right;
+        }
+        if (right.root == nil) {
+            return left;
+        }
+        Split<K, V> split = split(left, maximum(left.root).getKey());
+        return join(split.left, split.found, right);
+    }
+
+    private void adopt(Node<K, V> x) {
+        if (x.left != nil) {
+            x.left.parent = x;
+        }
+        if (x.right != nil) {
+            x.right.parent = x;
+        }
+    }
+
+    private Node<K, V> orphan(Node<K, V> x) {
+        if (x != nil) {
+            x.parent = nil;
+        }
+        return x;
+    }
+
+    private int blackHeight(Node<K, V> x) {
+        int height = 0;
+        for (; x != nil; x = x.left) {
+            if (x.color == BLACK) {
+                height++;
+            }
+        }
+        return height;
+    }
+
+    @Override
+    public V get(final K key) {
+        return search(getRootOrThrow(), key).getValue();
+    }
+
+    @Override
+    public Entry<K, V> getFirst() {
+        return minimum(getRootOrThrow());
+    }
+
+    @Override
+    public Entry<K, V> getLast() {
+        return maximum(getRootOrThrow());
+    }
+
+    @Override
+    public Entry<K, V> getPrevious(final K key) {
+        return existing(predecessor(search(getRootOrThrow(), key)));
+    }
+
+    @Override
+    public Entry<K, V> getNext(final K key) {
+        return existing(successor(search(getRootOrThrow(), key)));
+    }
+
+    @Override
+    public Entry<K, V> floor(final K key) {
+        getRootOrThrow();
+        return existing(floorNode(key, true));
+    }
+
+    @Override
+    public Entry<K, V> ceiling(final K key) {
+        getRootOrThrow();
+        return existing(ceilingNode(key, true));
+    }
+
+    @Override
+    public Entry<K, V> lower(final K key) {
+        getRootOrThrow();
+        return existing(floorNode(key, false));
+    }
+
+    @Override
+    public Entry<K, V> higher(final K key) {
+        getRootOrThrow();
+        return existing(ceilingNode(key, false));
+    }
+
+    private Node<K, V> search(Node<K, V> root, K key) {
+        return existing(lookup(root, key));
+    }
+
+    /**
+     * Provides the node beneath the specified {@code root} whose key is equal to the specified {@code key}, or {@code
+     * nil} if there is none. Each node visited costs one comparison, which decides both whether the keys are equal and
+     * which way to go if they are not.
+     */
+    private Node<K, V> lookup(Node<K, V> root, K key) {
+        while (root != nil) {
+            int c = compare(key, root.getKey());
+            if (c == 0) {
+                return root;
+            }
+            root = c < 0 ? root.left : root.right;
+        }
+        return nil;
+    }
+
+    /**
+     * Retrieves the entry in this {@code TreeMap} whose key is equivalent to the specified {@code key}. The search is
+     * guided by the specified {@code order}, which must be consistent with this {@code TreeMap}'s {@code Comparator}
+     * wherever it does not return zero. Where it does, both subtrees are searched.
+     *
+     * @param key the specified key
+     * @param order the specified partial order on keys
+     * @param equivalence the specified key equivalence
+     * @return the entry whose key is equivalent to the specified {@code key}, or {@code null} if there is none
+     */
+    AbstractEntry<K, V> find(K key, Comparator<? super K> order, BiPredicate<? super K, ? super K> equivalence) {
+        return find(root, key, order, equivalence);
+    }
+
+    private Node<K, V> find(Node<K, V> x, K key, Comparator<? super K> order,
+                            BiPredicate<? super K, ? super K> equivalence) {
+        while (x != nil) {
+            if (equivalence.test(key, x.getKey())) {
+                return x;
+            }
+            int c = order.compare(key, x.getKey());
+            if (c < 0) {
+                x = x.left;
+            } else if (c > 0) {
+                x = x.right;
+            } else {
+                Node<K, V> found = find(x.right, key, order, equivalence);
+                if (found != null) {
+                    return found;
+                }
+                x = x.left;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes the specified entry from this {@code TreeMap}.
+     *
+     * @param entry the specified entry, which must belong to this {@code TreeMap}
+     */
+    void unlink(Entry<K, V> entry) {
+        delete((Node<K, V>)entry);
+    }
+
+    private int compare(K a, K b) {
+        if (a == null) {
+            return b == null ? 0 : -1;
+        }
+        if (b == null) {
+            return 1;
+        }
+        return comp.compare(a, b);
+    }
+
+    /**
+     * Provides the node with the least key greater than, or if {@code inclusive} is {@code true}, equal to the
+     * specified {@code key}, or {@code nil} if there is none.
+     */
+    private Node<K, V> ceilingNode(K key, boolean inclusive) {
+        Node<K, V> x = root, result = nil;
+        while (x != nil) {
+            int c = compare(key, x.getKey());
+            if (c == 0 && inclusive) {
+                return x;
+            }
+            if (c < 0) {
+                result = x;
+                x = x.left;
+            } else {
+                x = x.right;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Provides the node with the greatest key less than, or if {@code inclusive} is {@code true}, equal to the
+     * specified {@code key}, or {@code nil} if there is none.
+     */
+    private Node<K, V> floorNode(K key, boolean inclusive) {
+        Node<K, V> x = root, result = nil;
+        while (x != nil) {
+            int c = compare(key, x.getKey());
+            if (c == 0 && inclusive) {
+                return x;
+            }
+            if (c > 0) {
+                result = x;
+                x = x.right;
+            } else {
+                x = x.left;
+            }
+        }
+        return result;
+    }
+
+    private Node<K, V> minimum(Node<K, V> root) {
+        while (root.left != nil) {
+            root = root.left;
+        }
+        return root;
+    }
+
+    private Node<K, V> maximum(Node<K, V> root) {
+        while (root.right != nil) {
+            root = root.right;
+        }
+        return root;
+    }
+
+    private Node<K, V> predecessor(Node<K, V> x) {
+        if (x.left != nil) {
+            return maximum(x.left);
+        }
+        Node<K, V> y = x.parent;
+        while (y != nil && x == y.left) {
+            x = y;
+            y = y.parent;
+        }
+        return y;
+    }
+
+    private Node<K, V> successor(Node<K, V> x) {
+        if (x.right != nil) {
+            return minimum(x.right);
+        }
+        Node<K, V> y = x.parent;
+        while (y != nil && x == y.right) {
+            x = y;
+            y = y.parent;
+        }
+        return y;
+    }
+
+    private Node<K, V> getRootOrThrow() {
+        if (isEmpty()) {
+            throw new IllegalStateException();
+        }
+        return root;
+    }
+
+    private Node<K, V> existing(Node<K, V> x) {
+        if (x == nil) {
+            throw new NoSuchElementException();
+        }
+        return x;
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(final K from, final boolean fromInclusive, final K to, final boolean toInclusive) {
+        return new SubMap(false, from, fromInclusive, false, to, toInclusive, false);
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(final K from, final K to) {
+        return subMap(from, true, to, false);
+    }
+
+    @Override
+    public SortedMap<K, V> headMap(final K to, final boolean inclusive) {
+        return new SubMap(true, null, false, false, to, inclusive, false);
+    }
+
+    @Override
+    public SortedMap<K, V> headMap(final K to) {
+        return headMap(to, false);
+    }
+
+    @Override
+    public SortedMap<K, V> tailMap(final K from, final boolean inclusive) {
+        return new SubMap(false, from, inclusive, true, null, false, false);
+    }
+
+    @Override
+    public SortedMap<K, V> tailMap(final K from) {
+        return tailMap(from, true);
+    }
+
+    @Override
+    public SortedMap<K, V> descendingMap() {
+        return new SubMap(true, null, false, true, null, false, true);
+    }
+
+    /**
+     * A view of the entries of this {@code TreeMap} whose keys lie between a low and a high bound, either of which may
+     * be absent. Its operations are those of this {@code TreeMap} restricted to the range, and taken in reverse if the
+     * view is descending. Its size is found from subtree sizes if this {@code TreeMap} is counted, and otherwise by
+     * walking the range.
+     */
+    private final class SubMap extends AbstractMap<K, V> implements SortedMap<K, V> {
+
+        final K lo, hi;
+        final boolean fromStart, loInclusive, toEnd, hiInclusive, descending;
+
+        SubMap(boolean fromStart, K lo, boolean loInclusive, boolean toEnd, K hi, boolean hiInclusive,
+               boolean descending) {
+            if (!fromStart && !toEnd && compare(lo, hi) > 0) {
+                throw new IllegalArgumentException("Low key after high key.");
+            }
+            this.fromStart = fromStart;
+            this.lo = lo;
+            this.loInclusive = loInclusive;
+            this.toEnd = toEnd;
+            this.hi = hi;
+            this.hiInclusive = hiInclusive;
+            this.descending = descending;
+        }
+
+        @Override
+        protected void init() {
+            Iterator<Entry<K, V>> iterator = entrySet().iterator();
+            while (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+
+        @Override
+        public boolean contains(final K key) {
+            return inRange(key) && TreeMap.this.contains(key);
+        }
+
+        @Override
+        public int size() {
+            if (counted) {
+                int high = toEnd ? TreeMap.this.size : rank(hi, hiInclusive);
+                return Math.max(high - (fromStart ? 0 : rank(lo, !loInclusive)), 0);
+            }
+            int size = 0;
+            for (Node<K, V> x = first(); x != nil; x = after(x)) {
+                size++;
+            }
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return first() == nil;
+        }
+
+        @Override
+        public Optional<V> put(final K key, final V value) {
+            if (!inRange(key)) {
+                throw new IllegalArgumentException("Key out of range.");
+            }
+            return TreeMap.this.put(key, value);
+        }
+
+        @Override
+        public V remove(final K key) {
+            return delete(find(key)).getValue();
+        }
+
+        @Override
+        public Entry<K, V> removeFirst() {
+            return delete(firstOrThrow());
+        }
+
+        @Override
+        public Entry<K, V> removeLast() {
+            return delete(lastOrThrow());
+        }
+
+        @Override
+        public Entry<K, V> removePrevious(final K key) {
+            return delete(existing(before(find(key))));
+        }
+
+        @Override
+        public Entry<K, V> removeNext(final K key) {
+            return delete(existing(after(find(key))));
+        }
+
+        @Override
+        public V get(final K key) {
+            return find(key).getValue();
+        }
+
+        @Override
+        public Entry<K, V> getFirst() {
+            return firstOrThrow();
+        }
+
+        @Override
+        public Entry<K, V> getLast() {
+            return lastOrThrow();
+        }
+
+        @Override
+        public Entry<K, V> getPrevious(final K key) {
+            return existing(before(find(key)));
+        }
+
+        @Override
+        public Entry<K, V> getNext(final K key) {
+            return existing(after(find(key)));
+        }
+
+        @Override
+        public Entry<K, V> floor(final K key) {
+            return existing(descending ? ceilingIn(key, true) : floorIn(key, true));
+        }
+
+        @Override
+        public Entry<K, V> ceiling(final K key) {
+            return existing(descending ? floorIn(key, true) : ceilingIn(key, true));
+        }
+
+        @Override
+        public Entry<K, V> lower(final K key) {
+            return existing(descending ? ceilingIn(key, false) : floorIn(key, false));
+        }
+
+        @Override
+        public Entry<K, V> higher(final K key) {
+            return existing(descending ? floorIn(key, false) : ceilingIn(key, false));
+        }
+
+        @Override
+        public SortedMap<K, V> subMap(final K from, final boolean fromInclusive, final K to,
+                                      final boolean toInclusive) {
+            if (descending) {
+                return range(false, to, toInclusive, false, from, fromInclusive);
+            }
+            return range(false, from, fromInclusive, false, to, toInclusive);
+        }
+
+        @Override
+        public SortedMap<K, V> subMap(final K from, final K to) {
+            return subMap(from, true, to, false);
+        }
+
+        @Override
+        public SortedMap<K, V> headMap(final K to, final boolean inclusive) {
+            if (descending) {
+                return range(false, to, inclusive, true, null, false);
+            }
+            return range(true, null, false, false, to, inclusive);
+        }
+
+        @Override
+        public SortedMap<K, V> headMap(final K to) {
+            return headMap(to, false);
+        }
+
+        @Override
+        public SortedMap<K, V> tailMap(final K from, final boolean inclusive) {
+            if (descending) {
+                return range(true, null, false, false, from, inclusive);
+            }
+            return range(false, from, inclusive, true, null, false);
+        }
+
+        @Override
+        public SortedMap<K, V> tailMap(final K from) {
+            return tailMap(from, true);
+        }
+
+        @Override
+        public SortedMap<K, V> descendingMap() {
+            return new SubMap(fromStart, lo, loInclusive, toEnd, hi, hiInclusive, !descending);
+        }
+
+        /**
+         * Provides a view of the specified range, in the direction of this view, where an absent bound is that of
+         * this view.
+         */
+        private SubMap range(boolean fromStart, K lo, boolean loInclusive, boolean toEnd, K hi, boolean hiInclusive) {
+            if (fromStart) {
+                fromStart = this.fromStart;
+                lo = this.lo;
+                loInclusive = this.loInclusive;
+            } else if (!inRange(lo, loInclusive)) {
+                throw new IllegalArgumentException("Key out of range.");
+            }
+            if (toEnd) {
+                toEnd = this.toEnd;
+                hi = this.hi;
+                hiInclusive = this.hiInclusive;
+            } else if (!inRange(hi, hiInclusive)) {
+                throw new IllegalArgumentException("Key out of range.");
+            }
+            return new SubMap(fromStart, lo, loInclusive, toEnd, hi, hiInclusive, descending);
+        }
+
+        private boolean tooLow(K key) {
+            if (fromStart) {
+                return false;
+            }
+            int c = compare(key, lo);
+            return c < 0 || c == 0 && !loInclusive;
+        }
+
+        private boolean tooHigh(K key) {
+            if (toEnd) {
+                return false;
+            }
+            int c = compare(key, hi);
+            return c > 0 || c == 0 && !hiInclusive;
+        }
+
+        private boolean inRange(K key) {
+            return !tooLow(key) && !tooHigh(key);
+        }
+
+        /**
+         * Determines whether or not the specified {@code key} may bound a view within this one: it must be in range if
+         * it is to be included, and otherwise may also be an excluded bound of this view.
+         */
+        private boolean inRange(K key, boolean inclusive) {
+            if (inclusive) {
+                return inRange(key);
+            }
+            return (fromStart || compare(key, lo) >= 0) && (toEnd || compare(key, hi) <= 0);
+        }
+
+        private Node<K, V> find(K key) {
+            if (isEmpty()) {
+                throw new IllegalStateException();
+            }
+            if (!inRange(key)) {
+                throw new NoSuchElementException();
+            }
+            return search(root, key);
+        }
+
+        private Node<K, V> lowest() {
+            Node<K, V> x = fromStart ? minimum(root) : ceilingNode(lo, loInclusive);
+            return x == nil || tooHigh(x.getKey()) ? nil : x;
+        }
+
+        private Node<K, V> highest() {
+            Node<K, V> x = toEnd ? maximum(root) : floorNode(hi, hiInclusive);
+            return x == nil || tooLow(x.getKey()) ? nil : x;
+        }
+
+        private Node<K, V> floorIn(K key, boolean inclusive) {
+            if (isEmpty()) {
+                throw new IllegalStateException();
+            }
+            if (tooHigh(key)) {
+                return highest();
+            }
+            Node<K, V> x = floorNode(key, inclusive);
+            return x == nil || tooLow(x.getKey()) ? nil : x;
+        }
+
+        private Node<K, V> ceilingIn(K key, boolean inclusive) {
+            if (isEmpty()) {
+                throw new IllegalStateException();
+            }
+            if (tooLow(key)) {
+                return lowest();
+            }
+            Node<K, V> x = ceilingNode(key, inclusive);
+            return x == nil || tooHigh(x.getKey()) ? nil : x;
+        }
+
+        /**
+         * Provides the node just beyond the last of this view in its direction, at which iteration stops.
+         */
+        private Node<K, V> fence() {
+            if (descending) {
+                return fromStart ? nil : floorNode(lo, !loInclusive);
+            }
+            return toEnd ? nil : ceilingNode(hi, !hiInclusive);
+        }
+
+        private Node<K, V> first() {
+            return descending ? highest() : lowest();
+        }
+
+        private Node<K, V> last() {
+            return descending ? lowest() : highest();
+        }
+
+        private Node<K, V> after(Node<K, V> x) {
+            x = descending ? predecessor(x) : successor(x);
+            return x == nil || !inRange(x.getKey()) ? nil : x;
+        }
+
+        private Node<K, V> before(Node<K, V> x) {
+            x = descending ? successor(x) : predecessor(x);
+            return x == nil || !inRange(x.getKey()) ? nil : x;
+        }
+
+        private Node<K, V> firstOrThrow() {
+            Node<K, V> x = first();
+            if (x == nil) {
+                throw new IllegalStateException();
+            }
+            return x;
+        }
+
+        private Node<K, V> lastOrThrow() {
+            Node<K, V> x = last();
+            if (x == nil) {
+                throw new IllegalStateException();
+            }
+            return x;
+        }
+
+        private transient Set<Entry<K, V>> entries;
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            Set<Entry<K, V>> entries = this.entries;
+            if (entries == null) {
+                entries = new MinSet<>() {
+
+                    @Override
+                    public void clear() {
+                        SubMap.this.clear();
+                    }
+
+                    @Override
+                    public boolean contains(final Entry<K, V> entry) {
+                        if (SubMap.this.contains(entry.getKey())) {
+                            return areEqual(TreeMap.this.get(entry.getKey()), entry.getValue());
+                        }
+                        return false;
+                    }
+
+                    @Override
+                    public int size() {
+                        return SubMap.this.size();
+                    }
+
+                    @Override
+                    public boolean isEmpty() {
+                        return SubMap.this.isEmpty();
+                    }
+
+                    @Override
+                    public Iterator<Entry<K, V>> iterator() {
+                        return new Iterator<>() {
+                            final Node<K, V> fence = fence();
+                            Node<K, V> current = first(), last;
+                            boolean removable = false;
+
+                            @Override
+                            public boolean hasNext() {
+                                return current != nil && current != fence;
+                            }
+
+                            @Override
+                            public Entry<K, V> next() {
+                                if (!hasNext()) {
+                                    throw new NoSuchElementException();
+                                }
+                                removable = true;
+                                last = current;
+                                current = descending ? predecessor(current) : successor(current);
+                                return last;
+                            }
+
+                            @Override
+                            public void remove() {
+                                if (!removable) {
+                                    throw new IllegalStateException();
+                                }
+                                removable = false;
+                                delete(last);
+                            }
+
+                        };
+                    }
+
+                    private static final long serialVersionUID = -4106734312573154386L;
+
+                };
+                this.entries = entries;
+            }
+            return entries;
+        }
+
+        private static final long serialVersionUID = 5384027365014436527L;
+
+    }
+
+    private transient Set<Entry<K, V>> entries;
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> entries = this.entries;
+        if (entries == null) {
+            entries = new MinSet<>() {
+
+                @Override
+                public void clear() {
+                    TreeMap.this.clear();
+                }
+
+                @Override
+                public boolean contains(final Entry<K, V> entry) {
+                    if (TreeMap.this.contains(entry.getKey())) {
+                        return areEqual(get(entry.getKey()), entry.getValue());
+                    }
+                    return false;
+                }
+
+                @Override
+                public int size() {
+                    return TreeMap.this.size;
+                }
 
                 @Override
                 public boolean isEmpty() {
@@ -509,12 +1928,16 @@ public class TreeMap<K, V> extends AbstractMap<K, V> implements OrderedMap<K, V>
         stream.defaultReadObject();
         int size = validateSize(stream.readInt());
         comp = (Comparator<K>)validateObject(stream.readObject());
-        init();
+        K[] keys = (K[])new Object[size];
+        V[] values = (V[])new Object[size];
         for (int i = 0; i < size; i++) {
-            K key = (K)stream.readObject();
-            V value = (V)stream.readObject();
-            put(key, value);
+            keys[i] = (K)stream.readObject();
+            values[i] = (V)stream.readObject();
+        }
+        if (!isAscending(keys)) {
+            throw new InvalidObjectException("Keys not in ascending order.");
         }
+        build(keys, values);
     }
 
 }
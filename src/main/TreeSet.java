@@ -11,7 +11,7 @@ import java.util.Comparator;
  * @param <E> the type of element in this {@code TreeSet}
  * @author Jeff Wilgus
  */
-public class TreeSet<E> extends AbstractSet<E> implements OrderedSet<E> {
+public class TreeSet<E> extends AbstractSet<E> implements SortedSet<E> {
 
     /**
      * Constructs a new {@code TreeSet} object.
@@ -29,6 +29,11 @@ public class TreeSet<E> extends AbstractSet<E> implements OrderedSet<E> {
         map = new TreeMap<>(comp);
     }
 
+    private TreeSet(TreeMap<E, Void> map) {
+        this.map = map;
+        size = map.size();
+    }
+
     @Override
     public E removeFirst() {
         return map().removeFirst().getKey();
@@ -69,6 +74,75 @@ public class TreeSet<E> extends AbstractSet<E> implements OrderedSet<E> {
         return map().getNext(element).getKey();
     }
 
+    @Override
+    public E floor(final E element) {
+        return map().floor(element).getKey();
+    }
+
+    @Override
+    public E ceiling(final E element) {
+        return map().ceiling(element).getKey();
+    }
+
+    @Override
+    public E lower(final E element) {
+        return map().lower(element).getKey();
+    }
+
+    @Override
+    public E higher(final E element) {
+        return map().higher(element).getKey();
+    }
+
+    /**
+     * Adds the elements of the specified {@code TreeSet} to this one. If both are sorted on equal {@code Comparator}s,
+     * this takes {@code O(m log(n / m + 1))} time for sets of sizes {@code m <= n}, plus the time to copy the elements
+     * that are new to this {@code TreeSet}. The specified {@code TreeSet} is not modified.
+     *
+     * @param set the specified {@code TreeSet}
+     */
+    public void union(final TreeSet<E> set) {
+        map().union(set.map());
+        size = map.size();
+    }
+
+    /**
+     * Removes the elements of this {@code TreeSet} that do not belong to the specified {@code TreeSet}. If both are
+     * sorted on equal {@code Comparator}s, this takes {@code O(m log(n / m + 1))} time for sets of sizes {@code m <=
+     * n}. The specified {@code TreeSet} is not modified.
+     *
+     * @param set the specified {@code TreeSet}
+     */
+    public void intersection(final TreeSet<E> set) {
+        map().intersection(set.map());
+        size = map.size();
+    }
+
+    /**
+     * Removes the elements of this {@code TreeSet} that belong to the specified {@code TreeSet}. If both are sorted on
+     * equal {@code Comparator}s, this takes {@code O(m log(n / m + 1))} time for sets of sizes {@code m <= n}. The
+     * specified {@code TreeSet} is not modified.
+     *
+     * @param set the specified {@code TreeSet}
+     */
+    public void difference(final TreeSet<E> set) {
+        map().difference(set.map());
+        size = map.size();
+    }
+
+    /**
+     * Removes the elements that are equal to or follow the specified {@code element} from this {@code TreeSet}, and
+     * provides them as a new {@code TreeSet} sorted on the same order.
+     *
+     * @param element the specified element
+     * @return a {@code TreeSet} of the elements from {@code element} on
+     */
+    public TreeSet<E> splitAt(final E element) {
+        TreeSet<E> tail = new TreeSet<>(map().splitAt(element));
+        size = map.size();
+        return tail;
+    }
+
     private TreeMap<E, Void> map() {
         return (TreeMap<E, Void>)map;
     }
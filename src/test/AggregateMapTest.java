@@ -0,0 +1,153 @@
+package test;
+
+import main.AggregateMap;
+import main.Entry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import util.Aggregator;
+
+import java.io.*;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+
+@TestMethodOrder(OrderAnnotation.class)
+class AggregateMapTest {
+
+    private static final class Sum implements Aggregator<TestObject, Integer, Long>, Serializable {
+
+        @Override
+        public Long identity() {
+            return 0L;
+        }
+
+        @Override
+        public Long measure(TestObject key, Integer value) {
+            return (long)value;
+        }
+
+        @Override
+        public Long combine(Long left, Long right) {
+            return left + right;
+        }
+
+        private static final long serialVersionUID = 1L;
+
+    }
+
+    private static final class Concatenation implements Aggregator<TestObject, Integer, String> {
+
+        @Override
+        public String identity() {
+            return "";
+        }
+
+        @Override
+        public String measure(TestObject key, Integer value) {
+            return String.valueOf(value);
+        }
+
+        @Override
+        public String combine(String left, String right) {
+            return left + right;
+        }
+
+    }
+
+    private static long sum(int from, int to) {
+        return (long)(to - from) * (from + to - 1) / 2;
+    }
+
+    private AggregateMap<TestObject, Integer, Long> empty, sums;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        empty = new AggregateMap<>(new Sum());
+        sums = new AggregateMap<>(new Sum());
+        for (int i = 0; i < SIZE; i++) {
+            sums.put(new TestObject(i), i);
+        }
+    }
+
+    @Test
+    void aggregate() {
+        assertEquals(0L, empty.aggregate());
+        assertEquals(sum(0, SIZE), sums.aggregate());
+        assertEquals(sum(10, 20), sums.aggregate(new TestObject(10), new TestObject(20)));
+        assertEquals(sum(10, 21), sums.aggregate(new TestObject(10), true, new TestObject(20), true));
+        assertEquals(sum(11, 20), sums.aggregate(new TestObject(10), false, new TestObject(20), false));
+        assertEquals(0L, sums.aggregate(new TestObject(SIZE), new TestObject(SIZE + 1)));
+        assertThrows(IllegalArgumentException.class, () -> sums.aggregate(new TestObject(1), new TestObject(0)));
+    }
+
+    @Test
+    void put() {
+        sums.put(new TestObject(10), 0);
+        assertEquals(sum(0, SIZE) - 10, sums.aggregate());
+        assertEquals(sum(11, 20), sums.aggregate(new TestObject(10), new TestObject(20)));
+    }
+
+    @Test
+    void remove() {
+        for (int i = 0; i < SIZE; i += 2) {
+            sums.remove(new TestObject(i));
+        }
+        long odd = 0;
+        for (int i = 1; i < SIZE; i += 2) {
+            odd += i;
+        }
+        assertEquals(odd, sums.aggregate());
+        Iterator<Entry<TestObject, Integer>> iterator = sums.entrySet().iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        assertEquals(0L, sums.aggregate());
+    }
+
+    @Test
+    void order() {
+        AggregateMap<TestObject, Integer, String> digits = new AggregateMap<>(new Concatenation());
+        for (int i = 9; i >= 0; i--) {
+            digits.put(new TestObject(i), i);
+        }
+        assertEquals("0123456789", digits.aggregate());
+        assertEquals("3456", digits.aggregate(new TestObject(3), new TestObject(7)));
+        digits.removeFirst();
+        digits.removeLast();
+        assertEquals("12345678", digits.aggregate());
+    }
+
+    @Test
+    @Order(1)
+    void writeObject() {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(PATH + "AggregateMap.dat"))) {
+            out.writeObject(sums);
+            PREV = sums;
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void readObject() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(PATH + "AggregateMap.dat"))) {
+            @SuppressWarnings("unchecked")
+            AggregateMap<TestObject, Integer, Long> map = (AggregateMap<TestObject, Integer, Long>)in.readObject();
+            assertEquals(PREV, map);
+            assertEquals(sum(0, SIZE), map.aggregate());
+        } catch (ClassNotFoundException | IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+}
@@ -0,0 +1,261 @@
+package test;
+
+import main.ArrayList;
+import main.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.SIZE;
+import static test.TestUtils.VALUE;
+
+class ArrayListTest {
+
+    private ArrayList<TestObject> empty, full, compact;
+
+    @BeforeEach
+    void setUp() {
+        empty = new ArrayList<>();
+        full = new ArrayList<>();
+        compact = new ArrayList<>(true);
+        for (int i = 0; i < SIZE; i++) {
+            full.add(i, new TestObject(i));
+            compact.add(i, new TestObject(i));
+        }
+    }
+
+    @Test
+    void add() {
+        assertThrows(IndexOutOfBoundsException.class, () -> empty.add(1, null));
+        TestObject object = TestObject.random();
+        assertEquals(full.add(SIZE, object).getElement(), full.getLast());
+        assertEquals(compact.add(SIZE, object).getElement(), compact.getLast());
+        assertEquals(full, compact);
+    }
+
+    @Test
+    void addBefore() {
+        assertThrows(NullPointerException.class, () -> compact.addBefore(null, null));
+        assertThrows(IllegalArgumentException.class, () -> compact.addBefore(empty.addFirst(null), null));
+        assertEquals(compact.addBefore(compact.addFirst(TestObject.random()), TestObject.random()).getElement(),
+                     compact.getFirst());
+        assertEquals(SIZE + 2, compact.size());
+    }
+
+    @Test
+    void addAfter() {
+        assertThrows(NullPointerException.class, () -> compact.addAfter(null, null));
+        assertThrows(IllegalArgumentException.class, () -> compact.addAfter(empty.addLast(null), null));
+        assertEquals(compact.addAfter(compact.addLast(TestObject.random()), TestObject.random()).getElement(),
+                     compact.getLast());
+        assertEquals(SIZE + 2, compact.size());
+    }
+
+    @Test
+    void capacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ArrayList<>(false, -1, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ArrayList<>(false, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ArrayList<>(false, 0, Double.NaN));
+        ArrayList<TestObject> list = new ArrayList<>(true, 0, 1.25);
+        for (int i = 0; i < SIZE; i++) {
+            list.addLast(new TestObject(i));
+        }
+        assertEquals(compact, list);
+        list.trimToSize();
+        list.ensureCapacity(SIZE << 2);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i, list.removeFirst().getState());
+        }
+        list.trimToSize();
+        list.addLast(VALUE);
+        assertEquals(VALUE, list.getFirst());
+    }
+
+    @Test
+    void wrapAround() {
+        for (int i = 0; i < SIZE; i++) {
+            full.addLast(full.removeFirst());
+            compact.addFirst(compact.removeLast());
+        }
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i, full.get(i).getState());
+        }
+        assertEquals(full, compact);
+        Position<TestObject> position = full.positionOf(new TestObject(SIZE >> 1));
+        full.add(1, null);
+        full.add(SIZE - 1, null);
+        assertEquals((SIZE >> 1) + 1, full.getNext(position).getState());
+        assertNull(full.remove(1));
+        assertNull(full.remove(SIZE - 2));
+        assertEquals(compact, full);
+    }
+
+    @Test
+    void remove() {
+        assertThrows(IllegalStateException.class, () -> empty.remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> compact.remove(SIZE));
+        for (int i = 0; i < SIZE; i += 2) {
+            assertEquals(full.remove(i >> 1), compact.remove(i >> 1));
+        }
+        assertEquals(SIZE >> 1, compact.size());
+        assertEquals(1, compact.getFirst().getState());
+        assertEquals(full, compact);
+    }
+
+    @Test
+    void removePrevious() {
+        assertThrows(IllegalStateException.class, () -> empty.removePrevious(null));
+        assertThrows(NullPointerException.class, () -> compact.removePrevious(null));
+        assertEquals(SIZE - 1, compact.removePrevious(compact.addLast(TestObject.random())).getState());
+    }
+
+    @Test
+    void removeNext() {
+        assertThrows(IllegalStateException.class, () -> empty.removeNext(null));
+        assertThrows(NullPointerException.class, () -> compact.removeNext(null));
+        assertEquals(0, compact.removeNext(compact.addFirst(TestObject.random())).getState());
+    }
+
+    @Test
+    void get() {
+        assertThrows(IllegalStateException.class, () -> empty.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> compact.get(SIZE));
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i, compact.get(i).getState());
+        }
+    }
+
+    @Test
+    void set() {
+        assertThrows(IllegalStateException.class, () -> empty.set(0, null));
+        assertThrows(IndexOutOfBoundsException.class, () -> compact.set(SIZE, null));
+        assertEquals(0, compact.set(0, null).getState());
+        assertNull(compact.getFirst());
+    }
+
+    @Test
+    void positionOf() {
+        assertThrows(NoSuchElementException.class, () -> compact.positionOf(null));
+        Position<TestObject> position = compact.positionOf(new TestObject(SIZE - 1));
+        assertEquals(compact.getLast(), position.getElement());
+        assertEquals(SIZE - 2, compact.getPrevious(position).getState());
+    }
+
+    @Test
+    void stalePosition() {
+        Position<TestObject> position = compact.positionOf(new TestObject(0));
+        Position<TestObject> kept = full.positionOf(new TestObject(0));
+        compact.addFirst(null);
+        full.addFirst(null);
+        assertThrows(IllegalArgumentException.class, position::getElement);
+        assertThrows(IllegalArgumentException.class, () -> compact.getNext(position));
+        assertEquals(1, full.getNext(kept).getState());
+        Position<TestObject> removed = compact.positionOf(new TestObject(0));
+        compact.removeFirst();
+        assertThrows(IllegalArgumentException.class, () -> compact.removeNext(removed));
+        compact.clear();
+        assertThrows(IllegalStateException.class, () -> compact.getNext(removed));
+    }
+
+    @Test
+    void shiftedPosition() {
+        Position<TestObject> position = full.positionOf(new TestObject(SIZE >> 1));
+        full.addFirst(null);
+        full.remove(1);
+        full.add(SIZE >> 2, null);
+        assertEquals(SIZE >> 1, position.getElement().getState());
+        assertEquals((SIZE >> 1) - 1, full.getPrevious(position).getState());
+        assertEquals((SIZE >> 1) + 1, full.removeNext(position).getState());
+        full.addAfter(position, null);
+        assertNull(full.getNext(position));
+        full.clear();
+        assertThrows(IllegalStateException.class, () -> full.getNext(position));
+        full.addFirst(null);
+        assertThrows(IllegalArgumentException.class, () -> full.getNext(position));
+    }
+
+    @Test
+    void frontPosition() {
+        Position<TestObject> first = full.positionOf(new TestObject(0));
+        Position<TestObject> last = full.positionOf(new TestObject(SIZE - 1));
+        for (int i = 0; i < SIZE; i++) {
+            full.addFirst(null);
+            assertEquals(SIZE - 2, full.getPrevious(last).getState());
+            full.add(1, VALUE);
+            assertEquals(VALUE, full.getPrevious(first));
+            if ((i & 1) == 0) {
+                assertNull(full.removeFirst());
+            }
+        }
+        assertEquals(SIZE + (SIZE << 1) - (SIZE >> 1), full.size());
+        assertEquals(1, full.getNext(first).getState());
+        assertEquals(SIZE - 1, full.removeNext(full.positionOf(new TestObject(SIZE - 2))).getState());
+        assertThrows(IndexOutOfBoundsException.class, () -> full.getNext(full.positionOf(new TestObject(SIZE - 2))));
+    }
+
+    @Test
+    void iterator() {
+        int count = 0;
+        for (TestObject object : compact) {
+            assertEquals(count++, object.getState());
+        }
+        assertEquals(SIZE, count);
+        Iterator<TestObject> iterator = compact.iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        assertTrue(compact.isEmpty());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertThrows(IllegalStateException.class, iterator::remove);
+        compact.addLast(TestObject.random());
+        assertEquals(1, compact.size());
+    }
+
+    @Test
+    void listIterator() {
+        ListIterator<TestObject> iterator = full.listIterator();
+        assertEquals(0, iterator.next().getState());
+        iterator.remove();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        assertEquals(1, iterator.next().getState());
+        assertEquals(1, iterator.previous().getState());
+        iterator.remove();
+        assertEquals(0, iterator.nextIndex());
+        iterator.add(null);
+        assertThrows(IllegalStateException.class, iterator::remove);
+        assertThrows(IllegalStateException.class, () -> iterator.set(null));
+        assertEquals(2, iterator.next().getState());
+        iterator.set(VALUE);
+        assertEquals(SIZE - 1, full.size());
+        assertNull(full.getFirst());
+        assertEquals(VALUE, full.get(1));
+        ListIterator<TestObject> end = compact.listIterator(SIZE);
+        while (end.hasPrevious()) {
+            end.previous();
+            end.remove();
+        }
+        assertTrue(compact.isEmpty());
+        assertEquals(SIZE - 2, full.lastIndexOf(new TestObject(SIZE - 1)));
+    }
+
+    @Test
+    void serialize()throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(compact);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            ArrayList<TestObject> list = (ArrayList<TestObject>)in.readObject();
+            assertEquals(compact, list);
+            assertEquals(SIZE - 1, list.positionOf(new TestObject(SIZE - 1)).getElement().getState());
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+package test;
+
+import main.BTreeMap;
+import main.Entry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import util.DefaultComparator;
+
+import java.io.*;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+import static util.Common.RAND;
+
+@TestMethodOrder(OrderAnnotation.class)
+class BTreeMapTest {
+
+    private BTreeMap<TestObject, TestObject> empty, sequential, random;
+
+    @BeforeAll
+    public static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        empty = new BTreeMap<>();
+        sequential = new BTreeMap<>(2, new DefaultComparator<>());
+        random = new BTreeMap<>();
+        for (int i = 0; i < SIZE; i++) {
+            sequential.put(new TestObject(i), VALUE);
+            random.put(TestObject.random(), VALUE);
+        }
+        assertTrue(isSorted(random.keySet(), null));
+    }
+
+    @Test
+    void constructor() {
+        assertThrows(IllegalArgumentException.class, () -> new BTreeMap<TestObject, TestObject>(1,
+                new DefaultComparator<>()));
+        assertThrows(NullPointerException.class, () -> new BTreeMap<TestObject, TestObject>(null));
+    }
+
+    @Test
+    void contains() {
+        TestObject key = new TestObject(SIZE);
+        assertFalse(empty.contains(key));
+        assertFalse(sequential.contains(key));
+        sequential.put(key, VALUE);
+        assertTrue(sequential.contains(key));
+    }
+
+    @Test
+    void put() {
+        TestObject key = new TestObject(SIZE - 1);
+        assertEquals(Optional.empty(), empty.put(key, VALUE));
+        assertEquals(Optional.of(VALUE), sequential.put(key, TestObject.random()));
+        assertEquals(SIZE, sequential.size());
+        empty.put(null, VALUE);
+        assertNull(empty.getFirst().getKey());
+    }
+
+    @Test
+    void remove() {
+        assertThrows(IllegalStateException.class, () -> empty.remove(null));
+        assertThrows(NoSuchElementException.class, () -> sequential.remove(new TestObject(SIZE)));
+        for (int i = 0; i < SIZE; i += 2) {
+            assertEquals(VALUE, sequential.remove(new TestObject(i)));
+        }
+        assertEquals(SIZE >> 1, sequential.size());
+        assertTrue(isSorted(sequential.keySet(), null));
+        for (int i = 1; i < SIZE; i += 2) {
+            assertTrue(sequential.contains(new TestObject(i)));
+        }
+        while (!random.isEmpty()) {
+            if (RAND.nextBoolean()) {
+                random.removeFirst();
+            } else {
+                random.removeLast();
+            }
+        }
+        assertThrows(IllegalStateException.class, () -> random.getFirst());
+    }
+
+    @Test
+    void removeFirst() {
+        assertThrows(IllegalStateException.class, () -> empty.removeFirst());
+        assertEquals(0, sequential.removeFirst().getKey().getState());
+        assertEquals(1, sequential.getFirst().getKey().getState());
+    }
+
+    @Test
+    void removeLast() {
+        assertThrows(IllegalStateException.class, () -> empty.removeLast());
+        assertEquals(SIZE - 1, sequential.removeLast().getKey().getState());
+        assertEquals(SIZE - 2, sequential.getLast().getKey().getState());
+    }
+
+    @Test
+    void removePrevious() {
+        assertThrows(IllegalStateException.class, () -> empty.removePrevious(null));
+        assertThrows(NoSuchElementException.class, () -> sequential.removePrevious(new TestObject(SIZE)));
+        assertThrows(NoSuchElementException.class, () -> sequential.removePrevious(sequential.getFirst().getKey()));
+        assertEquals(SIZE - 2, sequential.removePrevious(sequential.getLast().getKey()).getKey().getState());
+    }
+
+    @Test
+    void removeNext() {
+        assertThrows(IllegalStateException.class, () -> empty.removeNext(null));
+        assertThrows(NoSuchElementException.class, () -> sequential.removeNext(new TestObject(SIZE)));
+        assertThrows(NoSuchElementException.class, () -> sequential.removeNext(sequential.getLast().getKey()));
+        assertEquals(1, sequential.removeNext(sequential.getFirst().getKey()).getKey().getState());
+    }
+
+    @Test
+    void get() {
+        TestObject key = new TestObject(SIZE);
+        TestObject value = TestObject.random();
+        assertThrows(IllegalStateException.class, () -> empty.get(null));
+        assertThrows(NoSuchElementException.class, () -> sequential.get(key));
+        sequential.put(key, value);
+        assertEquals(value, sequential.get(key));
+    }
+
+    @Test
+    void getFirst() {
+        assertThrows(IllegalStateException.class, () -> empty.getFirst());
+        assertEquals(0, sequential.getFirst().getKey().getState());
+    }
+
+    @Test
+    void getLast() {
+        assertThrows(IllegalStateException.class, () -> empty.getLast());
+        assertEquals(SIZE - 1, sequential.getLast().getKey().getState());
+    }
+
+    @Test
+    void getPrevious() {
+        assertThrows(IllegalStateException.class, () -> empty.getPrevious(null));
+        assertThrows(NoSuchElementException.class, () -> sequential.getPrevious(new TestObject(SIZE)));
+        for (int i = 1; i < SIZE; i++) {
+            assertEquals(i - 1, sequential.getPrevious(new TestObject(i)).getKey().getState());
+        }
+    }
+
+    @Test
+    void getNext() {
+        assertThrows(IllegalStateException.class, () -> empty.getNext(null));
+        assertThrows(NoSuchElementException.class, () -> sequential.getNext(new TestObject(SIZE)));
+        for (int i = 0; i < SIZE - 1; i++) {
+            assertEquals(i + 1, sequential.getNext(new TestObject(i)).getKey().getState());
+        }
+    }
+
+    @Test
+    void entrySet() {
+        int index = 0;
+        Iterator<Entry<TestObject, TestObject>> iterator = sequential.entrySet().iterator();
+        while (iterator.hasNext()) {
+            assertEquals(index, iterator.next().getKey().getState());
+            if (index++ % 3 != 0) {
+                iterator.remove();
+            }
+        }
+        assertEquals((SIZE + 2) / 3, sequential.size());
+        assertTrue(isSorted(sequential.keySet(), null));
+        iterator = random.entrySet().iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        assertTrue(random.entrySet().isEmpty());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertThrows(IllegalStateException.class, iterator::remove);
+    }
+
+    @Test
+    @Order(1)
+    void writeObject() {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(PATH + "BTreeMap.dat"))) {
+            out.writeObject(random);
+            PREV = random;
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void readObject() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(PATH + "BTreeMap.dat"))) {
+            @SuppressWarnings("unchecked")
+            BTreeMap<TestObject, TestObject> map = (BTreeMap<TestObject, TestObject>)in.readObject();
+            assertEquals(PREV, map);
+        } catch (ClassNotFoundException | IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+}
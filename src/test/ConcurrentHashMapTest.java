@@ -0,0 +1,127 @@
+package test;
+
+import main.ConcurrentHashMap;
+import main.Entry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+
+import java.io.*;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+
+@TestMethodOrder(OrderAnnotation.class)
+class ConcurrentHashMapTest {
+
+    private static final int THREADS = 8;
+
+    private ConcurrentHashMap<TestObject, TestObject> empty, full;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        empty = new ConcurrentHashMap<>();
+        full = new ConcurrentHashMap<>();
+        for (int i = 0; i < SIZE; i++) {
+            full.put(new TestObject(i), VALUE);
+        }
+    }
+
+    @Test
+    void put() {
+        TestObject key = new TestObject(SIZE - 1);
+        assertEquals(Optional.empty(), empty.put(key, TestObject.random()));
+        assertEquals(Optional.of(VALUE), full.put(key, TestObject.random()));
+        assertEquals(Optional.empty(), full.put(null, VALUE));
+        assertEquals(SIZE + 1, full.size());
+    }
+
+    @Test
+    void remove() {
+        assertThrows(IllegalStateException.class, () -> empty.remove(null));
+        assertThrows(NoSuchElementException.class, () -> full.remove(null));
+        for (int i = 0; i < SIZE; i += 2) {
+            assertEquals(VALUE, full.remove(new TestObject(i)));
+        }
+        assertEquals(SIZE >> 1, full.size());
+        for (int i = 1; i < SIZE; i += 2) {
+            assertEquals(VALUE, full.get(new TestObject(i)));
+        }
+    }
+
+    @Test
+    void entrySet() {
+        int count = 0;
+        Iterator<Entry<TestObject, TestObject>> iterator = full.entrySet().iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            count++;
+        }
+        assertEquals(SIZE, count);
+        assertTrue(full.isEmpty());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertThrows(IllegalStateException.class, iterator::remove);
+    }
+
+    @Test
+    void putIfAbsent() throws Exception {
+        AtomicInteger added = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        Future<?>[] futures = new Future<?>[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            futures[t] = executor.submit(() -> {
+                for (int i = 0; i < SIZE; i++) {
+                    if (empty.putIfAbsent(new TestObject(i), VALUE)) {
+                        added.incrementAndGet();
+                    }
+                }
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(SIZE, added.get());
+        assertEquals(SIZE, empty.size());
+    }
+
+    @Test
+    @Order(1)
+    void writeObject() {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(PATH + "ConcurrentHashMap.dat"))) {
+            out.writeObject(full);
+            PREV = full;
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void readObject() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(PATH + "ConcurrentHashMap.dat"))) {
+            @SuppressWarnings("unchecked")
+            ConcurrentHashMap<TestObject, TestObject> map = (ConcurrentHashMap<TestObject, TestObject>)in.readObject();
+            assertEquals(PREV, map);
+        } catch (ClassNotFoundException | IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+}
@@ -0,0 +1,155 @@
+package test;
+
+import main.ConcurrentSkipListSet;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+
+import java.io.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+
+@TestMethodOrder(OrderAnnotation.class)
+class ConcurrentSkipListSetTest {
+
+    private static final int THREADS = 8;
+
+    private ConcurrentSkipListSet<TestObject> empty, full;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        empty = new ConcurrentSkipListSet<>();
+        full = new ConcurrentSkipListSet<>();
+        for (int i = SIZE - 1; i >= 0; i--) {
+            full.add(new TestObject(i));
+        }
+    }
+
+    @Test
+    void constructor() {
+        assertThrows(NullPointerException.class, () -> new ConcurrentSkipListSet<TestObject>(null));
+    }
+
+    @Test
+    void add() {
+        assertTrue(empty.isEmpty());
+        empty.add(VALUE);
+        empty.add(VALUE);
+        assertEquals(1, empty.size());
+        assertFalse(empty.isEmpty());
+        full.add(new TestObject(0));
+        assertEquals(SIZE, full.size());
+        full.add(null);
+        assertEquals(SIZE + 1, full.size());
+        assertNull(full.getFirst());
+    }
+
+    @Test
+    void remove() {
+        for (int i = 0; i < SIZE; i += 2) {
+            full.remove(new TestObject(i));
+        }
+        assertEquals(SIZE >> 1, full.size());
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals((i & 1) == 1, full.contains(new TestObject(i)));
+        }
+        assertEquals(new TestObject(1), full.removeFirst());
+        assertEquals(new TestObject(SIZE - 1), full.removeLast());
+        assertEquals((SIZE >> 1) - 2, full.size());
+        full.clear();
+        assertTrue(full.isEmpty());
+    }
+
+    @Test
+    void navigation() {
+        assertEquals(new TestObject(0), full.getFirst());
+        assertEquals(new TestObject(SIZE - 1), full.getLast());
+        for (int i = 1; i < SIZE - 1; i++) {
+            assertEquals(new TestObject(i - 1), full.getPrevious(new TestObject(i)));
+            assertEquals(new TestObject(i + 1), full.getNext(new TestObject(i)));
+        }
+        assertEquals(new TestObject(2), full.removeNext(new TestObject(1)));
+        assertEquals(new TestObject(0), full.removePrevious(new TestObject(1)));
+        assertEquals(new TestObject(1), full.getFirst());
+    }
+
+    @Test
+    void iterator() {
+        int count = 0;
+        for (TestObject element : full) {
+            assertEquals(count++, element.getState());
+        }
+        assertEquals(SIZE, count);
+        assertTrue(isSorted(full, null));
+    }
+
+    @Test
+    void testToString() {
+        ConcurrentSkipListSet<Integer> set = new ConcurrentSkipListSet<>();
+        assertEquals("[]", set.toString());
+        set.add(3);
+        set.add(1);
+        set.add(2);
+        assertEquals("[1, 2, 3]", set.toString());
+    }
+
+    @Test
+    void addConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        Future<?>[] futures = new Future<?>[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t;
+            futures[t] = executor.submit(() -> {
+                for (int i = offset; i < SIZE; i += THREADS) {
+                    empty.add(new TestObject(i));
+                }
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(SIZE, empty.size());
+        assertEquals(full, empty);
+    }
+
+    @Test
+    @Order(1)
+    void writeObject() {
+        try (ObjectOutputStream out = new ObjectOutputStream(
+                new FileOutputStream(PATH + "ConcurrentSkipListSet.dat"))) {
+            out.writeObject(full);
+            PREV = full;
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void readObject() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(PATH + "ConcurrentSkipListSet.dat"))) {
+            @SuppressWarnings("unchecked")
+            ConcurrentSkipListSet<TestObject> set = (ConcurrentSkipListSet<TestObject>)in.readObject();
+            assertEquals(PREV, set);
+            assertEquals(SIZE, set.size());
+            set.add(new TestObject(-1));
+            assertEquals(new TestObject(-1), set.getFirst());
+        } catch (ClassNotFoundException | IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+package test;
+
+import main.DoubleTreeMap;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+
+import java.io.*;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+
+@TestMethodOrder(OrderAnnotation.class)
+class DoubleTreeMapTest {
+
+    private DoubleTreeMap<TestObject> empty, full;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        empty = new DoubleTreeMap<>();
+        full = new DoubleTreeMap<>();
+        for (int i = 0; i < SIZE; i++) {
+            full.put(i + 0.5, new TestObject(i));
+        }
+    }
+
+    @Test
+    void contains() {
+        assertFalse(empty.contains(0.5));
+        assertFalse(full.contains(0));
+        assertFalse(full.contains(Double.NaN));
+        full.put(Double.NaN, VALUE);
+        assertTrue(full.contains(Double.NaN));
+        assertTrue(full.contains(Double.longBitsToDouble(0x7FF8_0000_0000_0001L)));
+    }
+
+    @Test
+    void put() {
+        double key = SIZE - 0.5;
+        assertEquals(Optional.empty(), empty.put(key, VALUE));
+        assertEquals(Optional.of(new TestObject(SIZE - 1)), full.put(key, VALUE));
+        assertEquals(Optional.empty(), full.put(Double.NEGATIVE_INFINITY, VALUE));
+        assertEquals(SIZE + 1, full.size());
+        assertEquals(Double.NEGATIVE_INFINITY, full.firstKey());
+        assertFalse(full.putIfAbsent(key, null));
+        assertEquals(VALUE, full.get(key));
+        assertEquals(Optional.of(VALUE), full.replace(key, null));
+        assertEquals(Optional.empty(), full.replace(0, VALUE));
+    }
+
+    @Test
+    void nan() {
+        assertEquals(Optional.empty(), full.put(Double.NaN, VALUE));
+        assertEquals(Optional.of(VALUE), full.put(0.0 / 0.0, null));
+        assertEquals(SIZE + 1, full.size());
+        assertTrue(Double.isNaN(full.lastKey()));
+        assertNull(full.get(Double.NaN));
+        full.put(Double.POSITIVE_INFINITY, VALUE);
+        assertTrue(Double.isNaN(full.higherKey(Double.POSITIVE_INFINITY)));
+        assertTrue(Double.isNaN(full.floorKey(Double.NaN)));
+        assertEquals(Double.POSITIVE_INFINITY, full.lowerKey(Double.NaN));
+        assertThrows(NoSuchElementException.class, () -> full.higherKey(Double.NaN));
+        assertNull(full.remove(Double.NaN));
+        assertFalse(full.contains(Double.NaN));
+        assertEquals(Double.POSITIVE_INFINITY, full.ceilingKey(Double.MAX_VALUE));
+        assertThrows(NoSuchElementException.class, () -> full.ceilingKey(Double.NaN));
+    }
+
+    @Test
+    void signedZero() {
+        assertEquals(Optional.empty(), full.put(0.0, VALUE));
+        assertEquals(Optional.empty(), full.put(-0.0, null));
+        assertEquals(SIZE + 2, full.size());
+        assertEquals(-0.0, full.firstKey());
+        assertNull(full.get(-0.0));
+        assertEquals(VALUE, full.get(0.0));
+        assertEquals(-0.0, full.floorKey(-0.0));
+        assertEquals(-0.0, full.lowerKey(0.0));
+        assertEquals(0.0, full.ceilingKey(0.0));
+        assertEquals(0.0, full.higherKey(-0.0));
+        assertEquals(0.0, full.floorKey(0.25));
+        assertThrows(NoSuchElementException.class, () -> full.lowerKey(-0.0));
+        assertThrows(NoSuchElementException.class, () -> full.floorKey(-Double.MIN_VALUE));
+        assertNull(full.remove(-0.0));
+        assertFalse(full.contains(-0.0));
+        assertTrue(full.contains(0.0));
+        assertEquals(0.0, full.ceilingKey(-0.0));
+    }
+
+    @Test
+    void remove() {
+        assertThrows(IllegalStateException.class, () -> empty.remove(0));
+        assertThrows(NoSuchElementException.class, () -> full.remove(0));
+        for (int i = 0; i < SIZE; i += 2) {
+            assertEquals(new TestObject(i), full.remove(i + 0.5));
+        }
+        assertEquals(SIZE >> 1, full.size());
+        for (int i = 1; i < SIZE; i += 2) {
+            assertEquals(new TestObject(i), full.get(i + 0.5));
+        }
+        assertFalse(full.removeIfPresent(1.5, VALUE));
+        assertTrue(full.removeIfPresent(1.5, new TestObject(1)));
+        assertEquals(3.5, full.firstKey());
+    }
+
+    @Test
+    void get() {
+        assertThrows(IllegalStateException.class, () -> empty.get(0));
+        assertThrows(NoSuchElementException.class, () -> full.get(0));
+        assertEquals(new TestObject(SIZE - 1), full.get(SIZE - 0.5));
+        assertEquals(VALUE, full.getOrDefault(-0.5, VALUE));
+    }
+
+    @Test
+    void navigation() {
+        assertThrows(IllegalStateException.class, () -> empty.firstKey());
+        assertThrows(IllegalStateException.class, () -> empty.floorKey(0));
+        assertEquals(0.5, full.firstKey());
+        assertEquals(SIZE - 0.5, full.lastKey());
+        assertThrows(NoSuchElementException.class, () -> full.lowerKey(0.5));
+        assertThrows(NoSuchElementException.class, () -> full.higherKey(full.lastKey()));
+        for (int i = 1; i < SIZE; i++) {
+            assertEquals(i + 0.5, full.floorKey(i + 0.75));
+            assertEquals(i + 0.5, full.ceilingKey(i + 0.25));
+            assertEquals(i - 0.5, full.lowerKey(i + 0.5));
+            assertEquals(i + 0.5, full.higherKey(i - 0.5));
+        }
+    }
+
+    @Test
+    void forEach() {
+        double[] keys = full.keys();
+        int[] index = new int[1];
+        full.forEach((key, value) -> {
+            assertEquals(keys[index[0]], key);
+            assertEquals(index[0]++ + 0.5, key);
+        });
+        assertEquals(SIZE, index[0]);
+    }
+
+    @Test
+    @Order(1)
+    void writeObject() {
+        full.put(Double.NaN, VALUE);
+        full.put(-0.0, null);
+        full.put(0.0, VALUE);
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(PATH + "DoubleTreeMap.dat"))) {
+            out.writeObject(full);
+            PREV = full;
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void readObject() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(PATH + "DoubleTreeMap.dat"))) {
+            @SuppressWarnings("unchecked")
+            DoubleTreeMap<TestObject> map = (DoubleTreeMap<TestObject>)in.readObject();
+            assertEquals(PREV, map);
+            assertEquals(SIZE + 3, map.size());
+            assertEquals(-0.0, map.firstKey());
+            assertEquals(-0.0, map.lowerKey(0.0));
+            assertTrue(Double.isNaN(map.lastKey()));
+            assertEquals(VALUE, map.get(Double.NaN));
+            map.put(-1, VALUE);
+            assertEquals(-1, map.firstKey());
+        } catch (ClassNotFoundException | IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package test;
+
+import main.GapList;
+import main.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.SIZE;
+
+class GapListTest {
+
+    private GapList<TestObject> empty, full;
+
+    @BeforeEach
+    void setUp() {
+        empty = new GapList<>();
+        full = new GapList<>();
+        for (int i = 0; i < SIZE; i++) {
+            full.addLast(new TestObject(i));
+        }
+    }
+
+    @Test
+    void add() {
+        assertThrows(IndexOutOfBoundsException.class, () -> empty.add(1, null));
+        for (int i = 0; i < SIZE; i++) {
+            assertNull(full.add(i << 1, null).getElement());
+        }
+        for (int i = 0; i < SIZE; i++) {
+            assertNull(full.get(i << 1));
+            assertEquals(i, full.get((i << 1) + 1).getState());
+        }
+        assertEquals(SIZE << 1, full.size());
+    }
+
+    @Test
+    void addAfter() {
+        assertThrows(NullPointerException.class, () -> full.addAfter(null, null));
+        assertThrows(IllegalArgumentException.class, () -> full.addAfter(empty.addLast(null), null));
+        assertEquals(full.addAfter(full.addFirst(TestObject.random()), null).getElement(), full.get(1));
+        assertEquals(SIZE + 2, full.size());
+    }
+
+    @Test
+    void remove() {
+        assertThrows(IllegalStateException.class, () -> empty.remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> full.remove(SIZE));
+        for (int i = 0; i < SIZE; i += 2) {
+            assertEquals(i, full.remove(i >> 1).getState());
+        }
+        assertEquals(SIZE >> 1, full.size());
+        assertEquals(1, full.getFirst().getState());
+        assertEquals(SIZE - 1, full.removeLast().getState());
+        assertEquals(1, full.removeFirst().getState());
+    }
+
+    @Test
+    void set() {
+        assertThrows(IllegalStateException.class, () -> empty.set(0, null));
+        assertThrows(IndexOutOfBoundsException.class, () -> full.set(SIZE, null));
+        full.add(SIZE >> 1, null);
+        assertEquals(SIZE >> 1, full.set((SIZE >> 1) + 1, null).getState());
+        assertNull(full.get((SIZE >> 1) + 1));
+    }
+
+    @Test
+    void stalePosition() {
+        Position<TestObject> position = full.positionOf(new TestObject(SIZE >> 1));
+        assertEquals((SIZE >> 1) + 1, full.getNext(position).getState());
+        full.addFirst(null);
+        assertThrows(IllegalArgumentException.class, position::getElement);
+        assertThrows(IllegalArgumentException.class, () -> full.removePrevious(position));
+    }
+
+    @Test
+    void listIterator() {
+        ListIterator<TestObject> cursor = full.listIterator(SIZE >> 1);
+        for (int i = 0; i < SIZE; i++) {
+            cursor.add(null);
+            cursor.previous();
+            cursor.remove();
+            cursor.add(new TestObject(-1));
+        }
+        assertEquals(SIZE << 1, full.size());
+        assertEquals(SIZE >> 1, cursor.next().getState());
+        cursor.remove();
+        assertThrows(IllegalStateException.class, cursor::remove);
+        assertEquals(-1, cursor.previous().getState());
+        assertEquals((SIZE >> 1) + SIZE - 1, cursor.nextIndex());
+        int count = 0;
+        for (TestObject object : full) {
+            count++;
+            assertNotNull(object);
+        }
+        assertEquals((SIZE << 1) - 1, count);
+        assertThrows(NoSuchElementException.class, () -> empty.iterator().next());
+    }
+
+    @Test
+    void serialize() throws IOException, ClassNotFoundException {
+        full.add(SIZE >> 1, null);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(full);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            GapList<TestObject> list = (GapList<TestObject>)in.readObject();
+            assertEquals(full, list);
+            list.addFirst(null);
+            assertEquals(SIZE + 2, list.size());
+        }
+    }
+
+}
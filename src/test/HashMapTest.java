@@ -1,7 +1,10 @@
 package test;
 
+import main.Entry;
 import main.HashMap;
 import org.junit.jupiter.api.*;
+import util.DefaultHashStrategy;
+import util.HashStrategy;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
 
 import java.io.*;
@@ -9,10 +12,43 @@ import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static test.TestUtils.*;
+import static util.Common.areEqual;
 
 @TestMethodOrder(OrderAnnotation.class)
 class HashMapTest {
 
+    /**
+     * A key whose instances all share a hash code, but are ordered, and counts how often they are compared for
+     * equality.
+     */
+    private static final class Colliding implements Comparable<Colliding> {
+
+        static int comparisons;
+
+        final int state;
+
+        Colliding(int state) {
+            this.state = state;
+        }
+
+        @Override
+        public int compareTo(Colliding other) {
+            return Integer.compare(state, other.state);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            comparisons++;
+            return obj instanceof Colliding && ((Colliding)obj).state == state;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+
+    }
+
     private HashMap<TestObject, TestObject> empty, full;
 
     @BeforeAll
@@ -61,6 +97,106 @@ class HashMapTest {
         assertEquals(VALUE, full.get(new TestObject(SIZE - 1)));
     }
 
+    @Test
+    void collisions() {
+        HashMap<TestObject, TestObject> colliding = new HashMap<>(new HashStrategy<>() {
+
+            @Override
+            public int hash(TestObject element) {
+                return 0;
+            }
+
+            @Override
+            public boolean areEquivalent(TestObject a, TestObject b) {
+                return areEqual(a, b);
+            }
+
+        });
+        int size = 0x400;
+        for (int i = 0; i < size; i++) {
+            colliding.put(new TestObject(i), VALUE);
+        }
+        for (int i = 0; i < size; i += 2) {
+            assertEquals(VALUE, colliding.remove(new TestObject(i)));
+        }
+        for (int i = 0; i < size; i++) {
+            assertEquals((i & 1) != 0, colliding.contains(new TestObject(i)));
+        }
+        assertEquals(size >> 1, colliding.size());
+    }
+
+    @Test
+    void comparableCollisions() {
+        HashMap<Colliding, TestObject> colliding = new HashMap<>();
+        int size = 0x400;
+        for (int i = 0; i < size; i++) {
+            colliding.put(new Colliding(i), VALUE);
+        }
+        Colliding.comparisons = 0;
+        for (int i = 0; i < size; i++) {
+            assertTrue(colliding.contains(new Colliding(i)));
+        }
+        assertFalse(colliding.contains(new Colliding(size)));
+        // A chain would compare about half of its keys per lookup; the tree, only those on one path from its root.
+        assertTrue(Colliding.comparisons < size * 32);
+        for (int i = 0; i < size; i += 2) {
+            assertEquals(VALUE, colliding.remove(new Colliding(i)));
+        }
+        var iterator = colliding.entrySet().iterator();
+        int remaining = size >> 1;
+        while (iterator.hasNext()) {
+            Colliding key = iterator.next().getKey();
+            if (key.state % 4 != 1 || key.state == 1) {
+                continue;
+            }
+            iterator.remove();
+            remaining--;
+        }
+        assertEquals(remaining, colliding.size());
+        int count = 0;
+        for (Entry<Colliding, TestObject> entry : colliding.entrySet()) {
+            assertTrue(entry.getKey().state % 4 == 3 || entry.getKey().state == 1);
+            count++;
+        }
+        assertEquals(remaining, count);
+        iterator = colliding.entrySet().iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        assertTrue(colliding.isEmpty());
+        assertFalse(colliding.contains(new Colliding(1)));
+    }
+
+    @Test
+    void putAll() {
+        HashMap<TestObject, TestObject> presized = new HashMap<>(SIZE);
+        presized.put(new TestObject(0), TestObject.random());
+        presized.putAll(full);
+        assertEquals(full, presized);
+        assertThrows(IllegalArgumentException.class, () -> new HashMap<>(-1));
+    }
+
+    @Test
+    void incremental() {
+        HashMap<TestObject, TestObject> incremental = new HashMap<>(0.75, new DefaultHashStrategy<>(), true);
+        int size = 0x1000;
+        for (int i = 0; i < size; i++) {
+            incremental.put(new TestObject(i), VALUE);
+        }
+        for (int i = 0; i < size; i += 2) {
+            assertEquals(VALUE, incremental.remove(new TestObject(i)));
+        }
+        for (int i = 0; i < size; i++) {
+            assertEquals((i & 1) != 0, incremental.contains(new TestObject(i)));
+        }
+        int count = 0;
+        for (Entry<TestObject, TestObject> ignored : incremental.entrySet()) {
+            count++;
+        }
+        assertEquals(size >> 1, count);
+    }
+
     @Test
     void entrySet() {
         var iterator = full.entrySet().iterator();
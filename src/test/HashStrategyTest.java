@@ -0,0 +1,176 @@
+package test;
+
+import main.Entry;
+import main.HashMap;
+import main.HashSet;
+import main.OrderedHashMap;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import util.HashStrategy;
+import util.IdentityHashStrategy;
+
+import java.io.*;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+
+@TestMethodOrder(OrderAnnotation.class)
+class HashStrategyTest {
+
+    private static final class CaseInsensitive implements HashStrategy<String>, Serializable {
+
+        @Override
+        public int hash(String element) {
+            return element == null ? 0 : element.toLowerCase(Locale.ROOT).hashCode();
+        }
+
+        @Override
+        public boolean areEquivalent(String a, String b) {
+            return a == null ? b == null : a.equalsIgnoreCase(b);
+        }
+
+        private static final long serialVersionUID = 1L;
+
+    }
+
+    private static Object[] previous;
+
+    private TestObject[] keys, copies;
+    private HashMap<TestObject, Integer> identityMap;
+    private HashSet<TestObject> identitySet;
+    private OrderedHashMap<TestObject, Integer> identityOrdered;
+    private HashMap<String, Integer> caseMap;
+    private HashSet<String> caseSet;
+    private OrderedHashMap<String, Integer> caseOrdered;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        int size = 0x400;
+        keys = new TestObject[size];
+        copies = new TestObject[size];
+        identityMap = new HashMap<>(new IdentityHashStrategy<>());
+        identitySet = new HashSet<>(new IdentityHashStrategy<>());
+        identityOrdered = new OrderedHashMap<>(new IdentityHashStrategy<>());
+        caseMap = new HashMap<>(0.75, new CaseInsensitive());
+        caseSet = new HashSet<>(0.75, new CaseInsensitive());
+        caseOrdered = new OrderedHashMap<>(0.75, new CaseInsensitive());
+        for (int i = 0; i < size; i++) {
+            keys[i] = new TestObject(i);
+            copies[i] = new TestObject(i);
+            identityMap.put(keys[i], i);
+            identityMap.put(copies[i], -i);
+            identitySet.add(keys[i]);
+            identitySet.add(copies[i]);
+            identityOrdered.put(keys[i], i);
+            identityOrdered.put(copies[i], -i);
+            caseMap.put("key" + i, i);
+            caseSet.add("key" + i);
+            caseOrdered.put("key" + i, i);
+        }
+    }
+
+    @Test
+    void identity() {
+        assertEquals(keys.length << 1, identityMap.size());
+        assertEquals(keys.length << 1, identitySet.size());
+        assertEquals(keys.length << 1, identityOrdered.size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i, identityMap.get(keys[i]));
+            assertEquals(-i, identityMap.get(copies[i]));
+            assertTrue(identitySet.contains(copies[i]));
+            assertEquals(-i, identityOrdered.get(copies[i]));
+        }
+        TestObject stranger = new TestObject(0);
+        assertFalse(identityMap.contains(stranger));
+        assertFalse(identitySet.contains(stranger));
+        assertFalse(identityOrdered.contains(stranger));
+        assertThrows(NoSuchElementException.class, () -> identityMap.get(stranger));
+        assertEquals(0, identityMap.remove(keys[0]));
+        assertEquals(0, identityMap.get(copies[0]));
+        identitySet.remove(copies[0]);
+        assertTrue(identitySet.contains(keys[0]));
+        assertFalse(identitySet.contains(copies[0]));
+        assertEquals(0, identityOrdered.remove(copies[0]));
+        assertSame(keys[0], identityOrdered.getFirst().getKey());
+        assertSame(keys[1], identityOrdered.getNext(keys[0]).getKey());
+    }
+
+    @Test
+    void caseInsensitive() {
+        assertEquals(Optional.of(7), caseMap.put("KEY7", -7));
+        caseSet.add("Key7");
+        assertEquals(Optional.of(7), caseOrdered.put("KEY7", -7));
+        assertEquals(keys.length, caseMap.size());
+        assertEquals(keys.length, caseSet.size());
+        assertEquals(keys.length, caseOrdered.size());
+        assertEquals(-7, caseMap.get("kEy7"));
+        assertTrue(caseSet.contains("KEY7"));
+        assertEquals("key7", caseOrdered.getNext("KEY6").getKey());
+        assertEquals(-7, caseOrdered.remove("Key7"));
+        assertFalse(caseOrdered.contains("key7"));
+        assertEquals("key8", caseOrdered.getNext("KEY6").getKey());
+        caseSet.remove("KEY0");
+        assertFalse(caseSet.contains("key0"));
+        assertFalse(caseMap.contains("key" + keys.length));
+    }
+
+    @Test
+    @Order(1)
+    void writeObject() {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(PATH + "HashStrategy.dat"))) {
+            previous = new Object[]{keys, identityMap, identitySet, identityOrdered, caseMap, caseSet, caseOrdered};
+            out.writeObject(previous);
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    @Order(2)
+    void readObject() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(PATH + "HashStrategy.dat"))) {
+            Object[] objects = (Object[])in.readObject();
+            TestObject[] keys = (TestObject[])objects[0];
+            HashMap<TestObject, Integer> identityMap = (HashMap<TestObject, Integer>)objects[1];
+            HashSet<TestObject> identitySet = (HashSet<TestObject>)objects[2];
+            OrderedHashMap<TestObject, Integer> identityOrdered = (OrderedHashMap<TestObject, Integer>)objects[3];
+            HashMap<String, Integer> caseMap = (HashMap<String, Integer>)objects[4];
+            HashSet<String> caseSet = (HashSet<String>)objects[5];
+            OrderedHashMap<String, Integer> caseOrdered = (OrderedHashMap<String, Integer>)objects[6];
+            assertEquals(keys.length << 1, identityMap.size());
+            assertEquals(keys.length << 1, identitySet.size());
+            assertEquals(keys.length << 1, identityOrdered.size());
+            for (int i = 0; i < keys.length; i++) {
+                assertEquals(i, identityMap.get(keys[i]));
+                assertTrue(identitySet.contains(keys[i]));
+                assertEquals(i, identityOrdered.get(keys[i]));
+                assertFalse(identityMap.contains(new TestObject(i)));
+                assertEquals(i, caseMap.get("KEY" + i));
+                assertTrue(caseSet.contains("Key" + i));
+                assertEquals(i, caseOrdered.get("kEY" + i));
+            }
+            for (Entry<TestObject, Integer> entry : identityOrdered.entrySet()) {
+                assertEquals(entry.getValue(), identityMap.get(entry.getKey()));
+            }
+            assertEquals(previous[4], caseMap);
+            assertEquals(previous[5], caseSet);
+            caseOrdered.put("KEY0", -1);
+            assertEquals(keys.length, caseOrdered.size());
+            assertEquals(-1, caseOrdered.getFirst().getValue());
+        } catch (ClassNotFoundException | IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+package test;
+
+import main.IntIntMap;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+
+import java.io.*;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+
+@TestMethodOrder(OrderAnnotation.class)
+class IntIntMapTest {
+
+    private IntIntMap empty, full;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        empty = new IntIntMap();
+        full = new IntIntMap();
+        for (int i = 0; i < SIZE; i++) {
+            full.put(i, i);
+        }
+    }
+
+    @Test
+    void contains() {
+        int key = SIZE;
+        assertFalse(empty.contains(key));
+        assertFalse(full.contains(key));
+        full.put(key, SIZE);
+        assertTrue(full.contains(key));
+    }
+
+    @Test
+    void put() {
+        int key = SIZE - 1;
+        assertEquals(OptionalInt.empty(), empty.put(key, 0));
+        assertEquals(OptionalInt.of(SIZE - 1), full.put(key, 0));
+        assertEquals(OptionalInt.empty(), full.put(-1, 0));
+        assertEquals(SIZE + 1, full.size());
+        assertFalse(full.putIfAbsent(key, 1));
+        assertEquals(0, full.get(key));
+        assertEquals(OptionalInt.of(0), full.replace(key, 1));
+        assertEquals(OptionalInt.empty(), full.replace(SIZE, 1));
+        assertFalse(full.contains(SIZE));
+    }
+
+    @Test
+    void remove() {
+        assertThrows(IllegalStateException.class, () -> empty.remove(0));
+        assertThrows(NoSuchElementException.class, () -> full.remove(-1));
+        for (int i = 0; i < SIZE; i += 2) {
+            assertEquals(i, full.remove(i));
+        }
+        assertEquals(SIZE >> 1, full.size());
+        for (int i = 1; i < SIZE; i += 2) {
+            assertEquals(i, full.get(i));
+        }
+        assertFalse(full.removeIfPresent(1, 0));
+        assertTrue(full.removeIfPresent(1, 1));
+        assertFalse(full.contains(1));
+    }
+
+    @Test
+    void churn() {
+        IntIntMap map = new IntIntMap(0, 0.9);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(OptionalInt.empty(), map.put(i, i));
+        }
+        for (int i = 0; i < SIZE; i += 3) {
+            assertEquals(i, map.remove(i));
+        }
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i % 3 != 0, map.contains(i));
+        }
+        for (int i = 0; i < SIZE; i += 3) {
+            assertTrue(map.putIfAbsent(i, -i));
+        }
+        assertEquals(SIZE, map.size());
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i % 3 == 0 ? -i : i, map.get(i));
+        }
+    }
+
+    @Test
+    void get() {
+        assertThrows(IllegalStateException.class, () -> empty.get(0));
+        assertThrows(NoSuchElementException.class, () -> full.get(-1));
+        assertEquals(SIZE - 1, full.get(SIZE - 1));
+        assertEquals(-1, full.getOrDefault(-1, -1));
+    }
+
+    @Test
+    void forEach() {
+        long[] sum = new long[1];
+        full.forEach((key, value) -> {
+            assertEquals(value, key);
+            sum[0] += value;
+        });
+        assertEquals((long)SIZE * (SIZE - 1) >> 1, sum[0]);
+        assertEquals(SIZE, full.keys().length);
+    }
+
+    @Test
+    @Order(1)
+    void writeObject() {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(PATH + "IntIntMap.dat"))) {
+            out.writeObject(full);
+            PREV = full;
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void readObject() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(PATH + "IntIntMap.dat"))) {
+            IntIntMap map = (IntIntMap)in.readObject();
+            assertEquals(PREV, map);
+            map.remove(0);
+            assertEquals(SIZE - 1, map.size());
+            assertEquals(1, map.get(1));
+        } catch (ClassNotFoundException | IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+}
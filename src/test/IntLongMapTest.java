@@ -0,0 +1,139 @@
+package test;
+
+import main.IntLongMap;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+
+import java.io.*;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+
+@TestMethodOrder(OrderAnnotation.class)
+class IntLongMapTest {
+
+    private IntLongMap empty, full;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        empty = new IntLongMap();
+        full = new IntLongMap();
+        for (int i = 0; i < SIZE; i++) {
+            full.put(i, (long)i << 32);
+        }
+    }
+
+    @Test
+    void contains() {
+        int key = SIZE;
+        assertFalse(empty.contains(key));
+        assertFalse(full.contains(key));
+        full.put(key, (long)SIZE << 32);
+        assertTrue(full.contains(key));
+    }
+
+    @Test
+    void put() {
+        int key = SIZE - 1;
+        assertEquals(OptionalLong.empty(), empty.put(key, (long)0 << 32));
+        assertEquals(OptionalLong.of((long)(SIZE - 1) << 32), full.put(key, (long)0 << 32));
+        assertEquals(OptionalLong.empty(), full.put(-1, (long)0 << 32));
+        assertEquals(SIZE + 1, full.size());
+        assertFalse(full.putIfAbsent(key, (long)1 << 32));
+        assertEquals((long)0 << 32, full.get(key));
+        assertEquals(OptionalLong.of((long)0 << 32), full.replace(key, (long)1 << 32));
+        assertEquals(OptionalLong.empty(), full.replace(SIZE, (long)1 << 32));
+        assertFalse(full.contains(SIZE));
+    }
+
+    @Test
+    void remove() {
+        assertThrows(IllegalStateException.class, () -> empty.remove(0));
+        assertThrows(NoSuchElementException.class, () -> full.remove(-1));
+        for (int i = 0; i < SIZE; i += 2) {
+            assertEquals((long)i << 32, full.remove(i));
+        }
+        assertEquals(SIZE >> 1, full.size());
+        for (int i = 1; i < SIZE; i += 2) {
+            assertEquals((long)i << 32, full.get(i));
+        }
+        assertFalse(full.removeIfPresent(1, (long)0 << 32));
+        assertTrue(full.removeIfPresent(1, (long)1 << 32));
+        assertFalse(full.contains(1));
+    }
+
+    @Test
+    void churn() {
+        IntLongMap map = new IntLongMap(0, 0.9);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(OptionalLong.empty(), map.put(i, (long)i << 32));
+        }
+        for (int i = 0; i < SIZE; i += 3) {
+            assertEquals((long)i << 32, map.remove(i));
+        }
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i % 3 != 0, map.contains(i));
+        }
+        for (int i = 0; i < SIZE; i += 3) {
+            assertTrue(map.putIfAbsent(i, (long)-i << 32));
+        }
+        assertEquals(SIZE, map.size());
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i % 3 == 0 ? (long)-i << 32 : (long)i << 32, map.get(i));
+        }
+    }
+
+    @Test
+    void get() {
+        assertThrows(IllegalStateException.class, () -> empty.get(0));
+        assertThrows(NoSuchElementException.class, () -> full.get(-1));
+        assertEquals((long)(SIZE - 1) << 32, full.get(SIZE - 1));
+        assertEquals((long)-1 << 32, full.getOrDefault(-1, (long)-1 << 32));
+    }
+
+    @Test
+    void forEach() {
+        long[] sum = new long[1];
+        full.forEach((key, value) -> {
+            assertEquals((int)(value >>> 32), key);
+            sum[0] += (int)(value >>> 32);
+        });
+        assertEquals((long)SIZE * (SIZE - 1) >> 1, sum[0]);
+        assertEquals(SIZE, full.keys().length);
+    }
+
+    @Test
+    @Order(1)
+    void writeObject() {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(PATH + "IntLongMap.dat"))) {
+            out.writeObject(full);
+            PREV = full;
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void readObject() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(PATH + "IntLongMap.dat"))) {
+            IntLongMap map = (IntLongMap)in.readObject();
+            assertEquals(PREV, map);
+            map.remove(0);
+            assertEquals(SIZE - 1, map.size());
+            assertEquals((long)1 << 32, map.get(1));
+        } catch (ClassNotFoundException | IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+}
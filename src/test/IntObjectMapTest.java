@@ -0,0 +1,140 @@
+package test;
+
+import main.IntObjectMap;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+
+import java.io.*;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+
+@TestMethodOrder(OrderAnnotation.class)
+class IntObjectMapTest {
+
+    private IntObjectMap<TestObject> empty, full;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        empty = new IntObjectMap<>();
+        full = new IntObjectMap<>();
+        for (int i = 0; i < SIZE; i++) {
+            full.put(i, new TestObject(i));
+        }
+    }
+
+    @Test
+    void contains() {
+        int key = SIZE;
+        assertFalse(empty.contains(key));
+        assertFalse(full.contains(key));
+        full.put(key, new TestObject(SIZE));
+        assertTrue(full.contains(key));
+    }
+
+    @Test
+    void put() {
+        int key = SIZE - 1;
+        assertEquals(Optional.empty(), empty.put(key, new TestObject(0)));
+        assertEquals(Optional.of(new TestObject(SIZE - 1)), full.put(key, new TestObject(0)));
+        assertEquals(Optional.empty(), full.put(-1, new TestObject(0)));
+        assertEquals(SIZE + 1, full.size());
+        assertFalse(full.putIfAbsent(key, new TestObject(1)));
+        assertEquals(new TestObject(0), full.get(key));
+        assertEquals(Optional.of(new TestObject(0)), full.replace(key, new TestObject(1)));
+        assertEquals(Optional.empty(), full.replace(SIZE, new TestObject(1)));
+        assertFalse(full.contains(SIZE));
+    }
+
+    @Test
+    void remove() {
+        assertThrows(IllegalStateException.class, () -> empty.remove(0));
+        assertThrows(NoSuchElementException.class, () -> full.remove(-1));
+        for (int i = 0; i < SIZE; i += 2) {
+            assertEquals(new TestObject(i), full.remove(i));
+        }
+        assertEquals(SIZE >> 1, full.size());
+        for (int i = 1; i < SIZE; i += 2) {
+            assertEquals(new TestObject(i), full.get(i));
+        }
+        assertFalse(full.removeIfPresent(1, new TestObject(0)));
+        assertTrue(full.removeIfPresent(1, new TestObject(1)));
+        assertFalse(full.contains(1));
+    }
+
+    @Test
+    void churn() {
+        IntObjectMap<TestObject> map = new IntObjectMap<>(0, 0.9);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(Optional.empty(), map.put(i, new TestObject(i)));
+        }
+        for (int i = 0; i < SIZE; i += 3) {
+            assertEquals(new TestObject(i), map.remove(i));
+        }
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i % 3 != 0, map.contains(i));
+        }
+        for (int i = 0; i < SIZE; i += 3) {
+            assertTrue(map.putIfAbsent(i, new TestObject(-i)));
+        }
+        assertEquals(SIZE, map.size());
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i % 3 == 0 ? new TestObject(-i) : new TestObject(i), map.get(i));
+        }
+    }
+
+    @Test
+    void get() {
+        assertThrows(IllegalStateException.class, () -> empty.get(0));
+        assertThrows(NoSuchElementException.class, () -> full.get(-1));
+        assertEquals(new TestObject(SIZE - 1), full.get(SIZE - 1));
+        assertEquals(new TestObject(-1), full.getOrDefault(-1, new TestObject(-1)));
+    }
+
+    @Test
+    void forEach() {
+        long[] sum = new long[1];
+        full.forEach((key, value) -> {
+            assertEquals(value.getState(), key);
+            sum[0] += value.getState();
+        });
+        assertEquals((long)SIZE * (SIZE - 1) >> 1, sum[0]);
+        assertEquals(SIZE, full.keys().length);
+    }
+
+    @Test
+    @Order(1)
+    void writeObject() {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(PATH + "IntObjectMap.dat"))) {
+            out.writeObject(full);
+            PREV = full;
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void readObject() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(PATH + "IntObjectMap.dat"))) {
+            @SuppressWarnings("unchecked")
+            IntObjectMap<TestObject> map = (IntObjectMap<TestObject>)in.readObject();
+            assertEquals(PREV, map);
+            map.remove(0);
+            assertEquals(SIZE - 1, map.size());
+            assertEquals(new TestObject(1), map.get(1));
+        } catch (ClassNotFoundException | IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package test;
+
+import main.IntTreeMap;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+
+import java.io.*;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+
+@TestMethodOrder(OrderAnnotation.class)
+class IntTreeMapTest {
+
+    private IntTreeMap<TestObject> empty, full;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        empty = new IntTreeMap<>();
+        full = new IntTreeMap<>();
+        for (int i = 0; i < SIZE; i++) {
+            full.put(i << 1, new TestObject(i));
+        }
+    }
+
+    @Test
+    void contains() {
+        assertFalse(empty.contains(0));
+        assertFalse(full.contains(1));
+        assertFalse(full.contains(SIZE << 1));
+        full.put(SIZE << 1, VALUE);
+        assertTrue(full.contains(SIZE << 1));
+    }
+
+    @Test
+    void put() {
+        int key = SIZE - 1 << 1;
+        assertEquals(Optional.empty(), empty.put(key, VALUE));
+        assertEquals(Optional.of(new TestObject(SIZE - 1)), full.put(key, VALUE));
+        assertEquals(Optional.empty(), full.put(Integer.MIN_VALUE, VALUE));
+        assertEquals(Optional.empty(), full.put(Integer.MAX_VALUE, VALUE));
+        assertEquals(SIZE + 2, full.size());
+        assertEquals(Integer.MIN_VALUE, full.firstKey());
+        assertEquals(Integer.MAX_VALUE, full.lastKey());
+        assertFalse(full.putIfAbsent(key, null));
+        assertTrue(full.putIfAbsent(-1, null));
+        assertEquals(VALUE, full.get(key));
+        assertEquals(Optional.of(VALUE), full.replace(key, null));
+        assertEquals(Optional.empty(), full.replace(1, VALUE));
+        assertFalse(full.contains(1));
+    }
+
+    @Test
+    void remove() {
+        assertThrows(IllegalStateException.class, () -> empty.remove(0));
+        assertThrows(NoSuchElementException.class, () -> full.remove(1));
+        assertEquals(SIZE, full.size());
+        for (int i = 0; i < SIZE; i += 2) {
+            assertEquals(new TestObject(i), full.remove(i << 1));
+        }
+        assertEquals(SIZE >> 1, full.size());
+        for (int i = 1; i < SIZE; i += 2) {
+            assertEquals(new TestObject(i), full.get(i << 1));
+        }
+        assertFalse(full.removeIfPresent(2, VALUE));
+        assertTrue(full.removeIfPresent(2, new TestObject(1)));
+        assertEquals(6, full.firstKey());
+        for (int i = 0; i < SIZE; i++) {
+            full.put(i << 1, new TestObject(i));
+        }
+        assertEquals(SIZE, full.size());
+        int[] keys = full.keys();
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i << 1, keys[i]);
+        }
+    }
+
+    @Test
+    void get() {
+        assertThrows(IllegalStateException.class, () -> empty.get(0));
+        assertThrows(NoSuchElementException.class, () -> full.get(-1));
+        assertEquals(new TestObject(SIZE - 1), full.get(SIZE - 1 << 1));
+        assertEquals(VALUE, full.getOrDefault(-1, VALUE));
+        assertEquals(VALUE, empty.getOrDefault(0, VALUE));
+    }
+
+    @Test
+    void navigation() {
+        assertThrows(IllegalStateException.class, () -> empty.firstKey());
+        assertThrows(IllegalStateException.class, () -> empty.ceilingKey(0));
+        assertEquals(0, full.firstKey());
+        assertEquals(SIZE - 1 << 1, full.lastKey());
+        assertThrows(NoSuchElementException.class, () -> full.lowerKey(0));
+        assertThrows(NoSuchElementException.class, () -> full.floorKey(-1));
+        assertThrows(NoSuchElementException.class, () -> full.higherKey(full.lastKey()));
+        assertThrows(NoSuchElementException.class, () -> full.ceilingKey(full.lastKey() + 1));
+        for (int i = 1; i < SIZE; i++) {
+            assertEquals(i << 1, full.floorKey(i << 1));
+            assertEquals(i << 1, full.floorKey((i << 1) + 1));
+            assertEquals(i << 1, full.ceilingKey((i << 1) - 1));
+            assertEquals(i - 1 << 1, full.lowerKey(i << 1));
+            assertEquals(i << 1, full.higherKey(i - 1 << 1));
+        }
+    }
+
+    @Test
+    void forEach() {
+        int[] keys = full.keys();
+        int[] index = new int[1];
+        full.forEach((key, value) -> {
+            assertEquals(keys[index[0]], key);
+            assertEquals(index[0]++, value.getState());
+        });
+        assertEquals(SIZE, index[0]);
+    }
+
+    @Test
+    @Order(1)
+    void writeObject() {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(PATH + "IntTreeMap.dat"))) {
+            out.writeObject(full);
+            PREV = full;
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void readObject() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(PATH + "IntTreeMap.dat"))) {
+            @SuppressWarnings("unchecked")
+            IntTreeMap<TestObject> map = (IntTreeMap<TestObject>)in.readObject();
+            assertEquals(PREV, map);
+            map.put(-1, VALUE);
+            assertEquals(-1, map.firstKey());
+        } catch (ClassNotFoundException | IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+}
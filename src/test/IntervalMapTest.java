@@ -0,0 +1,120 @@
+package test;
+
+import main.Entry;
+import main.Interval;
+import main.IntervalMap;
+import main.List;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+
+import java.io.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+import static util.Common.RAND;
+
+@TestMethodOrder(OrderAnnotation.class)
+class IntervalMapTest {
+
+    private static final int SPAN = 100;
+
+    private IntervalMap<Integer, Integer> empty, random;
+    private int[] lows, highs;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        empty = new IntervalMap<>();
+        random = new IntervalMap<>();
+        lows = new int[SIZE];
+        highs = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            lows[i] = RAND.nextInt(SIZE);
+            highs[i] = lows[i] + RAND.nextInt(SPAN);
+            random.put(new Interval<>(lows[i], highs[i]), i);
+        }
+    }
+
+    private int countOverlapping(int low, int high) {
+        IntervalMap<Integer, Integer> distinct = new IntervalMap<>();
+        for (int i = 0; i < SIZE; i++) {
+            if (lows[i] <= high && low <= highs[i]) {
+                distinct.put(new Interval<>(lows[i], highs[i]), i);
+            }
+        }
+        return distinct.size();
+    }
+
+    @Test
+    void put() {
+        assertThrows(IllegalArgumentException.class, () -> empty.put(new Interval<>(1, 0), 0));
+        assertThrows(NullPointerException.class, () -> empty.put(null, 0));
+        empty.put(new Interval<>(0, 0), 0);
+        assertEquals(1, empty.stabbing(0).size());
+    }
+
+    @Test
+    void overlapping() {
+        assertThrows(IllegalArgumentException.class, () -> random.overlapping(1, 0));
+        assertTrue(empty.overlapping(0, SIZE).isEmpty());
+        for (int i = 0; i < 100; i++) {
+            int low = RAND.nextInt(SIZE), high = low + RAND.nextInt(SPAN);
+            List<Entry<Interval<Integer>, Integer>> overlapping = random.overlapping(low, high);
+            assertEquals(countOverlapping(low, high), overlapping.size());
+            Interval<Integer> last = null;
+            for (Entry<Interval<Integer>, Integer> entry : overlapping) {
+                assertTrue(entry.getKey().getLow() <= high && low <= entry.getKey().getHigh());
+                assertTrue(last == null || last.getLow() <= entry.getKey().getLow());
+                last = entry.getKey();
+            }
+        }
+    }
+
+    @Test
+    void stabbing() {
+        for (int i = 0; i < SIZE; i += 2) {
+            Interval<Integer> key = new Interval<>(lows[i], highs[i]);
+            if (random.contains(key)) {
+                random.remove(key);
+            }
+        }
+        for (Entry<Interval<Integer>, Integer> entry : random.stabbing(SIZE >> 1)) {
+            assertTrue(entry.getKey().getLow() <= SIZE >> 1 && SIZE >> 1 <= entry.getKey().getHigh());
+        }
+        assertTrue(random.stabbing(-1).isEmpty());
+        assertTrue(random.stabbing(SIZE + SPAN).isEmpty());
+    }
+
+    @Test
+    @Order(1)
+    void writeObject() {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(PATH + "IntervalMap.dat"))) {
+            out.writeObject(random);
+            PREV = random;
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void readObject() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(PATH + "IntervalMap.dat"))) {
+            @SuppressWarnings("unchecked")
+            IntervalMap<Integer, Integer> map = (IntervalMap<Integer, Integer>)in.readObject();
+            assertEquals(PREV, map);
+            @SuppressWarnings("unchecked")
+            IntervalMap<Integer, Integer> prev = (IntervalMap<Integer, Integer>)PREV;
+            assertEquals(prev.stabbing(SIZE >> 1).size(), map.stabbing(SIZE >> 1).size());
+        } catch (ClassNotFoundException | IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+}
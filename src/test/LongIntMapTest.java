@@ -0,0 +1,139 @@
+package test;
+
+import main.LongIntMap;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+
+import java.io.*;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+
+@TestMethodOrder(OrderAnnotation.class)
+class LongIntMapTest {
+
+    private LongIntMap empty, full;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        empty = new LongIntMap();
+        full = new LongIntMap();
+        for (int i = 0; i < SIZE; i++) {
+            full.put((long)i << 32, i);
+        }
+    }
+
+    @Test
+    void contains() {
+        long key = (long)SIZE << 32;
+        assertFalse(empty.contains(key));
+        assertFalse(full.contains(key));
+        full.put(key, SIZE);
+        assertTrue(full.contains(key));
+    }
+
+    @Test
+    void put() {
+        long key = (long)(SIZE - 1) << 32;
+        assertEquals(OptionalInt.empty(), empty.put(key, 0));
+        assertEquals(OptionalInt.of(SIZE - 1), full.put(key, 0));
+        assertEquals(OptionalInt.empty(), full.put(-1, 0));
+        assertEquals(SIZE + 1, full.size());
+        assertFalse(full.putIfAbsent(key, 1));
+        assertEquals(0, full.get(key));
+        assertEquals(OptionalInt.of(0), full.replace(key, 1));
+        assertEquals(OptionalInt.empty(), full.replace((long)SIZE << 32, 1));
+        assertFalse(full.contains((long)SIZE << 32));
+    }
+
+    @Test
+    void remove() {
+        assertThrows(IllegalStateException.class, () -> empty.remove(0));
+        assertThrows(NoSuchElementException.class, () -> full.remove(-1));
+        for (int i = 0; i < SIZE; i += 2) {
+            assertEquals(i, full.remove((long)i << 32));
+        }
+        assertEquals(SIZE >> 1, full.size());
+        for (int i = 1; i < SIZE; i += 2) {
+            assertEquals(i, full.get((long)i << 32));
+        }
+        assertFalse(full.removeIfPresent((long)1 << 32, 0));
+        assertTrue(full.removeIfPresent((long)1 << 32, 1));
+        assertFalse(full.contains((long)1 << 32));
+    }
+
+    @Test
+    void churn() {
+        LongIntMap map = new LongIntMap(0, 0.9);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(OptionalInt.empty(), map.put((long)i << 32, i));
+        }
+        for (int i = 0; i < SIZE; i += 3) {
+            assertEquals(i, map.remove((long)i << 32));
+        }
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i % 3 != 0, map.contains((long)i << 32));
+        }
+        for (int i = 0; i < SIZE; i += 3) {
+            assertTrue(map.putIfAbsent((long)i << 32, -i));
+        }
+        assertEquals(SIZE, map.size());
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i % 3 == 0 ? -i : i, map.get((long)i << 32));
+        }
+    }
+
+    @Test
+    void get() {
+        assertThrows(IllegalStateException.class, () -> empty.get(0));
+        assertThrows(NoSuchElementException.class, () -> full.get(-1));
+        assertEquals(SIZE - 1, full.get((long)(SIZE - 1) << 32));
+        assertEquals(-1, full.getOrDefault(-1, -1));
+    }
+
+    @Test
+    void forEach() {
+        long[] sum = new long[1];
+        full.forEach((key, value) -> {
+            assertEquals((long)value << 32, key);
+            sum[0] += value;
+        });
+        assertEquals((long)SIZE * (SIZE - 1) >> 1, sum[0]);
+        assertEquals(SIZE, full.keys().length);
+    }
+
+    @Test
+    @Order(1)
+    void writeObject() {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(PATH + "LongIntMap.dat"))) {
+            out.writeObject(full);
+            PREV = full;
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void readObject() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(PATH + "LongIntMap.dat"))) {
+            LongIntMap map = (LongIntMap)in.readObject();
+            assertEquals(PREV, map);
+            map.remove((long)0 << 32);
+            assertEquals(SIZE - 1, map.size());
+            assertEquals(1, map.get((long)1 << 32));
+        } catch (ClassNotFoundException | IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+}
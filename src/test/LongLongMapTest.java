@@ -0,0 +1,103 @@
+package test;
+
+import main.LongLongMap;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+
+import java.io.*;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+
+@TestMethodOrder(OrderAnnotation.class)
+class LongLongMapTest {
+
+    private LongLongMap empty, full;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        empty = new LongLongMap();
+        full = new LongLongMap();
+        for (long i = 0; i < SIZE; i++) {
+            full.put(i << 32, i);
+        }
+    }
+
+    @Test
+    void contains() {
+        long key = (long)SIZE << 32;
+        assertFalse(empty.contains(key));
+        assertFalse(full.contains(key));
+        full.put(key, SIZE);
+        assertTrue(full.contains(key));
+    }
+
+    @Test
+    void put() {
+        long key = (long)(SIZE - 1) << 32;
+        assertEquals(OptionalLong.empty(), empty.put(key, 0));
+        assertEquals(OptionalLong.of(SIZE - 1), full.put(key, 0));
+        assertEquals(OptionalLong.empty(), full.put(-1, 0));
+        assertEquals(SIZE + 1, full.size());
+    }
+
+    @Test
+    void remove() {
+        assertThrows(IllegalStateException.class, () -> empty.remove(0));
+        assertThrows(NoSuchElementException.class, () -> full.remove(-1));
+        for (long i = 0; i < SIZE; i += 2) {
+            assertEquals(i, full.remove(i << 32));
+        }
+        assertEquals(SIZE >> 1, full.size());
+        for (long i = 1; i < SIZE; i += 2) {
+            assertEquals(i, full.get(i << 32));
+        }
+    }
+
+    @Test
+    void get() {
+        assertThrows(IllegalStateException.class, () -> empty.get(0));
+        assertThrows(NoSuchElementException.class, () -> full.get(-1));
+        assertEquals(SIZE - 1, full.get((long)(SIZE - 1) << 32));
+        assertEquals(-1, full.getOrDefault(-1, -1));
+    }
+
+    @Test
+    void forEach() {
+        long[] sum = new long[1];
+        full.forEach((key, value) -> sum[0] += value);
+        assertEquals((long)SIZE * (SIZE - 1) >> 1, sum[0]);
+    }
+
+    @Test
+    @Order(1)
+    void writeObject() {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(PATH + "LongLongMap.dat"))) {
+            out.writeObject(full);
+            PREV = full;
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void readObject() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(PATH + "LongLongMap.dat"))) {
+            LongLongMap map = (LongLongMap)in.readObject();
+            assertEquals(PREV, map);
+        } catch (ClassNotFoundException | IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+package test;
+
+import main.LongObjectMap;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+
+import java.io.*;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+
+@TestMethodOrder(OrderAnnotation.class)
+class LongObjectMapTest {
+
+    private LongObjectMap<TestObject> empty, full;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        empty = new LongObjectMap<>();
+        full = new LongObjectMap<>();
+        for (int i = 0; i < SIZE; i++) {
+            full.put((long)i << 32, new TestObject(i));
+        }
+    }
+
+    @Test
+    void contains() {
+        long key = (long)SIZE << 32;
+        assertFalse(empty.contains(key));
+        assertFalse(full.contains(key));
+        full.put(key, new TestObject(SIZE));
+        assertTrue(full.contains(key));
+    }
+
+    @Test
+    void put() {
+        long key = (long)(SIZE - 1) << 32;
+        assertEquals(Optional.empty(), empty.put(key, new TestObject(0)));
+        assertEquals(Optional.of(new TestObject(SIZE - 1)), full.put(key, new TestObject(0)));
+        assertEquals(Optional.empty(), full.put(-1, new TestObject(0)));
+        assertEquals(SIZE + 1, full.size());
+        assertFalse(full.putIfAbsent(key, new TestObject(1)));
+        assertEquals(new TestObject(0), full.get(key));
+        assertEquals(Optional.of(new TestObject(0)), full.replace(key, new TestObject(1)));
+        assertEquals(Optional.empty(), full.replace((long)SIZE << 32, new TestObject(1)));
+        assertFalse(full.contains((long)SIZE << 32));
+    }
+
+    @Test
+    void remove() {
+        assertThrows(IllegalStateException.class, () -> empty.remove(0));
+        assertThrows(NoSuchElementException.class, () -> full.remove(-1));
+        for (int i = 0; i < SIZE; i += 2) {
+            assertEquals(new TestObject(i), full.remove((long)i << 32));
+        }
+        assertEquals(SIZE >> 1, full.size());
+        for (int i = 1; i < SIZE; i += 2) {
+            assertEquals(new TestObject(i), full.get((long)i << 32));
+        }
+        assertFalse(full.removeIfPresent((long)1 << 32, new TestObject(0)));
+        assertTrue(full.removeIfPresent((long)1 << 32, new TestObject(1)));
+        assertFalse(full.contains((long)1 << 32));
+    }
+
+    @Test
+    void churn() {
+        LongObjectMap<TestObject> map = new LongObjectMap<>(0, 0.9);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(Optional.empty(), map.put((long)i << 32, new TestObject(i)));
+        }
+        for (int i = 0; i < SIZE; i += 3) {
+            assertEquals(new TestObject(i), map.remove((long)i << 32));
+        }
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i % 3 != 0, map.contains((long)i << 32));
+        }
+        for (int i = 0; i < SIZE; i += 3) {
+            assertTrue(map.putIfAbsent((long)i << 32, new TestObject(-i)));
+        }
+        assertEquals(SIZE, map.size());
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i % 3 == 0 ? new TestObject(-i) : new TestObject(i), map.get((long)i << 32));
+        }
+    }
+
+    @Test
+    void get() {
+        assertThrows(IllegalStateException.class, () -> empty.get(0));
+        assertThrows(NoSuchElementException.class, () -> full.get(-1));
+        assertEquals(new TestObject(SIZE - 1), full.get((long)(SIZE - 1) << 32));
+        assertEquals(new TestObject(-1), full.getOrDefault(-1, new TestObject(-1)));
+    }
+
+    @Test
+    void forEach() {
+        long[] sum = new long[1];
+        full.forEach((key, value) -> {
+            assertEquals((long)value.getState() << 32, key);
+            sum[0] += value.getState();
+        });
+        assertEquals((long)SIZE * (SIZE - 1) >> 1, sum[0]);
+        assertEquals(SIZE, full.keys().length);
+    }
+
+    @Test
+    @Order(1)
+    void writeObject() {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(PATH + "LongObjectMap.dat"))) {
+            out.writeObject(full);
+            PREV = full;
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void readObject() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(PATH + "LongObjectMap.dat"))) {
+            @SuppressWarnings("unchecked")
+            LongObjectMap<TestObject> map = (LongObjectMap<TestObject>)in.readObject();
+            assertEquals(PREV, map);
+            map.remove((long)0 << 32);
+            assertEquals(SIZE - 1, map.size());
+            assertEquals(new TestObject(1), map.get((long)1 << 32));
+        } catch (ClassNotFoundException | IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+package test;
+
+import main.LongTreeMap;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+
+import java.io.*;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+
+@TestMethodOrder(OrderAnnotation.class)
+class LongTreeMapTest {
+
+    private LongTreeMap<TestObject> empty, full;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        empty = new LongTreeMap<>();
+        full = new LongTreeMap<>();
+        for (long i = 0; i < SIZE; i++) {
+            full.put(i << 32, new TestObject((int)i));
+        }
+    }
+
+    @Test
+    void contains() {
+        long key = (long)SIZE << 32;
+        assertFalse(empty.contains(key));
+        assertFalse(full.contains(key));
+        full.put(key, VALUE);
+        assertTrue(full.contains(key));
+    }
+
+    @Test
+    void put() {
+        long key = (long)(SIZE - 1) << 32;
+        assertEquals(Optional.empty(), empty.put(key, VALUE));
+        assertEquals(Optional.of(new TestObject(SIZE - 1)), full.put(key, VALUE));
+        assertEquals(Optional.empty(), full.put(Long.MIN_VALUE, VALUE));
+        assertEquals(SIZE + 1, full.size());
+        assertEquals(Long.MIN_VALUE, full.firstKey());
+        assertFalse(full.putIfAbsent(key, null));
+        assertEquals(VALUE, full.get(key));
+    }
+
+    @Test
+    void remove() {
+        assertThrows(IllegalStateException.class, () -> empty.remove(0));
+        assertThrows(NoSuchElementException.class, () -> full.remove(-1));
+        for (long i = 0; i < SIZE; i += 2) {
+            assertEquals(new TestObject((int)i), full.remove(i << 32));
+        }
+        assertEquals(SIZE >> 1, full.size());
+        for (long i = 1; i < SIZE; i += 2) {
+            assertEquals(new TestObject((int)i), full.get(i << 32));
+        }
+        assertFalse(full.removeIfPresent(1L << 32, VALUE));
+        assertTrue(full.removeIfPresent(1L << 32, new TestObject(1)));
+        assertEquals(3L << 32, full.firstKey());
+    }
+
+    @Test
+    void get() {
+        assertThrows(IllegalStateException.class, () -> empty.get(0));
+        assertThrows(NoSuchElementException.class, () -> full.get(-1));
+        assertEquals(new TestObject(SIZE - 1), full.get((long)(SIZE - 1) << 32));
+        assertEquals(VALUE, full.getOrDefault(-1, VALUE));
+    }
+
+    @Test
+    void navigation() {
+        assertThrows(IllegalStateException.class, () -> empty.firstKey());
+        assertThrows(IllegalStateException.class, () -> empty.floorKey(0));
+        assertEquals(0, full.firstKey());
+        assertEquals((long)(SIZE - 1) << 32, full.lastKey());
+        assertThrows(NoSuchElementException.class, () -> full.lowerKey(0));
+        assertThrows(NoSuchElementException.class, () -> full.higherKey(full.lastKey()));
+        for (long i = 1; i < SIZE; i++) {
+            assertEquals(i << 32, full.floorKey((i << 32) + 1));
+            assertEquals(i << 32, full.ceilingKey((i - 1 << 32) + 1));
+            assertEquals(i - 1 << 32, full.lowerKey(i << 32));
+            assertEquals(i << 32, full.higherKey(i - 1 << 32));
+        }
+    }
+
+    @Test
+    void forEach() {
+        long[] keys = full.keys();
+        int[] index = new int[1];
+        full.forEach((key, value) -> {
+            assertEquals(keys[index[0]], key);
+            assertEquals((long)index[0]++ << 32, key);
+        });
+        assertEquals(SIZE, index[0]);
+    }
+
+    @Test
+    @Order(1)
+    void writeObject() {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(PATH + "LongTreeMap.dat"))) {
+            out.writeObject(full);
+            PREV = full;
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void readObject() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(PATH + "LongTreeMap.dat"))) {
+            @SuppressWarnings("unchecked")
+            LongTreeMap<TestObject> map = (LongTreeMap<TestObject>)in.readObject();
+            assertEquals(PREV, map);
+            map.put(-1, VALUE);
+            assertEquals(-1, map.firstKey());
+        } catch (ClassNotFoundException | IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+}
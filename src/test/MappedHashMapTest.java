@@ -0,0 +1,107 @@
+package test;
+
+import main.MappedHashMap;
+import org.junit.jupiter.api.*;
+import util.LongCodec;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+
+class MappedHashMapTest {
+
+    private static final Path FILE = Paths.get(PATH, "MappedHashMap.map");
+
+    private MappedHashMap<Long, Long> map;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.deleteIfExists(FILE);
+        map = new MappedHashMap<>(FILE, new LongCodec(), new LongCodec());
+        for (long i = 0; i < SIZE; i++) {
+            map.put(i, -i);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        map.close();
+        Files.deleteIfExists(FILE);
+    }
+
+    @Test
+    void reopen() throws IOException {
+        for (long i = 0; i < SIZE; i += 2) {
+            assertEquals(-i, map.remove(i));
+        }
+        map.close();
+        map = new MappedHashMap<>(FILE, new LongCodec(), new LongCodec());
+        assertEquals(SIZE >> 1, map.size());
+        for (long i = 0; i < SIZE; i++) {
+            assertEquals((i & 1) != 0, map.contains(i));
+        }
+    }
+
+    @Test
+    void force() throws IOException {
+        map.put(-1L, 1L);
+        map.force();
+        try (MappedHashMap<Long, Long> other = new MappedHashMap<>(FILE, new LongCodec(), new LongCodec())) {
+            assertEquals(SIZE + 1, other.size());
+            assertEquals(1L, other.get(-1L));
+        }
+    }
+
+    @Test
+    void overwrite() throws IOException {
+        map.force();
+        assertEquals(1, cleanMark());
+        map.put(0L, 1L);
+        assertEquals(0, cleanMark());
+        map.force();
+        assertEquals(1, cleanMark());
+        map.remove(0L);
+        assertEquals(0, cleanMark());
+    }
+
+    private static int cleanMark() throws IOException {
+        return ByteBuffer.wrap(Files.readAllBytes(FILE)).order(ByteOrder.nativeOrder()).getInt(28);
+    }
+
+    @Test
+    void truncated() throws IOException {
+        map.close();
+        try (FileChannel channel = FileChannel.open(FILE, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - Long.BYTES);
+        }
+        assertThrows(IOException.class, () -> new MappedHashMap<>(FILE, new LongCodec(), new LongCodec()));
+    }
+
+    @Test
+    void mismatch() {
+        assertThrows(IOException.class, () -> new MappedHashMap<>(FILE, new LongCodec(), new util.IntCodec()));
+    }
+
+    @Test
+    void writeObject() {
+        assertThrows(NotSerializableException.class,
+                () -> new ObjectOutputStream(OutputStream.nullOutputStream()).writeObject(map));
+    }
+
+}
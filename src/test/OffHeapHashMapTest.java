@@ -0,0 +1,159 @@
+package test;
+
+import main.Entry;
+import main.OffHeapHashMap;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import util.IntCodec;
+import util.StringCodec;
+
+import java.io.*;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+
+@TestMethodOrder(OrderAnnotation.class)
+class OffHeapHashMapTest {
+
+    private OffHeapHashMap<Integer, String> empty, full;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        empty = new OffHeapHashMap<>(new IntCodec(), new StringCodec(8));
+        full = new OffHeapHashMap<>(new IntCodec(), new StringCodec(8));
+        for (int i = 0; i < SIZE; i++) {
+            full.put(i, Integer.toHexString(i));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        empty.close();
+        full.close();
+    }
+
+    @Test
+    void contains() {
+        assertFalse(empty.contains(SIZE));
+        assertFalse(full.contains(SIZE));
+        full.put(SIZE, null);
+        assertTrue(full.contains(SIZE));
+    }
+
+    @Test
+    void put() {
+        assertEquals(Optional.empty(), empty.put(SIZE - 1, ""));
+        assertEquals(Optional.of(Integer.toHexString(SIZE - 1)), full.put(SIZE - 1, ""));
+        assertEquals(Optional.empty(), full.put(-1, ""));
+        assertEquals(SIZE + 1, full.size());
+        assertThrows(IllegalArgumentException.class, () -> full.put(0, "too long a value"));
+    }
+
+    @Test
+    void putRejected() {
+        assertThrows(IllegalArgumentException.class, () -> full.put(SIZE, "too long a value"));
+        assertThrows(IllegalArgumentException.class, () -> full.put(0, "too long a value"));
+        assertEquals(SIZE, full.size());
+        assertFalse(full.contains(SIZE));
+        assertEquals(Integer.toHexString(0), full.get(0));
+        int count = 0;
+        for (Entry<Integer, String> entry : full.entrySet()) {
+            assertNotEquals(SIZE, entry.getKey());
+            count++;
+        }
+        assertEquals(SIZE, count);
+        assertEquals(Optional.empty(), full.put(SIZE, ""));
+        assertEquals(SIZE + 1, full.size());
+    }
+
+    @Test
+    void loadFactor() {
+        try (OffHeapHashMap<Integer, String> map = new OffHeapHashMap<>(0, 0.95, new IntCodec(), new StringCodec(8))) {
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(Optional.empty(), map.put(i, Integer.toHexString(i)));
+            }
+            assertEquals(SIZE, map.size());
+            assertFalse(map.contains(-1));
+            assertEquals(full, map);
+        }
+    }
+
+    @Test
+    void remove() {
+        assertThrows(IllegalStateException.class, () -> empty.remove(0));
+        assertThrows(NoSuchElementException.class, () -> full.remove(-1));
+        for (int i = 0; i < SIZE; i += 2) {
+            assertEquals(Integer.toHexString(i), full.remove(i));
+        }
+        assertEquals(SIZE >> 1, full.size());
+        for (int i = 1; i < SIZE; i += 2) {
+            assertEquals(Integer.toHexString(i), full.get(i));
+        }
+    }
+
+    @Test
+    void get() {
+        assertThrows(IllegalStateException.class, () -> empty.get(0));
+        assertThrows(NoSuchElementException.class, () -> full.get(-1));
+        assertEquals(Integer.toHexString(SIZE - 1), full.get(SIZE - 1));
+    }
+
+    @Test
+    void close() {
+        full.close();
+        full.close();
+        assertThrows(IllegalStateException.class, () -> full.get(0));
+        assertThrows(IllegalStateException.class, full::clear);
+    }
+
+    @Test
+    void entrySet() {
+        int count = 0;
+        Iterator<Entry<Integer, String>> iterator = full.entrySet().iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            count++;
+        }
+        assertEquals(SIZE, count);
+        assertTrue(full.entrySet().isEmpty());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertThrows(IllegalStateException.class, iterator::remove);
+    }
+
+    @Test
+    @Order(1)
+    void writeObject() {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(PATH + "OffHeapHashMap.dat"))) {
+            out.writeObject(full);
+            PREV = full.toString();
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void readObject() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(PATH + "OffHeapHashMap.dat"))) {
+            @SuppressWarnings("unchecked")
+            OffHeapHashMap<Integer, String> map = (OffHeapHashMap<Integer, String>)in.readObject();
+            assertEquals(SIZE, map.size());
+            assertEquals(Integer.toHexString(SIZE - 1), map.get(SIZE - 1));
+            map.close();
+        } catch (ClassNotFoundException | IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+}
@@ -0,0 +1,133 @@
+package test;
+
+import main.Entry;
+import main.ProbingHashMap;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+
+import java.io.*;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.TestUtils.*;
+
+@TestMethodOrder(OrderAnnotation.class)
+class ProbingHashMapTest {
+
+    private ProbingHashMap<TestObject, TestObject> empty, full;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        openTestDir(PATH);
+    }
+
+    @BeforeEach
+    void setUp() {
+        empty = new ProbingHashMap<>();
+        full = new ProbingHashMap<>();
+        for (int i = 0; i < SIZE; i++) {
+            full.put(new TestObject(i), VALUE);
+        }
+    }
+
+    @Test
+    void contains() {
+        TestObject key = new TestObject(SIZE);
+        assertFalse(empty.contains(key));
+        assertFalse(full.contains(key));
+        full.put(key, VALUE);
+        assertTrue(full.contains(key));
+    }
+
+    @Test
+    void put() {
+        TestObject key = new TestObject(SIZE - 1);
+        assertEquals(Optional.empty(), empty.put(key, TestObject.random()));
+        assertEquals(Optional.of(VALUE), full.put(key, TestObject.random()));
+        assertEquals(Optional.empty(), full.put(null, VALUE));
+        assertEquals(SIZE + 1, full.size());
+    }
+
+    @Test
+    void remove() {
+        assertThrows(IllegalStateException.class, () -> empty.remove(null));
+        assertThrows(NoSuchElementException.class, () -> full.remove(null));
+        for (int i = 0; i < SIZE; i += 2) {
+            assertEquals(VALUE, full.remove(new TestObject(i)));
+        }
+        assertEquals(SIZE >> 1, full.size());
+        for (int i = 1; i < SIZE; i += 2) {
+            assertEquals(VALUE, full.get(new TestObject(i)));
+        }
+    }
+
+    @Test
+    void get() {
+        assertThrows(IllegalStateException.class, () -> empty.get(null));
+        assertThrows(NoSuchElementException.class, () -> full.get(null));
+        assertEquals(VALUE, full.get(new TestObject(SIZE - 1)));
+    }
+
+    @Test
+    void entrySet() {
+        int count = 0;
+        Iterator<Entry<TestObject, TestObject>> iterator = full.entrySet().iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            count++;
+        }
+        assertEquals(SIZE, count);
+        assertTrue(full.entrySet().isEmpty());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertThrows(IllegalStateException.class, iterator::remove);
+    }
+
+    @Test
+    void loadFactor() {
+        ProbingHashMap<TestObject, TestObject> map = new ProbingHashMap<>(0.95);
+        for (int i = 0; i < SIZE; i++) {
+            map.put(new TestObject(i), VALUE);
+            if (i < Byte.SIZE << 2) {
+                int count = 0;
+                for (Entry<TestObject, TestObject> entry : map.entrySet()) {
+                    assertEquals(VALUE, entry.getValue());
+                    count++;
+                }
+                assertEquals(i + 1, count);
+                assertFalse(map.contains(new TestObject(-1)));
+            }
+        }
+        assertEquals(full, map);
+        assertEquals(full.hashCode(), map.hashCode());
+        assertEquals(full.toString().length(), map.toString().length());
+    }
+
+    @Test
+    @Order(1)
+    void writeObject() {
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(PATH + "ProbingHashMap.dat"))) {
+            out.writeObject(full);
+            PREV = full;
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+    @Test
+    @Order(2)
+    void readObject() {
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(PATH + "ProbingHashMap.dat"))) {
+            @SuppressWarnings("unchecked")
+            ProbingHashMap<TestObject, TestObject> map = (ProbingHashMap<TestObject, TestObject>)in.readObject();
+            assertEquals(PREV, map);
+        } catch (ClassNotFoundException | IOException e) {
+            e.printStackTrace();
+            fail();
+        }
+    }
+
+}
@@ -1,9 +1,11 @@
 package test;
 
 import main.Entry;
+import main.SortedMap;
 import main.TreeMap;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import util.DefaultComparator;
 
 import java.io.*;
 import java.lang.reflect.Field;
@@ -73,6 +75,14 @@ class TreeMapTest {
         map.remove(getNodeOf(map, "root").getKey());
     }
 
+    private static TreeMap<TestObject, TestObject> every(int step, int from) {
+        TreeMap<TestObject, TestObject> map = new TreeMap<>();
+        for (int i = from; i < SIZE; i += step) {
+            map.put(new TestObject(i), VALUE);
+        }
+        return map;
+    }
+
     private TreeMap<TestObject, TestObject> empty, sequential, random;
 
     @BeforeAll
@@ -110,6 +120,28 @@ class TreeMapTest {
         assertEquals(SIZE, sequential.size());
     }
 
+    @Test
+    void putAllSorted() {
+        TestObject[] keys = new TestObject[SIZE], values = new TestObject[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            keys[i] = new TestObject(i);
+            values[i] = VALUE;
+        }
+        empty.putAllSorted(keys, values);
+        assertEquals(sequential, empty);
+        assertTrue(treeHeight(empty) <= expectedHeight(empty));
+        halve(empty);
+        removeRoot(empty);
+        assertTrue(treeHeight(empty) <= expectedHeight(empty));
+        TreeMap<TestObject, TestObject> copy = new TreeMap<>();
+        copy.putAllSorted(random);
+        assertEquals(random, copy);
+        assertThrows(IllegalArgumentException.class, () -> copy.putAllSorted(new TestObject[2], new TestObject[1]));
+        keys[1] = keys[0];
+        assertThrows(IllegalArgumentException.class, () -> new TreeMap<TestObject, TestObject>().putAllSorted(keys,
+                values));
+    }
+
     @Test
     void remove() {
         assertThrows(IllegalStateException.class, () -> empty.remove(null));
@@ -180,9 +212,213 @@ class TreeMapTest {
     void getNext() {
         assertThrows(IllegalStateException.class, () -> empty.getNext(null));
         assertThrows(NoSuchElementException.class, () -> sequential.getNext(null));
+        assertThrows(NoSuchElementException.class, () -> sequential.getNext(sequential.getLast().getKey()));
         assertEquals(1, sequential.getNext(sequential.getFirst().getKey()).getKey().getState());
     }
 
+    @Test
+    void floor() {
+        assertThrows(IllegalStateException.class, () -> empty.floor(null));
+        assertThrows(NoSuchElementException.class, () -> sequential.floor(new TestObject(-1)));
+        sequential.remove(new TestObject(10));
+        assertEquals(9, sequential.floor(new TestObject(10)).getKey().getState());
+        assertEquals(11, sequential.floor(new TestObject(11)).getKey().getState());
+        assertEquals(SIZE - 1, sequential.floor(new TestObject(SIZE)).getKey().getState());
+    }
+
+    @Test
+    void ceiling() {
+        assertThrows(IllegalStateException.class, () -> empty.ceiling(null));
+        assertThrows(NoSuchElementException.class, () -> sequential.ceiling(new TestObject(SIZE)));
+        sequential.remove(new TestObject(10));
+        assertEquals(11, sequential.ceiling(new TestObject(10)).getKey().getState());
+        assertEquals(9, sequential.ceiling(new TestObject(9)).getKey().getState());
+        assertEquals(0, sequential.ceiling(new TestObject(-1)).getKey().getState());
+    }
+
+    @Test
+    void lower() {
+        assertThrows(IllegalStateException.class, () -> empty.lower(null));
+        assertThrows(NoSuchElementException.class, () -> sequential.lower(new TestObject(0)));
+        sequential.remove(new TestObject(10));
+        assertEquals(9, sequential.lower(new TestObject(10)).getKey().getState());
+        assertEquals(9, sequential.lower(new TestObject(11)).getKey().getState());
+    }
+
+    @Test
+    void higher() {
+        assertThrows(IllegalStateException.class, () -> empty.higher(null));
+        assertThrows(NoSuchElementException.class, () -> sequential.higher(new TestObject(SIZE - 1)));
+        sequential.remove(new TestObject(10));
+        assertEquals(11, sequential.higher(new TestObject(10)).getKey().getState());
+        assertEquals(11, sequential.higher(new TestObject(9)).getKey().getState());
+        SortedMap<TestObject, TestObject> descending = sequential.headMap(new TestObject(20)).descendingMap();
+        assertEquals(8, descending.higher(new TestObject(9)).getKey().getState());
+        assertEquals(19, descending.higher(new TestObject(SIZE)).getKey().getState());
+    }
+
+    @Test
+    void rank() {
+        TreeMap<TestObject, TestObject> counted = new TreeMap<>(new DefaultComparator<>(), true);
+        for (int i = 0; i < SIZE; i += 2) {
+            counted.put(new TestObject(i), VALUE);
+        }
+        assertThrows(UnsupportedOperationException.class, () -> sequential.rank(new TestObject(0)));
+        assertEquals(0, counted.rank(new TestObject(-1)));
+        assertEquals(5, counted.rank(new TestObject(10)));
+        assertEquals(6, counted.rank(new TestObject(11)));
+        assertEquals(SIZE >> 1, counted.rank(new TestObject(SIZE)));
+        counted.remove(new TestObject(0));
+        assertEquals(4, counted.rank(new TestObject(10)));
+    }
+
+    @Test
+    void select() {
+        TreeMap<TestObject, TestObject> counted = new TreeMap<>(new DefaultComparator<>(), true);
+        for (int i = 0; i < SIZE; i++) {
+            counted.put(TestObject.random(), VALUE);
+        }
+        assertThrows(UnsupportedOperationException.class, () -> sequential.select(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> counted.select(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> counted.select(counted.size()));
+        int index = 0;
+        for (Entry<TestObject, TestObject> entry : counted.entrySet()) {
+            assertEquals(entry, counted.select(index));
+            assertEquals(index++, counted.rank(entry.getKey()));
+        }
+        halve(counted);
+        assertEquals(counted.getFirst(), counted.select(0));
+        assertEquals(counted.getLast(), counted.select(counted.size() - 1));
+    }
+
+    @Test
+    void countInRange() {
+        TreeMap<TestObject, TestObject> counted = new TreeMap<>(new DefaultComparator<>(), true);
+        for (int i = 0; i < SIZE; i++) {
+            counted.put(new TestObject(i), VALUE);
+        }
+        assertThrows(UnsupportedOperationException.class, () -> sequential.countInRange(null, null));
+        assertThrows(IllegalArgumentException.class, () -> counted.countInRange(new TestObject(2), new TestObject(1)));
+        assertEquals(10, counted.countInRange(new TestObject(10), new TestObject(20)));
+        assertEquals(11, counted.countInRange(new TestObject(10), true, new TestObject(20), true));
+        assertEquals(9, counted.countInRange(new TestObject(10), false, new TestObject(20), false));
+        assertEquals(0, counted.countInRange(new TestObject(10), false, new TestObject(10), false));
+        assertEquals(10, counted.subMap(new TestObject(10), new TestObject(20)).size());
+    }
+
+    @Test
+    void union() {
+        TreeMap<TestObject, TestObject> evens = every(2, 0), odds = every(2, 1), first = new TreeMap<>();
+        evens.union(odds);
+        assertEquals(sequential, evens);
+        assertEquals(SIZE >> 1, odds.size());
+        assertTrue(treeHeight(evens) <= expectedHeight(evens));
+        TestObject value = TestObject.random();
+        first.put(new TestObject(0), value);
+        sequential.union(first);
+        assertEquals(SIZE, sequential.size());
+        assertEquals(value, sequential.get(new TestObject(0)));
+        empty.union(odds);
+        assertEquals(odds, empty);
+    }
+
+    @Test
+    void intersection() {
+        TreeMap<TestObject, TestObject> evens = every(2, 0);
+        evens.intersection(every(3, 0));
+        assertEquals(every(6, 0), evens);
+        assertTrue(treeHeight(evens) <= expectedHeight(evens));
+        int size = random.size();
+        random.intersection(random);
+        assertEquals(size, random.size());
+        sequential.intersection(empty);
+        assertTrue(sequential.isEmpty());
+    }
+
+    @Test
+    void difference() {
+        sequential.difference(every(2, 1));
+        assertEquals(every(2, 0), sequential);
+        assertTrue(treeHeight(sequential) <= expectedHeight(sequential));
+        random.difference(random);
+        assertTrue(random.isEmpty());
+    }
+
+    @Test
+    void splitAt() {
+        TreeMap<TestObject, TestObject> tail = sequential.splitAt(new TestObject(SIZE >> 2));
+        assertEquals(SIZE >> 2, sequential.size());
+        assertEquals(SIZE - (SIZE >> 2), tail.size());
+        assertEquals((SIZE >> 2) - 1, sequential.getLast().getKey().getState());
+        assertEquals(SIZE >> 2, tail.getFirst().getKey().getState());
+        assertTrue(treeHeight(sequential) <= expectedHeight(sequential));
+        assertTrue(treeHeight(tail) <= expectedHeight(tail));
+        sequential.union(tail);
+        assertEquals(SIZE, sequential.size());
+        assertTrue(empty.splitAt(null).isEmpty());
+        assertTrue(sequential.splitAt(new TestObject(SIZE)).isEmpty());
+    }
+
+    @Test
+    void subMap() {
+        SortedMap<TestObject, TestObject> sub = sequential.subMap(new TestObject(10), new TestObject(20));
+        assertEquals(10, sub.size());
+        assertEquals(10, sub.getFirst().getKey().getState());
+        assertEquals(19, sub.getLast().getKey().getState());
+        assertThrows(NoSuchElementException.class, () -> sub.getNext(new TestObject(19)));
+        assertThrows(NoSuchElementException.class, () -> sub.get(new TestObject(20)));
+        assertThrows(IllegalArgumentException.class, () -> sub.put(new TestObject(20), VALUE));
+        assertThrows(IllegalArgumentException.class, () -> sub.subMap(new TestObject(5), new TestObject(15)));
+        assertThrows(IllegalArgumentException.class, () -> sequential.subMap(new TestObject(2), new TestObject(1)));
+        SortedMap<TestObject, TestObject> nested = sub.subMap(new TestObject(12), false, new TestObject(20), false);
+        assertEquals(7, nested.size());
+        assertEquals(13, nested.getFirst().getKey().getState());
+        sub.remove(new TestObject(15));
+        assertEquals(6, nested.size());
+        assertFalse(sequential.contains(new TestObject(15)));
+        sub.clear();
+        assertTrue(sub.isEmpty());
+        assertEquals(SIZE - 10, sequential.size());
+        assertThrows(IllegalStateException.class, sub::getFirst);
+        assertEquals(9, sequential.getPrevious(new TestObject(20)).getKey().getState());
+    }
+
+    @Test
+    void headMap() {
+        SortedMap<TestObject, TestObject> head = sequential.headMap(new TestObject(10));
+        assertEquals(10, head.size());
+        assertEquals(9, head.getLast().getKey().getState());
+        assertEquals(11, sequential.headMap(new TestObject(10), true).size());
+        assertEquals(0, head.removeFirst().getKey().getState());
+        assertEquals(1, sequential.getFirst().getKey().getState());
+    }
+
+    @Test
+    void tailMap() {
+        SortedMap<TestObject, TestObject> tail = sequential.tailMap(new TestObject(SIZE - 10));
+        assertEquals(10, tail.size());
+        assertEquals(SIZE - 10, tail.getFirst().getKey().getState());
+        assertEquals(9, sequential.tailMap(new TestObject(SIZE - 10), false).size());
+        tail.put(new TestObject(SIZE), VALUE);
+        assertEquals(SIZE + 1, sequential.size());
+    }
+
+    @Test
+    void descendingMap() {
+        SortedMap<TestObject, TestObject> descending = sequential.descendingMap();
+        assertEquals(SIZE - 1, descending.getFirst().getKey().getState());
+        assertEquals(SIZE - 2, descending.getNext(new TestObject(SIZE - 1)).getKey().getState());
+        int expected = SIZE - 1;
+        for (Entry<TestObject, TestObject> entry : descending.entrySet()) {
+            assertEquals(expected--, entry.getKey().getState());
+        }
+        SortedMap<TestObject, TestObject> sub = descending.subMap(new TestObject(20), new TestObject(10));
+        assertEquals(10, sub.size());
+        assertEquals(20, sub.getFirst().getKey().getState());
+        assertEquals(11, sub.getLast().getKey().getState());
+        assertEquals(11, sub.descendingMap().getFirst().getKey().getState());
+    }
+
     @Test
     void entrySet() {
         Iterator<Entry<TestObject, TestObject>> iterator = random.entrySet().iterator();
@@ -214,6 +450,7 @@ class TreeMapTest {
             @SuppressWarnings("unchecked")
             TreeMap<TestObject, TestObject> map = (TreeMap<TestObject, TestObject>)in.readObject();
             assertEquals(PREV, map);
+            assertTrue(treeHeight(map) <= expectedHeight(map));
         } catch (ClassNotFoundException | IOException e) {
             e.printStackTrace();
             fail();
@@ -0,0 +1,41 @@
+package util;
+
+/**
+ * The {@code Aggregator} interface specifies a summary of the entries of a map that may be computed piecewise. Each
+ * entry is measured, and the measures of adjacent runs of entries are combined in key order. Implementations must form
+ * a monoid: {@link #combine(Object, Object)} shall be associative, and {@link #identity()} shall leave any summary
+ * unchanged when combined with it on either side. Combination need not be commutative.
+ *
+ * @param <K> the type of key being summarized
+ * @param <V> the type of value being summarized
+ * @param <A> the type of summary
+ * @author Jeff Wilgus
+ */
+public interface Aggregator<K, V, A> {
+
+    /**
+     * Provides the summary of no entries.
+     *
+     * @return the identity summary
+     */
+    A identity();
+
+    /**
+     * Provides the summary of the single entry that pairs the specified {@code key} with the specified {@code value}.
+     *
+     * @param key the specified key
+     * @param value the specified value
+     * @return the summary of the specified entry
+     */
+    A measure(K key, V value);
+
+    /**
+     * Provides the summary of the entries summarized by {@code left} followed by those summarized by {@code right}.
+     *
+     * @param left the summary of the preceding entries
+     * @param right the summary of the following entries
+     * @return the combined summary
+     */
+    A combine(A left, A right);
+
+}
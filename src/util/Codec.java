@@ -0,0 +1,42 @@
+package util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The {@code Codec} interface specifies how elements are stored in a fixed number of bytes outside of the heap.
+ * Implementations must be canonical: equal elements shall be encoded as identical bytes, and unequal elements as
+ * different bytes, so that stored elements may be compared without decoding them.
+ *
+ * @param <E> the type of element being encoded
+ * @author Jeff Wilgus
+ */
+public interface Codec<E> {
+
+    /**
+     * Provides the number of bytes that every encoded element occupies.
+     *
+     * @return the width of an encoded element
+     */
+    int width();
+
+    /**
+     * Encodes the specified {@code element} into the specified {@code buffer} beginning at the specified {@code
+     * offset}. Exactly {@link #width()} bytes are written.
+     *
+     * @param buffer the specified buffer
+     * @param offset the specified offset
+     * @param element the specified element
+     * @throws IllegalArgumentException if the specified {@code element} cannot be encoded in {@link #width()} bytes
+     */
+    void write(ByteBuffer buffer, int offset, E element);
+
+    /**
+     * Decodes an element from the specified {@code buffer} beginning at the specified {@code offset}.
+     *
+     * @param buffer the specified buffer
+     * @param offset the specified offset
+     * @return the decoded element
+     */
+    E read(ByteBuffer buffer, int offset);
+
+}
@@ -53,6 +53,21 @@ public class Common {
         return element == null ? 0 : element.hashCode();
     }
 
+    /**
+     * Spreads the bits of the specified {@code hash} so that each bit of the result depends on every bit of the input.
+     * This mapping is a bijection, so distinct hashes remain distinct.
+     *
+     * @param hash the specified hash
+     * @return the spread hash
+     */
+    public static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EB_CA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2_AE35;
+        return hash ^ (hash >>> 16);
+    }
+
     /**
      * Ensures that the specified {@code size} is non-negative.
      *
@@ -67,6 +82,59 @@ public class Common {
         return size;
     }
 
+    /**
+     * Ensures that the specified {@code loadFactor} lies on the open interval bounded by zero and one.
+     *
+     * @param loadFactor the specified load factor
+     * @return the specified {@code loadFactor} only if it is on the open interval bounded by zero and one
+     * @throws IllegalArgumentException if the specified {@code loadFactor} is not on the open interval bounded by zero
+     * and one
+     */
+    public static double validateLoadFactor(double loadFactor) {
+        if (lessThanOrEqual(loadFactor, 0) || lessThanOrEqual(1, loadFactor)) {
+            throw new IllegalArgumentException();
+        }
+        return loadFactor;
+    }
+
+    /**
+     * Ensures that the specified {@code growthFactor} is a finite number greater than one.
+     *
+     * @param growthFactor the specified growth factor
+     * @return the specified {@code growthFactor} only if it is a finite number greater than one
+     * @throws IllegalArgumentException if the specified {@code growthFactor} is not a finite number greater than one
+     */
+    public static double validateGrowthFactor(double growthFactor) {
+        if (!(growthFactor > 1) || Double.isInfinite(growthFactor)) {
+            throw new IllegalArgumentException();
+        }
+        return growthFactor;
+    }
+
+    private static boolean lessThanOrEqual(double a, double b) {
+        return Double.compare(a, b) <= 0;
+    }
+
+    /**
+     * Provides the smallest power of two table capacity that can hold the specified number of elements without
+     * exceeding the specified {@code loadFactor}.
+     *
+     * @param size the specified number of elements
+     * @param loadFactor the specified load factor
+     * @return the capacity required to hold the specified number of elements
+     * @throws OutOfMemoryError if the required capacity exceeds the maximum capacity
+     */
+    public static int capacityFor(int size, double loadFactor) {
+        int capacity = DEFAULT_CAPACITY;
+        while (size >= capacity * loadFactor) {
+            if (capacity == MAX_CAPACITY) {
+                throw new OutOfMemoryError();
+            }
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
     /**
      * Ensures that the specified {@code Object} is not {@code null}.
      *
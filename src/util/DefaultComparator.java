@@ -17,6 +17,16 @@ public final class DefaultComparator<E> implements Comparator<E>, Serializable {
         return ((Comparable<E>)a).compareTo(b);
     }
 
+    @Override
+    public boolean equals(final Object obj) {
+        return obj instanceof DefaultComparator;
+    }
+
+    @Override
+    public int hashCode() {
+        return DefaultComparator.class.hashCode();
+    }
+
     private static final long serialVersionUID = 6061609908437846539L;
 
 }
@@ -0,0 +1,29 @@
+package util;
+
+import java.io.Serializable;
+
+import static util.Common.*;
+
+/**
+ * Instances of the {@code DefaultHashStrategy} class identify elements by their {@code equals} method, and disperse
+ * them by spreading the bits of their hash codes, so that keys whose hash codes differ only in their high bits (e.g.
+ * sequential or aligned identifiers) do not collide in small tables.
+ *
+ * @param <E> the type of element being hashed
+ * @author Jeff Wilgus
+ */
+public final class DefaultHashStrategy<E> implements HashStrategy<E>, Serializable {
+
+    @Override
+    public int hash(E element) {
+        return spread(Common.hash(element));
+    }
+
+    @Override
+    public boolean areEquivalent(E a, E b) {
+        return areEqual(a, b);
+    }
+
+    private static final long serialVersionUID = -1384120434985212369L;
+
+}
@@ -0,0 +1,31 @@
+package util;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+
+/**
+ * Instances of the {@code DoubleCodec} class encode {@code Double} elements in eight bytes, collapsing every {@code
+ * NaN} to a single representation as the {@code equals} method does. {@code null} elements cannot be encoded.
+ *
+ * @author Jeff Wilgus
+ */
+public final class DoubleCodec implements Codec<Double>, Serializable {
+
+    @Override
+    public int width() {
+        return Double.BYTES;
+    }
+
+    @Override
+    public void write(ByteBuffer buffer, int offset, Double element) {
+        buffer.putLong(offset, Double.doubleToLongBits(element));
+    }
+
+    @Override
+    public Double read(ByteBuffer buffer, int offset) {
+        return Double.longBitsToDouble(buffer.getLong(offset));
+    }
+
+    private static final long serialVersionUID = -8531699129511414324L;
+
+}
@@ -0,0 +1,29 @@
+package util;
+
+/**
+ * The {@code HashStrategy} interface specifies how a hash table disperses and identifies its keys. Implementations
+ * must be consistent: elements deemed equivalent shall have the same hash.
+ *
+ * @param <E> the type of element being hashed
+ * @author Jeff Wilgus
+ */
+public interface HashStrategy<E> {
+
+    /**
+     * Provides the hash for the specified {@code element}.
+     *
+     * @param element the specified element
+     * @return the hash of the specified {@code element}
+     */
+    int hash(E element);
+
+    /**
+     * Determines whether or not the specified elements are equivalent.
+     *
+     * @param a the first element
+     * @param b the other element
+     * @return {@code true} if the specified elements are equivalent
+     */
+    boolean areEquivalent(E a, E b);
+
+}
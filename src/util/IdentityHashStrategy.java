@@ -0,0 +1,26 @@
+package util;
+
+import java.io.Serializable;
+
+/**
+ * Instances of the {@code IdentityHashStrategy} class identify elements by reference, regardless of their {@code
+ * equals} and {@code hashCode} methods.
+ *
+ * @param <E> the type of element being hashed
+ * @author Jeff Wilgus
+ */
+public final class IdentityHashStrategy<E> implements HashStrategy<E>, Serializable {
+
+    @Override
+    public int hash(E element) {
+        return Common.spread(System.identityHashCode(element));
+    }
+
+    @Override
+    public boolean areEquivalent(E a, E b) {
+        return a == b;
+    }
+
+    private static final long serialVersionUID = 6842309950321764713L;
+
+}
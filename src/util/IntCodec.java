@@ -0,0 +1,31 @@
+package util;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+
+/**
+ * Instances of the {@code IntCodec} class encode {@code Integer} elements in four bytes. {@code null} elements cannot
+ * be encoded.
+ *
+ * @author Jeff Wilgus
+ */
+public final class IntCodec implements Codec<Integer>, Serializable {
+
+    @Override
+    public int width() {
+        return Integer.BYTES;
+    }
+
+    @Override
+    public void write(ByteBuffer buffer, int offset, Integer element) {
+        buffer.putInt(offset, element);
+    }
+
+    @Override
+    public Integer read(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset);
+    }
+
+    private static final long serialVersionUID = 8261657684473197624L;
+
+}
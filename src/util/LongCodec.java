@@ -0,0 +1,31 @@
+package util;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+
+/**
+ * Instances of the {@code LongCodec} class encode {@code Long} elements in eight bytes. {@code null} elements cannot
+ * be encoded.
+ *
+ * @author Jeff Wilgus
+ */
+public final class LongCodec implements Codec<Long>, Serializable {
+
+    @Override
+    public int width() {
+        return Long.BYTES;
+    }
+
+    @Override
+    public void write(ByteBuffer buffer, int offset, Long element) {
+        buffer.putLong(offset, element);
+    }
+
+    @Override
+    public Long read(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset);
+    }
+
+    private static final long serialVersionUID = 2784249659845191438L;
+
+}
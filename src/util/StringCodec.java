@@ -0,0 +1,80 @@
+package util;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Instances of the {@code StringCodec} class encode {@code String} elements as their UTF-8 bytes, preceded by their
+ * length and padded with zeros to a fixed width, so that strings of differing lengths share one record layout. {@code
+ * null} elements are encoded with a negative length.
+ *
+ * @author Jeff Wilgus
+ */
+public final class StringCodec implements Codec<String>, Serializable {
+
+    private static final int NULL = -1;
+
+    private final int maxBytes;
+
+    /**
+     * Constructs a new {@code StringCodec} object that encodes strings of up to the specified {@code maxBytes} number
+     * of UTF-8 bytes.
+     *
+     * @param maxBytes the specified maximum number of bytes
+     * @throws IllegalArgumentException if the specified {@code maxBytes} is negative
+     */
+    public StringCodec(int maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int width() {
+        return Integer.BYTES + maxBytes;
+    }
+
+    @Override
+    public void write(ByteBuffer buffer, int offset, String element) {
+        if (element == null) {
+            buffer.putInt(offset, NULL);
+            pad(buffer, offset + Integer.BYTES, 0);
+            return;
+        }
+        byte[] bytes = element.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxBytes) {
+            throw new IllegalArgumentException();
+        }
+        buffer.putInt(offset, bytes.length);
+        offset += Integer.BYTES;
+        for (int i = 0; i < bytes.length; i++) {
+            buffer.put(offset + i, bytes[i]);
+        }
+        pad(buffer, offset, bytes.length);
+    }
+
+    private void pad(ByteBuffer buffer, int offset, int from) {
+        for (int i = from; i < maxBytes; i++) {
+            buffer.put(offset + i, (byte)0);
+        }
+    }
+
+    @Override
+    public String read(ByteBuffer buffer, int offset) {
+        int length = buffer.getInt(offset);
+        if (length == NULL) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        offset += Integer.BYTES;
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final long serialVersionUID = 5187903846012843261L;
+
+}